@@ -0,0 +1,160 @@
+package api.carpooling;
+
+import api.carpooling.domain.User;
+import api.carpooling.domain.enumeration.RoleUser;
+import api.carpooling.repository.UserRefreshTokensRepository;
+import api.carpooling.repository.UserRepository;
+
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.testcontainers.containers.GenericContainer;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.utility.DockerImageName;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Application started by the benchmarks that go through PostgreSQL or Redis.
+ * <p>
+ * Both run in containers started with the application and stopped when it is closed,
+ * unless {@code BENCHMARK_POSTGRES_URL} or {@code BENCHMARK_REDIS_HOST} point at a running
+ * server. The database then must be empty, with {@code BENCHMARK_POSTGRES_USER} and
+ * {@code BENCHMARK_POSTGRES_PASSWORD} as credentials, and Redis listens on
+ * {@code BENCHMARK_REDIS_PORT}. The schema is built by the Flyway migrations, as in
+ * production, so the measured statements hit the same indexes and triggers.
+ */
+public final class BenchmarkApplication implements AutoCloseable {
+
+    /**
+     * Default Redis port.
+     */
+    private static final int REDIS_PORT = 6379;
+
+    /**
+     * PostgreSQL container, or null when an external database is used.
+     */
+    private final PostgreSQLContainer<?> postgres;
+
+    /**
+     * Redis container, or null when an external server is used.
+     */
+    private final GenericContainer<?> redis;
+
+    /**
+     * Context of the application.
+     */
+    private final ConfigurableApplicationContext context;
+
+    /**
+     * Starts the containers that are needed and the application on a random port.
+     */
+    public BenchmarkApplication() {
+        // Passed as arguments, since application.yml overrides default properties
+        List<String> arguments = new ArrayList<>(List.of(
+                "--server.port=0",
+                "--jwt.allow-ephemeral-key=true",
+                "--spring.docker.compose.enabled=false",
+                "--spring.jpa.show-sql=false"));
+
+        String postgresUrl = System.getenv("BENCHMARK_POSTGRES_URL");
+        if (postgresUrl == null) {
+            postgres = new PostgreSQLContainer<>(
+                    DockerImageName.parse("postgis/postgis:17-3.5").asCompatibleSubstituteFor("postgres"));
+            postgres.start();
+            arguments.addAll(List.of(
+                    "--spring.datasource.url=" + postgres.getJdbcUrl(),
+                    "--spring.datasource.username=" + postgres.getUsername(),
+                    "--spring.datasource.password=" + postgres.getPassword()));
+        } else {
+            postgres = null;
+            arguments.addAll(List.of(
+                    "--spring.datasource.url=" + postgresUrl,
+                    "--spring.datasource.username=" + getenv("BENCHMARK_POSTGRES_USER", "postgres"),
+                    "--spring.datasource.password=" + getenv("BENCHMARK_POSTGRES_PASSWORD", "")));
+        }
+
+        String redisHost = System.getenv("BENCHMARK_REDIS_HOST");
+        if (redisHost == null) {
+            redis = new GenericContainer<>(DockerImageName.parse("redis:latest")).withExposedPorts(REDIS_PORT);
+            redis.start();
+            arguments.addAll(List.of(
+                    "--spring.data.redis.host=" + redis.getHost(),
+                    "--spring.data.redis.port=" + redis.getMappedPort(REDIS_PORT)));
+        } else {
+            redis = null;
+            arguments.addAll(List.of(
+                    "--spring.data.redis.host=" + redisHost,
+                    "--spring.data.redis.port=" + getenv("BENCHMARK_REDIS_PORT", String.valueOf(REDIS_PORT))));
+        }
+
+        context = new SpringApplicationBuilder(CarpoolingApplication.class)
+                .run(arguments.toArray(String[]::new));
+    }
+
+    /**
+     * Reads an environment variable.
+     *
+     * @param name name of the variable
+     * @param defaultValue value returned when the variable is not set
+     * @return the value of the variable, or the default value
+     */
+    private static String getenv(String name, String defaultValue) {
+        String value = System.getenv(name);
+        return value == null ? defaultValue : value;
+    }
+
+    /**
+     * Returns a bean of the application.
+     *
+     * @param type type of the bean
+     * @param <T> type of the bean
+     * @return the bean
+     */
+    public <T> T getBean(Class<T> type) {
+        return context.getBean(type);
+    }
+
+    /**
+     * Saves a passenger the benchmark can log in or open sessions for.
+     *
+     * @return the identifier of the user
+     */
+    public UUID createUser() {
+        User user = new User();
+        user.setUsername("bench-" + UUID.randomUUID());
+        user.setEmail(user.getUsername() + "@bench.local");
+        user.setPassword("not-a-real-hash");
+        user.setPhoneNumber(String.valueOf(System.nanoTime()));
+        user.setRoleUser(RoleUser.ROLE_PASSENGER);
+        return getBean(UserRepository.class).save(user).getId();
+    }
+
+    /**
+     * Deletes a user created by a benchmark and its sessions.
+     *
+     * @param userId the identifier of the user
+     */
+    public void deleteUser(UUID userId) {
+        getBean(TransactionTemplate.class).executeWithoutResult(status -> {
+            getBean(UserRefreshTokensRepository.class).deleteAllByUserId(userId);
+            getBean(UserRepository.class).deleteById(userId);
+        });
+    }
+
+    /**
+     * Stops the application, then the containers it started.
+     */
+    @Override
+    public void close() {
+        context.close();
+        if (redis != null) {
+            redis.stop();
+        }
+        if (postgres != null) {
+            postgres.stop();
+        }
+    }
+}
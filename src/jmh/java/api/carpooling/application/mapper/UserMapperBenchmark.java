@@ -0,0 +1,101 @@
+package api.carpooling.application.mapper;
+
+import api.carpooling.application.dto.user.UserDTO;
+import api.carpooling.application.dto.user.UserResponse;
+import api.carpooling.domain.User;
+import api.carpooling.domain.enumeration.RoleUser;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Mapping cost of the MapStruct generated {@link UserMapper} and {@link UserResponseMapper}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class UserMapperBenchmark {
+
+    /**
+     * Mapper between users and their DTO.
+     */
+    private UserMapper userMapper;
+
+    /**
+     * Mapper from users to the profile response.
+     */
+    private UserResponseMapper userResponseMapper;
+
+    /**
+     * Fully populated user.
+     */
+    private User user;
+
+    /**
+     * DTO of {@link #user}.
+     */
+    private UserDTO userDTO;
+
+    /**
+     * Builds the mappers and the objects to map.
+     */
+    @Setup
+    public void setUp() {
+        userMapper = new UserMapperImpl();
+        userResponseMapper = new UserResponseMapperImpl();
+        LocalDateTime now = LocalDateTime.now();
+        user = User.builder()
+                .id(UUID.randomUUID())
+                .username("bench_user")
+                .email("bench@example.com")
+                .password("not-a-real-hash")
+                .phoneNumber("+33612345678")
+                .photoUser("photo.jpg")
+                .address("1 Rue de Paris")
+                .lastLogin(now)
+                .roleUser(RoleUser.ROLE_DRIVER)
+                .createdAt(now)
+                .updatedAt(now)
+                .build();
+        userDTO = userMapper.toDTO(user);
+    }
+
+    /**
+     * Maps a user to its DTO.
+     *
+     * @return the DTO
+     */
+    @Benchmark
+    public UserDTO toDTO() {
+        return userMapper.toDTO(user);
+    }
+
+    /**
+     * Maps a DTO back to a user.
+     *
+     * @return the user
+     */
+    @Benchmark
+    public User toEntity() {
+        return userMapper.toEntity(userDTO);
+    }
+
+    /**
+     * Maps a user to the profile response.
+     *
+     * @return the response
+     */
+    @Benchmark
+    public UserResponse toUserResponse() {
+        return userResponseMapper.toUserResponse(user);
+    }
+}
@@ -0,0 +1,159 @@
+package api.carpooling.application.service.impl;
+
+import api.carpooling.BenchmarkApplication;
+import api.carpooling.application.dto.auth.RegisterUserRequest;
+import api.carpooling.application.service.AuthService;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Latency and statement count of {@link AuthServiceImpl#register}.
+ * <p>
+ * BCrypt dominates the latency of a registration, so the JDBC statements prepared by
+ * the registrations are counted alongside: {@link Counters#statements()} divided by
+ * {@link Counters#registrations()} gives the statements per registration. JMH only reports
+ * such counters for the throughput and average time modes. PostgreSQL and Redis run in
+ * containers unless {@link BenchmarkApplication} is pointed at running servers.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class RegisterBenchmark {
+
+    /**
+     * Bound of the number derived from the run, keeping the phone numbers at 15 digits.
+     */
+    private static final int RUN_NUMBER_BOUND = 1_000_000_000;
+
+    /**
+     * Application registering the users.
+     */
+    private BenchmarkApplication application;
+
+    /**
+     * Service under measurement.
+     */
+    private AuthService authService;
+
+    /**
+     * Hibernate statistics counting the prepared statements.
+     */
+    private Statistics statistics;
+
+    /**
+     * Prefix keeping the users of this run unique.
+     */
+    private String run;
+
+    /**
+     * Sequence naming the next user.
+     */
+    private int sequence;
+
+    /**
+     * Users registered by the benchmark.
+     */
+    private final List<UUID> userIds = new ArrayList<>();
+
+    /**
+     * Counters reported next to the latency of each iteration.
+     */
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class Counters {
+
+        /**
+         * Statements prepared by the registrations.
+         */
+        private long statements;
+
+        /**
+         * Registrations measured.
+         */
+        private long registrations;
+
+        /**
+         * Returns the statements prepared by the registrations of the iteration.
+         *
+         * @return the number of statements
+         */
+        public long statements() {
+            return statements;
+        }
+
+        /**
+         * Returns the registrations measured in the iteration.
+         *
+         * @return the number of registrations
+         */
+        public long registrations() {
+            return registrations;
+        }
+
+        /**
+         * Resets the counters before each iteration.
+         */
+        @Setup(Level.Iteration)
+        public void reset() {
+            statements = 0;
+            registrations = 0;
+        }
+    }
+
+    /**
+     * Starts the application and enables the Hibernate statistics.
+     */
+    @Setup(Level.Trial)
+    public void setUp() {
+        application = new BenchmarkApplication();
+        authService = application.getBean(AuthService.class);
+        statistics = application.getBean(EntityManagerFactory.class).unwrap(SessionFactory.class).getStatistics();
+        statistics.setStatisticsEnabled(true);
+        run = UUID.randomUUID().toString().substring(0, 8);
+    }
+
+    /**
+     * Deletes the registered users and stops the application.
+     */
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        userIds.forEach(application::deleteUser);
+        application.close();
+    }
+
+    /**
+     * Registers a new user.
+     *
+     * @param counters counters of the iteration
+     */
+    @Benchmark
+    public void register(Counters counters) {
+        int i = sequence++;
+        RegisterUserRequest request = new RegisterUserRequest(
+                "bench-" + run + "-" + i,
+                "bench-" + run + "-" + i + "@bench.local",
+                "Password@123",
+                String.format("+3%09d%05d", Math.floorMod(run.hashCode(), RUN_NUMBER_BOUND), i));
+        long before = statistics.getPrepareStatementCount();
+        userIds.add(authService.register(request).id());
+        counters.statements += statistics.getPrepareStatementCount() - before;
+        counters.registrations++;
+    }
+}
@@ -0,0 +1,119 @@
+package api.carpooling.application.store;
+
+import api.carpooling.BenchmarkApplication;
+import api.carpooling.configuration.RefreshTokenProperties;
+import api.carpooling.domain.enumeration.RoleUser;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Latency of a refresh token rotation on each store.
+ * <p>
+ * One session is opened and rotated repeatedly, which is the hot path of
+ * {@code POST /api/v1/auth/refresh}. PostgreSQL and Redis run in containers unless
+ * {@link BenchmarkApplication} is pointed at running servers.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class RefreshTokenStoreBenchmark {
+
+    /**
+     * Store under measurement.
+     */
+    @Param({"jpa", "redis"})
+    private String store;
+
+    /**
+     * Application holding the stores.
+     */
+    private BenchmarkApplication application;
+
+    /**
+     * Store named by {@link #store}.
+     */
+    private RefreshTokenStore refreshTokenStore;
+
+    /**
+     * Owner of the session.
+     */
+    private UUID userId;
+
+    /**
+     * Session rotated by the benchmark.
+     */
+    private StoredRefreshSession session;
+
+    /**
+     * Expiry given to each rotated token.
+     */
+    private LocalDateTime expiresAt;
+
+    /**
+     * Number of rotations so far, naming the current token.
+     */
+    private long rotations;
+
+    /**
+     * Starts the application and opens the session.
+     */
+    @Setup(Level.Trial)
+    public void setUp() {
+        application = new BenchmarkApplication();
+        refreshTokenStore = "redis".equals(store)
+                ? new RedisRefreshTokenStore(application.getBean(StringRedisTemplate.class),
+                        application.getBean(RefreshTokenProperties.class))
+                : application.getBean(JpaRefreshTokenStore.class);
+        userId = application.createUser();
+
+        LocalDateTime now = LocalDateTime.now();
+        expiresAt = now.plusDays(1);
+        refreshTokenStore.open(StoredRefreshSession.builder()
+                .id(UUID.randomUUID())
+                .userId(userId)
+                .roleUser(RoleUser.ROLE_PASSENGER)
+                .userActive(true)
+                .deviceId("bench-" + store)
+                .tokenHash(store + "-0")
+                .createdAt(now)
+                .expiresAt(expiresAt)
+                .build());
+        session = refreshTokenStore.findByTokenHash(store + "-0").orElseThrow();
+    }
+
+    /**
+     * Revokes the session, deletes its owner and stops the application.
+     */
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        refreshTokenStore.revokeAll(userId);
+        application.deleteUser(userId);
+        application.close();
+    }
+
+    /**
+     * Rotates the session to its next token.
+     *
+     * @return true if the token was rotated
+     */
+    @Benchmark
+    public boolean rotate() {
+        String oldHash = store + "-" + rotations;
+        rotations++;
+        return refreshTokenStore.rotate(session, oldHash, store + "-" + rotations, expiresAt);
+    }
+}
@@ -0,0 +1,101 @@
+package api.carpooling.exception.handler;
+
+import api.carpooling.application.exception.UserNotFoundException;
+import api.carpooling.configuration.JacksonConfig;
+import api.carpooling.exception.ErrorResponse;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.core.MethodParameter;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.validation.BeanPropertyBindingResult;
+import org.springframework.validation.FieldError;
+import org.springframework.web.bind.MethodArgumentNotValidException;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of rendering error responses with {@link GlobalExceptionHandler}.
+ * <p>
+ * Each benchmark builds the error body and serializes it with the application
+ * {@link ObjectMapper}. {@link #apiException()} also creates the exception, whose
+ * stack trace is part of the cost of every error path.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class GlobalExceptionHandlerBenchmark {
+
+    /**
+     * Handler under measurement.
+     */
+    private GlobalExceptionHandler handler;
+
+    /**
+     * Mapper serializing the error bodies.
+     */
+    private ObjectMapper objectMapper;
+
+    /**
+     * Request the errors are reported for.
+     */
+    private MockHttpServletRequest request;
+
+    /**
+     * Validation failure with two field errors.
+     */
+    private MethodArgumentNotValidException validationException;
+
+    /**
+     * Builds the handler, the mapper and the validation failure.
+     *
+     * @throws NoSuchMethodException if the sample method cannot be found
+     */
+    @Setup
+    public void setUp() throws NoSuchMethodException {
+        handler = new GlobalExceptionHandler();
+        objectMapper = new JacksonConfig().objectMapper();
+        request = new MockHttpServletRequest("POST", "/api/v1/auth/register");
+
+        BeanPropertyBindingResult bindingResult = new BeanPropertyBindingResult(new Object(), "request");
+        bindingResult.addError(new FieldError("request", "email", "not-an-email",
+                false, null, null, "must be a well-formed email address"));
+        bindingResult.addError(new FieldError("request", "password", "",
+                false, null, null, "must not be blank"));
+        MethodParameter parameter = new MethodParameter(
+                GlobalExceptionHandlerBenchmark.class.getMethod("setUp"), -1);
+        validationException = new MethodArgumentNotValidException(parameter, bindingResult);
+    }
+
+    /**
+     * Renders a business error: exception creation, handling and serialization.
+     *
+     * @return the serialized body
+     * @throws JsonProcessingException if serialization fails
+     */
+    @Benchmark
+    public byte[] apiException() throws JsonProcessingException {
+        ErrorResponse body = handler.handleApiException(
+                new UserNotFoundException("User not found!"), request).getBody();
+        return objectMapper.writeValueAsBytes(body);
+    }
+
+    /**
+     * Rendering of a validation failure with field errors.
+     *
+     * @return the serialized body
+     * @throws JsonProcessingException if serialization fails
+     */
+    @Benchmark
+    public byte[] validationError() throws JsonProcessingException {
+        ErrorResponse body = handler.handleValidation(validationException, request).getBody();
+        return objectMapper.writeValueAsBytes(body);
+    }
+}
@@ -0,0 +1,105 @@
+package api.carpooling.security;
+
+import api.carpooling.configuration.JwtProperties;
+import api.carpooling.configuration.TokenRevocationProperties;
+import api.carpooling.security.revocation.AccessTokenRevocationList;
+import api.carpooling.utils.JwtKeyRing;
+import api.carpooling.utils.TokenGenerator;
+import api.carpooling.utils.TokenVerifier;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.io.IOException;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * End-to-end cost of {@link JwtAuthFilter} for one authenticated request.
+ * <p>
+ * The filter runs with its real verifier and revocation list on mock servlet objects.
+ * The claims of the token are cached after the first call, which is the steady state
+ * of a client reusing its token; the signature check alone is measured by
+ * {@code TokenGeneratorBenchmark#parseJwt}.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class JwtAuthFilterBenchmark {
+
+    /**
+     * Access token lifetime in milliseconds (1 hour).
+     */
+    private static final long EXPIRATION_MS = 3_600_000L;
+
+    /**
+     * Filter under measurement.
+     */
+    private JwtAuthFilter jwtAuthFilter;
+
+    /**
+     * Request carrying the access token.
+     */
+    private MockHttpServletRequest request;
+
+    /**
+     * Response written by the filter.
+     */
+    private MockHttpServletResponse response;
+
+    /**
+     * Chain reached when the request is authenticated.
+     */
+    private FilterChain filterChain;
+
+    /**
+     * Builds the filter, its collaborators and the request.
+     */
+    @Setup
+    public void setUp() {
+        JwtProperties jwtProperties = new JwtProperties();
+        jwtProperties.setExpirationMs(EXPIRATION_MS);
+        jwtProperties.setAllowEphemeralKey(true);
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+        TokenGenerator tokenGenerator = new TokenGenerator(jwtProperties, new JwtKeyRing(jwtProperties));
+        TokenVerifier tokenVerifier = new TokenVerifier(tokenGenerator, jwtProperties, meterRegistry);
+        AccessTokenRevocationList revocationList =
+                new AccessTokenRevocationList(new TokenRevocationProperties(), meterRegistry);
+        jwtAuthFilter = new JwtAuthFilter(tokenVerifier, revocationList);
+
+        request = new MockHttpServletRequest("GET", "/api/v1/auth/me");
+        request.addHeader("Authorization",
+                "Bearer " + tokenGenerator.generateJwtToken(UUID.randomUUID(), "ROLE_PASSENGER"));
+        response = new MockHttpServletResponse();
+        filterChain = (req, res) -> { };
+    }
+
+    /**
+     * Authenticates the request and clears the security context.
+     *
+     * @return the status of the response
+     * @throws ServletException if the filter fails
+     * @throws IOException if the filter fails
+     */
+    @Benchmark
+    public int authenticate() throws ServletException, IOException {
+        try {
+            jwtAuthFilter.doFilter(request, response, filterChain);
+            return response.getStatus();
+        } finally {
+            SecurityContextHolder.clearContext();
+        }
+    }
+}
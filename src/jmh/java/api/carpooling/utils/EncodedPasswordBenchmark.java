@@ -0,0 +1,85 @@
+package api.carpooling.utils;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Hashing and matching cost of passwords at several BCrypt costs.
+ * <p>
+ * {@link EncodedPassword} uses the default cost of 10; the other costs show what
+ * raising it would do to login and registration latency.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class EncodedPasswordBenchmark {
+
+    /**
+     * Password hashed and matched by the benchmarks.
+     */
+    private static final String PASSWORD = "Passw0rd!Bench";
+
+    /**
+     * BCrypt cost (log2 of the number of rounds).
+     */
+    @Param({"8", "10", "12"})
+    private int cost;
+
+    /**
+     * Encoder configured with {@link #cost}.
+     */
+    private BCryptPasswordEncoder encoder;
+
+    /**
+     * Hash of {@link #PASSWORD} at {@link #cost}.
+     */
+    private String hash;
+
+    /**
+     * Builds the encoder and the hash to match.
+     */
+    @Setup
+    public void setUp() {
+        encoder = new BCryptPasswordEncoder(cost);
+        hash = encoder.encode(PASSWORD);
+    }
+
+    /**
+     * Hashes a password, as done on registration.
+     *
+     * @return the hash
+     */
+    @Benchmark
+    public String encode() {
+        return encoder.encode(PASSWORD);
+    }
+
+    /**
+     * Matches a password against its hash, as done on login.
+     *
+     * @return true if the password matches
+     */
+    @Benchmark
+    public boolean matches() {
+        return encoder.matches(PASSWORD, hash);
+    }
+
+    /**
+     * Matches a password through {@link EncodedPassword}, at its default cost.
+     *
+     * @return true if the password matches
+     */
+    @Benchmark
+    public boolean encodedPasswordMatches() {
+        return EncodedPassword.isRightPassword(PASSWORD, hash);
+    }
+}
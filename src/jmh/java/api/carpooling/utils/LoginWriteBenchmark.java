@@ -0,0 +1,93 @@
+package api.carpooling.utils;
+
+import api.carpooling.BenchmarkApplication;
+import api.carpooling.domain.User;
+import api.carpooling.repository.UserRepository;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Latency of the writes of a login, password check excluded.
+ * <p>
+ * Each invocation updates the last login date on the users row and issues the tokens
+ * in one transaction. It only uses methods that predate the removal of the access
+ * token column, so it can be run on both sides of that migration to compare the
+ * writes. PostgreSQL and Redis run in containers unless {@link BenchmarkApplication}
+ * is pointed at running servers.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class LoginWriteBenchmark {
+
+    /**
+     * Application issuing the tokens.
+     */
+    private BenchmarkApplication application;
+
+    /**
+     * Service issuing the tokens of a login.
+     */
+    private UserTokenService userTokenService;
+
+    /**
+     * Repository reloading the user.
+     */
+    private UserRepository userRepository;
+
+    /**
+     * Template running each login in its own transaction.
+     */
+    private TransactionTemplate transactionTemplate;
+
+    /**
+     * User logging in.
+     */
+    private UUID userId;
+
+    /**
+     * Starts the application and creates the user.
+     */
+    @Setup(Level.Trial)
+    public void setUp() {
+        application = new BenchmarkApplication();
+        userTokenService = application.getBean(UserTokenService.class);
+        userRepository = application.getBean(UserRepository.class);
+        transactionTemplate = application.getBean(TransactionTemplate.class);
+        userId = application.createUser();
+    }
+
+    /**
+     * Deletes the user and its sessions and stops the application.
+     */
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        application.deleteUser(userId);
+        application.close();
+    }
+
+    /**
+     * Writes the last login date and issues the tokens of the user.
+     */
+    @Benchmark
+    public void login() {
+        transactionTemplate.executeWithoutResult(status -> {
+            User user = userRepository.findById(userId).orElseThrow();
+            user.setLastLogin(LocalDateTime.now());
+            userTokenService.generateTokens(user, "bench");
+        });
+    }
+}
@@ -0,0 +1,79 @@
+package api.carpooling.utils;
+
+import api.carpooling.configuration.JwtProperties;
+
+import io.jsonwebtoken.Claims;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Signing and parsing cost of access tokens with {@link TokenGenerator}.
+ * <p>
+ * Uses the ephemeral RSA key of {@link JwtKeyRing}, the same key size as production keys.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class TokenGeneratorBenchmark {
+
+    /**
+     * Access token lifetime in milliseconds (1 hour).
+     */
+    private static final long EXPIRATION_MS = 3_600_000L;
+
+    /**
+     * Generator under measurement.
+     */
+    private TokenGenerator tokenGenerator;
+
+    /**
+     * Identifier of the user the tokens are issued for.
+     */
+    private UUID userId;
+
+    /**
+     * Token parsed by {@link #parseJwt()}.
+     */
+    private String token;
+
+    /**
+     * Builds the generator and a token to parse.
+     */
+    @Setup
+    public void setUp() {
+        JwtProperties jwtProperties = new JwtProperties();
+        jwtProperties.setExpirationMs(EXPIRATION_MS);
+        jwtProperties.setAllowEphemeralKey(true);
+        tokenGenerator = new TokenGenerator(jwtProperties, new JwtKeyRing(jwtProperties));
+        userId = UUID.randomUUID();
+        token = tokenGenerator.generateJwtToken(userId, "ROLE_PASSENGER");
+    }
+
+    /**
+     * Signs a new access token.
+     *
+     * @return the signed token
+     */
+    @Benchmark
+    public String generateJwtToken() {
+        return tokenGenerator.generateJwtToken(userId, "ROLE_PASSENGER");
+    }
+
+    /**
+     * Verifies the signature of a token and reads its claims.
+     *
+     * @return the claims of the token
+     */
+    @Benchmark
+    public Claims parseJwt() {
+        return tokenGenerator.parseJwt(token);
+    }
+}
@@ -0,0 +1,127 @@
+package api.carpooling.api;
+
+import api.carpooling.application.dto.admin.BulkUserUpdateRequest;
+import api.carpooling.application.dto.admin.BulkUserUpdateResult;
+import api.carpooling.application.dto.admin.UserExportFormat;
+import api.carpooling.application.dto.admin.UserListFilter;
+import api.carpooling.application.service.UserBulkUpdateService;
+import api.carpooling.application.service.UserExportService;
+import api.carpooling.configuration.UserExportProperties;
+import api.carpooling.security.CurrentUser;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springdoc.core.annotations.ParameterObject;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.async.WebAsyncTask;
+
+import java.io.OutputStream;
+import java.util.UUID;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * REST controller for admin operations on many users at once:
+ * streamed exports and bulk updates.
+ * <p>
+ * Shares the base path of {@link AdminController}, so these operations are restricted to
+ * administrators like the other admin endpoints.
+ */
+@RestController
+@RequiredArgsConstructor
+@RequestMapping("/api/v1/admin")
+@Tag(name = "Admin API", description = "Admin user management API")
+public class AdminBulkController {
+
+    /**
+     * Size in bytes of the compression buffer of gzip exports.
+     */
+    private static final int GZIP_BUFFER_SIZE = 8192;
+
+    /**
+     * Service streaming the user exports.
+     */
+    private final UserExportService userExportService;
+
+    /**
+     * Configuration of the user exports, providing their timeout.
+     */
+    private final UserExportProperties userExportProperties;
+
+    /**
+     * Service applying bulk changes to users.
+     */
+    private final UserBulkUpdateService userBulkUpdateService;
+
+    /**
+     * Streams every user matching the filters as CSV or NDJSON, optionally gzip-compressed.
+     * <p>
+     * Rows are written as they are read from the database, so the export size is not
+     * bounded by memory. The export runs asynchronously under its own timeout,
+     * {@code user-export.timeout}, and leaves the timeout of other async requests unchanged.
+     *
+     * @param format output format
+     * @param gzip whether the export is gzip-compressed
+     * @param filter filters on role and activity, bound from the {@code roleUser} and
+     *               {@code active} query parameters
+     * @param response response the export is written to
+     * @return the task streaming the export
+     */
+    @GetMapping("/export")
+    @Operation(summary = "Export users", description = "Stream all users as CSV or NDJSON, optionally gzipped")
+    @ApiResponse(responseCode = "200", description = "Export streamed successfully")
+    public WebAsyncTask<Void> exportUsers(
+            @Parameter(description = "Output format") @RequestParam(defaultValue = "CSV") UserExportFormat format,
+            @Parameter(description = "Gzip-compress the export") @RequestParam(defaultValue = "false") boolean gzip,
+            @ParameterObject UserListFilter filter,
+            HttpServletResponse response) {
+        String filename = "users." + format.getExtension() + (gzip ? ".gz" : "");
+        response.setContentType(gzip ? "application/gzip" : format.getMediaType());
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION,
+                ContentDisposition.attachment().filename(filename).build().toString());
+        return new WebAsyncTask<>(userExportProperties.getTimeout().toMillis(), () -> {
+            OutputStream out = response.getOutputStream();
+            if (gzip) {
+                GZIPOutputStream gzipOut = new GZIPOutputStream(out, GZIP_BUFFER_SIZE);
+                userExportService.export(filter, format, gzipOut);
+                gzipOut.finish();
+            } else {
+                userExportService.export(filter, format, out);
+            }
+            response.flushBuffer();
+            return null;
+        });
+    }
+
+    /**
+     * Updates the role or active status of many users by admin.
+     *
+     * @param request selected users and the change to apply
+     * @param adminId id of the authenticated admin, never updated in bulk
+     * @return number of updated users and the outcome of each listed user
+     */
+    @PostMapping("/bulk-update")
+    @Operation(summary = "Bulk update users",
+            description = "Update the role or active status of users selected by ids, emails, filter or "
+                    + "allUsers; administrators are left unchanged")
+    @ApiResponse(responseCode = "200", description = "Users updated successfully")
+    @ApiResponse(responseCode = "400", description = "Invalid selection or empty change")
+    public ResponseEntity<BulkUserUpdateResult> bulkUpdateUsers(
+            @Valid @RequestBody BulkUserUpdateRequest request,
+            @Parameter(hidden = true) @CurrentUser UUID adminId) {
+        BulkUserUpdateResult result = userBulkUpdateService.bulkUpdate(request, adminId);
+        return ResponseEntity.ok(result);
+    }
+}
@@ -1,6 +1,11 @@
 package api.carpooling.api;
 
+import api.carpooling.application.dto.admin.CountMode;
 import api.carpooling.application.dto.admin.UpdateUserByAdmin;
+import api.carpooling.application.dto.admin.UserCursorPage;
+import api.carpooling.application.dto.admin.UserListFilter;
+import api.carpooling.application.dto.admin.UserSearchPage;
+import api.carpooling.application.dto.admin.UserSearchResult;
 import api.carpooling.application.dto.user.UserResponse;
 import api.carpooling.application.service.AdminService;
 
@@ -10,6 +15,7 @@ import io.swagger.v3.oas.annotations.tags.Tag;
 import io.swagger.v3.oas.annotations.Parameter;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springdoc.core.annotations.ParameterObject;
 import org.springframework.data.web.PageableDefault;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.RestController;
@@ -19,12 +25,14 @@ import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 
 import java.time.LocalDateTime;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 
 /**
@@ -58,6 +66,75 @@ public class AdminController {
         return ResponseEntity.ok(listAllUser);
     }
 
+    /**
+     * Retrieves users with keyset pagination, newest first.
+     * <p>
+     * The cost of a page does not depend on its depth, which makes this listing suited to
+     * walking through every user.
+     *
+     * @param cursor continuation token returned with the previous page
+     * @param size maximum number of users in the page
+     * @param filter filters on role and activity, bound from the {@code roleUser} and
+     *               {@code active} query parameters
+     * @param count how the total number of users is reported
+     * @return the page and the token of the next one
+     */
+    @GetMapping("/cursor")
+    @Operation(summary = "List users with a cursor",
+            description = "Keyset paginated listing of users, newest first, with optional filters and total")
+    @ApiResponse(responseCode = "200", description = "Users listed successfully")
+    @ApiResponse(responseCode = "400", description = "Invalid cursor")
+    public ResponseEntity<UserCursorPage> listUsers(
+            @Parameter(description = "Continuation token of the previous page")
+            @RequestParam(required = false) String cursor,
+            @Parameter(description = "Page size, at most 100") @RequestParam(defaultValue = "20") int size,
+            @ParameterObject UserListFilter filter,
+            @Parameter(description = "Total count mode") @RequestParam(defaultValue = "NONE") CountMode count) {
+        UserCursorPage page = adminService.listUsers(filter, cursor, size, count);
+        return ResponseEntity.ok(page);
+    }
+
+    /**
+     * Searches users by username, email or phone number, tolerating typos.
+     *
+     * @param q the searched term, at least three characters
+     * @param cursor continuation token of the previous page
+     * @param size maximum number of users in the page
+     * @return the page and the token of the next one
+     */
+    @GetMapping("/search")
+    @Operation(summary = "Search users",
+            description = "Substring and typo-tolerant search over username, email and phone number, newest first")
+    @ApiResponse(responseCode = "200", description = "Users found successfully")
+    @ApiResponse(responseCode = "400", description = "Term too short or invalid cursor")
+    public ResponseEntity<UserSearchPage> searchUsers(
+            @Parameter(description = "Searched term") @RequestParam String q,
+            @Parameter(description = "Continuation token of the previous page")
+            @RequestParam(required = false) String cursor,
+            @Parameter(description = "Page size, at most 100") @RequestParam(defaultValue = "20") int size) {
+        UserSearchPage page = adminService.searchUsers(q, cursor, size);
+        return ResponseEntity.ok(page);
+    }
+
+    /**
+     * Suggests users whose username, email or phone number starts with a prefix.
+     *
+     * @param prefix the typed prefix, at least three characters
+     * @param size maximum number of suggestions
+     * @return the suggested users
+     */
+    @GetMapping("/autocomplete")
+    @Operation(summary = "Autocomplete users",
+            description = "Prefix suggestions over username, email and phone number")
+    @ApiResponse(responseCode = "200", description = "Suggestions returned successfully")
+    @ApiResponse(responseCode = "400", description = "Prefix too short")
+    public ResponseEntity<List<UserSearchResult>> autocompleteUsers(
+            @Parameter(description = "Typed prefix") @RequestParam String prefix,
+            @Parameter(description = "Number of suggestions, at most 100")
+            @RequestParam(defaultValue = "10") int size) {
+        return ResponseEntity.ok(adminService.autocompleteUsers(prefix, size));
+    }
+
     /**
      * Retrieves a user by their email.
      *
@@ -2,12 +2,18 @@ package api.carpooling.api;
 
 import api.carpooling.application.dto.auth.LoginUserRequest;
 import api.carpooling.application.dto.auth.RegisterUserRequest;
+import api.carpooling.application.dto.auth.SessionResponse;
 import api.carpooling.application.dto.user.UserDTO;
 import api.carpooling.application.service.AuthService;
+import api.carpooling.security.AccessToken;
+import api.carpooling.security.CurrentAccessToken;
+import api.carpooling.security.CurrentUser;
 
 import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
@@ -18,11 +24,14 @@ import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RequestParam;
-import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.PathVariable;
 
 import java.time.LocalDateTime;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.UUID;
 
 /**
  * REST controller for user authentication.
@@ -60,6 +69,7 @@ public class AuthController {
      * Authenticates a user with email and password.
      *
      * @param loginUserRequest login request payload
+     * @param httpRequest current HTTP request, used for the client address
      * @return UserDTO of the authenticated user
      */
     @PostMapping("/login")
@@ -68,15 +78,18 @@ public class AuthController {
     @ApiResponse(responseCode = "400", description = "Invalid credentials")
     @ApiResponse(responseCode = "404", description = "User not found")
     @ApiResponse(responseCode = "401", description = "Inactive account")
-    public ResponseEntity<UserDTO> login(@Valid @RequestBody LoginUserRequest loginUserRequest) {
-        UserDTO userDTO = authService.login(loginUserRequest);
+    @ApiResponse(responseCode = "429", description = "Too many login attempts")
+    public ResponseEntity<UserDTO> login(@Valid @RequestBody LoginUserRequest loginUserRequest,
+                                         HttpServletRequest httpRequest) {
+        UserDTO userDTO = authService.login(loginUserRequest, httpRequest.getRemoteAddr());
         return new ResponseEntity<>(userDTO, HttpStatus.OK);
     }
 
     /**
      * logout user with authenticated token
      *
-     * @param token JWT token from Authorization header
+     * @param userId id of the authenticated user
+     * @param accessToken access token used for the request
      * user logout
      * @return map content : message : User logout successfully and timestamp
      */
@@ -85,8 +98,10 @@ public class AuthController {
     @ApiResponse(responseCode = "200", description = "User logout successfully")
     @ApiResponse(responseCode = "401", description = "Unauthorized")
     @ApiResponse(responseCode = "404", description = "User not found")
-    public ResponseEntity<Map<String, Object>> logout(@RequestHeader("Authorization") String token) {
-        authService.logout(token);
+    public ResponseEntity<Map<String, Object>> logout(
+            @Parameter(hidden = true) @CurrentUser UUID userId,
+            @Parameter(hidden = true) @CurrentAccessToken AccessToken accessToken) {
+        authService.logout(userId, accessToken);
         Map<String, Object> response = new HashMap<>();
         response.put("message", "User logout successfully");
         response.put("timestamp", LocalDateTime.now());
@@ -97,10 +112,11 @@ public class AuthController {
      * Refreshes an access JWT token using a refresh token.
      *
      * @param refreshToken the refresh token
-     * @return UserDTO with new JWT token
+     * @return UserDTO with new JWT token and new refresh token
      */
     @PostMapping("/refresh_token")
-    @Operation(summary = "Refresh access token", description = "Generate a new JWT token using a refresh token.")
+    @Operation(summary = "Refresh access token",
+            description = "Generate a new JWT token and rotate the refresh token.")
     @ApiResponse(responseCode = "200", description = "Token refreshed successfully")
     @ApiResponse(responseCode = "401", description = "Expired refresh token")
     @ApiResponse(responseCode = "404", description = "User not found")
@@ -112,7 +128,7 @@ public class AuthController {
     /**
      * Retrieves the profile of the currently authenticated user.
      *
-     * @param authHeader the Authorization header containing the JWT token
+     * @param userId id of the authenticated user
      * @return UserDTO of the authenticated user
      */
     @GetMapping("/me")
@@ -120,8 +136,40 @@ public class AuthController {
     @ApiResponse(responseCode = "200", description = "User profile retrieved")
     @ApiResponse(responseCode = "401", description = "Unauthorized")
     @ApiResponse(responseCode = "404", description = "User not found")
-    public ResponseEntity<UserDTO> me(@RequestHeader("Authorization") String authHeader) {
-        UserDTO userDTO = authService.me(authHeader);
+    public ResponseEntity<UserDTO> me(@Parameter(hidden = true) @CurrentUser UUID userId) {
+        UserDTO userDTO = authService.me(userId);
         return ResponseEntity.ok(userDTO);
     }
+
+    /**
+     * Lists the active sessions (one per device) of the authenticated user.
+     *
+     * @param userId id of the authenticated user
+     * @return active sessions of the user
+     */
+    @GetMapping("/sessions")
+    @Operation(summary = "List sessions", description = "Return the active refresh token sessions of the user")
+    @ApiResponse(responseCode = "200", description = "Sessions retrieved")
+    @ApiResponse(responseCode = "401", description = "Unauthorized")
+    public ResponseEntity<List<SessionResponse>> sessions(@Parameter(hidden = true) @CurrentUser UUID userId) {
+        return ResponseEntity.ok(authService.sessions(userId));
+    }
+
+    /**
+     * Revokes one session of the authenticated user.
+     *
+     * @param userId id of the authenticated user
+     * @param sessionId identifier of the session to revoke
+     * @return empty response
+     */
+    @DeleteMapping("/sessions/{sessionId}")
+    @Operation(summary = "Revoke session", description = "Revoke the refresh token of one device")
+    @ApiResponse(responseCode = "204", description = "Session revoked")
+    @ApiResponse(responseCode = "401", description = "Unauthorized")
+    @ApiResponse(responseCode = "404", description = "Session not found")
+    public ResponseEntity<Void> revokeSession(@Parameter(hidden = true) @CurrentUser UUID userId,
+                                              @PathVariable UUID sessionId) {
+        authService.revokeSession(userId, sessionId);
+        return ResponseEntity.noContent().build();
+    }
 }
@@ -0,0 +1,51 @@
+package api.carpooling.api;
+
+import api.carpooling.utils.JwtKeyRing;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.CacheControl;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.time.Duration;
+import java.util.Map;
+
+/**
+ * REST controller publishing the public keys that verify access tokens.
+ * <p>
+ * Gateways and other services fetch this document to verify tokens locally,
+ * matching the {@code kid} header of each token against the published keys.
+ */
+@RestController
+@RequiredArgsConstructor
+@Tag(name = "JWKS", description = "Public keys verifying access tokens")
+public class JwksController {
+
+    /**
+     * Max age of the JWKS document in client caches.
+     */
+    private static final Duration MAX_AGE = Duration.ofMinutes(5);
+
+    /**
+     * Keys signing and verifying access tokens.
+     */
+    private final JwtKeyRing jwtKeyRing;
+
+    /**
+     * Returns the JSON Web Key Set of the service.
+     *
+     * @return the public keys in JWKS format
+     */
+    @GetMapping("/.well-known/jwks.json")
+    @Operation(summary = "JSON Web Key Set", description = "Public keys verifying the access tokens")
+    @ApiResponse(responseCode = "200", description = "Key set returned")
+    public ResponseEntity<Map<String, Object>> jwks() {
+        return ResponseEntity.ok()
+                .cacheControl(CacheControl.maxAge(MAX_AGE).cachePublic())
+                .body(jwtKeyRing.toJwks());
+    }
+}
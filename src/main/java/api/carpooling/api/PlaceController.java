@@ -0,0 +1,52 @@
+package api.carpooling.api;
+
+import api.carpooling.application.dto.place.PlaceSuggestion;
+import api.carpooling.application.service.PlaceService;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+/**
+ * REST controller for places.
+ * Provides the public autocomplete of the places of departure and arrival.
+ */
+@RestController
+@RequiredArgsConstructor
+@RequestMapping("/api/v1/places")
+@Tag(name = "Place API", description = "Place autocomplete API")
+public class PlaceController {
+
+    /**
+     * Service suggesting the places.
+     */
+    private final PlaceService placeService;
+
+    /**
+     * Suggests the places whose name starts with the typed text.
+     *
+     * @param query text typed by the client
+     * @param size maximum number of places
+     * @return the suggested places
+     */
+    @GetMapping("/autocomplete")
+    @Operation(summary = "Autocomplete places",
+            description = "Places whose name starts with the text, regardless of case, accents and punctuation")
+    @ApiResponse(responseCode = "200", description = "Places found successfully")
+    public ResponseEntity<List<PlaceSuggestion>> autocomplete(
+            @Parameter(description = "Text typed by the client") @RequestParam("q") String query,
+            @Parameter(description = "Maximum number of places, at most 10")
+            @RequestParam(defaultValue = "10") int size) {
+        List<PlaceSuggestion> places = placeService.autocomplete(query, size);
+        return ResponseEntity.ok(places);
+    }
+}
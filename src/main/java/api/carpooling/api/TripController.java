@@ -0,0 +1,83 @@
+package api.carpooling.api;
+
+import api.carpooling.application.dto.trip.NearbyTrip;
+import api.carpooling.application.dto.trip.NearbyTripCriteria;
+import api.carpooling.application.dto.trip.TripSearchCriteria;
+import api.carpooling.application.dto.trip.TripSearchPage;
+import api.carpooling.application.service.TripSearchService;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springdoc.core.annotations.ParameterObject;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+/**
+ * REST controller for trips.
+ * Provides the public search of the trips offered by drivers.
+ */
+@RestController
+@RequiredArgsConstructor
+@RequestMapping("/api/v1/trips")
+@Tag(name = "Trip API", description = "Trip search API")
+public class TripController {
+
+    /**
+     * Service searching the trips.
+     */
+    private final TripSearchService tripSearchService;
+
+    /**
+     * Searches the trips between two places, earliest departure first.
+     *
+     * @param criteria route, departure window, seats and price filters, bound from the
+     *                 {@code origin}, {@code destination}, {@code departureFrom},
+     *                 {@code departureTo}, {@code minSeats} and {@code maxPrice} query parameters
+     * @param cursor continuation token returned with the previous page
+     * @param size maximum number of trips in the page
+     * @return the page and the token of the next one
+     */
+    @GetMapping("/search")
+    @Operation(summary = "Search trips",
+            description = "Keyset paginated search of trips by route, departure window, free seats and price")
+    @ApiResponse(responseCode = "200", description = "Trips found successfully")
+    @ApiResponse(responseCode = "400", description = "Invalid criteria or cursor")
+    public ResponseEntity<TripSearchPage> searchTrips(
+            @ParameterObject TripSearchCriteria criteria,
+            @Parameter(description = "Continuation token of the previous page")
+            @RequestParam(required = false) String cursor,
+            @Parameter(description = "Page size, at most 50") @RequestParam(defaultValue = "20") int size) {
+        TripSearchPage page = tripSearchService.search(criteria, cursor, size);
+        return ResponseEntity.ok(page);
+    }
+
+    /**
+     * Searches the trips leaving near a point, nearest first.
+     *
+     * @param criteria point, radius, departure window and seats filter, bound from the
+     *                 {@code latitude}, {@code longitude}, {@code radiusKm}, {@code departureFrom},
+     *                 {@code departureTo} and {@code minSeats} query parameters
+     * @param size maximum number of trips returned
+     * @return the trips with their distance to the point
+     */
+    @GetMapping("/nearby")
+    @Operation(summary = "Search trips near a point",
+            description = "Trips leaving nearest to a point, within a radius and a departure window")
+    @ApiResponse(responseCode = "200", description = "Trips found successfully")
+    @ApiResponse(responseCode = "400", description = "Invalid point, radius or window")
+    public ResponseEntity<List<NearbyTrip>> searchNearbyTrips(
+            @ParameterObject NearbyTripCriteria criteria,
+            @Parameter(description = "Maximum number of trips, at most 50")
+            @RequestParam(defaultValue = "20") int size) {
+        List<NearbyTrip> trips = tripSearchService.searchNearby(criteria, size);
+        return ResponseEntity.ok(trips);
+    }
+}
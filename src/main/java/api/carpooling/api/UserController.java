@@ -5,7 +5,11 @@ import api.carpooling.application.dto.user.UpdateRequestUser;
 import api.carpooling.application.dto.user.UserResponse;
 import api.carpooling.application.service.UserService;
 
+import api.carpooling.security.CurrentUser;
+
+import com.fasterxml.jackson.databind.JsonNode;
 import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
@@ -15,13 +19,14 @@ import org.springframework.web.bind.annotation.RestController;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
+import org.springframework.web.bind.annotation.PatchMapping;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.RequestBody;
-import org.springframework.web.bind.annotation.RequestHeader;
 
 import java.time.LocalDateTime;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.UUID;
 
 /**
  * REST controller for user management.
@@ -35,6 +40,11 @@ import java.util.Map;
 @Tag(name = "User management", description = "API for managing users")
 public class UserController {
 
+    /**
+     * Media type of JSON Merge Patch documents (RFC 7396).
+     */
+    public static final String MERGE_PATCH_JSON = "application/merge-patch+json";
+
     /**
      * Service used to manage user operations.
      */
@@ -44,7 +54,7 @@ public class UserController {
      * Completes a user's profile with additional information.
      *
      * @param completeUserRequest payload containing profile information
-     * @param token Authorization token of the user
+     * @param userId id of the authenticated user
      * @return UserResponse containing updated user information
      */
     @PostMapping
@@ -54,8 +64,8 @@ public class UserController {
     @ApiResponse(responseCode = "403", description = "Forbidden")
     @ApiResponse(responseCode = "404", description = "User not found")
     public ResponseEntity<UserResponse> completeUser(@Valid @RequestBody CompleteUserRequest completeUserRequest,
-                                                     @RequestHeader("Authorization") String token) {
-        UserResponse userResponse = userService.completeUserProfil(completeUserRequest, token);
+                                                     @Parameter(hidden = true) @CurrentUser UUID userId) {
+        UserResponse userResponse = userService.completeUserProfil(completeUserRequest, userId);
         return ResponseEntity.ok(userResponse);
     }
 
@@ -63,7 +73,7 @@ public class UserController {
      * Updates a user's information such as username, email, password, etc.
      *
      * @param updateRequestUser payload containing updated user fields
-     * @param token Authorization token of the user
+     * @param userId id of the authenticated user
      * @return UserResponse containing updated user information
      */
     @PutMapping
@@ -73,15 +83,37 @@ public class UserController {
     @ApiResponse(responseCode = "401", description = "Unauthorized")
     @ApiResponse(responseCode = "404", description = "User not found")
     public ResponseEntity<UserResponse> updateUser(@Valid @RequestBody UpdateRequestUser updateRequestUser,
-                                                   @RequestHeader("Authorization") String token) {
-        UserResponse userResponse = userService.updateUser(updateRequestUser, token);
+                                                   @Parameter(hidden = true) @CurrentUser UUID userId) {
+        UserResponse userResponse = userService.updateUser(updateRequestUser, userId);
+        return ResponseEntity.ok(userResponse);
+    }
+
+    /**
+     * Partially updates a user's information with a JSON Merge Patch.
+     * <p>
+     * Only the members present in the document are changed; a null photo or address
+     * removes it.
+     *
+     * @param patch merge patch document
+     * @param userId id of the authenticated user
+     * @return UserResponse containing updated user information
+     */
+    @PatchMapping(consumes = MERGE_PATCH_JSON)
+    @Operation(summary = "Patch user", description = "Partially update a user's information (JSON Merge Patch)")
+    @ApiResponse(responseCode = "200", description = "User updated successfully")
+    @ApiResponse(responseCode = "400", description = "Invalid patch")
+    @ApiResponse(responseCode = "401", description = "Unauthorized")
+    @ApiResponse(responseCode = "404", description = "User not found")
+    public ResponseEntity<UserResponse> patchUser(@RequestBody JsonNode patch,
+                                                  @Parameter(hidden = true) @CurrentUser UUID userId) {
+        UserResponse userResponse = userService.patchUser(patch, userId);
         return ResponseEntity.ok(userResponse);
     }
 
     /**
-     * Deletes a user account identified by the authorization token.
+     * Deletes the account of the authenticated user.
      *
-     * @param token Authorization token of the user
+     * @param userId id of the authenticated user
      * @return Map containing a success message and timestamp
      */
     @DeleteMapping
@@ -89,8 +121,8 @@ public class UserController {
     @ApiResponse(responseCode = "200", description = "User deleted successfully")
     @ApiResponse(responseCode = "404", description = "User not found")
     @ApiResponse(responseCode = "401", description = "Unauthorized")
-    public ResponseEntity<Map<String, Object>> deleteUser(@RequestHeader("Authorization") String token) {
-        userService.deleteUser(token);
+    public ResponseEntity<Map<String, Object>> deleteUser(@Parameter(hidden = true) @CurrentUser UUID userId) {
+        userService.deleteUser(userId);
         Map<String, Object> response = new HashMap<>();
         response.put("message", "User deleted successfully");
         response.put("timestamp", LocalDateTime.now());
@@ -0,0 +1,62 @@
+package api.carpooling.application.audit;
+
+/**
+ * Actions recorded in the {@code audit_logs} table.
+ */
+public enum AuditAction {
+
+    /**
+     * An administrator changed the role or activity of a user.
+     */
+    ADMIN_USER_UPDATED,
+
+    /**
+     * An administrator changed the role or activity of several users at once.
+     */
+    ADMIN_BULK_UPDATED,
+
+    /**
+     * An administrator deleted a user.
+     */
+    ADMIN_USER_DELETED,
+
+    /**
+     * A user logged in.
+     */
+    LOGIN_SUCCEEDED,
+
+    /**
+     * A login was refused for an existing user.
+     */
+    LOGIN_FAILED,
+
+    /**
+     * A user created an account.
+     */
+    USER_REGISTERED,
+
+    /**
+     * A user changed their profile.
+     */
+    PROFILE_UPDATED,
+
+    /**
+     * A user deleted their account.
+     */
+    USER_DELETED,
+
+    /**
+     * A refresh token was rotated.
+     */
+    TOKEN_REFRESHED,
+
+    /**
+     * A user logged out of every session.
+     */
+    TOKENS_REVOKED,
+
+    /**
+     * A user revoked one of their sessions.
+     */
+    SESSION_REVOKED
+}
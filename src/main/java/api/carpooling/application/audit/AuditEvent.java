@@ -0,0 +1,49 @@
+package api.carpooling.application.audit;
+
+import lombok.Builder;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * One row of the {@code audit_logs} table.
+ *
+ * @param userId     user who performed the action, null for anonymous actions
+ * @param action     what was done
+ * @param entityType type of the affected entity, e.g. {@code USER}
+ * @param entityId   identifier of the affected entity
+ * @param details    free-form details stored as JSONB
+ * @param createdAt  when the action happened
+ */
+@Builder(toBuilder = true)
+public record AuditEvent(
+        UUID userId,
+        AuditAction action,
+        String entityType,
+        UUID entityId,
+        Map<String, Object> details,
+        LocalDateTime createdAt
+) {
+
+    /**
+     * Entity type of the events about a user account.
+     */
+    public static final String USER = "USER";
+
+    /**
+     * Entity type of the events about a refresh token session.
+     */
+    public static final String SESSION = "SESSION";
+
+    /**
+     * Starts an event about a user account.
+     *
+     * @param action what was done
+     * @param userId identifier of the affected user
+     * @return a builder with the action and the affected user set
+     */
+    public static AuditEventBuilder forUser(AuditAction action, UUID userId) {
+        return builder().action(action).entityType(USER).entityId(userId);
+    }
+}
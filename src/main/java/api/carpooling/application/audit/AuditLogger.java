@@ -0,0 +1,359 @@
+package api.carpooling.application.audit;
+
+import api.carpooling.configuration.AuditProperties;
+import api.carpooling.repository.AuditLogRepository;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Records audit events without slowing down the request path.
+ * <p>
+ * Events are put into a bounded ring buffer and written to {@code audit_logs} by a single
+ * background thread, in multi-row batches of up to {@code audit.batch-size} events or
+ * every {@code audit.flush-interval}. Events recorded inside a transaction are only
+ * buffered once it commits, so a rolled back change leaves no trace.
+ * <p>
+ * When the buffer is full, the request thread waits up to {@code audit.offer-timeout}
+ * and then spills the event to the {@link AuditOverflow} files; batches the database
+ * rejects are spilled the same way. Spilled events are replayed when the writer is idle.
+ */
+@Slf4j
+@Component
+public class AuditLogger implements DisposableBean {
+
+    /**
+     * Prefix of the metrics published by this component.
+     */
+    private static final String METRIC_PREFIX = "audit";
+
+    /**
+     * Delay before retrying a replay that failed.
+     */
+    private static final long REPLAY_BACKOFF_NANOS = TimeUnit.SECONDS.toNanos(5);
+
+    /**
+     * Longest time shutdown waits for the writer to empty the buffer.
+     */
+    private static final long SHUTDOWN_TIMEOUT_MS = 10_000L;
+
+    /**
+     * Ring buffer between the request threads and the writer.
+     */
+    private final BlockingQueue<AuditEvent> buffer;
+
+    /**
+     * Files receiving the events that could not be buffered or written.
+     */
+    private final AuditOverflow overflow;
+
+    /**
+     * Repository inserting the batches.
+     */
+    private final AuditLogRepository auditLogRepository;
+
+    /**
+     * Audit configuration.
+     */
+    private final AuditProperties properties;
+
+    /**
+     * Background thread writing the batches.
+     */
+    private final Thread writer;
+
+    /**
+     * Events inserted by the writer.
+     */
+    private final Counter writtenCounter;
+
+    /**
+     * Events appended to the overflow files.
+     */
+    private final Counter spilledCounter;
+
+    /**
+     * Events replayed from the overflow files.
+     */
+    private final Counter replayedCounter;
+
+    /**
+     * Events lost because the overflow files could not be written either.
+     */
+    private final Counter droppedCounter;
+
+    /**
+     * Time spent inserting a batch.
+     */
+    private final Timer flushTimer;
+
+    /**
+     * Whether the writer keeps waiting for new events.
+     */
+    private volatile boolean running = true;
+
+    /**
+     * Whether the overflow files may hold events to replay.
+     */
+    private volatile boolean overflowPending = true;
+
+    /**
+     * Earliest time, in {@link System#nanoTime()} units, of the next replay attempt.
+     */
+    private long nextReplayAt;
+
+    /**
+     * Builds the buffer, registers its metrics and starts the writer.
+     *
+     * @param auditLogRepository repository inserting the batches
+     * @param properties audit configuration
+     * @param objectMapper serializes the overflow files
+     * @param meterRegistry registry receiving the metrics
+     */
+    public AuditLogger(AuditLogRepository auditLogRepository,
+                       AuditProperties properties,
+                       ObjectMapper objectMapper,
+                       MeterRegistry meterRegistry) {
+        this.auditLogRepository = auditLogRepository;
+        this.properties = properties;
+        this.buffer = new ArrayBlockingQueue<>(properties.getBufferCapacity());
+        this.overflow = new AuditOverflow(Path.of(properties.getOverflowDirectory()), objectMapper);
+
+        Gauge.builder(METRIC_PREFIX + ".buffer.depth", buffer, BlockingQueue::size)
+                .description("Audit events waiting to be written")
+                .register(meterRegistry);
+        this.writtenCounter = Counter.builder(METRIC_PREFIX + ".events").tag("result", "written")
+                .register(meterRegistry);
+        this.spilledCounter = Counter.builder(METRIC_PREFIX + ".events").tag("result", "spilled")
+                .register(meterRegistry);
+        this.replayedCounter = Counter.builder(METRIC_PREFIX + ".events").tag("result", "replayed")
+                .register(meterRegistry);
+        this.droppedCounter = Counter.builder(METRIC_PREFIX + ".events").tag("result", "dropped")
+                .register(meterRegistry);
+        this.flushTimer = Timer.builder(METRIC_PREFIX + ".flush").register(meterRegistry);
+        this.nextReplayAt = System.nanoTime();
+
+        this.writer = Thread.ofPlatform().name("audit-writer").daemon(true).unstarted(this::runWriter);
+        if (properties.isEnabled()) {
+            writer.start();
+        }
+    }
+
+    /**
+     * Records an event once the current transaction commits, or right away outside of one.
+     * <p>
+     * The acting user defaults to the authenticated user and the date to now.
+     *
+     * @param event the event to record
+     */
+    public void record(AuditEvent event) {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        AuditEvent stamped = stamp(event);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    enqueue(stamped);
+                }
+            });
+        } else {
+            enqueue(stamped);
+        }
+    }
+
+    /**
+     * Records an event even if the current transaction rolls back, e.g. a refused login.
+     *
+     * @param event the event to record
+     */
+    public void recordNow(AuditEvent event) {
+        if (properties.isEnabled()) {
+            enqueue(stamp(event));
+        }
+    }
+
+    /**
+     * Fills in the acting user and the date of an event.
+     *
+     * @param event the event as built by the caller
+     * @return the complete event
+     */
+    private static AuditEvent stamp(AuditEvent event) {
+        AuditEvent.AuditEventBuilder builder = event.toBuilder();
+        if (event.userId() == null) {
+            Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+            if (authentication != null && authentication.getPrincipal() instanceof UUID actorId) {
+                builder.userId(actorId);
+            }
+        }
+        if (event.createdAt() == null) {
+            builder.createdAt(LocalDateTime.now());
+        }
+        return builder.build();
+    }
+
+    /**
+     * Puts an event into the buffer, spilling it to disk if the buffer stays full.
+     *
+     * @param event the event to buffer
+     */
+    private void enqueue(AuditEvent event) {
+        boolean accepted = buffer.offer(event);
+        if (!accepted) {
+            try {
+                accepted = buffer.offer(event, properties.getOfferTimeout().toNanos(), TimeUnit.NANOSECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        if (!accepted) {
+            log.warn("[AUDIT] Buffer full ({} events), spilling {} to disk", buffer.size(), event.action());
+            spill(List.of(event));
+        }
+    }
+
+    /**
+     * Appends events to the overflow files.
+     *
+     * @param events the events that could not be buffered or written
+     */
+    private void spill(List<AuditEvent> events) {
+        try {
+            overflow.append(events);
+            spilledCounter.increment(events.size());
+            overflowPending = true;
+        } catch (UncheckedIOException e) {
+            droppedCounter.increment(events.size());
+            log.error("[AUDIT] {} audit event(s) lost, overflow not writable", events.size(), e);
+        }
+    }
+
+    /**
+     * Main loop of the writer thread.
+     */
+    private void runWriter() {
+        List<AuditEvent> batch = new ArrayList<>(properties.getBatchSize());
+        while (running || !buffer.isEmpty()) {
+            try {
+                fillBatch(batch);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                running = false;
+            }
+            if (batch.isEmpty()) {
+                replayOverflow();
+            } else {
+                flush(batch);
+                batch.clear();
+            }
+        }
+    }
+
+    /**
+     * Waits for a first event, then collects more until the batch is full or the flush
+     * interval has elapsed.
+     *
+     * @param batch the list receiving the events
+     * @throws InterruptedException if the writer is interrupted
+     */
+    private void fillBatch(List<AuditEvent> batch) throws InterruptedException {
+        long flushNanos = properties.getFlushInterval().toNanos();
+        AuditEvent first = buffer.poll(flushNanos, TimeUnit.NANOSECONDS);
+        if (first == null) {
+            return;
+        }
+        batch.add(first);
+        long deadline = System.nanoTime() + flushNanos;
+        int batchSize = properties.getBatchSize();
+        while (batch.size() < batchSize) {
+            buffer.drainTo(batch, batchSize - batch.size());
+            long remaining = deadline - System.nanoTime();
+            if (batch.size() >= batchSize || remaining <= 0 || !running) {
+                return;
+            }
+            AuditEvent next = buffer.poll(remaining, TimeUnit.NANOSECONDS);
+            if (next == null) {
+                return;
+            }
+            batch.add(next);
+        }
+    }
+
+    /**
+     * Inserts a batch, spilling it to disk if the database rejects it.
+     *
+     * @param batch the events to write
+     */
+    private void flush(List<AuditEvent> batch) {
+        try {
+            flushTimer.record(() -> auditLogRepository.insertAll(batch));
+            writtenCounter.increment(batch.size());
+        } catch (RuntimeException e) {
+            log.warn("[AUDIT] Cannot write {} audit event(s), spilling them to disk: {}",
+                    batch.size(), e.getMessage());
+            spill(List.copyOf(batch));
+        }
+    }
+
+    /**
+     * Writes the spilled events back to the database while the writer is idle.
+     */
+    private void replayOverflow() {
+        if (!overflowPending || System.nanoTime() - nextReplayAt < 0) {
+            return;
+        }
+        try {
+            overflowPending = false;
+            int replayed = overflow.replay(properties.getBatchSize(), auditLogRepository::insertAll);
+            if (replayed > 0) {
+                replayedCounter.increment(replayed);
+                log.info("[AUDIT] Replayed {} spilled audit event(s)", replayed);
+            }
+        } catch (RuntimeException e) {
+            overflowPending = true;
+            nextReplayAt = System.nanoTime() + REPLAY_BACKOFF_NANOS;
+            log.warn("[AUDIT] Replay of spilled audit events failed, retrying later: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Stops the writer once the buffer is empty.
+     *
+     * @throws InterruptedException if interrupted while waiting for the writer
+     */
+    @Override
+    public void destroy() throws InterruptedException {
+        running = false;
+        if (writer.isAlive()) {
+            writer.join(SHUTDOWN_TIMEOUT_MS);
+        }
+        if (!buffer.isEmpty()) {
+            List<AuditEvent> remaining = new ArrayList<>(buffer.size());
+            buffer.drainTo(remaining);
+            log.warn("[AUDIT] Writer did not finish in time, spilling {} audit event(s)", remaining.size());
+            spill(remaining);
+        }
+    }
+}
@@ -0,0 +1,303 @@
+package api.carpooling.application.audit;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+/**
+ * Durable overflow of the audit buffer.
+ * <p>
+ * Events that could not be buffered or written are appended, one JSON document per line,
+ * to an active file that is forced to disk before the call returns. Replaying seals the
+ * active file under a timestamped name and feeds the sealed files, oldest first, back to
+ * the writer. After each written batch the number of lines consumed is saved next to the
+ * file, so a retry resumes after the last written batch; only a crash between a batch and
+ * its offset can write that batch twice. Lines that cannot be parsed are moved to a
+ * quarantine file instead of blocking the replay.
+ */
+@Slf4j
+class AuditOverflow {
+
+    /**
+     * Name of the file receiving the spilled events.
+     */
+    private static final String ACTIVE_FILE = "audit-overflow.ndjson";
+
+    /**
+     * Prefix of the sealed files waiting to be replayed.
+     */
+    private static final String SEALED_PREFIX = "audit-overflow-";
+
+    /**
+     * Extension of the overflow files.
+     */
+    private static final String EXTENSION = ".ndjson";
+
+    /**
+     * Suffix of the file holding the replay offset of a sealed file.
+     */
+    private static final String OFFSET_SUFFIX = ".offset";
+
+    /**
+     * Name of the file receiving the lines that cannot be parsed.
+     */
+    private static final String QUARANTINE_FILE = "audit-quarantine.ndjson";
+
+    /**
+     * Directory holding the overflow files.
+     */
+    private final Path directory;
+
+    /**
+     * Serializes the events.
+     */
+    private final ObjectMapper objectMapper;
+
+    /**
+     * Sequence keeping the sealed file names unique and ordered.
+     */
+    private long sealSequence;
+
+    /**
+     * Builds the overflow on a directory.
+     *
+     * @param directory directory holding the overflow files
+     * @param objectMapper serializes the events
+     */
+    AuditOverflow(Path directory, ObjectMapper objectMapper) {
+        this.directory = directory;
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * Appends events to the active file and forces them to disk.
+     *
+     * @param events the events to keep
+     * @throws UncheckedIOException if the events could not be written
+     */
+    synchronized void append(List<AuditEvent> events) {
+        try {
+            Files.createDirectories(directory);
+            try (BufferedWriter writer = Files.newBufferedWriter(directory.resolve(ACTIVE_FILE),
+                    StandardCharsets.UTF_8, StandardOpenOption.CREATE, StandardOpenOption.APPEND,
+                    StandardOpenOption.WRITE, StandardOpenOption.DSYNC)) {
+                for (AuditEvent event : events) {
+                    writer.write(objectMapper.writeValueAsString(event));
+                    writer.newLine();
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("[AUDIT] Cannot write the overflow file", e);
+        }
+    }
+
+    /**
+     * Replays the spilled events in batches.
+     * <p>
+     * Stops at the first batch the consumer rejects, leaving the file and its offset in
+     * place for the next attempt.
+     *
+     * @param batchSize maximum number of events per batch
+     * @param writer consumer writing a batch, throwing if it could not
+     * @return the number of replayed events
+     */
+    int replay(int batchSize, Consumer<List<AuditEvent>> writer) {
+        int replayed = 0;
+        for (Path file : sealedFiles()) {
+            replayed += replayFile(file, batchSize, writer);
+            delete(file);
+        }
+        return replayed;
+    }
+
+    /**
+     * Replays the events of a sealed file not consumed yet, saving the offset after
+     * each written batch.
+     *
+     * @param file the sealed file
+     * @param batchSize maximum number of events per batch
+     * @param writer consumer writing a batch, throwing if it could not
+     * @return the number of replayed events
+     */
+    private int replayFile(Path file, int batchSize, Consumer<List<AuditEvent>> writer) {
+        long offset = readOffset(file);
+        int replayed = 0;
+        try (BufferedReader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            List<AuditEvent> batch = new ArrayList<>(batchSize);
+            long lineNumber = 0;
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (++lineNumber <= offset) {
+                    continue;
+                }
+                AuditEvent event = read(file, lineNumber, line);
+                if (event != null) {
+                    batch.add(event);
+                } else if (batch.isEmpty()) {
+                    saveOffset(file, lineNumber);
+                }
+                if (batch.size() == batchSize) {
+                    writer.accept(batch);
+                    replayed += batch.size();
+                    batch = new ArrayList<>(batchSize);
+                    saveOffset(file, lineNumber);
+                }
+            }
+            if (!batch.isEmpty()) {
+                writer.accept(batch);
+                replayed += batch.size();
+                saveOffset(file, lineNumber);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("[AUDIT] Cannot read the overflow file " + file, e);
+        }
+        return replayed;
+    }
+
+    /**
+     * Reads a spilled event, moving a line that cannot be parsed to the quarantine file.
+     *
+     * @param file the sealed file holding the line
+     * @param lineNumber number of the line in the file
+     * @param line the line
+     * @return the event, or null if the line is blank or cannot be parsed
+     * @throws IOException if the quarantine file could not be written
+     */
+    private AuditEvent read(Path file, long lineNumber, String line) throws IOException {
+        if (line.isBlank()) {
+            return null;
+        }
+        try {
+            return objectMapper.readValue(line, AuditEvent.class);
+        } catch (JsonProcessingException e) {
+            quarantine(file, lineNumber, line);
+            return null;
+        }
+    }
+
+    /**
+     * Seals the active file and lists the files to replay, oldest first.
+     *
+     * @return the sealed files
+     */
+    private synchronized List<Path> sealedFiles() {
+        if (!Files.isDirectory(directory)) {
+            return List.of();
+        }
+        try {
+            Path active = directory.resolve(ACTIVE_FILE);
+            if (Files.exists(active)) {
+                String name = SEALED_PREFIX + System.currentTimeMillis() + "-" + sealSequence++ + EXTENSION;
+                Files.move(active, directory.resolve(name), StandardCopyOption.ATOMIC_MOVE);
+            }
+            try (Stream<Path> files = Files.list(directory)) {
+                return files.filter(file -> file.getFileName().toString().startsWith(SEALED_PREFIX)
+                                && file.getFileName().toString().endsWith(EXTENSION))
+                        .sorted()
+                        .toList();
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("[AUDIT] Cannot list the overflow files", e);
+        }
+    }
+
+    /**
+     * Reads the number of lines of a sealed file already consumed by a previous replay.
+     *
+     * @param file the sealed file
+     * @return the consumed lines, 0 if the file was never partly replayed
+     */
+    private static long readOffset(Path file) {
+        Path offsetFile = offsetFile(file);
+        if (!Files.exists(offsetFile)) {
+            return 0L;
+        }
+        try {
+            return Long.parseLong(Files.readString(offsetFile, StandardCharsets.UTF_8).trim());
+        } catch (IOException | NumberFormatException e) {
+            log.warn("[AUDIT] Cannot read the replay offset {}, replaying {} from the start", offsetFile, file);
+            return 0L;
+        }
+    }
+
+    /**
+     * Saves the number of lines of a sealed file consumed so far.
+     * <p>
+     * The offset is written to a temporary file moved over the previous one, so a crash
+     * leaves either the old or the new offset.
+     *
+     * @param file the sealed file
+     * @param lines the consumed lines
+     */
+    private static void saveOffset(Path file, long lines) {
+        Path offsetFile = offsetFile(file);
+        Path temporary = offsetFile.resolveSibling(offsetFile.getFileName() + ".tmp");
+        try {
+            Files.writeString(temporary, Long.toString(lines), StandardCharsets.UTF_8,
+                    StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE,
+                    StandardOpenOption.DSYNC);
+            Files.move(temporary, offsetFile, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        } catch (IOException e) {
+            log.warn("[AUDIT] Cannot save the replay offset of {}, its written events may be written twice", file);
+        }
+    }
+
+    /**
+     * Resolves the file holding the replay offset of a sealed file.
+     *
+     * @param file the sealed file
+     * @return the offset file
+     */
+    private static Path offsetFile(Path file) {
+        return file.resolveSibling(file.getFileName() + OFFSET_SUFFIX);
+    }
+
+    /**
+     * Moves a line that cannot be parsed to the quarantine file.
+     *
+     * @param file the sealed file holding the line
+     * @param lineNumber number of the line in the file
+     * @param line the line
+     * @throws IOException if the quarantine file could not be written
+     */
+    private void quarantine(Path file, long lineNumber, String line) throws IOException {
+        try (BufferedWriter writer = Files.newBufferedWriter(directory.resolve(QUARANTINE_FILE),
+                StandardCharsets.UTF_8, StandardOpenOption.CREATE, StandardOpenOption.APPEND,
+                StandardOpenOption.WRITE, StandardOpenOption.DSYNC)) {
+            writer.write(line);
+            writer.newLine();
+        }
+        log.error("[AUDIT] Unreadable audit event at line {} of {} moved to {}", lineNumber, file, QUARANTINE_FILE);
+    }
+
+    /**
+     * Deletes a replayed file, then its offset.
+     * <p>
+     * The offset is kept when the file cannot be deleted, so the next replay skips its
+     * events instead of writing them twice.
+     *
+     * @param file the replayed file
+     */
+    private static void delete(Path file) {
+        try {
+            Files.deleteIfExists(file);
+            Files.deleteIfExists(offsetFile(file));
+        } catch (IOException e) {
+            log.warn("[AUDIT] Cannot delete replayed overflow file {}", file);
+        }
+    }
+}
@@ -0,0 +1,186 @@
+package api.carpooling.application.cache;
+
+import api.carpooling.application.dto.place.PlaceSuggestion;
+import api.carpooling.configuration.PlaceDictionaryProperties;
+import api.carpooling.repository.PlaceEntry;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.OptionalLong;
+import java.util.TreeMap;
+
+/**
+ * In-memory dictionary of the places, answering the autocomplete and resolving the
+ * places of a search without the database.
+ * <p>
+ * Places are held in a prefix trie of their normalized spellings. Each node keeps the
+ * best suggestions of its subtree, computed once per load, so a completion only walks
+ * the prefix. A load builds a new trie and replaces the previous one as a whole:
+ * readers never lock and always see a complete dictionary.
+ */
+@Component
+public class PlaceDictionary {
+
+    /**
+     * Order of the suggestions: shortest spelling first, so that an exact match leads,
+     * then alphabetical.
+     */
+    private static final Comparator<Suggested> RANKING = Comparator
+            .comparingInt((Suggested suggested) -> suggested.normalizedName().length())
+            .thenComparing(Suggested::normalizedName);
+
+    /**
+     * Largest number of suggestions kept per node.
+     */
+    private final int maxSuggestions;
+
+    /**
+     * Current content of the dictionary.
+     */
+    private volatile Snapshot snapshot = new Snapshot(new Node(), Map.of());
+
+    /**
+     * Builds an empty dictionary and registers its gauge.
+     *
+     * @param properties place dictionary configuration
+     * @param meterRegistry registry receiving the gauge
+     */
+    public PlaceDictionary(PlaceDictionaryProperties properties, MeterRegistry meterRegistry) {
+        this.maxSuggestions = properties.getMaxSuggestions();
+        Gauge.builder("place.dictionary.size", this, dictionary -> dictionary.snapshot.ids().size())
+                .description("Places held by the in-memory dictionary")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Replaces the content of the dictionary.
+     *
+     * @param entries every place
+     */
+    public void load(Collection<PlaceEntry> entries) {
+        Node root = new Node();
+        Map<String, Long> ids = new HashMap<>();
+        for (PlaceEntry entry : entries) {
+            Node node = root;
+            for (char c : entry.normalizedName().toCharArray()) {
+                node = node.children.computeIfAbsent(c, key -> new Node());
+            }
+            node.place = new Suggested(entry.normalizedName(), new PlaceSuggestion(entry.id(), entry.name()));
+            ids.put(entry.normalizedName(), entry.id());
+        }
+        rank(root);
+        snapshot = new Snapshot(root, Map.copyOf(ids));
+    }
+
+    /**
+     * Returns the places whose spelling starts with a prefix.
+     *
+     * @param prefix normalized prefix
+     * @param limit maximum number of places, at most {@code max-suggestions}
+     * @return the places, exact match and shortest spellings first
+     */
+    public List<PlaceSuggestion> complete(String prefix, int limit) {
+        Node node = snapshot.root();
+        for (int i = 0; i < prefix.length() && node != null; i++) {
+            node = node.children.get(prefix.charAt(i));
+        }
+        if (node == null) {
+            return List.of();
+        }
+        return Arrays.stream(node.best)
+                .limit(limit)
+                .map(Suggested::suggestion)
+                .toList();
+    }
+
+    /**
+     * Returns the identifier of a place.
+     *
+     * @param normalizedName normalized spelling of the place
+     * @return the identifier, or empty if the place is unknown to the dictionary
+     */
+    public OptionalLong idOf(String normalizedName) {
+        Long id = snapshot.ids().get(normalizedName);
+        return id == null ? OptionalLong.empty() : OptionalLong.of(id);
+    }
+
+    /**
+     * Returns the number of places held.
+     *
+     * @return the number of places
+     */
+    public int size() {
+        return snapshot.ids().size();
+    }
+
+    /**
+     * Computes the best suggestions of every node of a subtree.
+     *
+     * @param node root of the subtree
+     * @return the best suggestions of the subtree
+     */
+    private Suggested[] rank(Node node) {
+        List<Suggested> candidates = new ArrayList<>();
+        if (node.place != null) {
+            candidates.add(node.place);
+        }
+        for (Node child : node.children.values()) {
+            candidates.addAll(Arrays.asList(rank(child)));
+        }
+        node.best = candidates.stream()
+                .sorted(RANKING)
+                .limit(maxSuggestions)
+                .toArray(Suggested[]::new);
+        return node.best;
+    }
+
+    /**
+     * Node of the trie, for one more character of the spelling.
+     * <p>
+     * Nodes are only modified while a load builds them, before they are published.
+     */
+    private static final class Node {
+
+        /**
+         * Nodes of the following characters.
+         */
+        private final Map<Character, Node> children = new TreeMap<>();
+
+        /**
+         * Place spelled by the path to this node, or null.
+         */
+        private Suggested place;
+
+        /**
+         * Best suggestions of the subtree.
+         */
+        private Suggested[] best = new Suggested[0];
+    }
+
+    /**
+     * Suggestion with the spelling it is ranked on.
+     *
+     * @param normalizedName normalized spelling of the place
+     * @param suggestion     suggestion returned to the client
+     */
+    private record Suggested(String normalizedName, PlaceSuggestion suggestion) {
+    }
+
+    /**
+     * Content of the dictionary at one load.
+     *
+     * @param root root of the trie
+     * @param ids  identifiers of the places by normalized spelling
+     */
+    private record Snapshot(Node root, Map<String, Long> ids) {
+    }
+}
@@ -0,0 +1,430 @@
+package api.carpooling.application.cache;
+
+import api.carpooling.application.dto.trip.TripSearchCriteria;
+import api.carpooling.application.dto.trip.TripSummary;
+import api.carpooling.configuration.RouteIndexProperties;
+import api.carpooling.repository.TripKeyset;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Optional;
+import java.util.OptionalLong;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+/**
+ * In-memory index of the upcoming trips, answering the trip search without the database.
+ * <p>
+ * Trips are grouped by route (place ids of origin and destination), then by time bucket
+ * of departure. Each bucket is an immutable array sorted like the database results and
+ * replaced as a whole on every change, so searches read it without locking. The places
+ * of a search are resolved by the {@link PlaceDictionary}; a search on a place it does
+ * not know yet is left to the database.
+ * <p>
+ * The index covers a departure window: a search is only answered when its own window
+ * lies within it. All changes are made by a single thread, {@link RouteIndexUpdater};
+ * searches may run concurrently from any thread.
+ */
+@Component
+@SuppressWarnings("PMD.GodClass")
+public class RouteIndex {
+
+    /**
+     * Width of the buckets in seconds.
+     */
+    private final long bucketSeconds;
+
+    /**
+     * Dictionary resolving the places of a search.
+     */
+    private final PlaceDictionary placeDictionary;
+
+    /**
+     * Buckets of each route, indexed by bucket number.
+     */
+    private final Map<RouteKey, NavigableMap<Long, TripSummary[]>> routes = new ConcurrentHashMap<>();
+
+    /**
+     * Indexed trips by id.
+     */
+    private final Map<UUID, TripSummary> trips = new ConcurrentHashMap<>();
+
+    /**
+     * Indexed trips of every route, by position, for eviction and reconciliation.
+     */
+    private final NavigableMap<TripKeyset, TripSummary> byPosition = new ConcurrentSkipListMap<>();
+
+    /**
+     * Earliest departure covered, or null while the index is not ready.
+     */
+    private volatile LocalDateTime coveredFrom;
+
+    /**
+     * Latest departure covered (exclusive).
+     */
+    private volatile LocalDateTime coveredUntil;
+
+    /**
+     * Latest departure accepted (exclusive), ahead of the coverage while it is being extended.
+     */
+    private volatile LocalDateTime acceptedUntil;
+
+    /**
+     * Builds an empty index and registers its gauges.
+     *
+     * @param properties route index configuration
+     * @param placeDictionary dictionary resolving the places of a search
+     * @param meterRegistry registry receiving the gauges
+     */
+    public RouteIndex(RouteIndexProperties properties, PlaceDictionary placeDictionary, MeterRegistry meterRegistry) {
+        this.bucketSeconds = properties.getBucketSize().toSeconds();
+        this.placeDictionary = placeDictionary;
+        Gauge.builder("route.index.trips", trips, Map::size)
+                .description("Trips held by the in-memory route index")
+                .register(meterRegistry);
+        Gauge.builder("route.index.routes", routes, Map::size)
+                .description("Routes held by the in-memory route index")
+                .register(meterRegistry);
+        Gauge.builder("route.index.ready", this, index -> index.isReady() ? 1 : 0)
+                .description("Whether searches are answered from memory")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Searches the trips of a route, like {@code TripSearchRepository#search}.
+     *
+     * @param criteria complete search criteria, with a normalized route
+     * @param after position of the last trip of the previous page, or null for the first page
+     * @param limit maximum number of trips returned
+     * @return the trips, earliest departure first, or empty if the window is not covered or
+     *         a place is unknown to the dictionary
+     */
+    public Optional<List<TripSummary>> search(TripSearchCriteria criteria, TripKeyset after, int limit) {
+        LocalDateTime start = coveredFrom;
+        if (start == null || criteria.departureFrom().isBefore(start) || criteria.departureTo().isAfter(coveredUntil)) {
+            return Optional.empty();
+        }
+
+        OptionalLong origin = placeDictionary.idOf(criteria.origin());
+        OptionalLong destination = placeDictionary.idOf(criteria.destination());
+        if (origin.isEmpty() || destination.isEmpty()) {
+            return Optional.empty();
+        }
+        NavigableMap<Long, TripSummary[]> buckets = routes.get(
+                new RouteKey(origin.getAsLong(), destination.getAsLong()));
+        if (buckets == null) {
+            return Optional.of(List.of());
+        }
+        LocalDateTime from = criteria.departureFrom();
+        LocalDateTime seekFrom = after != null && after.departureTime().isAfter(from) ? after.departureTime() : from;
+        return Optional.of(collect(buckets.subMap(bucketOf(seekFrom), true, bucketOf(criteria.departureTo()), true),
+                criteria, after, limit));
+    }
+
+    /**
+     * Reads the buckets of a route covering the window of a search, in order.
+     *
+     * @param buckets the buckets of the route from the first one to read
+     * @param criteria complete search criteria
+     * @param after position of the last trip of the previous page, or null for the first page
+     * @param limit maximum number of trips returned
+     * @return the trips, earliest departure first
+     */
+    private List<TripSummary> collect(NavigableMap<Long, TripSummary[]> buckets, TripSearchCriteria criteria,
+                                      TripKeyset after, int limit) {
+        LocalDateTime to = criteria.departureTo();
+        List<TripSummary> result = new ArrayList<>();
+        for (TripSummary[] bucket : buckets.values()) {
+            for (TripSummary trip : bucket) {
+                if (!trip.departureTime().isBefore(to)) {
+                    return result;
+                }
+                if (matches(trip, criteria, after)) {
+                    result.add(trip);
+                    if (result.size() == limit) {
+                        return result;
+                    }
+                }
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Tells whether a trip passes the filters of a search.
+     *
+     * @param trip the trip
+     * @param criteria complete search criteria
+     * @param after position of the last trip of the previous page, or null
+     * @return true if the trip belongs to the results
+     */
+    private static boolean matches(TripSummary trip, TripSearchCriteria criteria, TripKeyset after) {
+        return !trip.departureTime().isBefore(criteria.departureFrom())
+                && (after == null || positionOf(trip).compareTo(after) > 0)
+                && trip.freeSeats() >= criteria.minSeats()
+                && (criteria.maxPrice() == null || trip.price().compareTo(criteria.maxPrice()) <= 0);
+    }
+
+    /**
+     * Tells whether searches are answered from memory.
+     *
+     * @return true once the index has been loaded
+     */
+    public boolean isReady() {
+        return coveredFrom != null;
+    }
+
+    /**
+     * Returns the earliest departure covered.
+     *
+     * @return the earliest departure, or null while the index is not ready
+     */
+    public LocalDateTime coveredFrom() {
+        return coveredFrom;
+    }
+
+    /**
+     * Replaces the whole content of the index.
+     *
+     * @param loaded every trip departing within the window
+     * @param from earliest departure of the window
+     * @param until latest departure of the window (exclusive)
+     */
+    public void replaceAll(Collection<TripSummary> loaded, LocalDateTime from, LocalDateTime until) {
+        invalidate();
+        routes.clear();
+        trips.clear();
+        byPosition.clear();
+        acceptedUntil = until;
+        loaded.forEach(this::add);
+        coveredUntil = until;
+        coveredFrom = from;
+    }
+
+    /**
+     * Stops answering searches until the next {@link #replaceAll}.
+     */
+    public void invalidate() {
+        coveredFrom = null;
+    }
+
+    /**
+     * Accepts trips departing before a later date, ahead of extending the coverage.
+     *
+     * @param until latest departure accepted (exclusive)
+     */
+    public void accept(LocalDateTime until) {
+        if (until.isAfter(acceptedUntil)) {
+            acceptedUntil = until;
+        }
+    }
+
+    /**
+     * Extends the covered window, once every trip up to the new end has been loaded.
+     *
+     * @param until latest departure covered (exclusive)
+     */
+    public void extendCoverage(LocalDateTime until) {
+        accept(until);
+        if (until.isAfter(coveredUntil)) {
+            coveredUntil = until;
+        }
+    }
+
+    /**
+     * Applies the current state of changed trips.
+     *
+     * @param ids identifiers of the changed trips
+     * @param current current state of those still existing
+     */
+    public void refresh(Collection<UUID> ids, Collection<TripSummary> current) {
+        ids.forEach(this::remove);
+        current.forEach(this::add);
+    }
+
+    /**
+     * Aligns a range of positions on the state read from the database.
+     *
+     * @param after start of the range (exclusive), or null for the start of the window
+     * @param upTo end of the range (inclusive), or null for the end of the window
+     * @param current trips of the database within the range
+     * @return the number of trips that had to be corrected
+     */
+    public int reconcile(TripKeyset after, TripKeyset upTo, List<TripSummary> current) {
+        NavigableMap<TripKeyset, TripSummary> range = byPosition;
+        if (after != null) {
+            range = range.tailMap(after, false);
+        }
+        if (upTo != null) {
+            range = range.headMap(upTo, true);
+        }
+
+        Set<UUID> currentIds = new HashSet<>();
+        int corrections = 0;
+        for (TripSummary trip : current) {
+            currentIds.add(trip.id());
+            if (!trip.equals(trips.get(trip.id()))) {
+                remove(trip.id());
+                add(trip);
+                corrections++;
+            }
+        }
+        for (TripSummary indexed : List.copyOf(range.values())) {
+            if (!currentIds.contains(indexed.id())) {
+                remove(indexed.id());
+                corrections++;
+            }
+        }
+        return corrections;
+    }
+
+    /**
+     * Drops the buckets of the trips that have left.
+     *
+     * @param now current time
+     */
+    public void evictBefore(LocalDateTime now) {
+        LocalDateTime from = coveredFrom;
+        if (from == null) {
+            return;
+        }
+        LocalDateTime bucketStart = startOfBucket(now);
+        if (!bucketStart.isAfter(from)) {
+            return;
+        }
+        coveredFrom = bucketStart;
+        TripKeyset firstKept = new TripKeyset(bucketStart, new UUID(0L, 0L));
+        for (TripSummary trip : List.copyOf(byPosition.headMap(firstKept).values())) {
+            remove(trip.id());
+        }
+    }
+
+    /**
+     * Returns the start of the bucket holding a date.
+     *
+     * @param dateTime the date
+     * @return the start of its bucket
+     */
+    public LocalDateTime startOfBucket(LocalDateTime dateTime) {
+        return LocalDateTime.ofEpochSecond(bucketOf(dateTime) * bucketSeconds, 0, ZoneOffset.UTC);
+    }
+
+    /**
+     * Adds a trip, unless it departs outside the accepted window.
+     *
+     * @param trip the trip
+     */
+    private void add(TripSummary trip) {
+        LocalDateTime from = coveredFrom;
+        if ((from != null && trip.departureTime().isBefore(from)) || !trip.departureTime().isBefore(acceptedUntil)) {
+            return;
+        }
+        trips.put(trip.id(), trip);
+        byPosition.put(positionOf(trip), trip);
+        routes.computeIfAbsent(RouteKey.of(trip), key -> new ConcurrentSkipListMap<>())
+                .merge(bucketOf(trip.departureTime()), new TripSummary[] {trip}, RouteIndex::insert);
+    }
+
+    /**
+     * Removes a trip if it is indexed.
+     *
+     * @param id identifier of the trip
+     */
+    private void remove(UUID id) {
+        TripSummary trip = trips.remove(id);
+        if (trip == null) {
+            return;
+        }
+        byPosition.remove(positionOf(trip));
+        NavigableMap<Long, TripSummary[]> buckets = routes.get(RouteKey.of(trip));
+        if (buckets != null) {
+            buckets.computeIfPresent(bucketOf(trip.departureTime()), (bucket, content) -> without(content, id));
+        }
+    }
+
+    /**
+     * Returns a copy of a bucket with one more trip, kept sorted by position.
+     *
+     * @param content the bucket
+     * @param added a single-trip array holding the added trip
+     * @return the new bucket
+     */
+    private static TripSummary[] insert(TripSummary[] content, TripSummary[] added) {
+        TripKeyset position = positionOf(added[0]);
+        int index = 0;
+        while (index < content.length && positionOf(content[index]).compareTo(position) < 0) {
+            index++;
+        }
+        TripSummary[] result = new TripSummary[content.length + 1];
+        System.arraycopy(content, 0, result, 0, index);
+        result[index] = added[0];
+        System.arraycopy(content, index, result, index + 1, content.length - index);
+        return result;
+    }
+
+    /**
+     * Returns a copy of a bucket without a trip.
+     *
+     * @param content the bucket
+     * @param id identifier of the removed trip
+     * @return the new bucket, or null to drop an empty bucket
+     */
+    private static TripSummary[] without(TripSummary[] content, UUID id) {
+        TripSummary[] result = Arrays.stream(content)
+                .filter(trip -> !trip.id().equals(id))
+                .toArray(TripSummary[]::new);
+        return result.length == 0 ? null : result;
+    }
+
+    /**
+     * Returns the number of the bucket holding a date.
+     *
+     * @param dateTime the date
+     * @return the bucket number
+     */
+    private long bucketOf(LocalDateTime dateTime) {
+        return Math.floorDiv(dateTime.toEpochSecond(ZoneOffset.UTC), bucketSeconds);
+    }
+
+    /**
+     * Returns the position of a trip.
+     *
+     * @param trip the trip
+     * @return its position in the results
+     */
+    private static TripKeyset positionOf(TripSummary trip) {
+        return new TripKeyset(trip.departureTime(), trip.id());
+    }
+
+    /**
+     * Route of a trip.
+     *
+     * @param originId      identifier of the place of departure
+     * @param destinationId identifier of the place of arrival
+     */
+    private record RouteKey(long originId, long destinationId) {
+
+        /**
+         * Returns the route of a trip.
+         *
+         * @param trip the trip
+         * @return its route
+         */
+        static RouteKey of(TripSummary trip) {
+            return new RouteKey(trip.originId(), trip.destinationId());
+        }
+    }
+}
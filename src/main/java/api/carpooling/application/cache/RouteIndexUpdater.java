@@ -0,0 +1,308 @@
+package api.carpooling.application.cache;
+
+import api.carpooling.application.dto.trip.TripSummary;
+import api.carpooling.configuration.RouteIndexProperties;
+import api.carpooling.repository.TripKeyset;
+import api.carpooling.repository.TripRepository;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.postgresql.PGConnection;
+import org.postgresql.PGNotification;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Keeps the {@link RouteIndex} in line with the {@code trips} table.
+ * <p>
+ * Triggers on trips, reservations and drivers publish the id of every changed trip on
+ * the {@value #CHANNEL} channel. A dedicated thread listens to it on its own connection
+ * and reloads the changed trips. Because a notification can be lost while the connection
+ * is down, the index is rebuilt on every (re)connection, and a reconciliation walks the
+ * covered window a bounded slice at a time, correcting whatever drifted.
+ * <p>
+ * Every change to the index is made by this single thread, in the order the database
+ * reported it. While the feed is down, the index is invalidated and searches go to the
+ * database.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "route-index.enabled", havingValue = "true", matchIfMissing = true)
+public class RouteIndexUpdater implements DisposableBean {
+
+    /**
+     * Channel on which the triggers notify the changed trips.
+     */
+    public static final String CHANNEL = "trip_changes";
+
+    /**
+     * Maximum number of trips reloaded by one query.
+     */
+    private static final int REFRESH_BATCH_SIZE = 500;
+
+    /**
+     * Delay before reconnecting after the feed was lost.
+     */
+    private static final long RETRY_DELAY_MS = 5000L;
+
+    /**
+     * Connections to the database.
+     */
+    private final DataSource dataSource;
+
+    /**
+     * Repository reading the trips.
+     */
+    private final TripRepository tripRepository;
+
+    /**
+     * Index kept up to date.
+     */
+    private final RouteIndex routeIndex;
+
+    /**
+     * Route index configuration.
+     */
+    private final RouteIndexProperties properties;
+
+    /**
+     * Time spent rebuilding the index.
+     */
+    private final Timer rebuildTimer;
+
+    /**
+     * Trips reloaded after a notification.
+     */
+    private final Counter refreshedCounter;
+
+    /**
+     * Trips corrected by the reconciliation.
+     */
+    private final Counter correctedCounter;
+
+    /**
+     * Whether the updater keeps running.
+     */
+    private volatile boolean running = true;
+
+    /**
+     * Thread listening to the changes.
+     */
+    private Thread worker;
+
+    /**
+     * End of the window walked by the current reconciliation pass, or null between passes.
+     */
+    private LocalDateTime passUntil;
+
+    /**
+     * Position reached by the current reconciliation pass, or null at its start.
+     */
+    private TripKeyset passAfter;
+
+    /**
+     * {@link System#nanoTime()} at which the next reconciliation slice is due.
+     */
+    private long nextReconcileAt;
+
+    /**
+     * Builds the updater and registers its metrics.
+     *
+     * @param dataSource connections to the database
+     * @param tripRepository repository reading the trips
+     * @param routeIndex index kept up to date
+     * @param properties route index configuration
+     * @param meterRegistry registry receiving the metrics
+     */
+    public RouteIndexUpdater(DataSource dataSource,
+                             TripRepository tripRepository,
+                             RouteIndex routeIndex,
+                             RouteIndexProperties properties,
+                             MeterRegistry meterRegistry) {
+        this.dataSource = dataSource;
+        this.tripRepository = tripRepository;
+        this.routeIndex = routeIndex;
+        this.properties = properties;
+        this.rebuildTimer = Timer.builder("route.index.rebuild")
+                .description("Time spent loading the route index")
+                .register(meterRegistry);
+        this.refreshedCounter = Counter.builder("route.index.updates")
+                .tag("source", "notification")
+                .register(meterRegistry);
+        this.correctedCounter = Counter.builder("route.index.updates")
+                .tag("source", "reconciliation")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Starts listening once the application, and its migrations, are ready.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        worker = Thread.ofPlatform().name("route-index").daemon(true).start(this::run);
+    }
+
+    /**
+     * Listens to the changes until the application stops, reconnecting when the feed is lost.
+     */
+    private void run() {
+        while (running) {
+            try (Connection connection = dataSource.getConnection()) {
+                try (Statement statement = connection.createStatement()) {
+                    statement.execute("LISTEN " + CHANNEL);
+                }
+                PGConnection listener = connection.unwrap(PGConnection.class);
+                rebuild();
+                int pollMs = Math.toIntExact(properties.getPollInterval().toMillis());
+                while (running) {
+                    routeIndex.evictBefore(LocalDateTime.now());
+                    refresh(listener.getNotifications(pollMs));
+                    if (System.nanoTime() - nextReconcileAt >= 0) {
+                        reconcileSlice();
+                    }
+                }
+            } catch (SQLException | RuntimeException e) {
+                routeIndex.invalidate();
+                if (running) {
+                    log.warn("[ROUTE INDEX] Change feed lost, searches use the database: {}", e.getMessage());
+                    pause();
+                }
+            }
+        }
+    }
+
+    /**
+     * Loads every trip of the window into the index.
+     */
+    void rebuild() {
+        long start = System.nanoTime();
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime from = routeIndex.startOfBucket(now);
+        LocalDateTime until = now.plus(properties.getHorizon());
+
+        List<TripSummary> loaded = new ArrayList<>();
+        TripKeyset after = null;
+        List<TripSummary> page;
+        do {
+            page = tripRepository.findDeparting(from, until, after, properties.getLoadBatchSize());
+            loaded.addAll(page);
+            if (!page.isEmpty()) {
+                TripSummary last = page.getLast();
+                after = new TripKeyset(last.departureTime(), last.id());
+            }
+        } while (page.size() == properties.getLoadBatchSize());
+
+        routeIndex.replaceAll(loaded, from, until);
+        passUntil = null;
+        nextReconcileAt = System.nanoTime() + properties.getReconcileInterval().toNanos();
+        long elapsed = System.nanoTime() - start;
+        rebuildTimer.record(elapsed, TimeUnit.NANOSECONDS);
+        log.info("[ROUTE INDEX] Loaded {} trip(s) departing before {} in {} ms", loaded.size(), until,
+                TimeUnit.NANOSECONDS.toMillis(elapsed));
+    }
+
+    /**
+     * Reloads the trips named by notifications.
+     *
+     * @param notifications notifications received, possibly null or empty
+     */
+    void refresh(PGNotification[] notifications) {
+        if (notifications == null || notifications.length == 0) {
+            return;
+        }
+        Set<UUID> ids = new LinkedHashSet<>();
+        for (PGNotification notification : notifications) {
+            try {
+                ids.add(UUID.fromString(notification.getParameter()));
+            } catch (IllegalArgumentException e) {
+                log.warn("[ROUTE INDEX] Ignoring malformed notification '{}'", notification.getParameter());
+            }
+        }
+        List<UUID> batch = new ArrayList<>(REFRESH_BATCH_SIZE);
+        for (UUID id : ids) {
+            batch.add(id);
+            if (batch.size() == REFRESH_BATCH_SIZE) {
+                routeIndex.refresh(batch, tripRepository.findByIds(batch));
+                batch.clear();
+            }
+        }
+        if (!batch.isEmpty()) {
+            routeIndex.refresh(batch, tripRepository.findByIds(batch));
+        }
+        refreshedCounter.increment(ids.size());
+    }
+
+    /**
+     * Compares the next slice of the window with the database.
+     * <p>
+     * A pass walks the window from its start to {@code now + horizon}, one slice of
+     * {@code reconcile-batch-size} trips at a time; completing a pass extends the covered
+     * window to the end it walked.
+     */
+    void reconcileSlice() {
+        if (passUntil == null) {
+            passUntil = LocalDateTime.now().plus(properties.getHorizon());
+            passAfter = null;
+            routeIndex.accept(passUntil);
+        }
+        int batchSize = properties.getReconcileBatchSize();
+        List<TripSummary> page = tripRepository.findDeparting(routeIndex.coveredFrom(), passUntil, passAfter,
+                batchSize);
+        boolean lastSlice = page.size() < batchSize;
+        TripKeyset upTo = lastSlice ? null : new TripKeyset(page.getLast().departureTime(), page.getLast().id());
+
+        int corrections = routeIndex.reconcile(passAfter, upTo, page);
+        if (corrections > 0) {
+            correctedCounter.increment(corrections);
+            log.info("[ROUTE INDEX] Reconciliation corrected {} trip(s)", corrections);
+        }
+
+        if (lastSlice) {
+            routeIndex.extendCoverage(passUntil);
+            passUntil = null;
+        } else {
+            passAfter = upTo;
+        }
+        nextReconcileAt = System.nanoTime() + properties.getReconcileInterval().toNanos();
+    }
+
+    /**
+     * Waits before reconnecting.
+     */
+    private void pause() {
+        try {
+            Thread.sleep(RETRY_DELAY_MS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            running = false;
+        }
+    }
+
+    /**
+     * Stops the listening thread when the application shuts down.
+     */
+    @Override
+    public void destroy() {
+        running = false;
+        if (worker != null) {
+            worker.interrupt();
+        }
+    }
+}
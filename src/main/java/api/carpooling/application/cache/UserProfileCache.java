@@ -0,0 +1,84 @@
+package api.carpooling.application.cache;
+
+import api.carpooling.application.dto.user.UserDTO;
+import api.carpooling.configuration.ProfileCacheProperties;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.UUID;
+import java.util.function.Function;
+
+/**
+ * Cache of user profiles returned by {@code GET /api/v1/auth/me}.
+ * <p>
+ * Profiles are stored as immutable {@link UserDTO} records indexed by user id.
+ * Every service modifying a user must call {@link #evict(UUID)}. Hits, misses and
+ * evictions are published to Micrometer under the {@code user.profile} cache name.
+ */
+@Component
+public class UserProfileCache {
+
+    /**
+     * Name under which the cache metrics are published.
+     */
+    private static final String CACHE_NAME = "user.profile";
+
+    /**
+     * Cached profiles indexed by user id.
+     */
+    private final Cache<UUID, UserDTO> profiles;
+
+    /**
+     * Builds the cache and registers its metrics.
+     *
+     * @param properties profile cache configuration
+     * @param meterRegistry registry receiving the cache metrics
+     */
+    public UserProfileCache(ProfileCacheProperties properties, MeterRegistry meterRegistry) {
+        this.profiles = Caffeine.newBuilder()
+                .maximumSize(properties.getMaxSize())
+                .expireAfterWrite(properties.getTtl())
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, profiles, CACHE_NAME);
+    }
+
+    /**
+     * Returns the cached profile of a user, loading it on a miss.
+     * <p>
+     * Exceptions thrown by the loader are propagated and nothing is cached.
+     *
+     * @param userId the user id
+     * @param loader function loading the profile from the database
+     * @return the user profile
+     */
+    public UserDTO get(UUID userId, Function<UUID, UserDTO> loader) {
+        return profiles.get(userId, loader);
+    }
+
+    /**
+     * Removes the profile of a user from the cache.
+     * <p>
+     * When called inside a transaction, the profile is evicted again after commit so
+     * that a concurrent read of the uncommitted state cannot stay in the cache.
+     *
+     * @param userId the user id
+     */
+    public void evict(UUID userId) {
+        profiles.invalidate(userId);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    profiles.invalidate(userId);
+                }
+            });
+        }
+    }
+}
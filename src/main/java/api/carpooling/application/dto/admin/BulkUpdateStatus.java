@@ -0,0 +1,13 @@
+package api.carpooling.application.dto.admin;
+
+/**
+ * Outcome of a bulk update for one requested user.
+ */
+public enum BulkUpdateStatus {
+
+    /** The user was found and updated. */
+    UPDATED,
+
+    /** No user that a bulk update may change matches the requested identifier or email. */
+    NOT_FOUND
+}
@@ -0,0 +1,13 @@
+package api.carpooling.application.dto.admin;
+
+/**
+ * Result of a bulk update for one user listed in the request.
+ *
+ * @param key    identifier or email as given in the request
+ * @param status outcome of the update
+ */
+public record BulkUserUpdateItem(
+        String key,
+        BulkUpdateStatus status
+) {
+}
@@ -0,0 +1,70 @@
+package api.carpooling.application.dto.admin;
+
+import api.carpooling.domain.enumeration.RoleUser;
+import jakarta.validation.constraints.Size;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * DTO used to change the role or the activity of many users at once.
+ * <p>
+ * Users are selected by exactly one of {@code ids}, {@code emails}, {@code filter} or
+ * {@code allUsers}; a filter must set at least one criterion, so that updating every
+ * user is always an explicit choice. Fields left null in the change are kept as they are.
+ *
+ * @param ids      identifiers of the users to update
+ * @param emails   emails of the users to update
+ * @param filter   filters on role and activity selecting the users to update
+ * @param allUsers true to update every user
+ * @param roleUser new role, or null to keep the current one
+ * @param active   new activity status, or null to keep the current one
+ */
+public record BulkUserUpdateRequest(
+        @Size(max = BulkUserUpdateRequest.MAX_ITEMS, message = "At most 10000 ids per request")
+        List<UUID> ids,
+
+        @Size(max = BulkUserUpdateRequest.MAX_ITEMS, message = "At most 10000 emails per request")
+        List<String> emails,
+
+        UserListFilter filter,
+
+        boolean allUsers,
+
+        RoleUser roleUser,
+
+        Boolean active
+) {
+
+    /**
+     * Largest number of users that can be listed explicitly in one request.
+     */
+    public static final int MAX_ITEMS = 10_000;
+
+    /**
+     * Tells whether the users are selected by identifiers.
+     *
+     * @return true if identifiers are given
+     */
+    public boolean byIds() {
+        return ids != null && !ids.isEmpty();
+    }
+
+    /**
+     * Tells whether the users are selected by emails.
+     *
+     * @return true if emails are given
+     */
+    public boolean byEmails() {
+        return emails != null && !emails.isEmpty();
+    }
+
+    /**
+     * Counts the ways the users are selected, only one being allowed.
+     *
+     * @return the number of selectors given
+     */
+    public int selectors() {
+        return (byIds() ? 1 : 0) + (byEmails() ? 1 : 0) + (filter != null ? 1 : 0) + (allUsers ? 1 : 0);
+    }
+}
@@ -0,0 +1,25 @@
+package api.carpooling.application.dto.admin;
+
+import lombok.Builder;
+
+import java.util.List;
+
+/**
+ * Summary of a bulk update.
+ * <p>
+ * Items are only listed when users were selected by identifiers or emails; a filter
+ * selection only reports the number of updated users.
+ *
+ * @param requested number of distinct users listed in the request, 0 for a filter
+ * @param updated   number of users updated
+ * @param notFound  number of listed users that do not exist
+ * @param items     outcome for every listed user, in request order
+ */
+@Builder
+public record BulkUserUpdateResult(
+        int requested,
+        int updated,
+        int notFound,
+        List<BulkUserUpdateItem> items
+) {
+}
@@ -0,0 +1,16 @@
+package api.carpooling.application.dto.admin;
+
+/**
+ * How the total number of users is reported by the cursor listing.
+ */
+public enum CountMode {
+
+    /** No total is computed. */
+    NONE,
+
+    /** Total estimated from the planner statistics, without scanning the table. */
+    ESTIMATED,
+
+    /** Exact total, computed with a {@code COUNT(*)}. */
+    EXACT
+}
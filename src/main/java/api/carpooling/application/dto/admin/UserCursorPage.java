@@ -0,0 +1,32 @@
+package api.carpooling.application.dto.admin;
+
+import api.carpooling.application.dto.user.UserResponse;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.Builder;
+
+import java.util.List;
+
+/**
+ * Page of the cursor-based admin user listing.
+ *
+ * @param items          Users of the page, newest first
+ * @param nextCursor     Opaque token giving the next page, null on the last page
+ * @param totalCount     Total number of matching users, null when not requested
+ * @param totalEstimated Whether {@code totalCount} is an estimate
+ */
+@Schema(description = "Page of users returned by the cursor listing")
+@Builder
+public record UserCursorPage(
+        @Schema(description = "Users of the page, newest first")
+        List<UserResponse> items,
+
+        @Schema(description = "Opaque token giving the next page, absent on the last page")
+        String nextCursor,
+
+        @Schema(description = "Total number of matching users, absent when not requested")
+        Long totalCount,
+
+        @Schema(description = "Whether the total is an estimate")
+        boolean totalEstimated
+) { }
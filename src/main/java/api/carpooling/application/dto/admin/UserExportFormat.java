@@ -0,0 +1,28 @@
+package api.carpooling.application.dto.admin;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Output formats of the admin user export.
+ */
+@Getter
+@RequiredArgsConstructor
+public enum UserExportFormat {
+
+    /** Comma separated values with a header line (RFC 4180). */
+    CSV("text/csv", "csv"),
+
+    /** One JSON object per line. */
+    NDJSON("application/x-ndjson", "ndjson");
+
+    /**
+     * Media type of the uncompressed export.
+     */
+    private final String mediaType;
+
+    /**
+     * File extension of the uncompressed export.
+     */
+    private final String extension;
+}
@@ -0,0 +1,24 @@
+package api.carpooling.application.dto.admin;
+
+import api.carpooling.domain.enumeration.RoleUser;
+
+/**
+ * Optional filters applied to the admin user listing.
+ *
+ * @param roleUser Role the users must have, or null for every role
+ * @param active   Activity status the users must have, or null for both
+ */
+public record UserListFilter(
+        RoleUser roleUser,
+        Boolean active
+) {
+
+    /**
+     * Tells whether at least one filter is set.
+     *
+     * @return true if the listing is filtered
+     */
+    public boolean isFiltered() {
+        return roleUser != null || active != null;
+    }
+}
@@ -0,0 +1,18 @@
+package api.carpooling.application.dto.admin;
+
+import lombok.Builder;
+
+import java.util.List;
+
+/**
+ * Page of users found by the admin search, newest first.
+ *
+ * @param items      users of the page
+ * @param nextCursor continuation token of the next page, or null on the last page
+ */
+@Builder
+public record UserSearchPage(
+        List<UserSearchResult> items,
+        String nextCursor
+) {
+}
@@ -0,0 +1,28 @@
+package api.carpooling.application.dto.admin;
+
+import api.carpooling.domain.enumeration.RoleUser;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Projection of a user returned by the admin search.
+ *
+ * @param id          identifier of the user
+ * @param username    username of the user
+ * @param email       email of the user
+ * @param phoneNumber phone number of the user
+ * @param roleUser    role of the user
+ * @param active      whether the user is active
+ * @param createdAt   creation date of the user
+ */
+public record UserSearchResult(
+        UUID id,
+        String username,
+        String email,
+        String phoneNumber,
+        RoleUser roleUser,
+        boolean active,
+        LocalDateTime createdAt
+) {
+}
@@ -0,0 +1,16 @@
+package api.carpooling.application.dto.auth;
+
+import java.time.LocalDateTime;
+
+/**
+ * Tokens delivered to a client when a session is opened or refreshed.
+ *
+ * @param accessToken JWT access token
+ * @param refreshToken raw refresh token, only known by the client
+ * @param refreshTokenExpiresAt expiry date of the refresh token
+ */
+public record AuthTokens(
+        String accessToken,
+        String refreshToken,
+        LocalDateTime refreshTokenExpiresAt
+) { }
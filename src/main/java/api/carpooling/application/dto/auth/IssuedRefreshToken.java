@@ -0,0 +1,14 @@
+package api.carpooling.application.dto.auth;
+
+import java.time.LocalDateTime;
+
+/**
+ * Refresh token freshly issued for a session.
+ *
+ * @param token raw refresh token, never persisted
+ * @param expiresAt expiry date of the refresh token
+ */
+public record IssuedRefreshToken(
+        String token,
+        LocalDateTime expiresAt
+) { }
@@ -2,12 +2,14 @@ package api.carpooling.application.dto.auth;
 
 import jakarta.validation.constraints.Email;
 import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.Size;
 
 /**
  * DTO used to log in user.
  *
  * @param email the email address
  * @param password the password
+ * @param deviceId optional identifier of the device opening the session
  */
 public record LoginUserRequest(
         @Email(message = "Email must be valide")
@@ -15,5 +17,19 @@ public record LoginUserRequest(
         String email,
 
         @NotBlank(message = "Password is required")
-        String password
-) { }
+        String password,
+
+        @Size(max = 255, message = "Device id must not exceed 255 characters")
+        String deviceId
+) {
+
+    /**
+     * Creates a login request without device identifier.
+     *
+     * @param email the email address
+     * @param password the password
+     */
+    public LoginUserRequest(String email, String password) {
+        this(email, password, null);
+    }
+}
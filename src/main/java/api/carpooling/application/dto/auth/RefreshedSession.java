@@ -0,0 +1,18 @@
+package api.carpooling.application.dto.auth;
+
+import api.carpooling.domain.enumeration.RoleUser;
+
+import java.util.UUID;
+
+/**
+ * Result of a refresh token rotation.
+ *
+ * @param userId owner of the session
+ * @param roleUser role of the owner, to put in the new access token
+ * @param refreshToken refresh token replacing the presented one
+ */
+public record RefreshedSession(
+        UUID userId,
+        RoleUser roleUser,
+        IssuedRefreshToken refreshToken
+) { }
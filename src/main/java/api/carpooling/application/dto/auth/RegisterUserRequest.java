@@ -1,5 +1,7 @@
 package api.carpooling.application.dto.auth;
 
+import api.carpooling.utils.ValidationPatterns;
+
 import jakarta.validation.constraints.Email;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.Pattern;
@@ -21,14 +23,14 @@ public record RegisterUserRequest(
         String email,
 
         @Pattern(
-                regexp = "^(?=.*[a-z])(?=.*[A-Z])(?=.*\\d)(?=.*[@$!%*?&])[A-Za-z\\d@$!%*?&]{8,}$",
+                regexp = ValidationPatterns.PASSWORD_REGEXP,
                 message = "Le mot de passe doit contenir au minimum 8 caractères, "
                         + "avec une majuscule, une minuscule, un chiffre et un caractère spécial."
         )
         @NotBlank(message = "Password is required")
         String password,
 
-        @Pattern(regexp = "^\\+?[1-9]\\d{1,14}$", message = "Phone number must be valid")
+        @Pattern(regexp = ValidationPatterns.PHONE_NUMBER_REGEXP, message = "Phone number must be valid")
         @NotBlank(message = "Phone number is required and unique")
         String phoneNumber
 ) { }
@@ -0,0 +1,36 @@
+package api.carpooling.application.dto.auth;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.Builder;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * DTO describing an active refresh token session of the authenticated user.
+ *
+ * @param id         Unique identifier of the session
+ * @param deviceId   Device owning the session
+ * @param createdAt  Date when the session was opened
+ * @param lastUsedAt Date of the last refresh performed with the session
+ * @param expiresAt  Expiry date of the current refresh token
+ */
+@Schema(description = "Refresh token session of the authenticated user")
+@Builder
+public record SessionResponse(
+        @Schema(description = "Unique identifier of the session",
+                example = "e7a1f6f8-1c88-4b5b-a0e7-df30f4bfc5d3")
+        UUID id,
+
+        @Schema(description = "Device owning the session", example = "iphone-15")
+        String deviceId,
+
+        @Schema(description = "Date when the session was opened")
+        LocalDateTime createdAt,
+
+        @Schema(description = "Date of the last refresh performed with the session")
+        LocalDateTime lastUsedAt,
+
+        @Schema(description = "Expiry date of the current refresh token")
+        LocalDateTime expiresAt
+) { }
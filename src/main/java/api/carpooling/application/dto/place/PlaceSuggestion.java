@@ -0,0 +1,10 @@
+package api.carpooling.application.dto.place;
+
+/**
+ * Place suggested by the autocomplete.
+ *
+ * @param id   identifier of the place
+ * @param name name displayed for the place
+ */
+public record PlaceSuggestion(long id, String name) {
+}
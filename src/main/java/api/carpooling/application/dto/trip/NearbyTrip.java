@@ -0,0 +1,13 @@
+package api.carpooling.application.dto.trip;
+
+/**
+ * Trip returned by a search around a point.
+ *
+ * @param trip           the trip
+ * @param distanceMeters distance between the point and the place of departure, in metres
+ */
+public record NearbyTrip(
+        TripSummary trip,
+        long distanceMeters
+) {
+}
@@ -0,0 +1,27 @@
+package api.carpooling.application.dto.trip;
+
+import org.springframework.format.annotation.DateTimeFormat;
+
+import java.time.LocalDateTime;
+
+/**
+ * Filters of a search for the trips leaving near a point.
+ * <p>
+ * The point is required; every other filter is optional.
+ *
+ * @param latitude      latitude of the point, in degrees
+ * @param longitude     longitude of the point, in degrees
+ * @param radiusKm      largest distance to the place of departure, in kilometres, or null for the default
+ * @param departureFrom earliest departure, or null for now
+ * @param departureTo   latest departure (exclusive), or null for the default search window
+ * @param minSeats      minimum number of free seats, or null for one
+ */
+public record NearbyTripCriteria(
+        Double latitude,
+        Double longitude,
+        Double radiusKm,
+        @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime departureFrom,
+        @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime departureTo,
+        Integer minSeats
+) {
+}
@@ -0,0 +1,29 @@
+package api.carpooling.application.dto.trip;
+
+import org.springframework.format.annotation.DateTimeFormat;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Filters of a trip search.
+ * <p>
+ * Origin and destination are required and compared by their normalized spelling,
+ * regardless of case, accents and punctuation; every other filter is optional.
+ *
+ * @param origin        place of departure
+ * @param destination   place of arrival
+ * @param departureFrom earliest departure, or null for now
+ * @param departureTo   latest departure (exclusive), or null for the default search window
+ * @param minSeats      minimum number of free seats, or null for one
+ * @param maxPrice      maximum price of a seat, or null for any price
+ */
+public record TripSearchCriteria(
+        String origin,
+        String destination,
+        @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime departureFrom,
+        @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime departureTo,
+        Integer minSeats,
+        BigDecimal maxPrice
+) {
+}
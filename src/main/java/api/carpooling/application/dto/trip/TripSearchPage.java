@@ -0,0 +1,18 @@
+package api.carpooling.application.dto.trip;
+
+import lombok.Builder;
+
+import java.util.List;
+
+/**
+ * Page of trips found by the search, earliest departure first.
+ *
+ * @param items      trips of the page
+ * @param nextCursor continuation token of the next page, or null on the last page
+ */
+@Builder
+public record TripSearchPage(
+        List<TripSummary> items,
+        String nextCursor
+) {
+}
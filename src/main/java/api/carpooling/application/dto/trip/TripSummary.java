@@ -0,0 +1,35 @@
+package api.carpooling.application.dto.trip;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Projection of a trip returned by the search.
+ *
+ * @param id             identifier of the trip
+ * @param driverId       identifier of the driver
+ * @param driverUsername username of the driver
+ * @param originId       identifier of the place of departure
+ * @param origin         place of departure, as spelled by the driver
+ * @param destinationId  identifier of the place of arrival
+ * @param destination    place of arrival, as spelled by the driver
+ * @param departureTime  date and time of departure
+ * @param arrivalTime    expected date and time of arrival
+ * @param price          price of one seat
+ * @param freeSeats      seats not yet booked
+ */
+public record TripSummary(
+        UUID id,
+        UUID driverId,
+        String driverUsername,
+        long originId,
+        String origin,
+        long destinationId,
+        String destination,
+        LocalDateTime departureTime,
+        LocalDateTime arrivalTime,
+        BigDecimal price,
+        int freeSeats
+) {
+}
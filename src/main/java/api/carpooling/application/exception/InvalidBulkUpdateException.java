@@ -0,0 +1,23 @@
+package api.carpooling.application.exception;
+
+import api.carpooling.application.exception.api.ApiException;
+import api.carpooling.exception.ErrorCode;
+import org.springframework.http.HttpStatus;
+
+/**
+ * Exception thrown when a bulk update request does not select users or does not change anything.
+ * <p>
+ * Typically raised when several selectors are combined or when neither a role nor
+ * an activity status is given.
+ */
+public class InvalidBulkUpdateException extends ApiException {
+
+    /**
+     * Constructs a new {@code InvalidBulkUpdateException} with a detailed message.
+     *
+     * @param message descriptive error message
+     */
+    public InvalidBulkUpdateException(String message) {
+        super(message, ErrorCode.VALIDATION_ERROR, HttpStatus.BAD_REQUEST);
+    }
+}
@@ -0,0 +1,32 @@
+package api.carpooling.application.exception;
+
+import api.carpooling.application.exception.api.ApiException;
+import api.carpooling.exception.ErrorCode;
+import org.springframework.http.HttpStatus;
+
+/**
+ * Exception thrown when the continuation token of a paginated listing cannot be decoded.
+ * <p>
+ * Typically raised when a client alters a cursor or sends one built by hand.
+ */
+public class InvalidCursorException extends ApiException {
+
+    /**
+     * Constructs a new {@code InvalidCursorException} with a detailed message.
+     *
+     * @param message descriptive error message
+     */
+    public InvalidCursorException(String message) {
+        super(message, ErrorCode.INVALID_CURSOR, HttpStatus.BAD_REQUEST);
+    }
+
+    /**
+     * Constructs a new {@code InvalidCursorException} with a detailed message and its cause.
+     *
+     * @param message descriptive error message
+     * @param cause exception that caused the error
+     */
+    public InvalidCursorException(String message, Throwable cause) {
+        super(message, cause, ErrorCode.INVALID_CURSOR, HttpStatus.BAD_REQUEST);
+    }
+}
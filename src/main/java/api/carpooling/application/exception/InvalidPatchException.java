@@ -0,0 +1,33 @@
+package api.carpooling.application.exception;
+
+import api.carpooling.application.exception.api.ApiException;
+import api.carpooling.exception.ErrorCode;
+import org.springframework.http.HttpStatus;
+
+/**
+ * Exception thrown when a JSON Merge Patch of a user profile cannot be applied.
+ * <p>
+ * Typically raised for unknown or invalid fields, or when a required field is
+ * removed with a null value.
+ */
+public class InvalidPatchException extends ApiException {
+
+    /**
+     * Constructs a new {@code InvalidPatchException} with a detailed message.
+     *
+     * @param message descriptive error message
+     */
+    public InvalidPatchException(String message) {
+        super(message, ErrorCode.VALIDATION_ERROR, HttpStatus.BAD_REQUEST);
+    }
+
+    /**
+     * Constructs a new {@code InvalidPatchException} with a detailed message and its cause.
+     *
+     * @param message descriptive error message
+     * @param cause exception that caused the error
+     */
+    public InvalidPatchException(String message, Throwable cause) {
+        super(message, cause, ErrorCode.VALIDATION_ERROR, HttpStatus.BAD_REQUEST);
+    }
+}
@@ -0,0 +1,23 @@
+package api.carpooling.application.exception;
+
+import api.carpooling.application.exception.api.ApiException;
+import api.carpooling.exception.ErrorCode;
+import org.springframework.http.HttpStatus;
+
+/**
+ * Exception thrown when an admin search term is too short to use the trigram indexes.
+ * <p>
+ * Trigram indexes need at least three characters; shorter terms would scan the
+ * whole users table.
+ */
+public class InvalidSearchQueryException extends ApiException {
+
+    /**
+     * Constructs a new {@code InvalidSearchQueryException} with a detailed message.
+     *
+     * @param message descriptive error message
+     */
+    public InvalidSearchQueryException(String message) {
+        super(message, ErrorCode.VALIDATION_ERROR, HttpStatus.BAD_REQUEST);
+    }
+}
@@ -0,0 +1,23 @@
+package api.carpooling.application.exception;
+
+import api.carpooling.application.exception.api.ApiException;
+import api.carpooling.exception.ErrorCode;
+import org.springframework.http.HttpStatus;
+
+/**
+ * Exception thrown when the criteria of a trip search are incomplete or inconsistent.
+ * <p>
+ * Typically raised when the origin or destination is missing, or when the departure
+ * window is empty or wider than allowed.
+ */
+public class InvalidTripSearchException extends ApiException {
+
+    /**
+     * Constructs a new {@code InvalidTripSearchException} with a detailed message.
+     *
+     * @param message descriptive error message
+     */
+    public InvalidTripSearchException(String message) {
+        super(message, ErrorCode.VALIDATION_ERROR, HttpStatus.BAD_REQUEST);
+    }
+}
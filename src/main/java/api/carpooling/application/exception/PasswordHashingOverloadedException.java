@@ -0,0 +1,44 @@
+package api.carpooling.application.exception;
+
+import api.carpooling.application.exception.api.ApiException;
+import api.carpooling.exception.ErrorCode;
+import lombok.Getter;
+import org.springframework.http.HttpStatus;
+
+/**
+ * Exception thrown when the password hashing executor cannot accept more work.
+ * <p>
+ * Mapped to a 503 response with a Retry-After header so that clients back off
+ * instead of piling up on the login and register endpoints.
+ */
+@Getter
+public class PasswordHashingOverloadedException extends ApiException {
+
+    /**
+     * Number of seconds the client should wait before retrying.
+     */
+    private final long retryAfterSeconds;
+
+    /**
+     * Constructs a new {@code PasswordHashingOverloadedException} with a detailed message.
+     *
+     * @param message descriptive error message
+     * @param retryAfterSeconds number of seconds the client should wait before retrying
+     */
+    public PasswordHashingOverloadedException(String message, long retryAfterSeconds) {
+        super(message, ErrorCode.SERVICE_UNAVAILABLE, HttpStatus.SERVICE_UNAVAILABLE);
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+
+    /**
+     * Constructs a new {@code PasswordHashingOverloadedException} with a detailed message and its cause.
+     *
+     * @param message descriptive error message
+     * @param cause exception that caused the error
+     * @param retryAfterSeconds number of seconds the client should wait before retrying
+     */
+    public PasswordHashingOverloadedException(String message, Throwable cause, long retryAfterSeconds) {
+        super(message, cause, ErrorCode.SERVICE_UNAVAILABLE, HttpStatus.SERVICE_UNAVAILABLE);
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+}
@@ -0,0 +1,23 @@
+package api.carpooling.application.exception;
+
+import api.carpooling.application.exception.api.ApiException;
+import api.carpooling.exception.ErrorCode;
+import org.springframework.http.HttpStatus;
+
+/**
+ * Exception thrown when a refresh token session cannot be found.
+ * <p>
+ * Typically raised when a user tries to revoke a session that does not
+ * exist or that belongs to another user.
+ */
+public class SessionNotFoundException extends ApiException {
+
+    /**
+     * Constructs a new {@code SessionNotFoundException} with a detailed message.
+     *
+     * @param message descriptive error message
+     */
+    public SessionNotFoundException(String message) {
+        super(message, ErrorCode.SESSION_NOT_FOUND, HttpStatus.NOT_FOUND);
+    }
+}
@@ -0,0 +1,32 @@
+package api.carpooling.application.exception;
+
+import api.carpooling.application.exception.api.ApiException;
+import api.carpooling.exception.ErrorCode;
+import lombok.Getter;
+import org.springframework.http.HttpStatus;
+
+/**
+ * Exception thrown when too many login attempts were made for an email or from a client IP.
+ * <p>
+ * Mapped to a 429 response with a Retry-After header telling the client when
+ * the oldest attempt leaves the sliding window.
+ */
+@Getter
+public class TooManyLoginAttemptsException extends ApiException {
+
+    /**
+     * Number of seconds the client should wait before retrying.
+     */
+    private final long retryAfterSeconds;
+
+    /**
+     * Constructs a new {@code TooManyLoginAttemptsException} with a detailed message.
+     *
+     * @param message descriptive error message
+     * @param retryAfterSeconds number of seconds the client should wait before retrying
+     */
+    public TooManyLoginAttemptsException(String message, long retryAfterSeconds) {
+        super(message, ErrorCode.TOO_MANY_REQUESTS, HttpStatus.TOO_MANY_REQUESTS);
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+}
@@ -21,4 +21,14 @@ public class UserExistsAlready extends ApiException {
     public UserExistsAlready(String message) {
         super(message, ErrorCode.USER_FOUND, HttpStatus.FOUND);
     }
+
+    /**
+     * Constructs a new {@code UserExistsAlready} with a detailed message and its cause.
+     *
+     * @param message descriptive error message
+     * @param cause exception that caused the error
+     */
+    public UserExistsAlready(String message, Throwable cause) {
+        super(message, cause, ErrorCode.USER_FOUND, HttpStatus.FOUND);
+    }
 }
@@ -37,4 +37,18 @@ public abstract class ApiException extends RuntimeException {
         this.errorCode = errorCode;
         this.httpStatus = httpStatus;
     }
+
+    /**
+     * Creates a new API exception with a message, its cause, error code, and HTTP status.
+     *
+     * @param message descriptive message for the error
+     * @param cause exception that caused the error
+     * @param errorCode application-specific error code
+     * @param httpStatus corresponding HTTP status
+     */
+    protected ApiException(String message, Throwable cause, ErrorCode errorCode, HttpStatus httpStatus) {
+        super(message, cause);
+        this.errorCode = errorCode;
+        this.httpStatus = httpStatus;
+    }
 }
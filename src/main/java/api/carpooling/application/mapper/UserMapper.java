@@ -15,16 +15,23 @@ public interface UserMapper {
 
     /**
      * Converts a User entity to a UserDTO.
+     * <p>
+     * Access tokens are never stored and refresh tokens live in their own sessions,
+     * so both are added by the caller.
      *
      * @param user the User entity
      * @return corresponding UserDTO
      */
+    @Mapping(target = "token", ignore = true)
+    @Mapping(target = "refreshToken", ignore = true)
+    @Mapping(target = "tokenExpired", ignore = true)
     UserDTO toDTO(User user);
 
     /**
      * Converts a UserDTO to a User entity.
      * <p>
-     * Some sensitive fields like password and tokens are ignored.
+     * Some sensitive fields like password and tokens are ignored. The DTO carries no
+     * status flags, so a new entity keeps its defaults: active and not verified.
      *
      * @param dto the UserDTO
      * @return corresponding User entity
@@ -33,7 +40,7 @@ public interface UserMapper {
     @Mapping(target = "phoneNumber", ignore = true)
     @Mapping(target = "photoUser", ignore = true)
     @Mapping(target = "address", ignore = true)
-    @Mapping(target = "token", ignore = true)
-    @Mapping(target = "refreshToken", ignore = true)
+    @Mapping(target = "isActive", ignore = true)
+    @Mapping(target = "isVerified", ignore = true)
     User toEntity(UserDTO dto);
 }
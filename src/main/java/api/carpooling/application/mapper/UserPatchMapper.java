@@ -0,0 +1,32 @@
+package api.carpooling.application.mapper;
+
+import api.carpooling.application.dto.user.UpdateRequestUser;
+import api.carpooling.domain.User;
+import org.mapstruct.Mapper;
+import org.mapstruct.Mapping;
+import org.mapstruct.MappingTarget;
+import org.mapstruct.NullValuePropertyMappingStrategy;
+import org.mapstruct.ReportingPolicy;
+
+/**
+ * Mapper applying a profile update onto an existing User entity.
+ * <p>
+ * The generated code copies each non-null field with a plain setter call, so the
+ * update needs no reflection. Null fields are left untouched.
+ */
+@Mapper(componentModel = "spring",
+        nullValuePropertyMappingStrategy = NullValuePropertyMappingStrategy.IGNORE,
+        unmappedTargetPolicy = ReportingPolicy.IGNORE)
+public interface UserPatchMapper {
+
+    /**
+     * Copies the non-null fields of an update request onto a user.
+     * <p>
+     * The password is ignored because it must be hashed by the caller.
+     *
+     * @param request the update request
+     * @param user the User entity to update
+     */
+    @Mapping(target = "password", ignore = true)
+    void patch(UpdateRequestUser request, @MappingTarget User user);
+}
@@ -3,6 +3,7 @@ package api.carpooling.application.mapper;
 import api.carpooling.application.dto.user.UserResponse;
 import api.carpooling.domain.User;
 import org.mapstruct.Mapper;
+import org.mapstruct.Mapping;
 
 /**
  * Mapper interface to convert between User entity and UserResponse DTO.
@@ -14,9 +15,17 @@ public interface UserResponseMapper {
 
     /**
      * Converts a User entity to a UserResponse DTO.
+     * <p>
+     * The flags of the entity are read through {@code isActive()} and {@code isVerified()},
+     * so their source properties are named {@code active} and {@code verified}.
      *
      * @param user the User entity
      * @return corresponding UserResponse DTO
      */
+    @Mapping(target = "isActive", source = "active")
+    @Mapping(target = "isVerified", source = "verified")
+    @Mapping(target = "token", ignore = true)
+    @Mapping(target = "refreshToken", ignore = true)
+    @Mapping(target = "tokenExpired", ignore = true)
     UserResponse toUserResponse(User user);
 }
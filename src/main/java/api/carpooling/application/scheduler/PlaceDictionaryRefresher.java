@@ -0,0 +1,52 @@
+package api.carpooling.application.scheduler;
+
+import api.carpooling.application.cache.PlaceDictionary;
+import api.carpooling.repository.PlaceRepository;
+import api.carpooling.repository.PlaceVersion;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Periodically reloads the place dictionary when the places table changed.
+ * <p>
+ * Each run only reads the number of places and the date of the latest change; the
+ * places themselves are read again when one of them differs, so that a new or renamed
+ * place is served without a restart.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class PlaceDictionaryRefresher {
+
+    /**
+     * Repository reading the places.
+     */
+    private final PlaceRepository placeRepository;
+
+    /**
+     * Dictionary kept up to date.
+     */
+    private final PlaceDictionary placeDictionary;
+
+    /**
+     * State of the places table at the last load, or null before the first one.
+     */
+    private PlaceVersion loadedVersion;
+
+    /**
+     * Reloads the dictionary if the places changed since the last load.
+     */
+    @Scheduled(fixedDelayString = "${place-dictionary.reload-interval-ms:30000}")
+    public void refresh() {
+        PlaceVersion version = placeRepository.findVersion();
+        if (version.equals(loadedVersion)) {
+            return;
+        }
+        placeDictionary.load(placeRepository.findAllEntries());
+        loadedVersion = version;
+        log.info("[PLACE DICTIONARY] {} place(s) loaded", placeDictionary.size());
+    }
+}
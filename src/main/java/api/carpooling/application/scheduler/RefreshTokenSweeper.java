@@ -0,0 +1,37 @@
+package api.carpooling.application.scheduler;
+
+import api.carpooling.application.service.RefreshTokenService;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Periodically deletes expired and revoked refresh token sessions.
+ * <p>
+ * Rows are deleted in bounded batches, each in its own short transaction,
+ * so the sweeper never holds long locks on the user_refresh_tokens table.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class RefreshTokenSweeper {
+
+    /**
+     * Service owning the refresh token sessions.
+     */
+    private final RefreshTokenService refreshTokenService;
+
+    /**
+     * Deletes the sessions that can no longer be used.
+     */
+    @Scheduled(fixedDelayString = "${refresh-token.sweep-interval-ms:600000}",
+            initialDelayString = "${refresh-token.sweep-interval-ms:600000}")
+    public void sweep() {
+        int deleted = refreshTokenService.purgeExpired();
+        if (deleted > 0) {
+            log.info("[REFRESH TOKEN SWEEPER] {} expired or revoked session(s) deleted", deleted);
+        }
+    }
+}
@@ -0,0 +1,38 @@
+package api.carpooling.application.scheduler;
+
+import api.carpooling.application.service.TripOccupancyService;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Periodically compares the booked seats counted on the trips with their reservations.
+ * <p>
+ * The counters are kept by a trigger in the transaction of each reservation, so they
+ * should never drift; this check catches the writes that bypassed it, such as a trigger
+ * disabled during a manual fix, and sets the counters back.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class TripOccupancyDriftChecker {
+
+    /**
+     * Service checking the counters.
+     */
+    private final TripOccupancyService tripOccupancyService;
+
+    /**
+     * Checks the next trips.
+     */
+    @Scheduled(fixedDelayString = "${trip-occupancy.check-interval-ms:60000}",
+            initialDelayString = "${trip-occupancy.check-interval-ms:60000}")
+    public void check() {
+        int corrected = tripOccupancyService.checkDrift();
+        if (corrected > 0) {
+            log.info("[TRIP OCCUPANCY JOB] {} drifted counter(s) corrected", corrected);
+        }
+    }
+}
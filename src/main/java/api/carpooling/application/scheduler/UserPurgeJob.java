@@ -0,0 +1,38 @@
+package api.carpooling.application.scheduler;
+
+import api.carpooling.application.service.UserPurgeService;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Periodically purges the data of soft-deleted users.
+ * <p>
+ * Deleting a user only tombstones its row; this job later removes or anonymizes the rows
+ * that reference it, in short throttled transactions, so that no request ever waits on a
+ * cascade of deletions.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class UserPurgeJob {
+
+    /**
+     * Service purging the deleted users.
+     */
+    private final UserPurgeService userPurgeService;
+
+    /**
+     * Purges the users whose grace period is over.
+     */
+    @Scheduled(fixedDelayString = "${user-purge.interval-ms:60000}",
+            initialDelayString = "${user-purge.interval-ms:60000}")
+    public void purge() {
+        int purged = userPurgeService.purgeDeletedUsers();
+        if (purged > 0) {
+            log.info("[USER PURGE JOB] {} deleted user(s) purged", purged);
+        }
+    }
+}
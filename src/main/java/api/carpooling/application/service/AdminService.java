@@ -1,11 +1,18 @@
 package api.carpooling.application.service;
 
+import api.carpooling.application.dto.admin.CountMode;
 import api.carpooling.application.dto.admin.UpdateUserByAdmin;
+import api.carpooling.application.dto.admin.UserCursorPage;
+import api.carpooling.application.dto.admin.UserListFilter;
+import api.carpooling.application.dto.admin.UserSearchPage;
+import api.carpooling.application.dto.admin.UserSearchResult;
 import api.carpooling.application.dto.user.UserResponse;
 
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 
+import java.util.List;
+
 /**
  * Service interface for administrative operations related to user management.
  * <p>
@@ -37,6 +44,39 @@ public interface AdminService {
      */
     Page<UserResponse> getAllUsers(Pageable pageable);
 
+    /**
+     * Retrieves a page of users with keyset pagination, newest first.
+     * <p>
+     * Unlike {@link #getAllUsers(Pageable)}, the cost of a page does not grow with its depth
+     * and no count is run unless requested.
+     *
+     * @param filter    filters on role and activity
+     * @param cursor    continuation token returned with the previous page, or null for the first page
+     * @param size      maximum number of users in the page
+     * @param countMode how the total number of users is reported
+     * @return the page and the token of the next one
+     */
+    UserCursorPage listUsers(UserListFilter filter, String cursor, int size, CountMode countMode);
+
+    /**
+     * Searches users whose username, email or phone number contains a term or is close to it.
+     *
+     * @param query  the searched term, at least three characters
+     * @param cursor continuation token returned with the previous page, or null for the first page
+     * @param size   maximum number of users in the page
+     * @return the page and the token of the next one
+     */
+    UserSearchPage searchUsers(String query, String cursor, int size);
+
+    /**
+     * Suggests users whose username, email or phone number starts with a prefix.
+     *
+     * @param prefix the typed prefix, at least three characters
+     * @param size   maximum number of suggestions
+     * @return the suggested users, by username
+     */
+    List<UserSearchResult> autocompleteUsers(String prefix, int size);
+
     /**
      * Retrieves a user by their email address.
      *
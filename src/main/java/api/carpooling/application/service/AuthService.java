@@ -2,7 +2,12 @@ package api.carpooling.application.service;
 
 import api.carpooling.application.dto.auth.LoginUserRequest;
 import api.carpooling.application.dto.auth.RegisterUserRequest;
+import api.carpooling.application.dto.auth.SessionResponse;
 import api.carpooling.application.dto.user.UserDTO;
+import api.carpooling.security.AccessToken;
+
+import java.util.List;
+import java.util.UUID;
 
 /**
  * Service interface for user authentication operations.
@@ -19,33 +24,55 @@ public interface AuthService {
 
     /**
      * Authenticates a user with email and password.
+     * <p>
+     * Attempts are throttled per email and per client address before the user is looked up.
      *
      * @param loginUserRequest login request payload
+     * @param clientIp address of the client
      * @return UserDTO of the authenticated user
      */
-    UserDTO login(LoginUserRequest loginUserRequest);
+    UserDTO login(LoginUserRequest loginUserRequest, String clientIp);
 
     /**
      * Refreshes JWT access token using a refresh token.
+     * <p>
+     * The presented refresh token is consumed and replaced by a new one.
      *
      * @param refreshToken the refresh token
-     * @return UserDTO with new JWT token
+     * @return UserDTO with new JWT token and new refresh token
      */
     UserDTO refreshToken(String refreshToken);
 
     /**
      * Retrieves the profile of the authenticated user.
      *
-     * @param token JWT token from Authorization header
+     * @param userId id of the authenticated user
      * @return UserDTO of the authenticated user
      */
-    UserDTO me(String token);
+    UserDTO me(UUID userId);
 
     /**
-     * logout user with authenticated token
+     * logout the authenticated user
      *
-     * @param token JWT token from Authorization header
+     * @param userId id of the authenticated user
+     * @param accessToken access token used for the request, revoked until its expiry
      * user logout
      */
-    void logout(String token);
+    void logout(UUID userId, AccessToken accessToken);
+
+    /**
+     * Lists the active sessions (one per device) of the authenticated user.
+     *
+     * @param userId id of the authenticated user
+     * @return active sessions of the user
+     */
+    List<SessionResponse> sessions(UUID userId);
+
+    /**
+     * Revokes one session of the authenticated user.
+     *
+     * @param userId id of the authenticated user
+     * @param sessionId identifier of the session to revoke
+     */
+    void revokeSession(UUID userId, UUID sessionId);
 }
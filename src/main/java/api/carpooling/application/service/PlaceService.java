@@ -0,0 +1,22 @@
+package api.carpooling.application.service;
+
+import api.carpooling.application.dto.place.PlaceSuggestion;
+
+import java.util.List;
+
+/**
+ * Service suggesting the places of departure and arrival.
+ */
+public interface PlaceService {
+
+    /**
+     * Suggests the places whose name starts with what the client typed.
+     * <p>
+     * The text is compared regardless of case, accents and punctuation.
+     *
+     * @param query text typed by the client
+     * @param size maximum number of places
+     * @return the places, exact match and shortest names first; empty for a blank text
+     */
+    List<PlaceSuggestion> autocomplete(String query, int size);
+}
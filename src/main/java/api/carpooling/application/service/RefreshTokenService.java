@@ -0,0 +1,97 @@
+package api.carpooling.application.service;
+
+import api.carpooling.application.dto.auth.IssuedRefreshToken;
+import api.carpooling.application.dto.auth.RefreshedSession;
+import api.carpooling.application.dto.auth.SessionResponse;
+import api.carpooling.domain.User;
+import api.carpooling.domain.enumeration.RoleUser;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Service interface for refresh token sessions.
+ * <p>
+ * A user owns one session per device. Refresh tokens are stored hashed and are
+ * replaced every time they are used.
+ */
+public interface RefreshTokenService {
+
+    /**
+     * Opens a session for a device, replacing the previous session of that device.
+     *
+     * @param user owner of the session
+     * @param deviceId device identifier, or null for the default device
+     * @return the raw refresh token and its expiry date
+     */
+    IssuedRefreshToken issue(User user, String deviceId);
+
+    /**
+     * Consumes a refresh token and replaces it with a new one.
+     *
+     * @param refreshToken the raw refresh token presented by the client
+     * @return the owner of the session and its new refresh token
+     */
+    RefreshedSession rotate(String refreshToken);
+
+    /**
+     * Lists the active sessions of a user.
+     *
+     * @param userId owner of the sessions
+     * @return active sessions, most recent first
+     */
+    List<SessionResponse> listSessions(UUID userId);
+
+    /**
+     * Revokes one session of a user.
+     *
+     * @param userId owner of the session
+     * @param sessionId session identifier
+     */
+    void revoke(UUID userId, UUID sessionId);
+
+    /**
+     * Revokes every session of a user.
+     *
+     * @param userId owner of the sessions
+     */
+    void revokeAll(UUID userId);
+
+    /**
+     * Revokes every session of several users.
+     *
+     * @param userIds owners of the sessions
+     */
+    void revokeAllForUsers(Collection<UUID> userIds);
+
+    /**
+     * Deletes every session of a user, before the user itself is deleted.
+     *
+     * @param userId owner of the sessions
+     */
+    void deleteAll(UUID userId);
+
+    /**
+     * Propagates a role change to the sessions of a user.
+     *
+     * @param userId owner of the sessions
+     * @param roleUser the new role
+     */
+    void updateRole(UUID userId, RoleUser roleUser);
+
+    /**
+     * Propagates a role change to the sessions of several users.
+     *
+     * @param userIds owners of the sessions
+     * @param roleUser the new role
+     */
+    void updateRoleForUsers(Collection<UUID> userIds, RoleUser roleUser);
+
+    /**
+     * Deletes expired and revoked sessions in bounded batches.
+     *
+     * @return number of deleted sessions
+     */
+    int purgeExpired();
+}
@@ -0,0 +1,18 @@
+package api.carpooling.application.service;
+
+/**
+ * Service checking the booked seats counted on the trips.
+ */
+public interface TripOccupancyService {
+
+    /**
+     * Compares the next trips with their confirmed reservations and corrects the
+     * counters that drifted.
+     * <p>
+     * A run covers a bounded number of trips and the next one resumes after them,
+     * starting over once every trip was compared.
+     *
+     * @return the number of counters corrected
+     */
+    int checkDrift();
+}
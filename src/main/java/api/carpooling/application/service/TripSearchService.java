@@ -0,0 +1,36 @@
+package api.carpooling.application.service;
+
+import api.carpooling.application.dto.trip.NearbyTrip;
+import api.carpooling.application.dto.trip.NearbyTripCriteria;
+import api.carpooling.application.dto.trip.TripSearchCriteria;
+import api.carpooling.application.dto.trip.TripSearchPage;
+
+import java.util.List;
+
+/**
+ * Service searching the trips offered by drivers.
+ */
+public interface TripSearchService {
+
+    /**
+     * Searches the trips between two places, earliest departure first.
+     * <p>
+     * Pages are keyset-paginated: the cursor returned with a page continues right after
+     * its last trip, whatever the depth of the page.
+     *
+     * @param criteria route, departure window, seats and price filters
+     * @param cursor continuation token of the previous page, or null for the first page
+     * @param size maximum number of trips in the page
+     * @return the page and the token of the next one
+     */
+    TripSearchPage search(TripSearchCriteria criteria, String cursor, int size);
+
+    /**
+     * Searches the trips leaving near a point, nearest first.
+     *
+     * @param criteria point, radius, departure window and seats filter
+     * @param size maximum number of trips returned
+     * @return the trips with their distance to the point
+     */
+    List<NearbyTrip> searchNearby(NearbyTripCriteria criteria, int size);
+}
@@ -0,0 +1,25 @@
+package api.carpooling.application.service;
+
+import api.carpooling.application.dto.admin.BulkUserUpdateRequest;
+import api.carpooling.application.dto.admin.BulkUserUpdateResult;
+
+import java.util.UUID;
+
+/**
+ * Service interface for the changes applied by administrators to many users at once.
+ */
+public interface UserBulkUpdateService {
+
+    /**
+     * Changes the role or the activity of many users at once.
+     * <p>
+     * Users are updated with set-based statements, one chunk per transaction, so a
+     * failure only rolls back the chunk being processed. Administrators, the caller
+     * included, are left out of the selection.
+     *
+     * @param request the selected users and the change to apply
+     * @param adminId identifier of the administrator making the change
+     * @return the number of updated users and, for listed users, the outcome of each one
+     */
+    BulkUserUpdateResult bulkUpdate(BulkUserUpdateRequest request, UUID adminId);
+}
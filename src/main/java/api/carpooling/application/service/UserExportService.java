@@ -0,0 +1,26 @@
+package api.carpooling.application.service;
+
+import api.carpooling.application.dto.admin.UserExportFormat;
+import api.carpooling.application.dto.admin.UserListFilter;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * Service interface for exporting users.
+ */
+public interface UserExportService {
+
+    /**
+     * Writes every user matching a filter to a stream, oldest first.
+     * <p>
+     * Users are streamed from the database as they are written, so memory use does not
+     * depend on the number of users. The stream is flushed but not closed.
+     *
+     * @param filter filters on role and activity
+     * @param format output format
+     * @param out    stream receiving the export
+     * @throws IOException if writing to the stream fails
+     */
+    void export(UserListFilter filter, UserExportFormat format, OutputStream out) throws IOException;
+}
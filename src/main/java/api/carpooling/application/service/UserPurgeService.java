@@ -0,0 +1,18 @@
+package api.carpooling.application.service;
+
+/**
+ * Service purging the data of soft-deleted users.
+ */
+public interface UserPurgeService {
+
+    /**
+     * Purges the users deleted for longer than the grace period.
+     * <p>
+     * The rows of each user are removed or anonymized in small transactions separated by
+     * a pause, then the user row is deleted, or kept as an anonymized tombstone when its
+     * trips, paid reservations or wallets must be preserved.
+     *
+     * @return the number of purged users
+     */
+    int purgeDeletedUsers();
+}
@@ -3,6 +3,9 @@ package api.carpooling.application.service;
 import api.carpooling.application.dto.user.CompleteUserRequest;
 import api.carpooling.application.dto.user.UpdateRequestUser;
 import api.carpooling.application.dto.user.UserResponse;
+import com.fasterxml.jackson.databind.JsonNode;
+
+import java.util.UUID;
 
 /**
  * Service interface for standard user operations.
@@ -15,24 +18,36 @@ public interface UserService {
      * Complete a new user based on the provided registration data.
      *
      * @param completeUserRequest the DTO containing new user information
-     * @param token             the authentication or invitation token used during creation
+     * @param userId              the id of the authenticated user
      * @return a {@link UserResponse} representing the newly created user
      */
-    UserResponse completeUserProfil(CompleteUserRequest completeUserRequest, String token);
+    UserResponse completeUserProfil(CompleteUserRequest completeUserRequest, UUID userId);
 
     /**
      * Updates the profile information of an existing user.
      *
      * @param updateUserRequest the DTO containing updated user information
-     * @param token             the JWT token of the user performing the update
+     * @param userId            the id of the user performing the update
+     * @return a {@link UserResponse} representing the updated user data
+     */
+    UserResponse updateUser(UpdateRequestUser updateUserRequest, UUID userId);
+
+    /**
+     * Applies a JSON Merge Patch (RFC 7396) to the profile of an existing user.
+     * <p>
+     * Members absent from the patch are left unchanged and null members remove the
+     * optional photo and address.
+     *
+     * @param patch  the merge patch document
+     * @param userId the id of the user performing the update
      * @return a {@link UserResponse} representing the updated user data
      */
-    UserResponse updateUser(UpdateRequestUser updateUserRequest, String token);
+    UserResponse patchUser(JsonNode patch, UUID userId);
 
     /**
      * Deletes the authenticated user from the system.
      *
-     * @param token the JWT token identifying the user to be deleted
+     * @param userId the id of the user to be deleted
      */
-    void deleteUser(String token);
+    void deleteUser(UUID userId);
 }
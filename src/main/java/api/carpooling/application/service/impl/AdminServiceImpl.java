@@ -1,12 +1,25 @@
 package api.carpooling.application.service.impl;
 
+import api.carpooling.application.audit.AuditAction;
+import api.carpooling.application.audit.AuditEvent;
+import api.carpooling.application.audit.AuditLogger;
+import api.carpooling.application.cache.UserProfileCache;
+import api.carpooling.application.dto.admin.CountMode;
 import api.carpooling.application.dto.admin.UpdateUserByAdmin;
+import api.carpooling.application.dto.admin.UserCursorPage;
+import api.carpooling.application.dto.admin.UserListFilter;
+import api.carpooling.application.dto.admin.UserSearchPage;
+import api.carpooling.application.dto.admin.UserSearchResult;
 import api.carpooling.application.dto.user.UserResponse;
+import api.carpooling.application.exception.InvalidSearchQueryException;
 import api.carpooling.application.exception.UserNotFoundException;
 import api.carpooling.application.mapper.UserResponseMapper;
+import api.carpooling.application.service.RefreshTokenService;
 import api.carpooling.application.service.AdminService;
 import api.carpooling.domain.User;
+import api.carpooling.repository.UserKeyset;
 import api.carpooling.repository.UserRepository;
+import api.carpooling.utils.UserCursorCodec;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -17,6 +30,10 @@ import org.springframework.transaction.annotation.Transactional;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
 /**
  * Implementation of AdminService for user modifyProfilUser,
  * delete, show all users and retrieves user by email.
@@ -27,6 +44,16 @@ import org.springframework.data.domain.Pageable;
 @Transactional
 public class AdminServiceImpl implements AdminService {
 
+    /**
+     * Largest page served by the cursor listing.
+     */
+    private static final int MAX_PAGE_SIZE = 100;
+
+    /**
+     * Shortest search term, below which trigram indexes cannot be used.
+     */
+    private static final int MIN_SEARCH_LENGTH = 3;
+
     /**
      * Repository for User entity operations.
      */
@@ -37,6 +64,21 @@ public class AdminServiceImpl implements AdminService {
      */
     private final UserResponseMapper userResponseMapper;
 
+    /**
+     * Service storing the refresh token sessions.
+     */
+    private final RefreshTokenService refreshTokenService;
+
+    /**
+     * Cache of user profiles, evicted on every modification.
+     */
+    private final UserProfileCache userProfileCache;
+
+    /**
+     * Records the changes made by administrators.
+     */
+    private final AuditLogger auditLogger;
+
     @Override
     @PreAuthorize("hasRole('ADMIN')")
     public UserResponse modifyProfilUser(UpdateUserByAdmin updateUserByAdmin, String emailUser) {
@@ -45,6 +87,15 @@ public class AdminServiceImpl implements AdminService {
         user.setActive(updateUserByAdmin.isActive());
 
         User savedUser = userRepository.save(user);
+        if (savedUser.isActive()) {
+            refreshTokenService.updateRole(savedUser.getId(), savedUser.getRoleUser());
+        } else {
+            refreshTokenService.revokeAll(savedUser.getId());
+        }
+        userProfileCache.evict(savedUser.getId());
+        auditLogger.record(AuditEvent.forUser(AuditAction.ADMIN_USER_UPDATED, savedUser.getId())
+                .details(Map.of("roleUser", String.valueOf(savedUser.getRoleUser()), "active", savedUser.isActive()))
+                .build());
         UserResponse userResponse = userResponseMapper.toUserResponse(savedUser);
 
         log.info("[ADMIN SERVICE] Updated user '{}' with role {} and active={}",
@@ -57,7 +108,12 @@ public class AdminServiceImpl implements AdminService {
     public void deleteUser(String emailUser) {
         User user = findUserByEmail(emailUser);
         log.info("[ADMIN SERVICE] Delete user with email {}", emailUser);
-        userRepository.delete(user);
+        userRepository.softDelete(user.getId());
+        refreshTokenService.deleteAll(user.getId());
+        userProfileCache.evict(user.getId());
+        auditLogger.record(AuditEvent.forUser(AuditAction.ADMIN_USER_DELETED, user.getId())
+                .details(Map.of("email", emailUser))
+                .build());
     }
 
     @Override
@@ -69,6 +125,72 @@ public class AdminServiceImpl implements AdminService {
                 .map(userResponseMapper::toUserResponse);
     }
 
+    @Override
+    @PreAuthorize("hasRole('ADMIN')")
+    @Transactional(readOnly = true)
+    public UserCursorPage listUsers(UserListFilter filter, String cursor, int size, CountMode countMode) {
+        int limit = Math.clamp(size, 1, MAX_PAGE_SIZE);
+        UserKeyset after = cursor == null || cursor.isBlank() ? null : UserCursorCodec.decode(cursor);
+
+        // One extra row tells whether a next page exists without counting.
+        List<User> users = userRepository.findPage(filter, after, limit + 1);
+        boolean hasNext = users.size() > limit;
+        List<User> page = hasNext ? users.subList(0, limit) : users;
+
+        String nextCursor = null;
+        if (hasNext) {
+            User last = page.getLast();
+            nextCursor = UserCursorCodec.encode(new UserKeyset(last.getCreatedAt(), last.getId()));
+        }
+
+        Long totalCount = switch (countMode) {
+            case EXACT -> userRepository.countMatching(filter);
+            case ESTIMATED -> userRepository.estimateMatching(filter);
+            case NONE -> null;
+        };
+
+        log.info("[ADMIN SERVICE] List {} user(s) after cursor {}", page.size(), cursor);
+        return UserCursorPage.builder()
+                .items(page.stream().map(userResponseMapper::toUserResponse).toList())
+                .nextCursor(nextCursor)
+                .totalCount(totalCount)
+                .totalEstimated(countMode == CountMode.ESTIMATED)
+                .build();
+    }
+
+    @Override
+    @PreAuthorize("hasRole('ADMIN')")
+    @Transactional(readOnly = true)
+    public UserSearchPage searchUsers(String query, String cursor, int size) {
+        String term = normalizeSearchTerm(query);
+        int limit = Math.clamp(size, 1, MAX_PAGE_SIZE);
+        UserKeyset after = cursor == null || cursor.isBlank() ? null : UserCursorCodec.decode(cursor);
+
+        List<UserSearchResult> users = userRepository.search(term, after, limit + 1);
+        boolean hasNext = users.size() > limit;
+        List<UserSearchResult> page = hasNext ? users.subList(0, limit) : users;
+
+        String nextCursor = null;
+        if (hasNext) {
+            UserSearchResult last = page.getLast();
+            nextCursor = UserCursorCodec.encode(new UserKeyset(last.createdAt(), last.id()));
+        }
+
+        log.info("[ADMIN SERVICE] Search '{}' returned {} user(s)", term, page.size());
+        return UserSearchPage.builder()
+                .items(List.copyOf(page))
+                .nextCursor(nextCursor)
+                .build();
+    }
+
+    @Override
+    @PreAuthorize("hasRole('ADMIN')")
+    @Transactional(readOnly = true)
+    public List<UserSearchResult> autocompleteUsers(String prefix, int size) {
+        String term = normalizeSearchTerm(prefix);
+        return userRepository.autocomplete(term, Math.clamp(size, 1, MAX_PAGE_SIZE));
+    }
+
     @Override
     @PreAuthorize("hasRole('ADMIN')")
     @Transactional(readOnly = true)
@@ -78,6 +200,22 @@ public class AdminServiceImpl implements AdminService {
         return userResponseMapper.toUserResponse(user);
     }
 
+    /**
+     * Trims and lower-cases a search term, as the trigram indexes are built on lower-cased columns.
+     *
+     * @param query the term typed by the admin
+     * @return the normalized term
+     * @throws InvalidSearchQueryException if the term is too short
+     */
+    private static String normalizeSearchTerm(String query) {
+        String term = query == null ? "" : query.strip().toLowerCase(Locale.ROOT);
+        if (term.length() < MIN_SEARCH_LENGTH) {
+            throw new InvalidSearchQueryException("[ADMIN SERVICE] Search term must have at least "
+                    + MIN_SEARCH_LENGTH + " characters");
+        }
+        return term;
+    }
+
     /**
      * Retrieves a user based on email.
      *
@@ -1,34 +1,58 @@
 package api.carpooling.application.service.impl;
 
+import api.carpooling.application.audit.AuditAction;
+import api.carpooling.application.audit.AuditEvent;
+import api.carpooling.application.audit.AuditLogger;
+import api.carpooling.application.cache.UserProfileCache;
+import api.carpooling.application.dto.auth.AuthTokens;
 import api.carpooling.application.dto.auth.LoginUserRequest;
+import api.carpooling.application.dto.auth.RefreshedSession;
 import api.carpooling.application.dto.auth.RegisterUserRequest;
+import api.carpooling.application.dto.auth.SessionResponse;
 import api.carpooling.application.dto.user.UserDTO;
-import api.carpooling.application.exception.ExpiredRefreshTokenException;
 import api.carpooling.application.exception.UserNotFoundException;
 import api.carpooling.application.exception.PasswordNotMatchException;
 import api.carpooling.application.exception.UserExistsAlready;
 import api.carpooling.application.exception.UserNotActiveException;
-import api.carpooling.application.exception.UnauthorizedException;
 import api.carpooling.application.mapper.UserMapper;
 import api.carpooling.application.service.AuthService;
+import api.carpooling.application.service.RefreshTokenService;
+import api.carpooling.application.throttle.LoginThrottle;
 import api.carpooling.domain.User;
 import api.carpooling.repository.UserRepository;
-import api.carpooling.utils.EncodedPassword;
+import api.carpooling.repository.UserUniqueConstraints;
+import api.carpooling.security.AccessToken;
+import api.carpooling.security.revocation.TokenRevocationService;
+import api.carpooling.utils.PasswordHasher;
 import api.carpooling.utils.TokenGenerator;
 import api.carpooling.utils.UserTokenService;
+import api.carpooling.utils.ValidationPatterns;
 
-import io.jsonwebtoken.Claims;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 
 import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.UUID;
 
 /**
  * Implementation of AuthService for user registration, login,
  * token refresh, and fetching authenticated user profile.
+ * <p>
+ * Refresh, logout and session management only use the refresh token store
+ * and never read or write the users table.
+ * <p>
+ * Login and registration run BCrypt outside of any transaction: the hash may wait in
+ * the queue of the {@link PasswordHasher}, and no database connection is held meanwhile.
+ * Their reads and writes run in short transactions of the {@link TransactionTemplate}.
  */
 @Service
 @RequiredArgsConstructor
@@ -47,7 +71,7 @@ public class AuthServiceImpl implements AuthService {
     private final UserMapper userMapper;
 
     /**
-     * Utility class for generating and parsing JWT tokens.
+     * Utility class for generating JWT tokens.
      */
     private final TokenGenerator tokenGenerator;
 
@@ -56,22 +80,51 @@ public class AuthServiceImpl implements AuthService {
      */
     private final UserTokenService userTokenService;
 
+    /**
+     * Bounded executor running BCrypt off the request threads.
+     */
+    private final PasswordHasher passwordHasher;
+
+    /**
+     * Service storing the refresh token sessions.
+     */
+    private final RefreshTokenService refreshTokenService;
+
+    /**
+     * Cache of the profiles returned by {@link #me(UUID)}.
+     */
+    private final UserProfileCache userProfileCache;
+
+    /**
+     * Sliding window throttle applied to login attempts.
+     */
+    private final LoginThrottle loginThrottle;
+
+    /**
+     * Service revoking access tokens before their expiry.
+     */
+    private final TokenRevocationService tokenRevocationService;
+
+    /**
+     * Records logins, registrations and token events.
+     */
+    private final AuditLogger auditLogger;
+
+    /**
+     * Runs the database steps of login and registration, apart from the hashing.
+     */
+    private final TransactionTemplate transactionTemplate;
+
     @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public UserDTO register(RegisterUserRequest request) {
-        if (userRepository.existsByEmail(request.email())
-                || userRepository.existsByUsername(request.username())) {
-            log.error("[AUTH SERVICE] Username or Email already exists");
-            throw new UserExistsAlready("[AUTH SERVICE] User already exists with email or username");
-        }
-
-        String patternRegexp = "^(?=.*[a-z])(?=.*[A-Z])(?=.*\\d)(?=.*[@$!%*?&])[A-Za-z\\d@$!%*?&]{8,}$";
-        if (!request.password().matches(patternRegexp)) {
+        if (!ValidationPatterns.PASSWORD.matcher(request.password()).matches()) {
             log.error("[AUTH SERVICE] Password does not match security requirements");
             throw new PasswordNotMatchException("[AUTH SERVICE] "
                     + "Password does not meet security requirements!");
         }
 
-        String passwordHash = EncodedPassword.encode(request.password());
+        String passwordHash = passwordHasher.encode(request.password());
 
         User newUser = new User();
         newUser.setEmail(request.email());
@@ -80,123 +133,175 @@ public class AuthServiceImpl implements AuthService {
         newUser.setPhoneNumber(request.phoneNumber());
         newUser.setActive(true);
 
-        log.info("[AUTH SERVICE] New User temporaire : {}", newUser);
-        User tempUser = userRepository.saveAndFlush(newUser);
+        // Uniqueness is enforced by the constraints of the single INSERT, not by prior lookups.
+        User tempUser;
+        try {
+            tempUser = Objects.requireNonNull(
+                    transactionTemplate.execute(status -> userRepository.saveAndFlush(newUser)));
+        } catch (DataIntegrityViolationException e) {
+            String field = UserUniqueConstraints.duplicateField(e);
+            log.error("[AUTH SERVICE] Registration rejected, {} already exists", field);
+            throw new UserExistsAlready("[AUTH SERVICE] User already exists with this " + field, e);
+        }
 
-        User savedUser = userTokenService.generateTokens(tempUser);
-        return userMapper.toDTO(savedUser);
+        AuthTokens tokens = userTokenService.generateTokens(tempUser);
+        auditLogger.record(AuditEvent.forUser(AuditAction.USER_REGISTERED, tempUser.getId())
+                .userId(tempUser.getId())
+                .build());
+        UserDTO dto = userMapper.toDTO(tempUser);
+        return withTokens(dto, tokens, dto.lastLogin());
     }
 
     @Override
-    public UserDTO login(LoginUserRequest request) {
-        User user = userRepository.findByEmail(request.email())
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public UserDTO login(LoginUserRequest request, String clientIp) {
+        loginThrottle.check(request.email(), clientIp);
+
+        // Read-write transaction: the user must be read from the primary, even right after registering
+        User user = Objects.requireNonNull(
+                        transactionTemplate.execute(status -> userRepository.findByEmail(request.email())))
                 .orElseThrow(() -> new UserNotFoundException("User not found!"));
 
-        if (!EncodedPassword.isRightPassword(request.password(), user.getPassword())) {
+        if (!passwordHasher.matches(request.password(), user.getPassword())) {
+            recordLoginFailure(user, request, clientIp, "bad_credentials");
             log.error("[AUTH SERVICE] Password does not match for login");
             throw new PasswordNotMatchException("[AUTH SERVICE] Invalid credentials!");
         }
 
         if (!user.isActive()) {
+            recordLoginFailure(user, request, clientIp, "inactive");
             log.error("[AUTH SERVICE] User is not active for login");
             throw new UserNotActiveException("[AUTH SERVICE] User is not active for login");
         }
 
-        String jwt = tokenGenerator.generateJwtToken(user.getId(), user.getRoleUser().name());
-        String refresh;
-        do {
-            refresh = tokenGenerator.generateRefreshToken();
-        } while (userRepository.existsByRefreshToken(refresh));
-
-        LocalDateTime expiry = tokenGenerator.getRefreshTokenExpiry().toInstant()
-                .atZone(java.time.ZoneId.systemDefault())
-                .toLocalDateTime();
-
-        user.setToken(jwt);
-        user.setRefreshToken(refresh);
-        user.setTokenExpired(expiry);
-
         LocalDateTime previousLogin = user.getLastLogin();
         user.setLastLogin(LocalDateTime.now());
-
-        userRepository.save(user);
-        log.info("[AUTH SERVICE] User login with JWT Token: {}", jwt);
-
-        UserDTO dto = userMapper.toDTO(user);
-        return UserDTO.builder()
-                .id(dto.id())
-                .email(dto.email())
-                .username(dto.username())
-                .token(jwt)
-                .refreshToken(refresh)
-                .tokenExpired(expiry)
-                .lastLogin(previousLogin)
-                .roleUser(dto.roleUser())
-                .createdAt(dto.createdAt())
-                .updatedAt(dto.updatedAt())
-                .build();
+        transactionTemplate.execute(status -> userRepository.updateLastLogin(user.getId(), user.getLastLogin()));
+
+        AuthTokens tokens = userTokenService.generateTokens(user, request.deviceId());
+        userProfileCache.evict(user.getId());
+        loginThrottle.reset(request.email());
+        auditLogger.record(AuditEvent.forUser(AuditAction.LOGIN_SUCCEEDED, user.getId())
+                .userId(user.getId())
+                .details(loginDetails(request, clientIp, null))
+                .build());
+        log.info("[AUTH SERVICE] User {} logged in", user.getId());
+
+        return withTokens(userMapper.toDTO(user), tokens, previousLogin);
     }
 
     @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public UserDTO refreshToken(String refreshToken) {
-        User user = userRepository.findByRefreshToken(refreshToken)
-                .orElseThrow(() -> new UserNotFoundException("[AUTH SERVICE] Invalid refresh token"));
+        RefreshedSession session = refreshTokenService.rotate(refreshToken);
 
-        if (user.getTokenExpired() != null && user.getTokenExpired().isBefore(LocalDateTime.now())) {
-            log.error("[AUTH SERVICE] Token is expired");
-            throw new ExpiredRefreshTokenException("[AUTH SERVICE] Refresh token expired");
-        }
+        String newJwt = tokenGenerator.generateJwtToken(session.userId(), session.roleUser().name());
+        auditLogger.record(AuditEvent.forUser(AuditAction.TOKEN_REFRESHED, session.userId())
+                .userId(session.userId())
+                .build());
+        log.info("[AUTH SERVICE] Session refreshed for user {}", session.userId());
 
-        String newJwt = tokenGenerator.generateJwtToken(user.getId(), user.getRoleUser().name());
-        user.setToken(newJwt);
-        user.setTokenExpired(
-                tokenGenerator.getRefreshTokenExpiry().toInstant()
-                        .atZone(java.time.ZoneId.systemDefault())
-                        .toLocalDateTime()
-        );
-
-        userRepository.save(user);
-        log.info("[AUTH SERVICE] User refresh token: {}", newJwt);
-        return userMapper.toDTO(user);
+        return UserDTO.builder()
+                .id(session.userId())
+                .roleUser(session.roleUser())
+                .token(newJwt)
+                .refreshToken(session.refreshToken().token())
+                .tokenExpired(session.refreshToken().expiresAt())
+                .build();
     }
 
     @Override
-    @Transactional(readOnly = true)
-    public UserDTO me(String token) {
-        if (token.startsWith("Bearer ")) {
-            token = token.substring(7);
-        }
-
-        Claims claims = tokenGenerator.parseJwt(token);
-        UUID userId = UUID.fromString(claims.getSubject());
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public UserDTO me(UUID userId) {
+        return userProfileCache.get(userId, id -> userRepository.findById(id)
+                .map(userMapper::toDTO)
+                .orElseThrow(() -> new UserNotFoundException("[AUTH SERVICE] User not found")));
+    }
 
-        String subject = claims.getSubject();
-        if (subject == null) {
-            throw new UnauthorizedException("Invalid token: no subject found");
+    @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public void logout(UUID userId, AccessToken accessToken) {
+        refreshTokenService.revokeAll(userId);
+        if (accessToken.jti() != null) {
+            tokenRevocationService.revoke(accessToken.jti(), accessToken.expiresAt().toEpochMilli());
         }
+        auditLogger.record(AuditEvent.forUser(AuditAction.TOKENS_REVOKED, userId).userId(userId).build());
+        log.info("[AUTH SERVICE] User {} logout", userId);
+    }
 
-        User user = userRepository.findById(userId)
-                .orElseThrow(() -> new UserNotFoundException("[AUTH SERVICE] User not found"));
-
-        return userMapper.toDTO(user);
+    @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public List<SessionResponse> sessions(UUID userId) {
+        return refreshTokenService.listSessions(userId);
     }
 
     @Override
-    public void logout(String token) {
-        if (token.startsWith("Bearer ")) {
-            token = token.substring(7);
-        }
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public void revokeSession(UUID userId, UUID sessionId) {
+        refreshTokenService.revoke(userId, sessionId);
+        auditLogger.record(AuditEvent.builder()
+                .userId(userId)
+                .action(AuditAction.SESSION_REVOKED)
+                .entityType(AuditEvent.SESSION)
+                .entityId(sessionId)
+                .build());
+    }
 
-        Claims claims = tokenGenerator.parseJwt(token);
-        UUID userId = UUID.fromString(claims.getSubject());
+    /**
+     * Copies a user DTO and adds the tokens delivered to the client.
+     *
+     * @param dto the user DTO
+     * @param tokens the delivered tokens
+     * @param lastLogin last login date returned to the client
+     * @return the user DTO with its tokens
+     */
+    private UserDTO withTokens(UserDTO dto, AuthTokens tokens, LocalDateTime lastLogin) {
+        return UserDTO.builder()
+                .id(dto.id())
+                .email(dto.email())
+                .username(dto.username())
+                .token(tokens.accessToken())
+                .refreshToken(tokens.refreshToken())
+                .tokenExpired(tokens.refreshTokenExpiresAt())
+                .lastLogin(lastLogin)
+                .roleUser(dto.roleUser())
+                .createdAt(dto.createdAt())
+                .updatedAt(dto.updatedAt())
+                .build();
+    }
 
-        User user = userRepository.findById(userId)
-                .orElseThrow(() -> new UserNotFoundException("[AUTH SERVICE] User not found"));
+    /**
+     * Records a refused login, even though the request then fails.
+     *
+     * @param user the user trying to log in
+     * @param request the login request
+     * @param clientIp address of the client
+     * @param failure reason of the refusal
+     */
+    private void recordLoginFailure(User user, LoginUserRequest request, String clientIp, String failure) {
+        auditLogger.recordNow(AuditEvent.forUser(AuditAction.LOGIN_FAILED, user.getId())
+                .userId(user.getId())
+                .details(loginDetails(request, clientIp, failure))
+                .build());
+    }
 
-        user.setToken(null);
-        user.setRefreshToken(null);
-        user.setTokenExpired(null);
-        userRepository.save(user);
-        log.info("[AUTH SERVICE] User logout with JWT Token: {}", token);
+    /**
+     * Builds the audit details of a login attempt.
+     *
+     * @param request the login request
+     * @param clientIp address of the client
+     * @param failure reason of a refused login, null on success
+     * @return the audit details
+     */
+    private static Map<String, Object> loginDetails(LoginUserRequest request, String clientIp, String failure) {
+        Map<String, Object> details = new HashMap<>();
+        details.put("ip", clientIp);
+        if (request.deviceId() != null) {
+            details.put("deviceId", request.deviceId());
+        }
+        if (failure != null) {
+            details.put("reason", failure);
+        }
+        return details;
     }
 }
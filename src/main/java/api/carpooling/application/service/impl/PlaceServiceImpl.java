@@ -0,0 +1,41 @@
+package api.carpooling.application.service.impl;
+
+import api.carpooling.application.cache.PlaceDictionary;
+import api.carpooling.application.dto.place.PlaceSuggestion;
+import api.carpooling.application.service.PlaceService;
+import api.carpooling.configuration.PlaceDictionaryProperties;
+import api.carpooling.utils.PlaceNames;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+
+/**
+ * Implementation of PlaceService.
+ * <p>
+ * Suggestions are answered by the in-memory {@link PlaceDictionary}, without the database.
+ */
+@Service
+@RequiredArgsConstructor
+public class PlaceServiceImpl implements PlaceService {
+
+    /**
+     * Dictionary of the places.
+     */
+    private final PlaceDictionary placeDictionary;
+
+    /**
+     * Place dictionary configuration.
+     */
+    private final PlaceDictionaryProperties properties;
+
+    @Override
+    public List<PlaceSuggestion> autocomplete(String query, int size) {
+        String prefix = PlaceNames.normalize(query);
+        if (prefix.isEmpty()) {
+            return List.of();
+        }
+        return placeDictionary.complete(prefix, Math.clamp(size, 1, properties.getMaxSuggestions()));
+    }
+}
@@ -0,0 +1,168 @@
+package api.carpooling.application.service.impl;
+
+import api.carpooling.application.dto.auth.IssuedRefreshToken;
+import api.carpooling.application.dto.auth.RefreshedSession;
+import api.carpooling.application.dto.auth.SessionResponse;
+import api.carpooling.application.exception.ExpiredRefreshTokenException;
+import api.carpooling.application.exception.SessionNotFoundException;
+import api.carpooling.application.exception.UserNotActiveException;
+import api.carpooling.application.exception.UserNotFoundException;
+import api.carpooling.application.service.RefreshTokenService;
+import api.carpooling.application.store.RefreshTokenStore;
+import api.carpooling.application.store.StoredRefreshSession;
+import api.carpooling.configuration.RefreshTokenProperties;
+import api.carpooling.domain.User;
+import api.carpooling.domain.enumeration.RoleUser;
+import api.carpooling.utils.TokenDigest;
+import api.carpooling.utils.TokenGenerator;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Implementation of RefreshTokenService on top of a {@link RefreshTokenStore}.
+ * <p>
+ * Only the SHA-256 digest of a refresh token is handed to the store. Transactions,
+ * when needed, are owned by the store, so a Redis backed refresh never opens a
+ * database connection.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class RefreshTokenServiceImpl implements RefreshTokenService {
+
+    /**
+     * Store holding the refresh token sessions.
+     */
+    private final RefreshTokenStore refreshTokenStore;
+
+    /**
+     * Utility class for generating refresh tokens and their expiry.
+     */
+    private final TokenGenerator tokenGenerator;
+
+    /**
+     * Refresh token session configuration.
+     */
+    private final RefreshTokenProperties refreshTokenProperties;
+
+    @Override
+    public IssuedRefreshToken issue(User user, String deviceId) {
+        IssuedRefreshToken issued = newRefreshToken();
+        String device = deviceId == null || deviceId.isBlank()
+                ? refreshTokenProperties.getDefaultDeviceId()
+                : deviceId;
+
+        refreshTokenStore.open(StoredRefreshSession.builder()
+                .userId(user.getId())
+                .roleUser(user.getRoleUser())
+                .userActive(user.isActive())
+                .deviceId(device)
+                .tokenHash(TokenDigest.sha256Hex(issued.token()))
+                .expiresAt(issued.expiresAt())
+                .build());
+        log.info("[REFRESH TOKEN SERVICE] Session opened for user {} on device '{}'", user.getId(), device);
+        return issued;
+    }
+
+    @Override
+    public RefreshedSession rotate(String refreshToken) {
+        String tokenHash = TokenDigest.sha256Hex(refreshToken);
+        StoredRefreshSession session = refreshTokenStore.findByTokenHash(tokenHash)
+                .filter(s -> !s.revoked())
+                .orElseThrow(() -> new UserNotFoundException("[REFRESH TOKEN SERVICE] Invalid refresh token"));
+
+        if (session.expiresAt().isBefore(LocalDateTime.now())) {
+            log.error("[REFRESH TOKEN SERVICE] Refresh token is expired for session {}", session.id());
+            throw new ExpiredRefreshTokenException("[REFRESH TOKEN SERVICE] Refresh token expired");
+        }
+
+        if (!session.userActive()) {
+            log.error("[REFRESH TOKEN SERVICE] User is not active for refresh");
+            throw new UserNotActiveException("[REFRESH TOKEN SERVICE] User is not active");
+        }
+
+        IssuedRefreshToken issued = newRefreshToken();
+        if (!refreshTokenStore.rotate(session, tokenHash, TokenDigest.sha256Hex(issued.token()),
+                issued.expiresAt())) {
+            log.error("[REFRESH TOKEN SERVICE] Refresh token of session {} was already used", session.id());
+            throw new UserNotFoundException("[REFRESH TOKEN SERVICE] Invalid refresh token");
+        }
+
+        log.info("[REFRESH TOKEN SERVICE] Session {} rotated", session.id());
+        return new RefreshedSession(session.userId(), session.roleUser(), issued);
+    }
+
+    @Override
+    public List<SessionResponse> listSessions(UUID userId) {
+        return refreshTokenStore.findActive(userId).stream()
+                .map(s -> SessionResponse.builder()
+                        .id(s.id())
+                        .deviceId(s.deviceId())
+                        .createdAt(s.createdAt())
+                        .lastUsedAt(s.lastUsedAt())
+                        .expiresAt(s.expiresAt())
+                        .build())
+                .toList();
+    }
+
+    @Override
+    public void revoke(UUID userId, UUID sessionId) {
+        if (!refreshTokenStore.revoke(userId, sessionId)) {
+            throw new SessionNotFoundException("[REFRESH TOKEN SERVICE] Session not found");
+        }
+        log.info("[REFRESH TOKEN SERVICE] Session {} revoked for user {}", sessionId, userId);
+    }
+
+    @Override
+    public void revokeAll(UUID userId) {
+        int revoked = refreshTokenStore.revokeAll(userId);
+        log.info("[REFRESH TOKEN SERVICE] {} session(s) revoked for user {}", revoked, userId);
+    }
+
+    @Override
+    public void revokeAllForUsers(Collection<UUID> userIds) {
+        int revoked = refreshTokenStore.revokeAllForUsers(userIds);
+        log.info("[REFRESH TOKEN SERVICE] {} session(s) revoked for {} user(s)", revoked, userIds.size());
+    }
+
+    @Override
+    public void deleteAll(UUID userId) {
+        refreshTokenStore.deleteAll(userId);
+    }
+
+    @Override
+    public void updateRole(UUID userId, RoleUser roleUser) {
+        refreshTokenStore.updateRole(userId, roleUser);
+    }
+
+    @Override
+    public void updateRoleForUsers(Collection<UUID> userIds, RoleUser roleUser) {
+        refreshTokenStore.updateRoleForUsers(userIds, roleUser);
+    }
+
+    @Override
+    public int purgeExpired() {
+        return refreshTokenStore.purgeExpired(
+                refreshTokenProperties.getSweepBatchSize(), refreshTokenProperties.getSweepMaxBatches());
+    }
+
+    /**
+     * Generates a new random refresh token with its expiry date.
+     *
+     * @return the new refresh token
+     */
+    private IssuedRefreshToken newRefreshToken() {
+        LocalDateTime expiresAt = tokenGenerator.getRefreshTokenExpiry().toInstant()
+                .atZone(ZoneId.systemDefault())
+                .toLocalDateTime();
+        return new IssuedRefreshToken(tokenGenerator.generateRefreshToken(), expiresAt);
+    }
+}
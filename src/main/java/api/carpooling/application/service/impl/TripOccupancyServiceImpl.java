@@ -0,0 +1,88 @@
+package api.carpooling.application.service.impl;
+
+import api.carpooling.application.service.TripOccupancyService;
+import api.carpooling.configuration.TripOccupancyProperties;
+import api.carpooling.repository.TripOccupancySlice;
+import api.carpooling.repository.TripRepository;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.UUID;
+
+/**
+ * Implementation of TripOccupancyService.
+ * <p>
+ * Batches are compared outside of any transaction; only the trips that drifted are
+ * locked, in a short transaction, while their counters are corrected.
+ */
+@Slf4j
+@Service
+public class TripOccupancyServiceImpl implements TripOccupancyService {
+
+    /**
+     * Repository holding the trips.
+     */
+    private final TripRepository tripRepository;
+
+    /**
+     * Runs each correction in its own transaction.
+     */
+    private final TransactionTemplate transactionTemplate;
+
+    /**
+     * Drift check configuration.
+     */
+    private final TripOccupancyProperties properties;
+
+    /**
+     * Counters corrected by the check.
+     */
+    private final Counter corrections;
+
+    /**
+     * Last trip compared, or null to start over from the first one.
+     */
+    private UUID cursor;
+
+    /**
+     * Builds the service and registers its counter.
+     *
+     * @param tripRepository repository holding the trips
+     * @param transactionTemplate runs each correction in its own transaction
+     * @param properties drift check configuration
+     * @param meterRegistry registry receiving the counter
+     */
+    public TripOccupancyServiceImpl(TripRepository tripRepository, TransactionTemplate transactionTemplate,
+                                    TripOccupancyProperties properties, MeterRegistry meterRegistry) {
+        this.tripRepository = tripRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.properties = properties;
+        this.corrections = Counter.builder("trips.occupancy.drift")
+                .description("Counters of booked seats corrected by the drift check")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public synchronized int checkDrift() {
+        int corrected = 0;
+        for (int batch = 0; batch < properties.getBatchesPerRun(); batch++) {
+            TripOccupancySlice slice = tripRepository.findDrift(cursor, properties.getBatchSize());
+            if (!slice.drifted().isEmpty()) {
+                Integer rows = transactionTemplate.execute(status -> tripRepository.correctDrift(slice.drifted()));
+                int fixed = rows == null ? 0 : rows;
+                corrections.increment(fixed);
+                corrected += fixed;
+                log.warn("[TRIP OCCUPANCY] Booked seats of trip(s) {} corrected", slice.drifted());
+            }
+            cursor = slice.lastId();
+            if (cursor == null) {
+                break;
+            }
+        }
+        return corrected;
+    }
+}
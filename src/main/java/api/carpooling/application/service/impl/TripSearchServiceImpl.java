@@ -0,0 +1,323 @@
+package api.carpooling.application.service.impl;
+
+import api.carpooling.application.cache.RouteIndex;
+import api.carpooling.application.dto.trip.NearbyTrip;
+import api.carpooling.application.dto.trip.NearbyTripCriteria;
+import api.carpooling.application.dto.trip.TripSearchCriteria;
+import api.carpooling.application.dto.trip.TripSearchPage;
+import api.carpooling.application.dto.trip.TripSummary;
+import api.carpooling.application.exception.InvalidTripSearchException;
+import api.carpooling.application.service.TripSearchService;
+import api.carpooling.configuration.TripSearchProperties;
+import api.carpooling.repository.TripKeyset;
+import api.carpooling.repository.TripRepository;
+import api.carpooling.utils.PlaceNames;
+import api.carpooling.utils.TripCursorCodec;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Implementation of {@link TripSearchService}.
+ * <p>
+ * Criteria are completed and normalized here, so that every search reaches the
+ * repository with the same shape and is served by the same index. Searches whose window
+ * the {@link RouteIndex} covers are answered from memory; the others run on the database
+ * in a read-only transaction. The latency of each search is published as
+ * {@code trips.search.latency}, tagged with whether it served a first or a following page
+ * and with its source, and the size of the pages as {@code trips.search.results}.
+ * Searches around a point always run on the database, timed by
+ * {@code trips.nearby.latency}.
+ */
+@Slf4j
+@Service
+public class TripSearchServiceImpl implements TripSearchService {
+
+    /**
+     * Percentiles published for the search latency.
+     */
+    private static final double[] LATENCY_PERCENTILES = {0.5, 0.95, 0.99};
+
+    /**
+     * Source tag of the searches answered by the route index.
+     */
+    private static final String MEMORY = "memory";
+
+    /**
+     * Source tag of the searches answered by the database.
+     */
+    private static final String DATABASE = "database";
+
+    /**
+     * Largest absolute latitude, in degrees.
+     */
+    private static final double MAX_LATITUDE = 90;
+
+    /**
+     * Largest absolute longitude, in degrees.
+     */
+    private static final double MAX_LONGITUDE = 180;
+
+    /**
+     * Repository running the search.
+     */
+    private final TripRepository tripRepository;
+
+    /**
+     * In-memory index of the upcoming trips.
+     */
+    private final RouteIndex routeIndex;
+
+    /**
+     * Read-only transactions of the searches served by the database.
+     */
+    private final TransactionTemplate readOnlyTransaction;
+
+    /**
+     * Search limits.
+     */
+    private final TripSearchProperties properties;
+
+    /**
+     * Latency timers, by page kind then source.
+     */
+    private final Map<String, Map<String, Timer>> latencyTimers;
+
+    /**
+     * Latency of the searches around a point.
+     */
+    private final Timer nearbyTimer;
+
+    /**
+     * Number of trips returned per page.
+     */
+    private final DistributionSummary resultsSummary;
+
+    /**
+     * Builds the service and registers its metrics.
+     *
+     * @param tripRepository repository running the search
+     * @param routeIndex in-memory index of the upcoming trips
+     * @param transactionManager manager of the read-only transactions
+     * @param properties search limits
+     * @param meterRegistry registry receiving the metrics
+     */
+    public TripSearchServiceImpl(TripRepository tripRepository,
+                                 RouteIndex routeIndex,
+                                 PlatformTransactionManager transactionManager,
+                                 TripSearchProperties properties,
+                                 MeterRegistry meterRegistry) {
+        this.tripRepository = tripRepository;
+        this.routeIndex = routeIndex;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.properties = properties;
+        this.latencyTimers = Map.of(
+                "first", Map.of(MEMORY, latencyTimer(meterRegistry, "first", MEMORY),
+                        DATABASE, latencyTimer(meterRegistry, "first", DATABASE)),
+                "next", Map.of(MEMORY, latencyTimer(meterRegistry, "next", MEMORY),
+                        DATABASE, latencyTimer(meterRegistry, "next", DATABASE)));
+        this.nearbyTimer = Timer.builder("trips.nearby.latency")
+                .description("Time spent searching trips around a point")
+                .publishPercentiles(LATENCY_PERCENTILES)
+                .register(meterRegistry);
+        this.resultsSummary = DistributionSummary.builder("trips.search.results")
+                .description("Trips returned per search page")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Builds the latency timer of one kind of page served by one source.
+     *
+     * @param meterRegistry registry receiving the timer
+     * @param page kind of page, first or next
+     * @param source source of the page, memory or database
+     * @return the timer
+     */
+    private static Timer latencyTimer(MeterRegistry meterRegistry, String page, String source) {
+        return Timer.builder("trips.search.latency")
+                .description("Time spent searching trips")
+                .tag("page", page)
+                .tag("source", source)
+                .publishPercentiles(LATENCY_PERCENTILES)
+                .register(meterRegistry);
+    }
+
+    @Override
+    public TripSearchPage search(TripSearchCriteria criteria, String cursor, int size) {
+        TripSearchCriteria complete = complete(criteria);
+        int limit = Math.clamp(size, 1, properties.getMaxPageSize());
+        TripKeyset after = cursor == null || cursor.isBlank() ? null : TripCursorCodec.decode(cursor);
+
+        // One extra row tells whether a next page exists without counting.
+        Map<String, Timer> timers = latencyTimers.get(after == null ? "first" : "next");
+        long start = System.nanoTime();
+        Optional<List<TripSummary>> fromMemory = routeIndex.search(complete, after, limit + 1);
+        String source = fromMemory.isPresent() ? MEMORY : DATABASE;
+        List<TripSummary> trips = fromMemory.orElseGet(() ->
+                readOnlyTransaction.execute(status -> tripRepository.search(complete, after, limit + 1)));
+        timers.get(source).record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        boolean hasNext = trips.size() > limit;
+        List<TripSummary> page = hasNext ? trips.subList(0, limit) : trips;
+        resultsSummary.record(page.size());
+
+        String nextCursor = null;
+        if (hasNext) {
+            TripSummary last = page.getLast();
+            nextCursor = TripCursorCodec.encode(new TripKeyset(last.departureTime(), last.id()));
+        }
+
+        log.info("[TRIP SEARCH] {} -> {}: {} trip(s) after cursor {} from {}",
+                complete.origin(), complete.destination(), page.size(), cursor, source);
+        return TripSearchPage.builder()
+                .items(List.copyOf(page))
+                .nextCursor(nextCursor)
+                .build();
+    }
+
+    @Override
+    public List<NearbyTrip> searchNearby(NearbyTripCriteria criteria, int size) {
+        NearbyTripCriteria complete = complete(criteria);
+        int limit = Math.clamp(size, 1, properties.getMaxPageSize());
+
+        List<NearbyTrip> trips = Objects.requireNonNull(nearbyTimer.record(() ->
+                readOnlyTransaction.execute(status -> tripRepository.findNearest(complete, limit))));
+        resultsSummary.record(trips.size());
+
+        log.info("[TRIP SEARCH] {} trip(s) within {} km of ({}, {})",
+                trips.size(), complete.radiusKm(), complete.latitude(), complete.longitude());
+        return List.copyOf(trips);
+    }
+
+    /**
+     * Validates the criteria and fills in the defaults.
+     *
+     * @param criteria criteria sent by the client
+     * @return criteria with a normalized route, a bounded departure window and a seat minimum
+     * @throws InvalidTripSearchException if the route is missing or the window is invalid
+     */
+    private TripSearchCriteria complete(TripSearchCriteria criteria) {
+        String origin = normalizePlace(criteria.origin(), "origin");
+        String destination = normalizePlace(criteria.destination(), "destination");
+        LocalDateTime from = departureFrom(criteria.departureFrom());
+        LocalDateTime to = departureTo(from, criteria.departureTo());
+        int minSeats = minSeats(criteria.minSeats());
+        BigDecimal maxPrice = criteria.maxPrice();
+        if (maxPrice != null && maxPrice.signum() < 0) {
+            throw new InvalidTripSearchException("[TRIP SEARCH] Maximum price must not be negative");
+        }
+        return new TripSearchCriteria(origin, destination, from, to, minSeats, maxPrice);
+    }
+
+    /**
+     * Validates the criteria of a search around a point and fills in the defaults.
+     *
+     * @param criteria criteria sent by the client
+     * @return criteria with a bounded radius, a bounded departure window and a seat minimum
+     * @throws InvalidTripSearchException if the point is missing or invalid, or the radius or window invalid
+     */
+    private NearbyTripCriteria complete(NearbyTripCriteria criteria) {
+        Double latitude = criteria.latitude();
+        Double longitude = criteria.longitude();
+        validatePoint(latitude, longitude);
+        double radiusKm = criteria.radiusKm() != null ? criteria.radiusKm() : properties.getDefaultRadiusKm();
+        if (!(radiusKm > 0) || radiusKm > properties.getMaxRadiusKm()) {
+            throw new InvalidTripSearchException("[TRIP SEARCH] Radius must be positive and at most "
+                    + properties.getMaxRadiusKm() + " km");
+        }
+        LocalDateTime from = departureFrom(criteria.departureFrom());
+        LocalDateTime to = departureTo(from, criteria.departureTo());
+        return new NearbyTripCriteria(latitude, longitude, radiusKm, from, to, minSeats(criteria.minSeats()));
+    }
+
+    /**
+     * Validates the point of a search.
+     *
+     * @param latitude latitude sent by the client, or null
+     * @param longitude longitude sent by the client, or null
+     * @throws InvalidTripSearchException if a coordinate is missing or out of range
+     */
+    private static void validatePoint(Double latitude, Double longitude) {
+        if (latitude == null || longitude == null) {
+            throw new InvalidTripSearchException("[TRIP SEARCH] The latitude and longitude are required");
+        }
+        if (!(Math.abs(latitude) <= MAX_LATITUDE && Math.abs(longitude) <= MAX_LONGITUDE)) {
+            throw new InvalidTripSearchException("[TRIP SEARCH] The point lies outside the earth coordinates");
+        }
+    }
+
+    /**
+     * Returns the earliest departure searched.
+     *
+     * @param departureFrom earliest departure sent by the client, or null
+     * @return the earliest departure, now by default
+     */
+    private static LocalDateTime departureFrom(LocalDateTime departureFrom) {
+        return departureFrom != null ? departureFrom : LocalDateTime.now();
+    }
+
+    /**
+     * Validates the end of the departure window.
+     *
+     * @param from earliest departure searched
+     * @param departureTo latest departure sent by the client, or null
+     * @return the latest departure (exclusive), the default window after {@code from} by default
+     * @throws InvalidTripSearchException if the window is empty or too wide
+     */
+    private LocalDateTime departureTo(LocalDateTime from, LocalDateTime departureTo) {
+        LocalDateTime to = departureTo != null ? departureTo : from.plus(properties.getDefaultWindow());
+        if (!to.isAfter(from)) {
+            throw new InvalidTripSearchException("[TRIP SEARCH] Departure window is empty");
+        }
+        if (Duration.between(from, to).compareTo(properties.getMaxWindow()) > 0) {
+            throw new InvalidTripSearchException("[TRIP SEARCH] Departure window exceeds "
+                    + properties.getMaxWindow().toDays() + " days");
+        }
+        return to;
+    }
+
+    /**
+     * Validates the minimum of free seats.
+     *
+     * @param minSeats minimum sent by the client, or null
+     * @return the minimum, one by default
+     * @throws InvalidTripSearchException if the minimum is below one
+     */
+    private static int minSeats(Integer minSeats) {
+        int seats = minSeats != null ? minSeats : 1;
+        if (seats < 1) {
+            throw new InvalidTripSearchException("[TRIP SEARCH] Minimum seats must be at least 1");
+        }
+        return seats;
+    }
+
+    /**
+     * Normalizes the spelling of a place, as held by the place dictionary.
+     *
+     * @param place the place sent by the client
+     * @param name name of the criterion, for the error message
+     * @return the normalized place
+     * @throws InvalidTripSearchException if the place is missing
+     */
+    private static String normalizePlace(String place, String name) {
+        String normalized = PlaceNames.normalize(place);
+        if (normalized.isEmpty()) {
+            throw new InvalidTripSearchException("[TRIP SEARCH] The " + name + " is required");
+        }
+        return normalized;
+    }
+}
@@ -0,0 +1,233 @@
+package api.carpooling.application.service.impl;
+
+import api.carpooling.application.audit.AuditAction;
+import api.carpooling.application.audit.AuditEvent;
+import api.carpooling.application.audit.AuditLogger;
+import api.carpooling.application.cache.UserProfileCache;
+import api.carpooling.application.dto.admin.BulkUpdateStatus;
+import api.carpooling.application.dto.admin.BulkUserUpdateItem;
+import api.carpooling.application.dto.admin.BulkUserUpdateRequest;
+import api.carpooling.application.dto.admin.BulkUserUpdateResult;
+import api.carpooling.application.dto.admin.UserListFilter;
+import api.carpooling.application.exception.InvalidBulkUpdateException;
+import api.carpooling.application.service.RefreshTokenService;
+import api.carpooling.application.service.UserBulkUpdateService;
+import api.carpooling.configuration.AdminBulkProperties;
+import api.carpooling.repository.UpdatedUser;
+import api.carpooling.repository.UserRepository;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Implementation of UserBulkUpdateService, updating the users chunk by chunk and
+ * propagating each chunk to the sessions, the profile cache and the audit log.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class UserBulkUpdateServiceImpl implements UserBulkUpdateService {
+
+    /**
+     * Repository running the set-based updates.
+     */
+    private final UserRepository userRepository;
+
+    /**
+     * Service storing the refresh token sessions.
+     */
+    private final RefreshTokenService refreshTokenService;
+
+    /**
+     * Cache of user profiles, evicted on every modification.
+     */
+    private final UserProfileCache userProfileCache;
+
+    /**
+     * Runs each chunk of a bulk update in its own transaction.
+     */
+    private final TransactionTemplate transactionTemplate;
+
+    /**
+     * Bulk update configuration.
+     */
+    private final AdminBulkProperties adminBulkProperties;
+
+    /**
+     * Records the changes made by administrators.
+     */
+    private final AuditLogger auditLogger;
+
+    @Override
+    @PreAuthorize("hasRole('ADMIN')")
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public BulkUserUpdateResult bulkUpdate(BulkUserUpdateRequest request, UUID adminId) {
+        validateBulkUpdate(request);
+
+        BulkUserUpdateResult result;
+        if (request.byIds()) {
+            result = updateListed(new ArrayList<>(new LinkedHashSet<>(request.ids())), request,
+                    chunk -> userRepository.updateByIds(chunk, request.roleUser(), request.active(), adminId),
+                    UpdatedUser::id);
+        } else if (request.byEmails()) {
+            result = updateListed(new ArrayList<>(new LinkedHashSet<>(request.emails())), request,
+                    chunk -> userRepository.updateByEmails(chunk, request.roleUser(), request.active(), adminId),
+                    UpdatedUser::email);
+        } else {
+            UserListFilter filter = request.allUsers() ? new UserListFilter(null, null) : request.filter();
+            result = updateMatching(filter, request, adminId);
+        }
+
+        log.info("[BULK UPDATE] Bulk update applied to {} user(s) with role {} and active={}",
+                result.updated(), request.roleUser(), request.active());
+        return result;
+    }
+
+    /**
+     * Checks that a bulk update selects its users one way and changes something.
+     *
+     * @param request the bulk update request
+     * @throws InvalidBulkUpdateException if the selection or the change is invalid
+     */
+    private static void validateBulkUpdate(BulkUserUpdateRequest request) {
+        if (request.selectors() != 1) {
+            throw new InvalidBulkUpdateException("[BULK UPDATE] Select users by exactly one of ids, emails, "
+                    + "filter or allUsers");
+        }
+        if (request.filter() != null && !request.filter().isFiltered()) {
+            throw new InvalidBulkUpdateException("[BULK UPDATE] Empty filter, set allUsers to update every user");
+        }
+        if (request.roleUser() == null && request.active() == null) {
+            throw new InvalidBulkUpdateException("[BULK UPDATE] Nothing to update, give a role or an "
+                    + "active status");
+        }
+    }
+
+    /**
+     * Updates listed users chunk by chunk and reports the outcome of each one.
+     *
+     * @param keys distinct identifiers or emails, in request order
+     * @param request the bulk update request
+     * @param update updates one chunk of keys
+     * @param keyOf extracts the key of an updated user
+     * @param <K> type of the keys
+     * @return the bulk update summary
+     */
+    private <K> BulkUserUpdateResult updateListed(List<K> keys, BulkUserUpdateRequest request,
+                                                  Function<List<K>, List<UpdatedUser>> update,
+                                                  Function<UpdatedUser, K> keyOf) {
+        Set<K> updatedKeys = new HashSet<>();
+        int chunkSize = adminBulkProperties.getChunkSize();
+        for (int from = 0; from < keys.size(); from += chunkSize) {
+            List<K> chunk = keys.subList(from, Math.min(from + chunkSize, keys.size()));
+            for (UpdatedUser updated : updateChunk(() -> update.apply(chunk), request)) {
+                updatedKeys.add(keyOf.apply(updated));
+            }
+        }
+
+        List<BulkUserUpdateItem> items = keys.stream()
+                .map(key -> new BulkUserUpdateItem(String.valueOf(key),
+                        updatedKeys.contains(key) ? BulkUpdateStatus.UPDATED : BulkUpdateStatus.NOT_FOUND))
+                .toList();
+        return BulkUserUpdateResult.builder()
+                .requested(keys.size())
+                .updated(updatedKeys.size())
+                .notFound(keys.size() - updatedKeys.size())
+                .items(items)
+                .build();
+    }
+
+    /**
+     * Updates the users matching a filter, chunk by chunk.
+     *
+     * @param filter filters selecting the users, empty for every user
+     * @param request the bulk update request
+     * @param adminId identifier of the administrator making the change
+     * @return the bulk update summary
+     */
+    private BulkUserUpdateResult updateMatching(UserListFilter filter, BulkUserUpdateRequest request,
+                                                UUID adminId) {
+        int chunkSize = adminBulkProperties.getChunkSize();
+        int total = 0;
+        int updated;
+        do {
+            updated = updateChunk(() -> userRepository.updateMatching(filter, request.roleUser(),
+                    request.active(), chunkSize, adminId), request).size();
+            total += updated;
+        } while (updated == chunkSize);
+
+        return BulkUserUpdateResult.builder()
+                .requested(0)
+                .updated(total)
+                .notFound(0)
+                .items(List.of())
+                .build();
+    }
+
+    /**
+     * Runs one chunk of a bulk update in its own transaction, then propagates the change to
+     * the refresh token sessions and the profile cache of the updated users.
+     *
+     * @param update the update of the chunk
+     * @param request the bulk update request
+     * @return the updated users
+     */
+    private List<UpdatedUser> updateChunk(Supplier<List<UpdatedUser>> update,
+                                          BulkUserUpdateRequest request) {
+        List<UpdatedUser> updated = transactionTemplate.execute(status -> {
+            List<UpdatedUser> users = update.get();
+            if (users.isEmpty()) {
+                return users;
+            }
+            List<UUID> ids = users.stream().map(UpdatedUser::id).toList();
+            if (Boolean.FALSE.equals(request.active())) {
+                refreshTokenService.revokeAllForUsers(ids);
+            } else if (request.roleUser() != null) {
+                refreshTokenService.updateRoleForUsers(ids, request.roleUser());
+            }
+            ids.forEach(userProfileCache::evict);
+            auditLogger.record(AuditEvent.builder()
+                    .action(AuditAction.ADMIN_BULK_UPDATED)
+                    .entityType(AuditEvent.USER)
+                    .details(bulkDetails(request, ids))
+                    .build());
+            return users;
+        });
+        return updated == null ? List.of() : updated;
+    }
+
+    /**
+     * Builds the audit details of one chunk of a bulk update.
+     *
+     * @param request the bulk update request
+     * @param ids identifiers of the updated users
+     * @return the audit details
+     */
+    private static Map<String, Object> bulkDetails(BulkUserUpdateRequest request, List<UUID> ids) {
+        Map<String, Object> details = new HashMap<>();
+        if (request.roleUser() != null) {
+            details.put("roleUser", request.roleUser().name());
+        }
+        if (request.active() != null) {
+            details.put("active", request.active());
+        }
+        details.put("userIds", ids);
+        return details;
+    }
+}
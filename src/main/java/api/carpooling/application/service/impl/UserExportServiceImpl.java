@@ -0,0 +1,271 @@
+package api.carpooling.application.service.impl;
+
+import api.carpooling.application.dto.admin.UserExportFormat;
+import api.carpooling.application.dto.admin.UserListFilter;
+import api.carpooling.application.service.UserExportService;
+import api.carpooling.configuration.UserExportProperties;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Implementation of UserExportService streaming users through a JDBC cursor.
+ * <p>
+ * Rows are read with plain JDBC, never as entities, so nothing accumulates in the
+ * persistence context. The query runs in a read-only transaction with a fixed fetch
+ * size, which makes the PostgreSQL driver read through a server-side cursor instead
+ * of loading the whole result set.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class UserExportServiceImpl implements UserExportService {
+
+    /**
+     * Exported columns, in output order.
+     */
+    private static final String[] COLUMNS = {
+        "id", "email", "username", "phone_number", "photo_user", "address", "role",
+        "is_active", "is_verified", "last_login", "created_at", "update_at",
+    };
+
+    /**
+     * Template running the export query.
+     */
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * Mapper providing the JSON generator of the NDJSON format.
+     */
+    private final ObjectMapper objectMapper;
+
+    /**
+     * Export configuration.
+     */
+    private final UserExportProperties properties;
+
+    @Override
+    @Transactional(readOnly = true)
+    @SuppressWarnings("PMD.PreserveStackTrace")
+    public void export(UserListFilter filter, UserExportFormat format, OutputStream out) throws IOException {
+        StringBuilder sql = new StringBuilder("SELECT ")
+                .append(String.join(", ", COLUMNS))
+                .append(" FROM users WHERE deleted_at IS NULL");
+        List<Object> args = new ArrayList<>();
+        if (filter.roleUser() != null) {
+            sql.append(" AND role = CAST(? AS role_user)");
+            args.add(filter.roleUser().name());
+        }
+        if (filter.active() != null) {
+            sql.append(" AND is_active = ?");
+            args.add(filter.active());
+        }
+        sql.append(" ORDER BY created_at, id");
+
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8),
+                properties.getBufferSize());
+        RowWriter rowWriter = format == UserExportFormat.CSV
+                ? new CsvRowWriter(writer)
+                : new NdjsonRowWriter(objectMapper.getFactory().createGenerator(writer)
+                        .setRootValueSeparator(null));
+        rowWriter.start();
+
+        long[] rows = {0L};
+        try {
+            jdbcTemplate.query(connection -> {
+                PreparedStatement statement = connection.prepareStatement(sql.toString(),
+                        ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+                try {
+                    statement.setFetchSize(properties.getFetchSize());
+                    for (int i = 0; i < args.size(); i++) {
+                        statement.setObject(i + 1, args.get(i));
+                    }
+                    return statement;
+                } catch (SQLException e) {
+                    statement.close();
+                    throw e;
+                }
+            }, resultSet -> {
+                try {
+                    rowWriter.write(resultSet);
+                    rows[0]++;
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        } catch (UncheckedIOException e) {
+            log.warn("[USER EXPORT] Export interrupted after {} row(s): {}", rows[0], e.getMessage());
+            throw e.getCause();
+        }
+
+        rowWriter.finish();
+        log.info("[USER EXPORT] {} user(s) exported as {}", rows[0], format);
+    }
+
+    /**
+     * Tells whether a column holds a boolean.
+     *
+     * @param index index of the column in {@link #COLUMNS}
+     * @return true for boolean columns
+     */
+    private static boolean isBoolean(int index) {
+        return COLUMNS[index].startsWith("is_");
+    }
+
+    /**
+     * Reads a column of the current row as text, booleans as {@code true}/{@code false}.
+     *
+     * @param resultSet result set positioned on the row
+     * @param index index of the column in {@link #COLUMNS}
+     * @return the value, or null
+     * @throws SQLException if reading the row fails
+     */
+    private static String value(ResultSet resultSet, int index) throws SQLException {
+        if (isBoolean(index)) {
+            boolean value = resultSet.getBoolean(index + 1);
+            return resultSet.wasNull() ? null : String.valueOf(value);
+        }
+        return resultSet.getString(index + 1);
+    }
+
+    /**
+     * Writes rows of the export query in one format.
+     */
+    private interface RowWriter {
+
+        /**
+         * Writes what precedes the first row.
+         *
+         * @throws IOException if writing fails
+         */
+        void start() throws IOException;
+
+        /**
+         * Writes the current row of a result set.
+         *
+         * @param resultSet result set positioned on the row
+         * @throws IOException if writing fails
+         * @throws SQLException if reading the row fails
+         */
+        void write(ResultSet resultSet) throws IOException, SQLException;
+
+        /**
+         * Flushes everything written so far.
+         *
+         * @throws IOException if writing fails
+         */
+        void finish() throws IOException;
+    }
+
+    /**
+     * CSV writer quoting values as described by RFC 4180.
+     */
+    @RequiredArgsConstructor
+    private static final class CsvRowWriter implements RowWriter {
+
+        /**
+         * Writer receiving the lines.
+         */
+        private final Writer writer;
+
+        @Override
+        public void start() throws IOException {
+            writer.write(String.join(",", COLUMNS));
+            writer.write("\r\n");
+        }
+
+        @Override
+        public void write(ResultSet resultSet) throws IOException, SQLException {
+            for (int i = 0; i < COLUMNS.length; i++) {
+                if (i > 0) {
+                    writer.write(',');
+                }
+                String value = value(resultSet, i);
+                if (value != null) {
+                    writeEscaped(value);
+                }
+            }
+            writer.write("\r\n");
+        }
+
+        @Override
+        public void finish() throws IOException {
+            writer.flush();
+        }
+
+        /**
+         * Writes a value, quoted when it contains a separator, a quote or a line break.
+         *
+         * @param value the value
+         * @throws IOException if writing fails
+         */
+        private void writeEscaped(String value) throws IOException {
+            boolean quote = value.indexOf(',') >= 0 || value.indexOf('"') >= 0
+                    || value.indexOf('\n') >= 0 || value.indexOf('\r') >= 0;
+            if (!quote) {
+                writer.write(value);
+                return;
+            }
+            writer.write('"');
+            writer.write(value.replace("\"", "\"\""));
+            writer.write('"');
+        }
+    }
+
+    /**
+     * NDJSON writer emitting one object per line.
+     */
+    @RequiredArgsConstructor
+    private static final class NdjsonRowWriter implements RowWriter {
+
+        /**
+         * Generator receiving the objects.
+         */
+        private final JsonGenerator generator;
+
+        @Override
+        public void start() {
+            // NDJSON has no header.
+        }
+
+        @Override
+        public void write(ResultSet resultSet) throws IOException, SQLException {
+            generator.writeStartObject();
+            for (int i = 0; i < COLUMNS.length; i++) {
+                String value = value(resultSet, i);
+                if (value == null) {
+                    generator.writeNullField(COLUMNS[i]);
+                } else if (isBoolean(i)) {
+                    generator.writeBooleanField(COLUMNS[i], Boolean.parseBoolean(value));
+                } else {
+                    generator.writeStringField(COLUMNS[i], value);
+                }
+            }
+            generator.writeEndObject();
+            generator.writeRaw('\n');
+        }
+
+        @Override
+        public void finish() throws IOException {
+            generator.flush();
+        }
+    }
+}
@@ -0,0 +1,108 @@
+package api.carpooling.application.service.impl;
+
+import api.carpooling.application.service.UserPurgeService;
+import api.carpooling.configuration.UserPurgeProperties;
+import api.carpooling.repository.UserPurgeStep;
+import api.carpooling.repository.UserRepository;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.Supplier;
+
+/**
+ * Implementation of UserPurgeService.
+ * <p>
+ * Each batch runs in its own transaction through the {@link TransactionTemplate}, so the
+ * locks taken on the referencing tables are held for a few milliseconds only.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class UserPurgeServiceImpl implements UserPurgeService {
+
+    /**
+     * Repository holding the deleted users.
+     */
+    private final UserRepository userRepository;
+
+    /**
+     * Runs each purge batch in its own transaction.
+     */
+    private final TransactionTemplate transactionTemplate;
+
+    /**
+     * Purge configuration.
+     */
+    private final UserPurgeProperties properties;
+
+    @Override
+    public int purgeDeletedUsers() {
+        LocalDateTime deletedBefore = LocalDateTime.now().minus(properties.getGracePeriod());
+        List<UUID> userIds = userRepository.findPendingPurge(deletedBefore, properties.getMaxUsersPerRun());
+        int purged = 0;
+        for (UUID userId : userIds) {
+            if (Thread.currentThread().isInterrupted()) {
+                break;
+            }
+            if (purge(userId)) {
+                purged++;
+            }
+        }
+        return purged;
+    }
+
+    /**
+     * Purges one deleted user.
+     *
+     * @param userId identifier of the deleted user
+     * @return false if the purge was interrupted and must be resumed by the next run
+     */
+    private boolean purge(UUID userId) {
+        int batchSize = properties.getBatchSize();
+        int touched = 0;
+        for (UserPurgeStep step : UserPurgeStep.values()) {
+            int rows;
+            do {
+                rows = inTransaction(() -> userRepository.purgeStep(step, userId, batchSize));
+                touched += rows;
+                pause();
+                if (Thread.currentThread().isInterrupted()) {
+                    return false;
+                }
+            } while (rows == batchSize);
+        }
+
+        boolean deleted = inTransaction(() -> userRepository.completePurge(userId));
+        log.info("[USER PURGE] User {} purged ({} dependent row(s)), row {}", userId, touched,
+                deleted ? "deleted" : "kept as anonymized tombstone");
+        return true;
+    }
+
+    /**
+     * Runs a batch in its own transaction.
+     *
+     * @param batch the batch
+     * @param <T> result type
+     * @return the result of the batch
+     */
+    private <T> T inTransaction(Supplier<T> batch) {
+        return transactionTemplate.execute(status -> batch.get());
+    }
+
+    /**
+     * Waits between two batches so the purge never monopolizes the database.
+     */
+    private void pause() {
+        try {
+            Thread.sleep(properties.getPause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
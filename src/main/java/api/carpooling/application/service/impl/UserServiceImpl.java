@@ -1,35 +1,51 @@
 package api.carpooling.application.service.impl;
 
+import api.carpooling.application.audit.AuditAction;
+import api.carpooling.application.audit.AuditEvent;
+import api.carpooling.application.audit.AuditLogger;
+import api.carpooling.application.cache.UserProfileCache;
 import api.carpooling.application.dto.user.CompleteUserRequest;
 import api.carpooling.application.dto.user.UpdateRequestUser;
 import api.carpooling.application.dto.user.UserResponse;
+import api.carpooling.application.exception.InvalidPatchException;
 import api.carpooling.application.exception.RoleAssignmentNotAllowedException;
 import api.carpooling.application.exception.UserExistsAlready;
 import api.carpooling.application.exception.UserNotFoundException;
+import api.carpooling.application.mapper.UserPatchMapper;
 import api.carpooling.application.mapper.UserResponseMapper;
+import api.carpooling.application.service.RefreshTokenService;
 import api.carpooling.application.service.UserService;
 import api.carpooling.domain.User;
 import api.carpooling.domain.enumeration.RoleUser;
 import api.carpooling.repository.UserRepository;
-import api.carpooling.utils.TokenGenerator;
+import api.carpooling.utils.PasswordHasher;
 
-import io.jsonwebtoken.Claims;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.beans.BeanUtils;
-import org.springframework.beans.BeanWrapper;
-import org.springframework.beans.BeanWrapperImpl;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
-import java.beans.PropertyDescriptor;
-import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Set;
+import java.util.TreeSet;
 import java.util.UUID;
 
 /**
  * Implementation of UserService for user created,
  * updated, and deleted.
+ * <p>
+ * Updates hash a new password before opening their transaction, so no database
+ * connection is held while the hash waits in the queue of the {@link PasswordHasher}.
  */
 @Service
 @RequiredArgsConstructor
@@ -38,23 +54,69 @@ import java.util.UUID;
 public class UserServiceImpl implements UserService {
 
     /**
-     * Repository for User entity operations.
+     * Members a merge patch may contain.
      */
-    private final UserRepository userRepository;
+    private static final Set<String> PATCHABLE_FIELDS = Set.of(
+            "username", "email", "password", "phoneNumber", "roleUser", "photoUser", "address");
+
+    /**
+     * Members a merge patch may remove with a null value.
+     */
+    private static final Set<String> REMOVABLE_FIELDS = Set.of("photoUser", "address");
 
     /**
-     * Utility class for generating and parsing JWT tokens.
+     * Repository for User entity operations.
      */
-    private final TokenGenerator tokenGenerator;
+    private final UserRepository userRepository;
 
     /**
      * Mapper to convert between User entity and User Response DTO.
      */
     private final UserResponseMapper userResponseMapper;
 
+    /**
+     * Service storing the refresh token sessions.
+     */
+    private final RefreshTokenService refreshTokenService;
+
+    /**
+     * Cache of user profiles, evicted on every modification.
+     */
+    private final UserProfileCache userProfileCache;
+
+    /**
+     * Generated mapper copying the non-null fields of an update onto a user.
+     */
+    private final UserPatchMapper userPatchMapper;
+
+    /**
+     * Hashes updated passwords.
+     */
+    private final PasswordHasher passwordHasher;
+
+    /**
+     * Reads merge patch documents into update requests.
+     */
+    private final ObjectMapper objectMapper;
+
+    /**
+     * Validates the fields present in a merge patch.
+     */
+    private final Validator validator;
+
+    /**
+     * Records the profile changes.
+     */
+    private final AuditLogger auditLogger;
+
+    /**
+     * Runs the read and write of an update, after the password was hashed.
+     */
+    private final TransactionTemplate transactionTemplate;
+
     @Override
-    public UserResponse completeUserProfil(CompleteUserRequest completeUserRequest, String token) {
-        User existingUser = getUserByToken(token);
+    public UserResponse completeUserProfil(CompleteUserRequest completeUserRequest, UUID userId) {
+        User existingUser = getUserById(userId);
         existingUser.setPhotoUser(completeUserRequest.photoUser());
         existingUser.setAddress(completeUserRequest.address());
         existingUser.setVerified(true);
@@ -72,6 +134,12 @@ public class UserServiceImpl implements UserService {
 
         User savedUser = userRepository.save(existingUser);
         savedUser.setVerified(true);
+        refreshTokenService.updateRole(savedUser.getId(), savedUser.getRoleUser());
+        userProfileCache.evict(savedUser.getId());
+        auditLogger.record(AuditEvent.forUser(AuditAction.PROFILE_UPDATED, userId)
+                .userId(userId)
+                .details(Map.of("fields", List.of("photoUser", "address", "roleUser")))
+                .build());
         UserResponse userResponse = userResponseMapper.toUserResponse(savedUser);
 
         log.info("[USER SERVICE] User saved successfully {}", userResponse.toString());
@@ -79,26 +147,70 @@ public class UserServiceImpl implements UserService {
     }
 
     @Override
-    public UserResponse updateUser(UpdateRequestUser updateUserRequest, String token) {
-        User existingUser = getUserByToken(token);
-        if (hasNoChanges(existingUser, updateUserRequest)) {
-            throw new UserExistsAlready("No changes detected — your profile is already up to date.");
-        }
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public UserResponse updateUser(UpdateRequestUser updateUserRequest, UUID userId) {
+        String passwordHash = hashPassword(updateUserRequest);
+        User savedUser = Objects.requireNonNull(transactionTemplate.execute(status -> {
+            User existingUser = getUserById(userId);
+            if (hasNoChanges(existingUser, updateUserRequest)) {
+                throw new UserExistsAlready("No changes detected — your profile is already up to date.");
+            }
+            RoleUser previousRole = existingUser.getRoleUser();
+            applyChanges(updateUserRequest, existingUser, passwordHash);
+            User saved = userRepository.save(existingUser);
+            propagateRole(saved, previousRole);
+            return saved;
+        }));
+        userProfileCache.evict(savedUser.getId());
+        auditLogger.record(AuditEvent.forUser(AuditAction.PROFILE_UPDATED, userId).userId(userId).build());
+        UserResponse userResponse = userResponseMapper.toUserResponse(savedUser);
 
-        BeanUtils.copyProperties(updateUserRequest, existingUser, getNullPropertyNames(updateUserRequest));
+        log.info("[USER SERVICE] User updated successfully {}", userResponse.toString());
+        return userResponse;
+    }
 
-        User savedUser = userRepository.save(existingUser);
+    @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public UserResponse patchUser(JsonNode patch, UUID userId) {
+        UpdateRequestUser changes = readPatch(patch);
+        String passwordHash = hashPassword(changes);
+        User savedUser = Objects.requireNonNull(transactionTemplate.execute(status -> {
+            User existingUser = getUserById(userId);
+            RoleUser previousRole = existingUser.getRoleUser();
+            applyChanges(changes, existingUser, passwordHash);
+            if (patch.path("photoUser").isNull()) {
+                existingUser.setPhotoUser(null);
+            }
+            if (patch.path("address").isNull()) {
+                existingUser.setAddress(null);
+            }
+            // Managed entity: Hibernate only flushes the columns whose value changed.
+            User saved = userRepository.save(existingUser);
+            propagateRole(saved, previousRole);
+            return saved;
+        }));
+        userProfileCache.evict(savedUser.getId());
+        List<String> fields = patch.properties().stream().map(Map.Entry::getKey).toList();
+        auditLogger.record(AuditEvent.forUser(AuditAction.PROFILE_UPDATED, userId)
+                .userId(userId)
+                .details(Map.of("fields", fields))
+                .build());
         UserResponse userResponse = userResponseMapper.toUserResponse(savedUser);
 
-        log.info("[USER SERVICE] User updated successfully {}", userResponse.toString());
+        log.info("[USER SERVICE] User patched successfully with {}", fields);
         return userResponse;
     }
 
     @Override
-    public void deleteUser(String token) {
-        User user = getUserByToken(token);
-        log.warn("[USER SERVICE] Delete user {}", user);
-        userRepository.delete(user);
+    public void deleteUser(UUID userId) {
+        // Tombstone only: the rows referencing the user are purged later by UserPurgeJob.
+        if (!userRepository.softDelete(userId)) {
+            throw new UserNotFoundException("[USER SERVICE] User not found");
+        }
+        log.warn("[USER SERVICE] Delete user {}", userId);
+        refreshTokenService.deleteAll(userId);
+        userProfileCache.evict(userId);
+        auditLogger.record(AuditEvent.forUser(AuditAction.USER_DELETED, userId).userId(userId).build());
     }
 
     /**
@@ -117,40 +229,111 @@ public class UserServiceImpl implements UserService {
     }
 
     /**
-     * Retrieves a user based on a JWT token.
+     * Retrieves the authenticated user.
      *
-     * @param token the JWT or Bearer token
+     * @param userId the authenticated user id
      * @return the corresponding user
      * @throws UserNotFoundException if user not found
      */
-    private User getUserByToken(String token) {
-        if (token.startsWith("Bearer ")) {
-            token = token.substring(7);
+    private User getUserById(UUID userId) {
+        return userRepository.findById(userId)
+                .orElseThrow(() -> new UserNotFoundException("[USER SERVICE] User not found"));
+    }
+
+    /**
+     * Checks the role of an update and hashes its new password, outside of any transaction.
+     *
+     * @param changes the fields to update
+     * @return the hash of the new password, or null if the password is unchanged
+     * @throws RoleAssignmentNotAllowedException if the update assigns the ADMIN role
+     */
+    private String hashPassword(UpdateRequestUser changes) {
+        if (changes.roleUser() == RoleUser.ROLE_ADMIN) {
+            throw new RoleAssignmentNotAllowedException("[USER SERVICE] "
+                    + "You are not allowed to assign ADMIN role");
+        }
+        return changes.password() == null ? null : passwordHasher.encode(changes.password());
+    }
+
+    /**
+     * Copies the non-null fields of an update onto a user.
+     *
+     * @param changes the fields to update
+     * @param user the user to update
+     * @param passwordHash hash of the new password, or null if the password is unchanged
+     */
+    private void applyChanges(UpdateRequestUser changes, User user, String passwordHash) {
+        userPatchMapper.patch(changes, user);
+        if (passwordHash != null) {
+            user.setPassword(passwordHash);
         }
+    }
 
-        Claims claims = tokenGenerator.parseJwt(token);
-        UUID userId = UUID.fromString(claims.getSubject());
+    /**
+     * Propagates a role change to the refresh token sessions, so that the access tokens
+     * they issue carry the new role.
+     *
+     * @param user the saved user
+     * @param previousRole role of the user before the update
+     */
+    private void propagateRole(User user, RoleUser previousRole) {
+        if (user.getRoleUser() != previousRole) {
+            refreshTokenService.updateRole(user.getId(), user.getRoleUser());
+        }
+    }
 
-        return userRepository.findById(userId)
-                .orElseThrow(() -> new UserNotFoundException("[USER SERVICE] User not found"));
+    /**
+     * Reads and validates a merge patch.
+     * <p>
+     * Only the members present in the patch are validated, so a patch does not have to
+     * repeat the fields it leaves unchanged.
+     *
+     * @param patch the merge patch document
+     * @return the new values, null for the members absent from the patch
+     * @throws InvalidPatchException if the patch contains unknown, invalid or forbidden members
+     */
+    private UpdateRequestUser readPatch(JsonNode patch) {
+        if (!patch.isObject()) {
+            throw new InvalidPatchException("[USER SERVICE] A merge patch must be a JSON object");
+        }
+        Set<String> errors = memberErrors(patch);
+
+        UpdateRequestUser changes;
+        try {
+            ObjectNode members = ((ObjectNode) patch).deepCopy();
+            members.retain(PATCHABLE_FIELDS);
+            changes = objectMapper.treeToValue(members, UpdateRequestUser.class);
+        } catch (JsonProcessingException e) {
+            throw new InvalidPatchException("[USER SERVICE] Invalid merge patch: " + e.getOriginalMessage(), e);
+        }
+        for (ConstraintViolation<UpdateRequestUser> violation : validator.validate(changes)) {
+            String field = violation.getPropertyPath().toString();
+            if (patch.hasNonNull(field)) {
+                errors.add(field + ": " + violation.getMessage());
+            }
+        }
+
+        if (!errors.isEmpty()) {
+            throw new InvalidPatchException("[USER SERVICE] Invalid merge patch: " + String.join("; ", errors));
+        }
+        return changes;
     }
 
     /**
-     * Returns names of properties that are null in the given object.
+     * Lists the members of a merge patch that cannot be patched or removed.
      *
-     * @param source the object to inspect
-     * @return array of null property names
-     */
-    private String[] getNullPropertyNames(Object source) {
-        final BeanWrapper src = new BeanWrapperImpl(source);
-        PropertyDescriptor[] pds = src.getPropertyDescriptors();
-        Set<String> emptyNames = new HashSet<>();
-        for (PropertyDescriptor pd : pds) {
-            Object srcValue = src.getPropertyValue(pd.getName());
-            if (srcValue == null) {
-                emptyNames.add(pd.getName());
+     * @param patch the merge patch object
+     * @return the errors, sorted by member
+     */
+    private static Set<String> memberErrors(JsonNode patch) {
+        Set<String> errors = new TreeSet<>();
+        for (String field : patch.properties().stream().map(Map.Entry::getKey).toList()) {
+            if (!PATCHABLE_FIELDS.contains(field)) {
+                errors.add(field + ": unknown field");
+            } else if (patch.get(field).isNull() && !REMOVABLE_FIELDS.contains(field)) {
+                errors.add(field + ": cannot be removed");
             }
         }
-        return emptyNames.toArray(new String[0]);
+        return errors;
     }
 }
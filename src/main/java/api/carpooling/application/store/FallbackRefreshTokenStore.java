@@ -0,0 +1,157 @@
+package api.carpooling.application.store;
+
+import api.carpooling.domain.enumeration.RoleUser;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataAccessException;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Refresh token store writing to a primary store (Redis) and falling back to a
+ * secondary store (the database) when the primary one is unreachable.
+ * <p>
+ * Sessions opened during an outage live in the secondary store, so lookups that miss
+ * the primary store are retried on the secondary one. Revocations are applied to both
+ * stores and are not swallowed: if the primary store cannot be reached, the revocation
+ * fails instead of leaving a session that would become valid again once it is back.
+ */
+@Slf4j
+public class FallbackRefreshTokenStore implements RefreshTokenStore {
+
+    /**
+     * Store used while it is reachable.
+     */
+    private final RefreshTokenStore primary;
+
+    /**
+     * Store used when the primary store fails.
+     */
+    private final RefreshTokenStore secondary;
+
+    /**
+     * Number of operations served by the secondary store after a primary failure.
+     */
+    private final Counter fallbackCounter;
+
+    /**
+     * Builds the store.
+     *
+     * @param primary store used while it is reachable
+     * @param secondary store used when the primary store fails
+     * @param meterRegistry registry receiving the fallback counter
+     */
+    public FallbackRefreshTokenStore(RefreshTokenStore primary,
+                                     RefreshTokenStore secondary,
+                                     MeterRegistry meterRegistry) {
+        this.primary = primary;
+        this.secondary = secondary;
+        this.fallbackCounter = Counter.builder("auth.refresh_token.store.fallback")
+                .description("Refresh token operations served by the database after a Redis failure")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public void open(StoredRefreshSession session) {
+        try {
+            primary.open(session);
+        } catch (DataAccessException e) {
+            fallback("open", e);
+            secondary.open(session);
+        }
+    }
+
+    @Override
+    public Optional<StoredRefreshSession> findByTokenHash(String tokenHash) {
+        try {
+            Optional<StoredRefreshSession> session = primary.findByTokenHash(tokenHash);
+            if (session.isPresent()) {
+                return session;
+            }
+        } catch (DataAccessException e) {
+            fallback("find", e);
+        }
+        return secondary.findByTokenHash(tokenHash);
+    }
+
+    @Override
+    public boolean rotate(StoredRefreshSession session, String oldHash, String newHash, LocalDateTime expiresAt) {
+        try {
+            if (primary.rotate(session, oldHash, newHash, expiresAt)) {
+                return true;
+            }
+        } catch (DataAccessException e) {
+            fallback("rotate", e);
+        }
+        return secondary.rotate(session, oldHash, newHash, expiresAt);
+    }
+
+    @Override
+    public List<StoredRefreshSession> findActive(UUID userId) {
+        List<StoredRefreshSession> sessions = new ArrayList<>(secondary.findActive(userId));
+        try {
+            sessions.addAll(0, primary.findActive(userId));
+        } catch (DataAccessException e) {
+            fallback("list", e);
+        }
+        return sessions;
+    }
+
+    @Override
+    public boolean revoke(UUID userId, UUID sessionId) {
+        boolean revokedInSecondary = secondary.revoke(userId, sessionId);
+        return primary.revoke(userId, sessionId) || revokedInSecondary;
+    }
+
+    @Override
+    public int revokeAll(UUID userId) {
+        return secondary.revokeAll(userId) + primary.revokeAll(userId);
+    }
+
+    @Override
+    public int revokeAllForUsers(Collection<UUID> userIds) {
+        return secondary.revokeAllForUsers(userIds) + primary.revokeAllForUsers(userIds);
+    }
+
+    @Override
+    public void deleteAll(UUID userId) {
+        secondary.deleteAll(userId);
+        primary.deleteAll(userId);
+    }
+
+    @Override
+    public void updateRole(UUID userId, RoleUser roleUser) {
+        secondary.updateRole(userId, roleUser);
+        primary.updateRole(userId, roleUser);
+    }
+
+    @Override
+    public void updateRoleForUsers(Collection<UUID> userIds, RoleUser roleUser) {
+        secondary.updateRoleForUsers(userIds, roleUser);
+        primary.updateRoleForUsers(userIds, roleUser);
+    }
+
+    @Override
+    public int purgeExpired(int batchSize, int maxBatches) {
+        return secondary.purgeExpired(batchSize, maxBatches);
+    }
+
+    /**
+     * Records a fallback to the secondary store.
+     *
+     * @param operation the failed operation
+     * @param cause the primary store failure
+     */
+    private void fallback(String operation, DataAccessException cause) {
+        fallbackCounter.increment();
+        log.warn("[REFRESH TOKEN STORE] Redis unavailable for '{}', using database: {}",
+                operation, cause.getMessage());
+    }
+}
@@ -0,0 +1,131 @@
+package api.carpooling.application.store;
+
+import api.carpooling.domain.UserRefreshTokens;
+import api.carpooling.domain.enumeration.RoleUser;
+import api.carpooling.repository.UserRefreshTokensRepository;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Refresh token store backed by the user_refresh_tokens table.
+ * <p>
+ * Role and active flag are read from the users row joined on lookup, so this
+ * store never needs to be told about role changes. The lookups run in read-write
+ * transactions so that they stay on the primary once the replicas serve the reads:
+ * a refresh is anonymous, so read-your-writes cannot keep it there, and a replica
+ * lagging behind would miss a token just issued or still see a revoked session.
+ */
+@Component
+@RequiredArgsConstructor
+@Transactional
+public class JpaRefreshTokenStore implements RefreshTokenStore {
+
+    /**
+     * Repository for refresh token sessions.
+     */
+    private final UserRefreshTokensRepository userRefreshTokensRepository;
+
+    @Override
+    public void open(StoredRefreshSession session) {
+        userRefreshTokensRepository.upsertSession(
+                session.userId(), session.deviceId(), session.tokenHash(), session.expiresAt());
+    }
+
+    @Override
+    public Optional<StoredRefreshSession> findByTokenHash(String tokenHash) {
+        return userRefreshTokensRepository.findByTokenHashWithUser(tokenHash).map(this::toStored);
+    }
+
+    @Override
+    public boolean rotate(StoredRefreshSession session, String oldHash, String newHash, LocalDateTime expiresAt) {
+        return userRefreshTokensRepository.rotate(session.id(), oldHash, newHash, expiresAt) == 1;
+    }
+
+    @Override
+    public List<StoredRefreshSession> findActive(UUID userId) {
+        return userRefreshTokensRepository.findActiveByUserId(userId, LocalDateTime.now()).stream()
+                .map(s -> StoredRefreshSession.builder()
+                        .id(s.getId())
+                        .userId(userId)
+                        .deviceId(s.getDeviceId())
+                        .createdAt(s.getCreatedAt())
+                        .lastUsedAt(s.getLastUsedAt())
+                        .expiresAt(s.getExpiresAt())
+                        .build())
+                .toList();
+    }
+
+    @Override
+    public boolean revoke(UUID userId, UUID sessionId) {
+        return userRefreshTokensRepository.revokeSession(sessionId, userId) > 0;
+    }
+
+    @Override
+    public int revokeAll(UUID userId) {
+        return userRefreshTokensRepository.revokeAllByUserId(userId);
+    }
+
+    @Override
+    public int revokeAllForUsers(Collection<UUID> userIds) {
+        return userRefreshTokensRepository.revokeAllByUserIdIn(userIds);
+    }
+
+    @Override
+    public void deleteAll(UUID userId) {
+        userRefreshTokensRepository.deleteAllByUserId(userId);
+    }
+
+    @Override
+    public void updateRole(UUID userId, RoleUser roleUser) {
+        // The role is read from the users row on every lookup.
+    }
+
+    @Override
+    public void updateRoleForUsers(Collection<UUID> userIds, RoleUser roleUser) {
+        // The role is read from the users row on every lookup.
+    }
+
+    @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public int purgeExpired(int batchSize, int maxBatches) {
+        int total = 0;
+        for (int batch = 0; batch < maxBatches; batch++) {
+            int deleted = userRefreshTokensRepository.deleteExpiredBatch(LocalDateTime.now(), batchSize);
+            total += deleted;
+            if (deleted < batchSize) {
+                break;
+            }
+        }
+        return total;
+    }
+
+    /**
+     * Converts a session entity, with its owner loaded, to a stored session.
+     *
+     * @param session the session entity
+     * @return the stored session
+     */
+    private StoredRefreshSession toStored(UserRefreshTokens session) {
+        return StoredRefreshSession.builder()
+                .id(session.getId())
+                .userId(session.getUser().getId())
+                .roleUser(session.getUser().getRoleUser())
+                .userActive(session.getUser().isActive())
+                .deviceId(session.getDeviceId())
+                .tokenHash(session.getTokenHash())
+                .createdAt(session.getCreatedAt())
+                .lastUsedAt(session.getLastUsedAt())
+                .expiresAt(session.getExpiresAt())
+                .revoked(session.isRevoked())
+                .build();
+    }
+}
@@ -0,0 +1,294 @@
+package api.carpooling.application.store;
+
+import api.carpooling.configuration.RefreshTokenProperties;
+import api.carpooling.domain.enumeration.RoleUser;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Refresh token store backed by Redis, enabled with {@code refresh-token.store=redis}.
+ * <p>
+ * Three kinds of keys are kept under the configured prefix:
+ * <ul>
+ *     <li>{@code session:<id>}: hash holding the session (owner, role, device, token digest, dates);</li>
+ *     <li>{@code token:<digest>}: id of the session currently holding that token;</li>
+ *     <li>{@code user:<id>}: hash mapping each device of a user to its session id.</li>
+ * </ul>
+ * Session and token keys carry a TTL equal to the token lifetime, so Redis expires
+ * them on its own and no sweeper is needed. Every write is a single Lua script, which
+ * keeps the keys consistent and costs one round trip. The scripts derive keys from
+ * the prefix, so this store targets a standalone Redis, not a cluster.
+ * <p>
+ * Revoking a session deletes its keys: a revoked session simply stops existing.
+ * Deactivating a user revokes all of its sessions, so a session found here always
+ * belongs to an active user.
+ */
+@Component
+@ConditionalOnProperty(name = "refresh-token.store", havingValue = "redis")
+public class RedisRefreshTokenStore implements RefreshTokenStore {
+
+    /**
+     * Opens a session, dropping the previous session of the same device.
+     */
+    private static final RedisScript<Long> OPEN_SCRIPT = new DefaultRedisScript<>("""
+            local old = redis.call('HGET', KEYS[1], ARGV[2])
+            if old then
+              local oldKey = ARGV[1] .. 'session:' .. old
+              local oldHash = redis.call('HGET', oldKey, 'tokenHash')
+              if oldHash then redis.call('DEL', ARGV[1] .. 'token:' .. oldHash) end
+              redis.call('DEL', oldKey)
+            end
+            local sessionKey = ARGV[1] .. 'session:' .. ARGV[3]
+            redis.call('HSET', sessionKey, 'userId', ARGV[5], 'deviceId', ARGV[2], 'role', ARGV[6],
+                       'tokenHash', ARGV[4], 'createdAt', ARGV[7], 'expiresAt', ARGV[8])
+            redis.call('PEXPIRE', sessionKey, ARGV[9])
+            redis.call('SET', ARGV[1] .. 'token:' .. ARGV[4], ARGV[3], 'PX', ARGV[9])
+            redis.call('HSET', KEYS[1], ARGV[2], ARGV[3])
+            if redis.call('PTTL', KEYS[1]) < tonumber(ARGV[9]) then redis.call('PEXPIRE', KEYS[1], ARGV[9]) end
+            return 1
+            """, Long.class);
+
+    /**
+     * Resolves a token digest to the fields of its session.
+     */
+    @SuppressWarnings("rawtypes")
+    private static final RedisScript<List> FIND_SCRIPT = new DefaultRedisScript<>("""
+            local sid = redis.call('GET', KEYS[1])
+            if not sid then return {} end
+            local fields = redis.call('HGETALL', ARGV[1] .. 'session:' .. sid)
+            if #fields == 0 then return {} end
+            table.insert(fields, 'id')
+            table.insert(fields, sid)
+            return fields
+            """, List.class);
+
+    /**
+     * Replaces the token of a session if it still holds the presented one.
+     */
+    private static final RedisScript<Long> ROTATE_SCRIPT = new DefaultRedisScript<>("""
+            if redis.call('HGET', KEYS[1], 'tokenHash') ~= ARGV[2] then return 0 end
+            redis.call('DEL', ARGV[1] .. 'token:' .. ARGV[2])
+            redis.call('SET', ARGV[1] .. 'token:' .. ARGV[3], ARGV[7], 'PX', ARGV[6])
+            redis.call('HSET', KEYS[1], 'tokenHash', ARGV[3], 'expiresAt', ARGV[4], 'lastUsedAt', ARGV[5])
+            redis.call('PEXPIRE', KEYS[1], ARGV[6])
+            local userKey = ARGV[1] .. 'user:' .. redis.call('HGET', KEYS[1], 'userId')
+            if redis.call('PTTL', userKey) < tonumber(ARGV[6]) then redis.call('PEXPIRE', userKey, ARGV[6]) end
+            return 1
+            """, Long.class);
+
+    /**
+     * Deletes one session if it belongs to the given user.
+     */
+    private static final RedisScript<Long> REVOKE_SCRIPT = new DefaultRedisScript<>("""
+            local sessionKey = ARGV[1] .. 'session:' .. ARGV[2]
+            local fields = redis.call('HMGET', sessionKey, 'userId', 'deviceId', 'tokenHash')
+            if not fields[1] or ARGV[1] .. 'user:' .. fields[1] ~= KEYS[1] then return 0 end
+            redis.call('DEL', ARGV[1] .. 'token:' .. fields[3], sessionKey)
+            redis.call('HDEL', KEYS[1], fields[2])
+            return 1
+            """, Long.class);
+
+    /**
+     * Deletes every session of a user.
+     */
+    private static final RedisScript<Long> REVOKE_ALL_SCRIPT = new DefaultRedisScript<>("""
+            local sids = redis.call('HVALS', KEYS[1])
+            local revoked = 0
+            for _, sid in ipairs(sids) do
+              local sessionKey = ARGV[1] .. 'session:' .. sid
+              local hash = redis.call('HGET', sessionKey, 'tokenHash')
+              if hash then
+                redis.call('DEL', ARGV[1] .. 'token:' .. hash)
+                revoked = revoked + 1
+              end
+              redis.call('DEL', sessionKey)
+            end
+            redis.call('DEL', KEYS[1])
+            return revoked
+            """, Long.class);
+
+    /**
+     * Sets the role stored in every session of a user.
+     */
+    private static final RedisScript<Long> UPDATE_ROLE_SCRIPT = new DefaultRedisScript<>("""
+            for _, sid in ipairs(redis.call('HVALS', KEYS[1])) do
+              local sessionKey = ARGV[1] .. 'session:' .. sid
+              if redis.call('EXISTS', sessionKey) == 1 then redis.call('HSET', sessionKey, 'role', ARGV[2]) end
+            end
+            return 1
+            """, Long.class);
+
+    /**
+     * Template used to run the scripts.
+     */
+    private final StringRedisTemplate redisTemplate;
+
+    /**
+     * Prefix of every key written by this store.
+     */
+    private final String prefix;
+
+    /**
+     * Builds the store.
+     *
+     * @param redisTemplate template used to run the scripts
+     * @param refreshTokenProperties refresh token configuration
+     */
+    public RedisRefreshTokenStore(StringRedisTemplate redisTemplate, RefreshTokenProperties refreshTokenProperties) {
+        this.redisTemplate = redisTemplate;
+        this.prefix = refreshTokenProperties.getRedisKeyPrefix();
+    }
+
+    @Override
+    public void open(StoredRefreshSession session) {
+        LocalDateTime now = LocalDateTime.now();
+        redisTemplate.execute(OPEN_SCRIPT, List.of(userKey(session.userId())),
+                prefix,
+                session.deviceId(),
+                UUID.randomUUID().toString(),
+                session.tokenHash(),
+                session.userId().toString(),
+                session.roleUser().name(),
+                now.toString(),
+                session.expiresAt().toString(),
+                ttlMillis(now, session.expiresAt()));
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public Optional<StoredRefreshSession> findByTokenHash(String tokenHash) {
+        List<String> fields = redisTemplate.execute(FIND_SCRIPT, List.of(prefix + "token:" + tokenHash), prefix);
+        if (fields == null || fields.isEmpty()) {
+            return Optional.empty();
+        }
+        Map<String, String> session = new HashMap<>();
+        for (int i = 0; i + 1 < fields.size(); i += 2) {
+            session.put(fields.get(i), fields.get(i + 1));
+        }
+        return Optional.of(toStored(session.get("id"), session));
+    }
+
+    @Override
+    public boolean rotate(StoredRefreshSession session, String oldHash, String newHash, LocalDateTime expiresAt) {
+        LocalDateTime now = LocalDateTime.now();
+        Long rotated = redisTemplate.execute(ROTATE_SCRIPT, List.of(sessionKey(session.id())),
+                prefix,
+                oldHash,
+                newHash,
+                expiresAt.toString(),
+                now.toString(),
+                ttlMillis(now, expiresAt),
+                session.id().toString());
+        return rotated != null && rotated == 1L;
+    }
+
+    @Override
+    public List<StoredRefreshSession> findActive(UUID userId) {
+        List<StoredRefreshSession> sessions = new ArrayList<>();
+        for (Object sessionId : redisTemplate.opsForHash().values(userKey(userId))) {
+            Map<Object, Object> fields = redisTemplate.opsForHash().entries(prefix + "session:" + sessionId);
+            if (!fields.isEmpty()) {
+                Map<String, String> session = new HashMap<>();
+                fields.forEach((k, v) -> session.put(k.toString(), v.toString()));
+                sessions.add(toStored(sessionId.toString(), session));
+            }
+        }
+        sessions.sort(Comparator.comparing(StoredRefreshSession::createdAt).reversed());
+        return sessions;
+    }
+
+    @Override
+    public boolean revoke(UUID userId, UUID sessionId) {
+        Long revoked = redisTemplate.execute(REVOKE_SCRIPT, List.of(userKey(userId)), prefix, sessionId.toString());
+        return revoked != null && revoked == 1L;
+    }
+
+    @Override
+    public int revokeAll(UUID userId) {
+        Long revoked = redisTemplate.execute(REVOKE_ALL_SCRIPT, List.of(userKey(userId)), prefix);
+        return revoked == null ? 0 : revoked.intValue();
+    }
+
+    @Override
+    public void deleteAll(UUID userId) {
+        revokeAll(userId);
+    }
+
+    @Override
+    public void updateRole(UUID userId, RoleUser roleUser) {
+        redisTemplate.execute(UPDATE_ROLE_SCRIPT, List.of(userKey(userId)), prefix, roleUser.name());
+    }
+
+    @Override
+    public int purgeExpired(int batchSize, int maxBatches) {
+        // Sessions expire through their Redis TTL.
+        return 0;
+    }
+
+    /**
+     * Builds the key of the device index of a user.
+     *
+     * @param userId the user identifier
+     * @return the key
+     */
+    private String userKey(UUID userId) {
+        return prefix + "user:" + userId;
+    }
+
+    /**
+     * Builds the key of a session.
+     *
+     * @param sessionId the session identifier
+     * @return the key
+     */
+    private String sessionKey(UUID sessionId) {
+        return prefix + "session:" + sessionId;
+    }
+
+    /**
+     * Computes the TTL of a token, at least one millisecond.
+     *
+     * @param now current timestamp
+     * @param expiresAt expiry date of the token
+     * @return the TTL in milliseconds, as a script argument
+     */
+    private static String ttlMillis(LocalDateTime now, LocalDateTime expiresAt) {
+        return Long.toString(Math.max(Duration.between(now, expiresAt).toMillis(), 1L));
+    }
+
+    /**
+     * Converts the fields of a session hash to a stored session.
+     *
+     * @param sessionId the session identifier
+     * @param fields the fields of the session hash
+     * @return the stored session
+     */
+    private static StoredRefreshSession toStored(String sessionId, Map<String, String> fields) {
+        String lastUsedAt = fields.get("lastUsedAt");
+        return StoredRefreshSession.builder()
+                .id(UUID.fromString(sessionId))
+                .userId(UUID.fromString(fields.get("userId")))
+                .roleUser(RoleUser.valueOf(fields.get("role")))
+                .userActive(true)
+                .deviceId(fields.get("deviceId"))
+                .tokenHash(fields.get("tokenHash"))
+                .createdAt(LocalDateTime.parse(fields.get("createdAt")))
+                .lastUsedAt(lastUsedAt == null ? null : LocalDateTime.parse(lastUsedAt))
+                .expiresAt(LocalDateTime.parse(fields.get("expiresAt")))
+                .build();
+    }
+}
@@ -0,0 +1,126 @@
+package api.carpooling.application.store;
+
+import api.carpooling.domain.enumeration.RoleUser;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Storage of refresh token sessions.
+ * <p>
+ * Implementations only ever see SHA-256 digests of refresh tokens. A user owns at
+ * most one session per device; opening a session on a device replaces the previous one.
+ */
+public interface RefreshTokenStore {
+
+    /**
+     * Opens a session, replacing the previous session of the same user and device.
+     *
+     * @param session the session to store (id, createdAt and lastUsedAt are ignored)
+     */
+    void open(StoredRefreshSession session);
+
+    /**
+     * Finds a session by the digest of its current refresh token.
+     *
+     * @param tokenHash SHA-256 digest of the refresh token
+     * @return an Optional containing the session if found
+     */
+    Optional<StoredRefreshSession> findByTokenHash(String tokenHash);
+
+    /**
+     * Replaces the token of a session only if it still holds {@code oldHash}.
+     *
+     * @param session the session found with {@code oldHash}
+     * @param oldHash digest of the presented refresh token
+     * @param newHash digest of the new refresh token
+     * @param expiresAt expiry date of the new refresh token
+     * @return true if the token was rotated
+     */
+    boolean rotate(StoredRefreshSession session, String oldHash, String newHash, LocalDateTime expiresAt);
+
+    /**
+     * Lists the sessions of a user that can still be used.
+     *
+     * @param userId owner of the sessions
+     * @return active sessions, most recent first
+     */
+    List<StoredRefreshSession> findActive(UUID userId);
+
+    /**
+     * Revokes one session of a user.
+     *
+     * @param userId owner of the session
+     * @param sessionId session identifier
+     * @return true if a session was revoked
+     */
+    boolean revoke(UUID userId, UUID sessionId);
+
+    /**
+     * Revokes every session of a user.
+     *
+     * @param userId owner of the sessions
+     * @return number of revoked sessions
+     */
+    int revokeAll(UUID userId);
+
+    /**
+     * Revokes every session of several users.
+     * <p>
+     * The default implementation revokes the sessions user by user; stores able to do it
+     * in a single operation override it.
+     *
+     * @param userIds owners of the sessions
+     * @return number of revoked sessions
+     */
+    default int revokeAllForUsers(Collection<UUID> userIds) {
+        int revoked = 0;
+        for (UUID userId : userIds) {
+            revoked += revokeAll(userId);
+        }
+        return revoked;
+    }
+
+    /**
+     * Deletes every session of a user, before the user itself is deleted.
+     *
+     * @param userId owner of the sessions
+     */
+    void deleteAll(UUID userId);
+
+    /**
+     * Propagates a role change to the sessions of a user, so that refreshed
+     * access tokens carry the new role.
+     *
+     * @param userId owner of the sessions
+     * @param roleUser the new role
+     */
+    void updateRole(UUID userId, RoleUser roleUser);
+
+    /**
+     * Propagates a role change to the sessions of several users.
+     * <p>
+     * The default implementation updates the sessions user by user; stores able to do it
+     * in a single operation override it.
+     *
+     * @param userIds owners of the sessions
+     * @param roleUser the new role
+     */
+    default void updateRoleForUsers(Collection<UUID> userIds, RoleUser roleUser) {
+        for (UUID userId : userIds) {
+            updateRole(userId, roleUser);
+        }
+    }
+
+    /**
+     * Deletes expired and revoked sessions in bounded batches.
+     *
+     * @param batchSize maximum number of sessions deleted per statement
+     * @param maxBatches maximum number of statements
+     * @return number of deleted sessions
+     */
+    int purgeExpired(int batchSize, int maxBatches);
+}
@@ -0,0 +1,38 @@
+package api.carpooling.application.store;
+
+import api.carpooling.domain.enumeration.RoleUser;
+import lombok.Builder;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Refresh token session as kept by a {@link RefreshTokenStore}.
+ * <p>
+ * Holds everything needed to mint a new access token, so a refresh never has
+ * to load the user row.
+ *
+ * @param id         Unique identifier of the session
+ * @param userId     Owner of the session
+ * @param roleUser   Role of the owner, copied into new access tokens
+ * @param userActive Whether the owner account is active
+ * @param deviceId   Device owning the session
+ * @param tokenHash  SHA-256 digest of the current refresh token
+ * @param createdAt  Date when the session was opened
+ * @param lastUsedAt Date of the last refresh performed with the session
+ * @param expiresAt  Expiry date of the current refresh token
+ * @param revoked    Whether the session has been revoked
+ */
+@Builder
+public record StoredRefreshSession(
+        UUID id,
+        UUID userId,
+        RoleUser roleUser,
+        boolean userActive,
+        String deviceId,
+        String tokenHash,
+        LocalDateTime createdAt,
+        LocalDateTime lastUsedAt,
+        LocalDateTime expiresAt,
+        boolean revoked
+) { }
@@ -0,0 +1,57 @@
+package api.carpooling.application.throttle;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.Deque;
+
+/**
+ * Sliding window limiter local to the instance.
+ * <p>
+ * Used when Redis cannot be reached. Limits are then enforced per instance
+ * instead of cluster-wide, which still bounds the hashing load of each node.
+ */
+public class InMemorySlidingWindowLimiter implements SlidingWindowLimiter {
+
+    /**
+     * Attempt timestamps in milliseconds, oldest first, indexed by key.
+     */
+    private final Cache<String, Deque<Long>> attempts;
+
+    /**
+     * Builds the limiter.
+     *
+     * @param maxKeys maximum number of keys tracked at once
+     * @param window length of the sliding window, after which idle keys are dropped
+     */
+    public InMemorySlidingWindowLimiter(long maxKeys, Duration window) {
+        this.attempts = Caffeine.newBuilder()
+                .maximumSize(maxKeys)
+                .expireAfterAccess(window)
+                .build();
+    }
+
+    @Override
+    public long tryAcquire(String key, int limit, Duration window) {
+        Deque<Long> timestamps = attempts.get(key, k -> new ArrayDeque<>());
+        long now = System.currentTimeMillis();
+        long windowMs = window.toMillis();
+        synchronized (timestamps) {
+            while (!timestamps.isEmpty() && timestamps.peekFirst() <= now - windowMs) {
+                timestamps.pollFirst();
+            }
+            if (timestamps.size() < limit) {
+                timestamps.addLast(now);
+                return 0L;
+            }
+            return Math.max(timestamps.peekFirst() + windowMs - now, 1L);
+        }
+    }
+
+    @Override
+    public void reset(String key) {
+        attempts.invalidate(key);
+    }
+}
@@ -0,0 +1,187 @@
+package api.carpooling.application.throttle;
+
+import api.carpooling.application.exception.TooManyLoginAttemptsException;
+import api.carpooling.configuration.LoginThrottleProperties;
+import api.carpooling.utils.TokenDigest;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Component;
+
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Throttles login attempts per email and per client IP.
+ * <p>
+ * Attempts are counted in Redis so that the limits hold across instances. When
+ * Redis is unreachable the check falls back to an in-memory limiter instead of
+ * letting every attempt through. Emails are stored as SHA-256 digests so that no
+ * address is written to Redis.
+ */
+@Slf4j
+@Component
+public class LoginThrottle {
+
+    /**
+     * Prefix of the metrics published by this component.
+     */
+    private static final String METRIC_PREFIX = "auth.login.throttle";
+
+    /**
+     * Throttling configuration.
+     */
+    private final LoginThrottleProperties properties;
+
+    /**
+     * Cluster-wide limiter.
+     */
+    private final SlidingWindowLimiter redisLimiter;
+
+    /**
+     * Limiter used while Redis is unreachable.
+     */
+    private final SlidingWindowLimiter fallbackLimiter;
+
+    /**
+     * Attempts rejected because of the email limit.
+     */
+    private final Counter rejectedByEmail;
+
+    /**
+     * Attempts rejected because of the IP limit.
+     */
+    private final Counter rejectedByIp;
+
+    /**
+     * Checks answered by the in-memory limiter.
+     */
+    private final Counter fallbackCounter;
+
+    /**
+     * Builds the throttle and registers its metrics.
+     *
+     * @param properties throttling configuration
+     * @param redisLimiter cluster-wide limiter
+     * @param meterRegistry registry receiving the metrics
+     */
+    public LoginThrottle(LoginThrottleProperties properties,
+                         RedisSlidingWindowLimiter redisLimiter,
+                         MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.redisLimiter = redisLimiter;
+        this.fallbackLimiter = new InMemorySlidingWindowLimiter(properties.getFallbackMaxKeys(),
+                properties.getWindow());
+        this.rejectedByEmail = Counter.builder(METRIC_PREFIX + ".rejected")
+                .tag("key", "email")
+                .register(meterRegistry);
+        this.rejectedByIp = Counter.builder(METRIC_PREFIX + ".rejected")
+                .tag("key", "ip")
+                .register(meterRegistry);
+        this.fallbackCounter = Counter.builder(METRIC_PREFIX + ".fallback")
+                .description("Checks served by the in-memory limiter because Redis was unavailable")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Records a login attempt, rejecting it when a limit is reached.
+     *
+     * @param email the email used to log in
+     * @param clientIp the address of the client
+     * @throws TooManyLoginAttemptsException if the IP or the email exceeded its limit
+     */
+    public void check(String email, String clientIp) {
+        if (!properties.isEnabled()) {
+            return;
+        }
+
+        if (clientIp != null) {
+            long retryAfterMs = tryAcquire(ipKey(clientIp), properties.getMaxAttemptsPerIp());
+            if (retryAfterMs > 0) {
+                rejectedByIp.increment();
+                log.warn("[LOGIN THROTTLE] Too many login attempts from {}", clientIp);
+                throw rejected(retryAfterMs);
+            }
+        }
+
+        long retryAfterMs = tryAcquire(emailKey(email), properties.getMaxAttemptsPerEmail());
+        if (retryAfterMs > 0) {
+            rejectedByEmail.increment();
+            log.warn("[LOGIN THROTTLE] Too many login attempts for one account");
+            throw rejected(retryAfterMs);
+        }
+    }
+
+    /**
+     * Clears the attempts recorded for an email after a successful login.
+     * <p>
+     * The IP window is kept, so a client cannot reset its own limit by logging
+     * into an account it controls.
+     *
+     * @param email the email used to log in
+     */
+    public void reset(String email) {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        String key = emailKey(email);
+        fallbackLimiter.reset(key);
+        try {
+            redisLimiter.reset(key);
+        } catch (DataAccessException e) {
+            log.warn("[LOGIN THROTTLE] Redis unavailable, attempts not reset: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Records an attempt on Redis, or on the in-memory limiter when Redis fails.
+     *
+     * @param key the throttled key
+     * @param limit maximum number of attempts within the window
+     * @return {@code 0} if allowed, otherwise the milliseconds to wait
+     */
+    private long tryAcquire(String key, int limit) {
+        try {
+            return redisLimiter.tryAcquire(key, limit, properties.getWindow());
+        } catch (DataAccessException e) {
+            fallbackCounter.increment();
+            log.warn("[LOGIN THROTTLE] Redis unavailable, using local limiter: {}", e.getMessage());
+            return fallbackLimiter.tryAcquire(key, limit, properties.getWindow());
+        }
+    }
+
+    /**
+     * Builds the key counting the attempts of an email.
+     *
+     * @param email the email
+     * @return the Redis key
+     */
+    private String emailKey(String email) {
+        String normalized = email == null ? "" : email.trim().toLowerCase(Locale.ROOT);
+        return properties.getRedisKeyPrefix() + "email:" + TokenDigest.sha256Hex(normalized);
+    }
+
+    /**
+     * Builds the key counting the attempts of a client IP.
+     *
+     * @param clientIp the client address
+     * @return the Redis key
+     */
+    private String ipKey(String clientIp) {
+        return properties.getRedisKeyPrefix() + "ip:" + clientIp;
+    }
+
+    /**
+     * Builds the exception returned to a throttled client.
+     *
+     * @param retryAfterMs milliseconds until a slot frees up
+     * @return the exception
+     */
+    private static TooManyLoginAttemptsException rejected(long retryAfterMs) {
+        long retryAfterSeconds = Math.max(1L, Math.ceilDiv(retryAfterMs, TimeUnit.SECONDS.toMillis(1)));
+        return new TooManyLoginAttemptsException("[LOGIN THROTTLE] Too many login attempts, please retry later",
+                retryAfterSeconds);
+    }
+}
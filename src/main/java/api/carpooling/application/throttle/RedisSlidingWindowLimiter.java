@@ -0,0 +1,64 @@
+package api.carpooling.application.throttle;
+
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Sliding window limiter shared by every instance through Redis.
+ * <p>
+ * Each key is a sorted set of attempt timestamps taken from the Redis clock.
+ * Trimming, counting and recording run in a single script, so concurrent
+ * attempts on different instances cannot exceed the limit.
+ */
+@Component
+public class RedisSlidingWindowLimiter implements SlidingWindowLimiter {
+
+    /**
+     * Trims the window, then records the attempt or returns the time until a slot frees up.
+     */
+    private static final RedisScript<Long> ACQUIRE_SCRIPT = new DefaultRedisScript<>("""
+            local t = redis.call('TIME')
+            local now = tonumber(t[1]) * 1000 + math.floor(tonumber(t[2]) / 1000)
+            local window = tonumber(ARGV[1])
+            redis.call('ZREMRANGEBYSCORE', KEYS[1], '-inf', now - window)
+            if redis.call('ZCARD', KEYS[1]) < tonumber(ARGV[2]) then
+              redis.call('ZADD', KEYS[1], now, ARGV[3])
+              redis.call('PEXPIRE', KEYS[1], window)
+              return 0
+            end
+            local oldest = redis.call('ZRANGE', KEYS[1], 0, 0, 'WITHSCORES')
+            return math.max(tonumber(oldest[2]) + window - now, 1)
+            """, Long.class);
+
+    /**
+     * Template used to run the scripts.
+     */
+    private final StringRedisTemplate redisTemplate;
+
+    /**
+     * Builds the limiter.
+     *
+     * @param redisTemplate template used to run the scripts
+     */
+    public RedisSlidingWindowLimiter(StringRedisTemplate redisTemplate) {
+        this.redisTemplate = redisTemplate;
+    }
+
+    @Override
+    public long tryAcquire(String key, int limit, Duration window) {
+        Long retryAfterMs = redisTemplate.execute(ACQUIRE_SCRIPT, List.of(key),
+                String.valueOf(window.toMillis()), String.valueOf(limit), UUID.randomUUID().toString());
+        return retryAfterMs == null ? 0L : retryAfterMs;
+    }
+
+    @Override
+    public void reset(String key) {
+        redisTemplate.delete(key);
+    }
+}
@@ -0,0 +1,30 @@
+package api.carpooling.application.throttle;
+
+import java.time.Duration;
+
+/**
+ * Counts attempts per key over a sliding window.
+ * <p>
+ * An attempt is only recorded when it is allowed, so a rejected client does not
+ * push its own window further.
+ */
+public interface SlidingWindowLimiter {
+
+    /**
+     * Records an attempt for a key if fewer than {@code limit} attempts were made within the window.
+     *
+     * @param key the throttled key
+     * @param limit maximum number of attempts within the window
+     * @param window length of the sliding window
+     * @return {@code 0} if the attempt is allowed, otherwise the number of milliseconds
+     *         until the oldest attempt leaves the window
+     */
+    long tryAcquire(String key, int limit, Duration window);
+
+    /**
+     * Forgets every attempt recorded for a key.
+     *
+     * @param key the throttled key
+     */
+    void reset(String key);
+}
@@ -0,0 +1,24 @@
+package api.carpooling.configuration;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * Properties class that maps the configuration of bulk admin updates.
+ * <p>
+ * Every chunk is committed in its own transaction, which bounds the number of rows
+ * locked at once and the work lost if a chunk fails.
+ */
+@Component
+@ConfigurationProperties(prefix = "admin-bulk")
+@Getter
+@Setter
+public class AdminBulkProperties {
+
+    /**
+     * Maximum number of users updated per statement and transaction.
+     */
+    private int chunkSize = 500;
+}
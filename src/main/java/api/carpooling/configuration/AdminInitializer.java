@@ -1,5 +1,6 @@
 package api.carpooling.configuration;
 
+import api.carpooling.application.dto.auth.AuthTokens;
 import api.carpooling.domain.User;
 import api.carpooling.domain.enumeration.RoleUser;
 import api.carpooling.repository.UserRepository;
@@ -59,13 +60,12 @@ public class AdminInitializer {
         admin.setUpdatedAt(LocalDateTime.now());
 
         User tempAdmin = userRepository.saveAndFlush(admin);
-        userTokenService.generateTokens(tempAdmin);
+        AuthTokens tokens = userTokenService.generateTokens(tempAdmin);
 
         log.info("Admin created:");
         log.info("Email: {}", tempAdmin.getEmail());
         log.info("Password: Admin@123");
-        log.info("Token: {}", tempAdmin.getToken());
-        log.info("RefreshToken: {}", tempAdmin.getRefreshToken());
-        log.info("TokenExpiresAt: {}", tempAdmin.getTokenExpired());
+        log.info("Id: {}", tempAdmin.getId());
+        log.info("TokenExpiresAt: {}", tokens.refreshTokenExpiresAt());
     }
 }
@@ -0,0 +1,52 @@
+package api.carpooling.configuration;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * Properties class that maps the audit log configuration.
+ * <p>
+ * Audit events are buffered in memory and written to {@code audit_logs} in batches by a
+ * background thread. When the buffer is full, or the database is unavailable, they are
+ * appended to overflow files and replayed once the writer has caught up.
+ */
+@Component
+@ConfigurationProperties(prefix = "audit")
+@Getter
+@Setter
+public class AuditProperties {
+
+    /**
+     * Whether audit events are recorded.
+     */
+    private boolean enabled = true;
+
+    /**
+     * Number of events the in-memory buffer can hold.
+     */
+    private int bufferCapacity = 8192;
+
+    /**
+     * Maximum number of rows inserted by a single statement.
+     */
+    private int batchSize = 500;
+
+    /**
+     * Longest time an event waits in the buffer before being written.
+     */
+    private Duration flushInterval = Duration.ofMillis(200);
+
+    /**
+     * Time a request thread waits for room in a full buffer before spilling to disk.
+     */
+    private Duration offerTimeout = Duration.ofMillis(5);
+
+    /**
+     * Directory holding the events that could not be buffered or written.
+     */
+    private String overflowDirectory = System.getProperty("java.io.tmpdir") + "/carpooling-audit";
+}
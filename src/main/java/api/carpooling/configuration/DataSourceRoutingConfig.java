@@ -0,0 +1,75 @@
+package api.carpooling.configuration;
+
+import api.carpooling.repository.routing.DataSourceCluster;
+import api.carpooling.repository.routing.ReadYourWritesTracker;
+import api.carpooling.repository.routing.ReplicaLagMonitor;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.sql.DataSource;
+
+/**
+ * Routes the read-only transactions to the read replicas.
+ * <p>
+ * Enabled with {@code datasource-routing.enabled=true}. The data source declared here
+ * replaces the one Spring Boot would build from {@code spring.datasource}; with the
+ * routing disabled, the application keeps using that single primary data source.
+ */
+@Configuration
+@ConditionalOnProperty(name = "datasource-routing.enabled", havingValue = "true")
+public class DataSourceRoutingConfig {
+
+    /**
+     * Opens the pools of the primary and of the replicas.
+     *
+     * @param dataSourceProperties connection settings of the primary
+     * @param properties routing configuration
+     * @param meterRegistry registry receiving the pool and routing metrics
+     * @return the pools, closed on shutdown
+     */
+    @Bean(destroyMethod = "close")
+    public DataSourceCluster dataSourceCluster(DataSourceProperties dataSourceProperties,
+                                               DataSourceRoutingProperties properties,
+                                               MeterRegistry meterRegistry) {
+        return new DataSourceCluster(dataSourceProperties, properties, meterRegistry);
+    }
+
+    /**
+     * Provides the tracker keeping recent writers on the primary.
+     *
+     * @param properties routing configuration
+     * @return the read-your-writes tracker
+     */
+    @Bean
+    public ReadYourWritesTracker readYourWritesTracker(DataSourceRoutingProperties properties) {
+        return new ReadYourWritesTracker(properties.getReadYourWritesWindow(), properties.getReadYourWritesMaxUsers());
+    }
+
+    /**
+     * Provides the monitor measuring the lag of the replicas.
+     *
+     * @param cluster pools of the replicas
+     * @param meterRegistry registry receiving the lag gauges
+     * @return the lag monitor
+     */
+    @Bean
+    public ReplicaLagMonitor replicaLagMonitor(DataSourceCluster cluster, MeterRegistry meterRegistry) {
+        return new ReplicaLagMonitor(cluster.getReplicas(), meterRegistry);
+    }
+
+    /**
+     * Provides the application data source.
+     *
+     * @param cluster pools of the primary and of the replicas
+     * @param tracker tracker keeping recent writers on the primary
+     * @return the routing data source
+     */
+    @Bean
+    public DataSource dataSource(DataSourceCluster cluster, ReadYourWritesTracker tracker) {
+        return cluster.routingDataSource(tracker);
+    }
+}
@@ -0,0 +1,76 @@
+package api.carpooling.configuration;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Properties class that maps the routing of read-only transactions to the replicas.
+ * <p>
+ * The primary data source is still configured under {@code spring.datasource}; the
+ * replicas listed here only ever receive the transactions marked as read-only.
+ */
+@Component
+@ConfigurationProperties(prefix = "datasource-routing")
+@Getter
+@Setter
+public class DataSourceRoutingProperties {
+
+    /**
+     * Whether read-only transactions are routed to the replicas.
+     */
+    private boolean enabled;
+
+    /**
+     * Replication lag above which a replica stops receiving reads.
+     */
+    private Duration maxLag = Duration.ofSeconds(5);
+
+    /**
+     * Time during which the reads of a user stay on the primary after one of its writes.
+     */
+    private Duration readYourWritesWindow = Duration.ofSeconds(10);
+
+    /**
+     * Maximum number of users tracked for read-your-writes.
+     */
+    private long readYourWritesMaxUsers = 100_000L;
+
+    /**
+     * Read replicas of the primary database.
+     */
+    private List<Replica> replicas = new ArrayList<>();
+
+    /**
+     * Connection settings of one read replica.
+     */
+    @Getter
+    @Setter
+    public static class Replica {
+
+        /**
+         * JDBC URL of the replica.
+         */
+        private String url;
+
+        /**
+         * Database user of the replica.
+         */
+        private String username;
+
+        /**
+         * Database password of the replica.
+         */
+        private String password;
+
+        /**
+         * Maximum number of pooled connections to the replica.
+         */
+        private int maximumPoolSize = 10;
+    }
+}
@@ -5,10 +5,14 @@ import lombok.Setter;
 import org.springframework.boot.context.properties.ConfigurationProperties;
 import org.springframework.stereotype.Component;
 
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
 /**
  * Properties class that maps JWT configuration from application properties.
  * <p>
- * Includes secret key, access token expiration, and refresh token expiration.
+ * Includes the signing keys, access token expiration, and refresh token expiration.
  */
 @Component
 @ConfigurationProperties(prefix = "jwt")
@@ -17,10 +21,38 @@ import org.springframework.stereotype.Component;
 public class JwtProperties {
 
     /**
-     * Secret key used to sign JWT tokens.
+     * Shared secret of the former HS256 tokens, only used to verify tokens issued
+     * before the switch to RS256 while {@link #acceptLegacyHmac} is enabled.
      */
     private String secret;
 
+    /**
+     * Whether tokens without {@code kid} header signed with {@link #secret} are still accepted.
+     * Requires {@link #secret} and {@link #legacyHmacIssuedBefore}.
+     */
+    private boolean acceptLegacyHmac;
+
+    /**
+     * Rollout of RS256: legacy tokens issued at or after this instant are rejected.
+     */
+    private Instant legacyHmacIssuedBefore;
+
+    /**
+     * Identifier of the key signing new tokens. Defaults to the first key with a private key.
+     */
+    private String activeKeyId;
+
+    /**
+     * RSA keys known to the service: keys with a private key can sign, the others only verify.
+     */
+    private List<SigningKey> keys = new ArrayList<>();
+
+    /**
+     * Whether a random key pair may sign the tokens when no key is configured, for
+     * development only: the tokens are lost on restart and not shared between instances.
+     */
+    private boolean allowEphemeralKey;
+
     /**
      * Access token expiration time in milliseconds.
      */
@@ -30,4 +62,32 @@ public class JwtProperties {
      * Refresh token expiration time in milliseconds.
      */
     private long refreshExpirationMs;
+
+    /**
+     * Maximum number of verified access tokens kept in the claims cache.
+     */
+    private long claimsCacheMaxSize = 10_000;
+
+    /**
+     * RSA key pair identified by its {@code kid}.
+     */
+    @Getter
+    @Setter
+    public static class SigningKey {
+
+        /**
+         * Key identifier written in the {@code kid} header of the tokens.
+         */
+        private String id;
+
+        /**
+         * PEM encoded PKCS#8 private key, absent for keys kept for verification only.
+         */
+        private String privateKey;
+
+        /**
+         * PEM encoded X.509 public key, derived from the private key when absent.
+         */
+        private String publicKey;
+    }
 }
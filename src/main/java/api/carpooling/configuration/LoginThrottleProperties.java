@@ -0,0 +1,51 @@
+package api.carpooling.configuration;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * Properties class that maps the login throttling configuration.
+ * <p>
+ * Limits the number of login attempts per email and per client IP over a
+ * sliding window, before any database lookup or password hashing happens.
+ */
+@Component
+@ConfigurationProperties(prefix = "login-throttle")
+@Getter
+@Setter
+public class LoginThrottleProperties {
+
+    /**
+     * Whether login attempts are throttled.
+     */
+    private boolean enabled = true;
+
+    /**
+     * Length of the sliding window.
+     */
+    private Duration window = Duration.ofMinutes(15);
+
+    /**
+     * Maximum number of attempts for one email within the window.
+     */
+    private int maxAttemptsPerEmail = 10;
+
+    /**
+     * Maximum number of attempts from one client IP within the window.
+     */
+    private int maxAttemptsPerIp = 100;
+
+    /**
+     * Prefix of the Redis keys holding the attempts.
+     */
+    private String redisKeyPrefix = "lt:";
+
+    /**
+     * Maximum number of keys tracked by the in-memory fallback.
+     */
+    private long fallbackMaxKeys = 100_000;
+}
@@ -0,0 +1,39 @@
+package api.carpooling.configuration;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * Properties class that maps the password hashing executor configuration.
+ * <p>
+ * Bounds the CPU budget given to BCrypt so that a burst of logins or
+ * registrations cannot use up every request thread.
+ */
+@Component
+@ConfigurationProperties(prefix = "password-hashing")
+@Getter
+@Setter
+public class PasswordHashingProperties {
+
+    /**
+     * Number of threads dedicated to password hashing.
+     */
+    private int threads = Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+
+    /**
+     * Maximum number of hashing tasks waiting for a thread.
+     */
+    private int queueCapacity = 64;
+
+    /**
+     * Maximum time in milliseconds a request waits for its hash before giving up.
+     */
+    private long timeoutMs = 5000;
+
+    /**
+     * Value in seconds returned in the Retry-After header when the executor is saturated.
+     */
+    private long retryAfterSeconds = 1;
+}
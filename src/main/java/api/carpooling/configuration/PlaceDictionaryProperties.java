@@ -0,0 +1,24 @@
+package api.carpooling.configuration;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * Properties class that maps the in-memory place dictionary configuration.
+ * <p>
+ * Every instance reloads its dictionary when the places table changes, so a new or
+ * renamed place reaches the autocomplete within one reload interval.
+ */
+@Component
+@ConfigurationProperties(prefix = "place-dictionary")
+@Getter
+@Setter
+public class PlaceDictionaryProperties {
+
+    /**
+     * Largest number of suggestions returned by the autocomplete.
+     */
+    private int maxSuggestions = 10;
+}
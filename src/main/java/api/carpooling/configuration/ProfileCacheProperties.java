@@ -0,0 +1,31 @@
+package api.carpooling.configuration;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * Properties class that maps the user profile cache configuration.
+ * <p>
+ * The cache is local to each instance: evictions only reach the instance that
+ * performed the update, so the time to live bounds the staleness seen by the others.
+ */
+@Component
+@ConfigurationProperties(prefix = "profile-cache")
+@Getter
+@Setter
+public class ProfileCacheProperties {
+
+    /**
+     * Maximum number of profiles kept in memory.
+     */
+    private long maxSize = 10_000;
+
+    /**
+     * Time after which a cached profile is reloaded from the database.
+     */
+    private Duration ttl = Duration.ofSeconds(60);
+}
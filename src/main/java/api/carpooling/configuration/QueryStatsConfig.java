@@ -0,0 +1,88 @@
+package api.carpooling.configuration;
+
+import api.carpooling.logging.query.InstrumentedDataSource;
+import api.carpooling.logging.query.QueryStatsEndpoint;
+import api.carpooling.logging.query.QueryStatsFilter;
+import api.carpooling.logging.query.QueryStatsRegistry;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+import javax.sql.DataSource;
+
+/**
+ * Wires the per-request SQL instrumentation.
+ * <p>
+ * Disabled with {@code query-stats.enabled=false}, in which case the data source is
+ * left untouched and no statistics are collected.
+ */
+@Configuration
+@ConditionalOnProperty(name = "query-stats.enabled", havingValue = "true", matchIfMissing = true)
+public class QueryStatsConfig {
+
+    /**
+     * Order of the filter: ahead of Spring Security, so that authentication lookups are counted.
+     */
+    private static final int FILTER_ORDER = Ordered.HIGHEST_PRECEDENCE + 10;
+
+    /**
+     * Wraps every data source so that its statements are reported.
+     *
+     * @return the post processor instrumenting the data sources
+     */
+    @Bean
+    public static BeanPostProcessor queryStatsDataSourcePostProcessor() {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof DataSource dataSource && !(bean instanceof InstrumentedDataSource)) {
+                    return new InstrumentedDataSource(dataSource);
+                }
+                return bean;
+            }
+        };
+    }
+
+    /**
+     * Provides the aggregates of the statements issued by each endpoint.
+     *
+     * @param meterRegistry registry receiving the metrics
+     * @return the statistics registry
+     */
+    @Bean
+    public QueryStatsRegistry queryStatsRegistry(MeterRegistry meterRegistry) {
+        return new QueryStatsRegistry(meterRegistry);
+    }
+
+    /**
+     * Registers the filter recording the statements of each request.
+     *
+     * @param registry aggregates receiving each request
+     * @param properties budget and detection thresholds
+     * @return the filter registration
+     */
+    @Bean
+    public FilterRegistrationBean<QueryStatsFilter> queryStatsFilter(QueryStatsRegistry registry,
+                                                                     QueryStatsProperties properties) {
+        FilterRegistrationBean<QueryStatsFilter> registration =
+                new FilterRegistrationBean<>(new QueryStatsFilter(registry, properties));
+        registration.setOrder(FILTER_ORDER);
+        return registration;
+    }
+
+    /**
+     * Provides the actuator endpoint exposing the aggregates.
+     *
+     * @param registry aggregates served by the endpoint
+     * @return the actuator endpoint
+     */
+    @Bean
+    public QueryStatsEndpoint queryStatsEndpoint(QueryStatsRegistry registry) {
+        return new QueryStatsEndpoint(registry);
+    }
+}
@@ -0,0 +1,35 @@
+package api.carpooling.configuration;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * Properties class that maps the SQL instrumentation configuration.
+ * <p>
+ * Every JDBC statement run while serving an HTTP request is counted, timed and
+ * attributed to the endpoint that issued it.
+ */
+@Component
+@ConfigurationProperties(prefix = "query-stats")
+@Getter
+@Setter
+public class QueryStatsProperties {
+
+    /**
+     * Whether the data source is instrumented.
+     */
+    private boolean enabled = true;
+
+    /**
+     * Number of statements above which a request is reported as over budget.
+     */
+    private int statementBudget = 20;
+
+    /**
+     * Number of executions of the same statement in one request from which it is
+     * reported as an N+1 pattern.
+     */
+    private int repeatedStatementThreshold = 5;
+}
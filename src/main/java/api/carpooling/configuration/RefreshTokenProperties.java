@@ -0,0 +1,49 @@
+package api.carpooling.configuration;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * Properties class that maps refresh token session configuration from application properties.
+ * <p>
+ * Includes the session store selection, the default device name and the sizing
+ * of the expired sessions sweeper.
+ */
+@Component
+@ConfigurationProperties(prefix = "refresh-token")
+@Getter
+@Setter
+public class RefreshTokenProperties {
+
+    /**
+     * Store holding the sessions: {@code jpa} (default) or {@code redis}.
+     */
+    private String store = "jpa";
+
+    /**
+     * Whether the Redis store falls back to the database when Redis is unreachable.
+     */
+    private boolean redisFallback = true;
+
+    /**
+     * Prefix of the Redis keys written by the Redis store.
+     */
+    private String redisKeyPrefix = "rt:";
+
+    /**
+     * Device identifier used when a client does not send one on login.
+     */
+    private String defaultDeviceId = "default";
+
+    /**
+     * Maximum number of sessions deleted by a single sweeper statement.
+     */
+    private int sweepBatchSize = 500;
+
+    /**
+     * Maximum number of batches deleted by one sweeper run.
+     */
+    private int sweepMaxBatches = 100;
+}
@@ -0,0 +1,53 @@
+package api.carpooling.configuration;
+
+import api.carpooling.application.store.FallbackRefreshTokenStore;
+import api.carpooling.application.store.JpaRefreshTokenStore;
+import api.carpooling.application.store.RedisRefreshTokenStore;
+import api.carpooling.application.store.RefreshTokenStore;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+
+/**
+ * Selects the refresh token store used by the application.
+ * <p>
+ * The database store is used by default. With {@code refresh-token.store=redis} the
+ * Redis store is used, wrapped in a fallback to the database unless
+ * {@code refresh-token.redis-fallback} is disabled.
+ */
+@Slf4j
+@Configuration
+public class RefreshTokenStoreConfig {
+
+    /**
+     * Provides the refresh token store injected into the services.
+     *
+     * @param jpaStore store backed by the database
+     * @param redisStore store backed by Redis, present only when enabled
+     * @param refreshTokenProperties refresh token configuration
+     * @param meterRegistry registry receiving the fallback counter
+     * @return the refresh token store
+     */
+    @Bean
+    @Primary
+    public RefreshTokenStore refreshTokenStore(JpaRefreshTokenStore jpaStore,
+                                               ObjectProvider<RedisRefreshTokenStore> redisStore,
+                                               RefreshTokenProperties refreshTokenProperties,
+                                               MeterRegistry meterRegistry) {
+        RedisRefreshTokenStore redis = redisStore.getIfAvailable();
+        if (redis == null) {
+            log.info("[REFRESH TOKEN STORE] Using database store");
+            return jpaStore;
+        }
+        if (!refreshTokenProperties.isRedisFallback()) {
+            log.info("[REFRESH TOKEN STORE] Using Redis store without fallback");
+            return redis;
+        }
+        log.info("[REFRESH TOKEN STORE] Using Redis store with database fallback");
+        return new FallbackRefreshTokenStore(redis, jpaStore, meterRegistry);
+    }
+}
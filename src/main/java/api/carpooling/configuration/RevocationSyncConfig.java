@@ -0,0 +1,39 @@
+package api.carpooling.configuration;
+
+import api.carpooling.security.revocation.TokenRevocationService;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+
+/**
+ * Subscribes this instance to the access token revocations broadcast by the others.
+ * <p>
+ * Disabled with {@code token-revocation.sync=false}, in which case each instance
+ * only knows the revocations it handled itself.
+ */
+@Configuration
+@ConditionalOnProperty(name = "token-revocation.sync", havingValue = "true", matchIfMissing = true)
+public class RevocationSyncConfig {
+
+    /**
+     * Provides the listener container receiving the revocation messages.
+     *
+     * @param connectionFactory Redis connection factory
+     * @param revocationService service applying the revocations
+     * @param properties revocation configuration
+     * @return the listener container
+     */
+    @Bean
+    public RedisMessageListenerContainer revocationListenerContainer(RedisConnectionFactory connectionFactory,
+                                                                     TokenRevocationService revocationService,
+                                                                     TokenRevocationProperties properties) {
+        RedisMessageListenerContainer container = new RedisMessageListenerContainer();
+        container.setConnectionFactory(connectionFactory);
+        container.addMessageListener(revocationService, new ChannelTopic(properties.getChannel()));
+        return container;
+    }
+}
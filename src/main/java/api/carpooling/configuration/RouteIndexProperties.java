@@ -0,0 +1,56 @@
+package api.carpooling.configuration;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * Properties class that maps the in-memory route index of upcoming trips.
+ * <p>
+ * Searches whose departure window lies within the horizon are answered from memory;
+ * the others, and every search while the index is unavailable, go to the database.
+ */
+@Component
+@ConfigurationProperties(prefix = "route-index")
+@Getter
+@Setter
+public class RouteIndexProperties {
+
+    /**
+     * Whether the index is built and kept up to date.
+     */
+    private boolean enabled = true;
+
+    /**
+     * How far ahead of now departures are indexed.
+     */
+    private Duration horizon = Duration.ofDays(8);
+
+    /**
+     * Width of the time buckets of each route.
+     */
+    private Duration bucketSize = Duration.ofHours(1);
+
+    /**
+     * Longest wait for a change notification before the other maintenance tasks run.
+     */
+    private Duration pollInterval = Duration.ofMillis(500);
+
+    /**
+     * Time between two reconciliation slices.
+     */
+    private Duration reconcileInterval = Duration.ofSeconds(10);
+
+    /**
+     * Trips compared with the database by one reconciliation slice.
+     */
+    private int reconcileBatchSize = 2000;
+
+    /**
+     * Trips read per query when the index is rebuilt.
+     */
+    private int loadBatchSize = 10_000;
+}
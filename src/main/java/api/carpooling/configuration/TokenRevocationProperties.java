@@ -0,0 +1,49 @@
+package api.carpooling.configuration;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * Properties class that maps the access token revocation configuration.
+ * <p>
+ * Sizes the in-memory revocation list and names the Redis channel and key
+ * used to share revocations between instances.
+ */
+@Component
+@ConfigurationProperties(prefix = "token-revocation")
+@Getter
+@Setter
+public class TokenRevocationProperties {
+
+    /**
+     * Number of revoked tokens the Bloom filter is sized for.
+     */
+    private int expectedEntries = 100_000;
+
+    /**
+     * Target false positive rate of the Bloom filter.
+     */
+    private double falsePositiveRate = 0.01;
+
+    /**
+     * Whether revocations are shared with the other instances through Redis.
+     */
+    private boolean sync = true;
+
+    /**
+     * Redis pub/sub channel on which revocations are broadcast.
+     */
+    private String channel = "auth:token-revocations";
+
+    /**
+     * Redis sorted set holding the revoked token ids, scored by expiry.
+     */
+    private String redisKey = "auth:revoked-tokens";
+
+    /**
+     * Delay in milliseconds between two purges of expired entries.
+     */
+    private long purgeIntervalMs = 60_000;
+}
@@ -0,0 +1,29 @@
+package api.carpooling.configuration;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * Properties class that maps the drift check of the booked seats counted on the trips.
+ * <p>
+ * Each run compares a bounded number of trips and resumes where the previous run
+ * stopped, so the whole table is covered over several runs.
+ */
+@Component
+@ConfigurationProperties(prefix = "trip-occupancy")
+@Getter
+@Setter
+public class TripOccupancyProperties {
+
+    /**
+     * Trips compared by one query.
+     */
+    private int batchSize = 500;
+
+    /**
+     * Maximum number of batches compared by one run of the check.
+     */
+    private int batchesPerRun = 20;
+}
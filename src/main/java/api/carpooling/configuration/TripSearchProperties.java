@@ -0,0 +1,43 @@
+package api.carpooling.configuration;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * Properties class that maps the trip search configuration.
+ */
+@Component
+@ConfigurationProperties(prefix = "trip-search")
+@Getter
+@Setter
+public class TripSearchProperties {
+
+    /**
+     * Departure window searched when the client does not give its end.
+     */
+    private Duration defaultWindow = Duration.ofDays(7);
+
+    /**
+     * Widest departure window a client may search.
+     */
+    private Duration maxWindow = Duration.ofDays(31);
+
+    /**
+     * Largest page a client may request.
+     */
+    private int maxPageSize = 50;
+
+    /**
+     * Radius of a search around a point when the client does not give one, in kilometres.
+     */
+    private double defaultRadiusKm = 10;
+
+    /**
+     * Largest radius a client may search around a point, in kilometres.
+     */
+    private double maxRadiusKm = 50;
+}
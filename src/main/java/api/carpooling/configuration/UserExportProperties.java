@@ -0,0 +1,33 @@
+package api.carpooling.configuration;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * Properties class that maps the admin user export configuration.
+ */
+@Component
+@ConfigurationProperties(prefix = "user-export")
+@Getter
+@Setter
+public class UserExportProperties {
+
+    /**
+     * Number of rows fetched from the database cursor per round trip.
+     */
+    private int fetchSize = 1000;
+
+    /**
+     * Size in bytes of the buffer between the rows and the response.
+     */
+    private int bufferSize = 64 * 1024;
+
+    /**
+     * Longest time an export may stream before its request times out.
+     */
+    private Duration timeout = Duration.ofHours(1);
+}
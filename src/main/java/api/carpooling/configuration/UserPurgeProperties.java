@@ -0,0 +1,38 @@
+package api.carpooling.configuration;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * Properties class that maps the purge of soft-deleted users.
+ */
+@Component
+@ConfigurationProperties(prefix = "user-purge")
+@Getter
+@Setter
+public class UserPurgeProperties {
+
+    /**
+     * Time between the deletion of a user and the purge of its data.
+     */
+    private Duration gracePeriod = Duration.ofMinutes(10);
+
+    /**
+     * Maximum number of rows touched by a single purge transaction.
+     */
+    private int batchSize = 200;
+
+    /**
+     * Pause between two purge transactions, leaving room to the other writers.
+     */
+    private Duration pause = Duration.ofMillis(50);
+
+    /**
+     * Maximum number of users purged by one run of the job.
+     */
+    private int maxUsersPerRun = 50;
+}
@@ -0,0 +1,65 @@
+package api.carpooling.domain;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import jakarta.validation.constraints.NotBlank;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+
+/**
+ * Represents a canonical place of departure or arrival.
+ * This entity is mapped to the "places" table in the database.
+ * <p>
+ * Trips reference their places by id; the database derives the normalized spelling
+ * from the name and assigns the places of every trip written.
+ */
+@Entity
+@Table(name = "places")
+@Builder
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class Place {
+
+    /**
+     * Unique identifier for the place, generated by the database.
+     */
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    /**
+     * Name displayed for the place.
+     */
+    @NotBlank(message = "Name is required")
+    @Column(name = "name", nullable = false)
+    private String name;
+
+    /**
+     * Lower-cased spelling without accents nor punctuation, derived from the name.
+     */
+    @Column(name = "normalized_name", nullable = false, insertable = false, updatable = false)
+    private String normalizedName;
+
+    /**
+     * Timestamp set when the record is created.
+     */
+    @Column(name = "created_at", nullable = false, insertable = false, updatable = false)
+    private LocalDateTime createdAt;
+
+    /**
+     * Timestamp set by the database whenever the record is modified.
+     */
+    @Column(name = "updated_at", nullable = false, insertable = false, updatable = false)
+    private LocalDateTime updatedAt;
+}
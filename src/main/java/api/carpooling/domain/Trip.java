@@ -0,0 +1,154 @@
+package api.carpooling.domain;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.PositiveOrZero;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.DynamicUpdate;
+import org.hibernate.annotations.UpdateTimestamp;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Represents a trip offered by a driver.
+ * This entity is mapped to the "trips" table in the database.
+ * <p>
+ * The driver is referenced by id only: searches read trips through projections
+ * and never need to load the driver entity.
+ */
+@Entity
+@DynamicUpdate
+@Table(name = "trips")
+@Builder
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class Trip {
+
+    /**
+     * Unique identifier for the trip, generated automatically as a UUID.
+     */
+    @Id
+    @GeneratedValue(strategy = GenerationType.UUID)
+    private UUID id;
+
+    /**
+     * Identifier of the user driving.
+     */
+    @NotNull(message = "Driver is required")
+    @Column(name = "driver_id", nullable = false)
+    private UUID driverId;
+
+    /**
+     * Place of departure.
+     */
+    @NotBlank(message = "Start location is required")
+    @Column(name = "start_location", nullable = false)
+    private String startLocation;
+
+    /**
+     * Place of arrival.
+     */
+    @NotBlank(message = "End location is required")
+    @Column(name = "end_location", nullable = false)
+    private String endLocation;
+
+    /**
+     * Identifier of the place of departure, assigned by the database from the start location.
+     */
+    @Column(name = "start_place_id", insertable = false, updatable = false)
+    private Long startPlaceId;
+
+    /**
+     * Identifier of the place of arrival, assigned by the database from the end location.
+     */
+    @Column(name = "end_place_id", insertable = false, updatable = false)
+    private Long endPlaceId;
+
+    /**
+     * Latitude of the place of departure, in degrees, or null if not located.
+     */
+    @Column(name = "start_latitude")
+    private Double startLatitude;
+
+    /**
+     * Longitude of the place of departure, in degrees, or null if not located.
+     */
+    @Column(name = "start_longitude")
+    private Double startLongitude;
+
+    /**
+     * Latitude of the place of arrival, in degrees, or null if not located.
+     */
+    @Column(name = "end_latitude")
+    private Double endLatitude;
+
+    /**
+     * Longitude of the place of arrival, in degrees, or null if not located.
+     */
+    @Column(name = "end_longitude")
+    private Double endLongitude;
+
+    /**
+     * Date and time of departure.
+     */
+    @NotNull(message = "Departure time is required")
+    @Column(name = "departure_time", nullable = false)
+    private LocalDateTime departureTime;
+
+    /**
+     * Expected date and time of arrival.
+     */
+    @NotNull(message = "Arrival time is required")
+    @Column(name = "time_trips", nullable = false)
+    private LocalDateTime arrivalTime;
+
+    /**
+     * Price of one seat.
+     */
+    @NotNull(message = "Price is required")
+    @PositiveOrZero(message = "Price must not be negative")
+    @Column(name = "price", nullable = false)
+    private BigDecimal price;
+
+    /**
+     * Number of seats offered to passengers.
+     */
+    @PositiveOrZero(message = "Available seats must not be negative")
+    @Column(name = "available_seats", nullable = false)
+    private int availableSeats;
+
+    /**
+     * Seats of the confirmed reservations, counted by the database as reservations change.
+     */
+    @Column(name = "booked_seats", insertable = false, updatable = false)
+    private int bookedSeats;
+
+    /**
+     * Timestamp automatically set when the record is created.
+     */
+    @CreationTimestamp
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+
+    /**
+     * Timestamp automatically updated whenever the record is modified.
+     */
+    @UpdateTimestamp
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+}
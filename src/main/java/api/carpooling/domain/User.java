@@ -1,6 +1,7 @@
 package api.carpooling.domain;
 
 import api.carpooling.domain.enumeration.RoleUser;
+import api.carpooling.utils.ValidationPatterns;
 
 import jakarta.persistence.Enumerated;
 import jakarta.persistence.Id;
@@ -19,7 +20,9 @@ import lombok.NoArgsConstructor;
 import lombok.Setter;
 import lombok.AllArgsConstructor;
 import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.DynamicUpdate;
 import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.annotations.SQLRestriction;
 import org.hibernate.annotations.UpdateTimestamp;
 import org.hibernate.type.SqlTypes;
 
@@ -32,8 +35,12 @@ import java.util.UUID;
  * <p>
  * Lombok annotations (@Builder, @Getter, @Setter, etc.) are used
  * to automatically generate constructors, getters, setters, and builder methods.
+ * Updates only write the columns that actually changed, and soft-deleted users
+ * (tombstones waiting to be purged) are never loaded.
  */
 @Entity
+@DynamicUpdate
+@SQLRestriction("deleted_at IS NULL")
 @Table(name = "users")
 @Builder
 @Getter
@@ -78,7 +85,7 @@ public class User {
      * User’s phone number in international format (e.g., +33612345678).
      * Must be valid and unique.
      */
-    @Pattern(regexp = "^\\+?[1-9]\\d{1,14}$", message = "Phone number must be valid")
+    @Pattern(regexp = ValidationPatterns.PHONE_NUMBER_REGEXP, message = "Phone number must be valid")
     @NotBlank(message = "Phone number is required and unique")
     @Column(name = "phone_number", nullable = false, unique = true)
     private String phoneNumber;
@@ -95,24 +102,6 @@ public class User {
     @Column(name = "address")
     private String address;
 
-    /**
-     * Temporary authentication token (e.g., JWT).
-     */
-    @Column(name = "token")
-    private String token;
-
-    /**
-     * Refresh token used to generate a new access token.
-     */
-    @Column(name = "refresh_token")
-    private String refreshToken;
-
-    /**
-     * Expiration date and time of the authentication token.
-     */
-    @Column(name = "token_expires_at")
-    private LocalDateTime tokenExpired;
-
     /**
      * Timestamp of the user's last login.
      */
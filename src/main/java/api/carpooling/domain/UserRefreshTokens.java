@@ -1,14 +1,31 @@
 package api.carpooling.domain;
 
-import jakarta.persistence.*;
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.FetchType;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.JoinColumn;
+import jakarta.persistence.ManyToOne;
+import jakarta.persistence.Table;
 import lombok.Getter;
 import lombok.Builder;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
 import lombok.AllArgsConstructor;
+import org.hibernate.annotations.CreationTimestamp;
 
+import java.time.LocalDateTime;
 import java.util.UUID;
 
+/**
+ * Represents a refresh token session of a user on one device.
+ * This entity is mapped to the "user_refresh_tokens" table in the database.
+ * <p>
+ * Only the SHA-256 digest of the refresh token is stored. A user owns at most one
+ * session per device, and the token of a session is replaced each time it is used.
+ */
 @Entity
 @Table(name = "user_refresh_tokens")
 @Builder
@@ -18,7 +35,56 @@ import java.util.UUID;
 @NoArgsConstructor
 public class UserRefreshTokens {
 
+    /**
+     * Unique identifier of the session, generated automatically as a UUID.
+     */
     @Id
     @GeneratedValue(strategy = GenerationType.UUID)
     private UUID id;
+
+    /**
+     * Owner of the session.
+     */
+    @ManyToOne(fetch = FetchType.LAZY, optional = false)
+    @JoinColumn(name = "user_id", nullable = false)
+    private User user;
+
+    /**
+     * SHA-256 digest (hex) of the current refresh token.
+     */
+    @Column(name = "token", nullable = false, unique = true)
+    private String tokenHash;
+
+    /**
+     * Identifier of the device owning the session.
+     */
+    @Column(name = "device_id", nullable = false)
+    private String deviceId;
+
+    /**
+     * Timestamp automatically set when the session is created.
+     */
+    @CreationTimestamp
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+
+    /**
+     * Expiration date and time of the current refresh token.
+     */
+    @Column(name = "expires_at", nullable = false)
+    private LocalDateTime expiresAt;
+
+    /**
+     * Timestamp of the last refresh performed with this session.
+     */
+    @Column(name = "last_used_at")
+    private LocalDateTime lastUsedAt;
+
+    /**
+     * Indicates whether the session has been revoked.
+     * Default: false.
+     */
+    @Column(name = "revoked", nullable = false)
+    @Builder.Default
+    private boolean revoked = false;
 }
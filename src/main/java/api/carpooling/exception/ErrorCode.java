@@ -36,5 +36,17 @@ public enum ErrorCode {
     FORBIDDEN,
 
     /** Invalid token **/
-    INVALID_TOKEN
+    INVALID_TOKEN,
+
+    /** The server is temporarily overloaded and the client should retry later. */
+    SERVICE_UNAVAILABLE,
+
+    /** The requested refresh token session was not found. */
+    SESSION_NOT_FOUND,
+
+    /** Too many attempts were made in a short period of time. */
+    TOO_MANY_REQUESTS,
+
+    /** The continuation token of a paginated listing is malformed. */
+    INVALID_CURSOR
 }
@@ -1,5 +1,7 @@
 package api.carpooling.exception.handler;
 
+import api.carpooling.application.exception.PasswordHashingOverloadedException;
+import api.carpooling.application.exception.TooManyLoginAttemptsException;
 import api.carpooling.application.exception.api.ApiException;
 import api.carpooling.exception.ErrorCode;
 import api.carpooling.exception.ErrorResponse;
@@ -7,6 +9,7 @@ import api.carpooling.utils.ErrorResponseBuilder;
 
 import jakarta.servlet.http.HttpServletRequest;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.FieldError;
@@ -115,4 +118,55 @@ public class GlobalExceptionHandler {
         );
         return ResponseEntity.status(ex.getHttpStatus()).body(errorResponse);
     }
+
+    /**
+     * Handles {@link PasswordHashingOverloadedException} thrown when the password
+     * hashing executor is saturated.
+     * <p>
+     * Returns the standard error body with a 503 status and a {@code Retry-After}
+     * header telling the client when to try again.
+     *
+     * @param ex the overload exception
+     * @param request the current HTTP request
+     * @return a {@link ResponseEntity} containing the formatted {@link ErrorResponse}
+     */
+    @ExceptionHandler(PasswordHashingOverloadedException.class)
+    public ResponseEntity<ErrorResponse> handlePasswordHashingOverloaded(PasswordHashingOverloadedException ex,
+                                                                         HttpServletRequest request) {
+        ErrorResponse errorResponse = ErrorResponseBuilder.build(
+                ex.getHttpStatus(),
+                ex.getMessage(),
+                ex.getMessage(),
+                request.getRequestURI(),
+                ex.getErrorCode()
+        );
+        return ResponseEntity.status(ex.getHttpStatus())
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(ex.getRetryAfterSeconds()))
+                .body(errorResponse);
+    }
+
+    /**
+     * Handles {@link TooManyLoginAttemptsException} thrown when login attempts are throttled.
+     * <p>
+     * Returns the standard error body with a 429 status and a {@code Retry-After}
+     * header telling the client when the next attempt will be accepted.
+     *
+     * @param ex the throttling exception
+     * @param request the current HTTP request
+     * @return a {@link ResponseEntity} containing the formatted {@link ErrorResponse}
+     */
+    @ExceptionHandler(TooManyLoginAttemptsException.class)
+    public ResponseEntity<ErrorResponse> handleTooManyLoginAttempts(TooManyLoginAttemptsException ex,
+                                                                    HttpServletRequest request) {
+        ErrorResponse errorResponse = ErrorResponseBuilder.build(
+                ex.getHttpStatus(),
+                ex.getMessage(),
+                ex.getMessage(),
+                request.getRequestURI(),
+                ex.getErrorCode()
+        );
+        return ResponseEntity.status(ex.getHttpStatus())
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(ex.getRetryAfterSeconds()))
+                .body(errorResponse);
+    }
 }
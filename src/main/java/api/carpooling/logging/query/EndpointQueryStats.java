@@ -0,0 +1,27 @@
+package api.carpooling.logging.query;
+
+/**
+ * Statements issued by one endpoint since startup or the last reset.
+ *
+ * @param requests         number of served requests
+ * @param statements       total number of statements
+ * @param avgStatements    average number of statements per request
+ * @param maxStatements    highest number of statements in a single request
+ * @param rows             rows read plus rows updated
+ * @param totalTimeMs      time spent executing the statements
+ * @param nPlusOne         requests flagged as N+1
+ * @param overBudget       requests that exceeded the statement budget
+ * @param lastRepeatedSql  statement repeated by the last flagged request, or null
+ */
+public record EndpointQueryStats(
+        long requests,
+        long statements,
+        double avgStatements,
+        long maxStatements,
+        long rows,
+        long totalTimeMs,
+        long nPlusOne,
+        long overBudget,
+        String lastRepeatedSql
+) {
+}
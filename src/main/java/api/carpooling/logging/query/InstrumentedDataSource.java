@@ -0,0 +1,191 @@
+package api.carpooling.logging.query;
+
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.CallableStatement;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Set;
+
+/**
+ * Data source reporting every executed statement to the {@link QueryRecorder}.
+ * <p>
+ * Connections are wrapped in a JDK proxy that only instruments the statements created
+ * while a {@link QueryScope} is open, so code running outside an HTTP request (Flyway,
+ * scheduled jobs) talks to the driver directly. Being below Hibernate, the counts also
+ * cover the queries issued through {@code JdbcTemplate}.
+ */
+public class InstrumentedDataSource extends DelegatingDataSource {
+
+    /**
+     * Connection methods returning a statement.
+     */
+    private static final Set<String> STATEMENT_FACTORIES =
+            Set.of("createStatement", "prepareStatement", "prepareCall");
+
+    /**
+     * Wraps a data source.
+     *
+     * @param target the data source opening the physical connections
+     */
+    public InstrumentedDataSource(DataSource target) {
+        super(target);
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return wrap(obtainTargetDataSource().getConnection());
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return wrap(obtainTargetDataSource().getConnection(username, password));
+    }
+
+    /**
+     * Wraps a connection so that its statements are instrumented.
+     *
+     * @param connection the physical connection
+     * @return the instrumented connection
+     */
+    private static Connection wrap(Connection connection) {
+        return proxy(Connection.class, connection, (target, method, args) -> {
+            Object result = invoke(target, method, args);
+            if (result instanceof Statement statement
+                    && STATEMENT_FACTORIES.contains(method.getName())
+                    && QueryRecorder.isRecording()) {
+                String sql = args != null && args.length > 0 && args[0] instanceof String text ? text : null;
+                return wrap(statement, sql);
+            }
+            return result;
+        });
+    }
+
+    /**
+     * Wraps a statement so that its executions and results are recorded.
+     *
+     * @param statement the driver statement
+     * @param preparedSql statement text for prepared statements, null for plain ones
+     * @return the instrumented statement
+     */
+    private static Statement wrap(Statement statement, String preparedSql) {
+        Class<? extends Statement> type = statement instanceof CallableStatement
+                ? CallableStatement.class
+                : statement instanceof PreparedStatement
+                ? PreparedStatement.class
+                : Statement.class;
+        return proxy(type, statement, (target, method, args) -> {
+            if (!method.getName().startsWith("execute")) {
+                Object result = invoke(target, method, args);
+                return result instanceof ResultSet resultSet && "getResultSet".equals(method.getName())
+                        ? wrap(resultSet)
+                        : result;
+            }
+            String sql = args != null && args.length > 0 && args[0] instanceof String text ? text : preparedSql;
+            long start = System.nanoTime();
+            Object result = invoke(target, method, args);
+            QueryRecorder.statement(sql, System.nanoTime() - start, updatedRows(result));
+            return result instanceof ResultSet resultSet ? wrap(resultSet) : result;
+        });
+    }
+
+    /**
+     * Wraps a result set so that the rows read are counted.
+     *
+     * @param resultSet the driver result set
+     * @return the instrumented result set
+     */
+    private static ResultSet wrap(ResultSet resultSet) {
+        return proxy(ResultSet.class, resultSet, (target, method, args) -> {
+            Object result = invoke(target, method, args);
+            if ("next".equals(method.getName()) && Boolean.TRUE.equals(result)) {
+                QueryRecorder.rows(1);
+            }
+            return result;
+        });
+    }
+
+    /**
+     * Extracts the number of updated rows from the result of an execute method.
+     *
+     * @param result value returned by the driver
+     * @return the updated rows, 0 for queries
+     */
+    private static long updatedRows(Object result) {
+        long rows = 0;
+        if (result instanceof Integer count) {
+            rows = Math.max(count, 0);
+        } else if (result instanceof Long count) {
+            rows = Math.max(count, 0);
+        } else if (result instanceof int[] counts) {
+            for (int count : counts) {
+                rows += Math.max(count, 0);
+            }
+        } else if (result instanceof long[] counts) {
+            for (long count : counts) {
+                rows += Math.max(count, 0);
+            }
+        }
+        return rows;
+    }
+
+    /**
+     * Creates a JDK proxy delegating to a target.
+     *
+     * @param type interface implemented by the proxy
+     * @param target the wrapped JDBC object
+     * @param handler handler receiving the target, the method and its arguments
+     * @param <T> JDBC interface
+     * @return the proxy
+     */
+    private static <T> T proxy(Class<? extends T> type, T target, Handler<T> handler) {
+        InvocationHandler invocationHandler = (proxy, method, args) -> handler.handle(target, method, args);
+        return type.cast(Proxy.newProxyInstance(InstrumentedDataSource.class.getClassLoader(),
+                new Class<?>[] {type}, invocationHandler));
+    }
+
+    /**
+     * Invokes a method on the wrapped object and rethrows what it threw.
+     *
+     * @param target the wrapped JDBC object
+     * @param method the invoked method
+     * @param args its arguments
+     * @return the value returned by the target
+     * @throws Throwable the exception thrown by the target
+     */
+    private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getCause();
+        }
+    }
+
+    /**
+     * Invocation handler receiving the wrapped object.
+     *
+     * @param <T> JDBC interface
+     */
+    @FunctionalInterface
+    private interface Handler<T> {
+
+        /**
+         * Handles a call made on the proxy.
+         *
+         * @param target the wrapped JDBC object
+         * @param method the invoked method
+         * @param args its arguments
+         * @return the value returned to the caller
+         * @throws Throwable any exception to rethrow to the caller
+         */
+        Object handle(T target, Method method, Object[] args) throws Throwable;
+    }
+}
@@ -0,0 +1,91 @@
+package api.carpooling.logging.query;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+
+/**
+ * Thread-bound entry point of the SQL instrumentation.
+ * <p>
+ * The instrumented data source reports every statement here, and the statement is added
+ * to the scopes open on the current thread. Without an open scope nothing is recorded
+ * and statements are not even wrapped.
+ */
+public final class QueryRecorder {
+
+    /**
+     * Scopes open on each thread, innermost first.
+     */
+    private static final ThreadLocal<Deque<QueryScope>> SCOPES = new ThreadLocal<>();
+
+    /**
+     * Utility class, not instantiable.
+     */
+    private QueryRecorder() {
+    }
+
+    /**
+     * Opens a scope on the current thread; close it to stop recording.
+     *
+     * @return the new scope
+     */
+    public static QueryScope open() {
+        Deque<QueryScope> scopes = SCOPES.get();
+        if (scopes == null) {
+            scopes = new ArrayDeque<>();
+            SCOPES.set(scopes);
+        }
+        QueryScope scope = new QueryScope();
+        scopes.push(scope);
+        return scope;
+    }
+
+    /**
+     * Tells whether a scope is open on the current thread.
+     *
+     * @return true if statements are being recorded
+     */
+    public static boolean isRecording() {
+        return SCOPES.get() != null;
+    }
+
+    /**
+     * Records an executed statement in the open scopes.
+     *
+     * @param sql statement text
+     * @param nanos execution time
+     * @param updatedRows rows updated by the statement
+     */
+    static void statement(String sql, long nanos, long updatedRows) {
+        Deque<QueryScope> scopes = SCOPES.get();
+        if (scopes != null) {
+            scopes.forEach(scope -> scope.statement(sql, nanos, updatedRows));
+        }
+    }
+
+    /**
+     * Records rows read from a result set in the open scopes.
+     *
+     * @param readRows number of rows read
+     */
+    static void rows(long readRows) {
+        Deque<QueryScope> scopes = SCOPES.get();
+        if (scopes != null) {
+            scopes.forEach(scope -> scope.rows(readRows));
+        }
+    }
+
+    /**
+     * Removes a scope from the current thread.
+     *
+     * @param scope the scope to remove
+     */
+    static void close(QueryScope scope) {
+        Deque<QueryScope> scopes = SCOPES.get();
+        if (scopes != null) {
+            scopes.remove(scope);
+            if (scopes.isEmpty()) {
+                SCOPES.remove();
+            }
+        }
+    }
+}
@@ -0,0 +1,87 @@
+package api.carpooling.logging.query;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Accumulates the statements run by the current thread until it is closed.
+ * <p>
+ * Scopes nest: a statement is recorded in every scope open on its thread. A scope is
+ * only used by the thread that opened it and is not thread-safe.
+ */
+public final class QueryScope implements AutoCloseable {
+
+    /**
+     * Number of executed statements.
+     */
+    private int statements;
+
+    /**
+     * Time spent executing the statements, in nanoseconds.
+     */
+    private long timeNanos;
+
+    /**
+     * Rows read plus rows updated.
+     */
+    private long rows;
+
+    /**
+     * Number of executions of each statement text.
+     */
+    private final Map<String, Integer> executions = new HashMap<>();
+
+    /**
+     * Created through {@link QueryRecorder#open()}.
+     */
+    QueryScope() {
+    }
+
+    /**
+     * Records an executed statement.
+     *
+     * @param sql statement text
+     * @param nanos execution time
+     * @param updatedRows rows updated by the statement
+     */
+    void statement(String sql, long nanos, long updatedRows) {
+        statements++;
+        timeNanos += nanos;
+        rows += updatedRows;
+        executions.merge(sql == null ? "?" : sql, 1, Integer::sum);
+    }
+
+    /**
+     * Records rows read from a result set.
+     *
+     * @param readRows number of rows read
+     */
+    void rows(long readRows) {
+        rows += readRows;
+    }
+
+    /**
+     * Returns what was recorded so far.
+     *
+     * @return the statistics of this scope
+     */
+    public QueryStats stats() {
+        String mostRepeatedSql = null;
+        int mostRepeatedCount = 0;
+        for (Map.Entry<String, Integer> entry : executions.entrySet()) {
+            if (entry.getValue() > mostRepeatedCount) {
+                mostRepeatedSql = entry.getKey();
+                mostRepeatedCount = entry.getValue();
+            }
+        }
+        return new QueryStats(statements, timeNanos, rows, mostRepeatedSql, mostRepeatedCount);
+    }
+
+    /**
+     * Stops recording in this scope.
+     */
+    @Override
+    public void close() {
+        QueryRecorder.close(this);
+    }
+}
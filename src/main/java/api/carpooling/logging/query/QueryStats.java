@@ -0,0 +1,19 @@
+package api.carpooling.logging.query;
+
+/**
+ * Statements run within a {@link QueryScope}.
+ *
+ * @param statements        number of executed statements
+ * @param timeNanos         time spent executing them, result reading excluded
+ * @param rows              rows read plus rows updated
+ * @param mostRepeatedSql   statement executed the most often, or null if none ran
+ * @param mostRepeatedCount number of executions of {@code mostRepeatedSql}
+ */
+public record QueryStats(
+        int statements,
+        long timeNanos,
+        long rows,
+        String mostRepeatedSql,
+        int mostRepeatedCount
+) {
+}
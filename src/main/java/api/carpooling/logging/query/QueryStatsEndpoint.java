@@ -0,0 +1,43 @@
+package api.carpooling.logging.query;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.endpoint.annotation.DeleteOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+
+import java.util.Map;
+
+/**
+ * Actuator endpoint exposing the statements issued by each route.
+ * <p>
+ * {@code GET /actuator/querystats} returns the totals per endpoint and
+ * {@code DELETE /actuator/querystats} resets them, e.g. before a load test. Both
+ * expose SQL text and are restricted to administrators by {@code SecurityConfig}.
+ */
+@Endpoint(id = "querystats")
+@RequiredArgsConstructor
+public class QueryStatsEndpoint {
+
+    /**
+     * Aggregates served by the endpoint.
+     */
+    private final QueryStatsRegistry registry;
+
+    /**
+     * Returns the totals of every endpoint.
+     *
+     * @return the totals indexed by endpoint
+     */
+    @ReadOperation
+    public Map<String, EndpointQueryStats> snapshot() {
+        return registry.snapshot();
+    }
+
+    /**
+     * Clears the totals.
+     */
+    @DeleteOperation
+    public void reset() {
+        registry.reset();
+    }
+}
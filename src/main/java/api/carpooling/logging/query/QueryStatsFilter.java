@@ -0,0 +1,99 @@
+package api.carpooling.logging.query;
+
+import api.carpooling.configuration.QueryStatsProperties;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.NonNull;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Filter counting the statements issued while serving each HTTP request.
+ * <p>
+ * A {@link QueryScope} is open around the filter chain. Once the request is served,
+ * its statements are attributed to the matched route, and a warning is logged when
+ * the same statement ran often enough to look like an N+1 pattern or when the request
+ * exceeded its statement budget.
+ */
+@Slf4j
+@RequiredArgsConstructor
+public class QueryStatsFilter extends OncePerRequestFilter {
+
+    /**
+     * Endpoint name used when no handler matched the request.
+     */
+    private static final String UNMATCHED = "UNMATCHED";
+
+    /**
+     * Aggregates receiving each request.
+     */
+    private final QueryStatsRegistry registry;
+
+    /**
+     * Budget and detection thresholds.
+     */
+    private final QueryStatsProperties properties;
+
+    /**
+     * Records the statements issued by the rest of the filter chain.
+     *
+     * @param request the HTTP request
+     * @param response the HTTP response
+     * @param filterChain the filter chain
+     * @throws ServletException if a servlet error occurs
+     * @throws IOException if an I/O error occurs
+     */
+    @Override
+    protected void doFilterInternal(@NonNull HttpServletRequest request,
+                                    @NonNull HttpServletResponse response,
+                                    @NonNull FilterChain filterChain)
+            throws ServletException, IOException {
+        QueryScope scope = QueryRecorder.open();
+        try (scope) {
+            filterChain.doFilter(request, response);
+        } finally {
+            report(request, scope.stats());
+        }
+    }
+
+    /**
+     * Checks the thresholds and records the statements of a served request.
+     *
+     * @param request the HTTP request
+     * @param stats the statements it issued
+     */
+    private void report(HttpServletRequest request, QueryStats stats) {
+        String endpoint = endpoint(request);
+        boolean nPlusOne = stats.mostRepeatedCount() >= properties.getRepeatedStatementThreshold();
+        boolean overBudget = stats.statements() > properties.getStatementBudget();
+        if (nPlusOne) {
+            log.warn("[QUERY STATS] Possible N+1 on {}: statement executed {} times: {}",
+                    endpoint, stats.mostRepeatedCount(), stats.mostRepeatedSql());
+        }
+        if (overBudget) {
+            log.warn("[QUERY STATS] {} issued {} statements (budget {}) in {} ms",
+                    endpoint, stats.statements(), properties.getStatementBudget(),
+                    TimeUnit.NANOSECONDS.toMillis(stats.timeNanos()));
+        }
+        registry.record(endpoint, stats, nPlusOne, overBudget);
+    }
+
+    /**
+     * Resolves the route pattern that served the request, to keep the tag cardinality low.
+     *
+     * @param request the HTTP request
+     * @return the method and route pattern, or {@value #UNMATCHED}
+     */
+    private static String endpoint(HttpServletRequest request) {
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        return pattern == null ? UNMATCHED : request.getMethod() + " " + pattern;
+    }
+}
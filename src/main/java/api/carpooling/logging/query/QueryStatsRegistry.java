@@ -0,0 +1,183 @@
+package api.carpooling.logging.query;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Aggregates the statements issued by each endpoint.
+ * <p>
+ * Every request is published to Micrometer under the {@code db.request.*} meters,
+ * tagged with its endpoint, and added to in-memory totals served by the
+ * {@code querystats} actuator endpoint.
+ */
+public class QueryStatsRegistry {
+
+    /**
+     * Prefix of the metrics published by this component.
+     */
+    private static final String METRIC_PREFIX = "db.request";
+
+    /**
+     * Name of the tag carrying the endpoint.
+     */
+    private static final String ENDPOINT_TAG = "endpoint";
+
+    /**
+     * Registry receiving the metrics.
+     */
+    private final MeterRegistry meterRegistry;
+
+    /**
+     * Totals indexed by endpoint.
+     */
+    private final Map<String, Totals> totals = new ConcurrentHashMap<>();
+
+    /**
+     * Builds the registry.
+     *
+     * @param meterRegistry registry receiving the metrics
+     */
+    public QueryStatsRegistry(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    /**
+     * Records the statements issued by one request.
+     *
+     * @param endpoint the endpoint that served the request
+     * @param stats the statements it issued
+     * @param nPlusOne whether the request was flagged as N+1
+     * @param overBudget whether the request exceeded the statement budget
+     */
+    public void record(String endpoint, QueryStats stats, boolean nPlusOne, boolean overBudget) {
+        DistributionSummary.builder(METRIC_PREFIX + ".statements")
+                .tag(ENDPOINT_TAG, endpoint)
+                .register(meterRegistry)
+                .record(stats.statements());
+        DistributionSummary.builder(METRIC_PREFIX + ".rows")
+                .tag(ENDPOINT_TAG, endpoint)
+                .register(meterRegistry)
+                .record(stats.rows());
+        Timer.builder(METRIC_PREFIX + ".time")
+                .tag(ENDPOINT_TAG, endpoint)
+                .register(meterRegistry)
+                .record(stats.timeNanos(), TimeUnit.NANOSECONDS);
+        if (nPlusOne) {
+            Counter.builder(METRIC_PREFIX + ".n_plus_one").tag(ENDPOINT_TAG, endpoint).register(meterRegistry)
+                    .increment();
+        }
+        if (overBudget) {
+            Counter.builder(METRIC_PREFIX + ".over_budget").tag(ENDPOINT_TAG, endpoint).register(meterRegistry)
+                    .increment();
+        }
+
+        Totals endpointTotals = totals.computeIfAbsent(endpoint, key -> new Totals());
+        endpointTotals.requests.increment();
+        endpointTotals.statements.add(stats.statements());
+        endpointTotals.maxStatements.accumulate(stats.statements());
+        endpointTotals.rows.add(stats.rows());
+        endpointTotals.timeNanos.add(stats.timeNanos());
+        if (nPlusOne) {
+            endpointTotals.nPlusOne.increment();
+        }
+        if (overBudget) {
+            endpointTotals.overBudget.increment();
+        }
+        if (nPlusOne || overBudget) {
+            endpointTotals.lastRepeatedSql = stats.mostRepeatedSql();
+        }
+    }
+
+    /**
+     * Returns the totals of every endpoint.
+     *
+     * @return the totals indexed by endpoint, sorted by name
+     */
+    public Map<String, EndpointQueryStats> snapshot() {
+        Map<String, EndpointQueryStats> snapshot = new TreeMap<>();
+        totals.forEach((endpoint, endpointTotals) -> snapshot.put(endpoint, endpointTotals.snapshot()));
+        return snapshot;
+    }
+
+    /**
+     * Clears the totals; the Micrometer meters are left untouched.
+     */
+    public void reset() {
+        totals.clear();
+    }
+
+    /**
+     * Running totals of one endpoint.
+     */
+    private static final class Totals {
+
+        /**
+         * Number of served requests.
+         */
+        private final LongAdder requests = new LongAdder();
+
+        /**
+         * Total number of statements.
+         */
+        private final LongAdder statements = new LongAdder();
+
+        /**
+         * Highest number of statements in a single request.
+         */
+        private final LongAccumulator maxStatements = new LongAccumulator(Math::max, 0);
+
+        /**
+         * Rows read plus rows updated.
+         */
+        private final LongAdder rows = new LongAdder();
+
+        /**
+         * Time spent executing the statements, in nanoseconds.
+         */
+        private final LongAdder timeNanos = new LongAdder();
+
+        /**
+         * Requests flagged as N+1.
+         */
+        private final LongAdder nPlusOne = new LongAdder();
+
+        /**
+         * Requests that exceeded the statement budget.
+         */
+        private final LongAdder overBudget = new LongAdder();
+
+        /**
+         * Statement repeated by the last flagged request.
+         */
+        private volatile String lastRepeatedSql;
+
+        /**
+         * Copies the running totals.
+         *
+         * @return the totals of the endpoint
+         */
+        private EndpointQueryStats snapshot() {
+            long requestCount = requests.sum();
+            long statementCount = statements.sum();
+            return new EndpointQueryStats(
+                    requestCount,
+                    statementCount,
+                    requestCount == 0 ? 0 : (double) statementCount / requestCount,
+                    maxStatements.get(),
+                    rows.sum(),
+                    TimeUnit.NANOSECONDS.toMillis(timeNanos.sum()),
+                    nPlusOne.sum(),
+                    overBudget.sum(),
+                    lastRepeatedSql);
+        }
+    }
+}
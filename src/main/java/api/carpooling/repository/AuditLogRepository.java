@@ -0,0 +1,89 @@
+package api.carpooling.repository;
+
+import api.carpooling.application.audit.AuditEvent;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Writes audit events to the {@code audit_logs} table.
+ * <p>
+ * A batch is inserted with a single multi-row {@code INSERT}, so writing a few hundred
+ * events costs one round trip and one statement.
+ */
+@Repository
+@RequiredArgsConstructor
+public class AuditLogRepository {
+
+    /**
+     * Head of the insert statement.
+     */
+    private static final String INSERT = "INSERT INTO audit_logs "
+            + "(user_id, action, entity_type, entity_id, details, created_at) VALUES ";
+
+    /**
+     * Placeholders of one row.
+     */
+    private static final String ROW = "(?, ?, ?, ?, CAST(? AS jsonb), ?)";
+
+    /**
+     * Template running the inserts.
+     */
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * Serializes the details column.
+     */
+    private final ObjectMapper objectMapper;
+
+    /**
+     * Inserts a batch of events.
+     *
+     * @param events the events to insert, at most ten thousand per call
+     * @return the number of inserted rows
+     */
+    public int insertAll(List<AuditEvent> events) {
+        if (events.isEmpty()) {
+            return 0;
+        }
+        StringBuilder sql = new StringBuilder(INSERT.length() + events.size() * (ROW.length() + 2)).append(INSERT);
+        List<Object> args = new ArrayList<>(events.size() * 6);
+        for (AuditEvent event : events) {
+            if (args.size() > 0) {
+                sql.append(", ");
+            }
+            sql.append(ROW);
+            args.add(event.userId());
+            args.add(event.action().name());
+            args.add(event.entityType());
+            args.add(event.entityId());
+            args.add(details(event));
+            args.add(Timestamp.valueOf(event.createdAt()));
+        }
+        return jdbcTemplate.update(sql.toString(), args.toArray());
+    }
+
+    /**
+     * Serializes the details of an event.
+     *
+     * @param event the event
+     * @return the details as JSON, or null if there are none
+     */
+    private String details(AuditEvent event) {
+        if (event.details() == null || event.details().isEmpty()) {
+            return null;
+        }
+        try {
+            return objectMapper.writeValueAsString(event.details());
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("[AUDIT] Details of " + event.action() + " are not serializable", e);
+        }
+    }
+}
@@ -0,0 +1,11 @@
+package api.carpooling.repository;
+
+/**
+ * Place loaded into the place dictionary.
+ *
+ * @param id             identifier of the place
+ * @param name           name displayed for the place
+ * @param normalizedName spelling compared by the dictionary
+ */
+public record PlaceEntry(long id, String name, String normalizedName) {
+}
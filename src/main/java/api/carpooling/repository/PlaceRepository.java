@@ -0,0 +1,32 @@
+package api.carpooling.repository;
+
+import api.carpooling.domain.Place;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+/**
+ * Repository interface for managing Place entities.
+ * Provides the reads of the in-memory place dictionary.
+ */
+@Repository
+public interface PlaceRepository extends JpaRepository<Place, Long> {
+
+    /**
+     * Returns every place, as loaded into the dictionary.
+     *
+     * @return the places, in no particular order
+     */
+    @Query("SELECT new api.carpooling.repository.PlaceEntry(p.id, p.name, p.normalizedName) FROM Place p")
+    List<PlaceEntry> findAllEntries();
+
+    /**
+     * Returns the current state of the places table.
+     *
+     * @return the number of places and the date of the latest change
+     */
+    @Query("SELECT new api.carpooling.repository.PlaceVersion(count(p), max(p.updatedAt)) FROM Place p")
+    PlaceVersion findVersion();
+}
@@ -0,0 +1,12 @@
+package api.carpooling.repository;
+
+import java.time.LocalDateTime;
+
+/**
+ * State of the places table, compared to tell whether the dictionary must be reloaded.
+ *
+ * @param count       number of places
+ * @param lastChange  latest creation or modification of a place, or null if there is none
+ */
+public record PlaceVersion(long count, LocalDateTime lastChange) {
+}
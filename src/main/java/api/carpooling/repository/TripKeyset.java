@@ -0,0 +1,29 @@
+package api.carpooling.repository;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Position of a trip in the search results ordered by departure time then id.
+ * <p>
+ * Positions compare like the rows of PostgreSQL, whose uuids are ordered as unsigned
+ * bytes, so that a position taken in memory continues a page read from the database
+ * and the reverse.
+ *
+ * @param departureTime departure time of the trip
+ * @param id            identifier of the trip, breaking ties between equal departure times
+ */
+public record TripKeyset(LocalDateTime departureTime, UUID id) implements Comparable<TripKeyset> {
+
+    @Override
+    public int compareTo(TripKeyset other) {
+        int byDeparture = departureTime.compareTo(other.departureTime);
+        if (byDeparture != 0) {
+            return byDeparture;
+        }
+        int byHigh = Long.compareUnsigned(id.getMostSignificantBits(), other.id.getMostSignificantBits());
+        return byHigh != 0
+                ? byHigh
+                : Long.compareUnsigned(id.getLeastSignificantBits(), other.id.getLeastSignificantBits());
+    }
+}
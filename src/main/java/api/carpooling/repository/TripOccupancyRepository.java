@@ -0,0 +1,33 @@
+package api.carpooling.repository;
+
+import java.util.Collection;
+import java.util.UUID;
+
+/**
+ * Check of the counters of booked seats kept on the trips.
+ * <p>
+ * {@code trips.booked_seats} is maintained by a trigger on the reservations; these
+ * queries compare it with the confirmed reservations and correct the trips that drifted.
+ */
+public interface TripOccupancyRepository {
+
+    /**
+     * Compares the counters of the next trips, in the order of their identifiers.
+     *
+     * @param after identifier of the last trip already compared, or null to start over
+     * @param limit maximum number of trips compared
+     * @return the trips compared and those that drifted
+     */
+    TripOccupancySlice findDrift(UUID after, int limit);
+
+    /**
+     * Sets the counters of trips back to the seats of their confirmed reservations.
+     * <p>
+     * The trips are locked before their reservations are summed, so a reservation
+     * committed meanwhile is counted once. Must run in a transaction.
+     *
+     * @param ids identifiers of the trips
+     * @return the number of counters corrected
+     */
+    int correctDrift(Collection<UUID> ids);
+}
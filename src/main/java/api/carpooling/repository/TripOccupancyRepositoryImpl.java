@@ -0,0 +1,73 @@
+package api.carpooling.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.ResultSetExtractor;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * JDBC implementation of {@link TripOccupancyRepository}.
+ * <p>
+ * The confirmed seats of a trip are summed from the partial index
+ * {@code idx_reservations_trip_confirmed}.
+ */
+@RequiredArgsConstructor
+public class TripOccupancyRepositoryImpl implements TripOccupancyRepository {
+
+    /**
+     * Confirmed seats of the trip {@code t}.
+     */
+    private static final String CONFIRMED_SEATS = "(SELECT COALESCE(SUM(r.seats_booked), 0) FROM reservations r"
+            + " WHERE r.trip_id = t.id AND r.status_reservation = 'CONFIRMED')";
+
+    /**
+     * Reads the trips compared, keeping the last one and those that drifted.
+     */
+    private static final ResultSetExtractor<TripOccupancySlice> SLICE = resultSet -> {
+        UUID lastId = null;
+        List<UUID> drifted = new ArrayList<>();
+        while (resultSet.next()) {
+            lastId = resultSet.getObject("id", UUID.class);
+            if (resultSet.getBoolean("drifted")) {
+                drifted.add(lastId);
+            }
+        }
+        return new TripOccupancySlice(lastId, drifted);
+    };
+
+    /**
+     * Template running the queries.
+     */
+    private final JdbcTemplate jdbcTemplate;
+
+    @Override
+    public TripOccupancySlice findDrift(UUID after, int limit) {
+        List<Object> args = new ArrayList<>();
+        StringBuilder sql = new StringBuilder("SELECT t.id, t.booked_seats <> ")
+                .append(CONFIRMED_SEATS).append(" AS drifted FROM trips t");
+        if (after != null) {
+            sql.append(" WHERE t.id > ?");
+            args.add(after);
+        }
+        sql.append(" ORDER BY t.id LIMIT ?");
+        args.add(limit);
+        return jdbcTemplate.query(sql.toString(), SLICE, args.toArray());
+    }
+
+    @Override
+    public int correctDrift(Collection<UUID> ids) {
+        if (ids.isEmpty()) {
+            return 0;
+        }
+        String placeholders = String.join(", ", Collections.nCopies(ids.size(), "?"));
+        jdbcTemplate.queryForList("SELECT id FROM trips WHERE id IN (" + placeholders + ")"
+                + " ORDER BY id FOR NO KEY UPDATE", UUID.class, ids.toArray());
+        return jdbcTemplate.update("UPDATE trips t SET booked_seats = " + CONFIRMED_SEATS
+                + " WHERE t.id IN (" + placeholders + ") AND t.booked_seats <> " + CONFIRMED_SEATS, ids.toArray());
+    }
+}
@@ -0,0 +1,13 @@
+package api.carpooling.repository;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Trips compared by one batch of the drift check.
+ *
+ * @param lastId   identifier of the last trip compared, or null if no trip was left
+ * @param drifted  trips whose counter of booked seats differs from their reservations
+ */
+public record TripOccupancySlice(UUID lastId, List<UUID> drifted) {
+}
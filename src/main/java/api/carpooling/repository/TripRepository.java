@@ -0,0 +1,17 @@
+package api.carpooling.repository;
+
+import api.carpooling.domain.Trip;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.UUID;
+
+/**
+ * Repository interface for managing Trip entities.
+ * Provides the keyset-paginated search of trips through {@link TripSearchRepository}
+ * and the check of their booked seats through {@link TripOccupancyRepository}.
+ */
+@Repository
+public interface TripRepository extends JpaRepository<Trip, UUID>, TripSearchRepository,
+        TripOccupancyRepository {
+}
@@ -0,0 +1,70 @@
+package api.carpooling.repository;
+
+import api.carpooling.application.dto.trip.NearbyTrip;
+import api.carpooling.application.dto.trip.NearbyTripCriteria;
+import api.carpooling.application.dto.trip.TripSearchCriteria;
+import api.carpooling.application.dto.trip.TripSummary;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Search of the trips between two places, ordered by departure time then id.
+ * <p>
+ * Every page is a single range scan of {@code idx_trips_route}: the place ids of the
+ * route are an equality on its leading columns, the departure window and the seek
+ * position a range on the following ones. Criteria are expected complete, with a
+ * normalized route.
+ * The other methods read the same projection for the in-memory route index, and for
+ * the search around a point, served by {@code idx_trips_pickup}.
+ */
+public interface TripSearchRepository {
+
+    /**
+     * Returns the trips matching the criteria, following a position.
+     * <p>
+     * Trips of deleted drivers are never returned.
+     *
+     * @param criteria complete search criteria
+     * @param after position of the last trip of the previous page, or null for the first page
+     * @param limit maximum number of trips returned
+     * @return the trips, earliest departure first
+     */
+    List<TripSummary> search(TripSearchCriteria criteria, TripKeyset after, int limit);
+
+    /**
+     * Returns the trips with the given ids.
+     * <p>
+     * Deleted trips, and trips of deleted drivers, are missing from the result.
+     *
+     * @param ids identifiers of the trips
+     * @return the trips found, in no particular order
+     */
+    List<TripSummary> findByIds(Collection<UUID> ids);
+
+    /**
+     * Returns the trips of every route departing within a window, following a position.
+     *
+     * @param from earliest departure
+     * @param until latest departure (exclusive)
+     * @param after position of the last trip of the previous page, or null for the first page
+     * @param limit maximum number of trips returned
+     * @return the trips, earliest departure first
+     */
+    List<TripSummary> findDeparting(LocalDateTime from, LocalDateTime until, TripKeyset after, int limit);
+
+    /**
+     * Returns the trips leaving nearest to a point, within a radius and a departure window.
+     * <p>
+     * The index returns the trips by increasing distance, so only the returned ones and
+     * those discarded on their seats are read. Trips without coordinates, and trips of
+     * deleted drivers, are never returned.
+     *
+     * @param criteria complete criteria, with a point, a radius and a departure window
+     * @param limit maximum number of trips returned
+     * @return the trips, nearest first
+     */
+    List<NearbyTrip> findNearest(NearbyTripCriteria criteria, int limit);
+}
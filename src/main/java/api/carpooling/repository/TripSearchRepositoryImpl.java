@@ -0,0 +1,159 @@
+package api.carpooling.repository;
+
+import api.carpooling.application.dto.trip.NearbyTrip;
+import api.carpooling.application.dto.trip.NearbyTripCriteria;
+import api.carpooling.application.dto.trip.TripSearchCriteria;
+import api.carpooling.application.dto.trip.TripSummary;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * JDBC implementation of {@link TripSearchRepository}.
+ * <p>
+ * The route is resolved to its place ids once per query, through the unique index of
+ * the normalized spellings, so the trips themselves are only compared on integers.
+ * The price and the offered seats are read from the columns included in the index,
+ * so trips filtered out on them are discarded without reading the table. Free seats
+ * subtract the counter of confirmed seats kept on the trip row by the database.
+ */
+@RequiredArgsConstructor
+public class TripSearchRepositoryImpl implements TripSearchRepository {
+
+    /**
+     * Columns read by the search, with the free seats of each trip.
+     */
+    private static final String SELECT = "SELECT t.id, t.driver_id, u.username, t.start_place_id, t.start_location,"
+            + " t.end_place_id, t.end_location, t.departure_time, t.time_trips, t.price,"
+            + " t.available_seats - t.booked_seats AS free_seats"
+            + " FROM trips t"
+            + " JOIN users u ON u.id = t.driver_id AND u.deleted_at IS NULL";
+
+    /**
+     * Maps a row to a trip summary.
+     */
+    private static final RowMapper<TripSummary> SUMMARY = (resultSet, rowNum) -> new TripSummary(
+            resultSet.getObject("id", UUID.class),
+            resultSet.getObject("driver_id", UUID.class),
+            resultSet.getString("username"),
+            resultSet.getLong("start_place_id"),
+            resultSet.getString("start_location"),
+            resultSet.getLong("end_place_id"),
+            resultSet.getString("end_location"),
+            resultSet.getObject("departure_time", Timestamp.class).toLocalDateTime(),
+            resultSet.getObject("time_trips", Timestamp.class).toLocalDateTime(),
+            resultSet.getBigDecimal("price"),
+            resultSet.getInt("free_seats"));
+
+    /**
+     * Metres in a kilometre.
+     */
+    private static final double METERS_PER_KM = 1000d;
+
+    /**
+     * Place of departure of a trip, on the earth model of {@code idx_trips_pickup}.
+     */
+    private static final String PICKUP = "ll_to_earth(t.start_latitude, t.start_longitude)";
+
+    /**
+     * Columns read by the search around a point, with the distance to the place of departure.
+     */
+    private static final String SELECT_NEARBY = SELECT.replace(" FROM trips t",
+            ", earth_distance(" + PICKUP + ", ll_to_earth(?, ?)) AS distance FROM trips t");
+
+    /**
+     * Maps a row of the search around a point.
+     */
+    private static final RowMapper<NearbyTrip> NEARBY = (resultSet, rowNum) -> new NearbyTrip(
+            SUMMARY.mapRow(resultSet, rowNum),
+            Math.round(resultSet.getDouble("distance")));
+
+    /**
+     * Template running the queries.
+     */
+    private final JdbcTemplate jdbcTemplate;
+
+    @Override
+    public List<TripSummary> search(TripSearchCriteria criteria, TripKeyset after, int limit) {
+        List<Object> args = new ArrayList<>(List.of(
+                criteria.origin(),
+                criteria.destination(),
+                Timestamp.valueOf(criteria.departureFrom()),
+                Timestamp.valueOf(criteria.departureTo()),
+                criteria.minSeats()));
+        StringBuilder sql = new StringBuilder(SELECT)
+                .append(" WHERE t.start_place_id = (SELECT id FROM places WHERE normalized_name = normalize_place(?))")
+                .append(" AND t.end_place_id = (SELECT id FROM places WHERE normalized_name = normalize_place(?))")
+                .append(" AND t.departure_time >= ? AND t.departure_time < ?")
+                .append(" AND t.available_seats >= ?");
+        if (after != null) {
+            sql.append(" AND (t.departure_time, t.id) > (?, ?)");
+            args.add(Timestamp.valueOf(after.departureTime()));
+            args.add(after.id());
+        }
+        if (criteria.maxPrice() != null) {
+            sql.append(" AND t.price <= ?");
+            args.add(criteria.maxPrice());
+        }
+        sql.append(" AND t.available_seats - t.booked_seats >= ?")
+                .append(" ORDER BY t.departure_time, t.id LIMIT ?");
+        args.add(criteria.minSeats());
+        args.add(limit);
+        return jdbcTemplate.query(sql.toString(), SUMMARY, args.toArray());
+    }
+
+    @Override
+    public List<TripSummary> findByIds(Collection<UUID> ids) {
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        String placeholders = String.join(", ", Collections.nCopies(ids.size(), "?"));
+        return jdbcTemplate.query(SELECT + " WHERE t.id IN (" + placeholders + ")", SUMMARY, ids.toArray());
+    }
+
+    @Override
+    public List<TripSummary> findDeparting(LocalDateTime from, LocalDateTime until, TripKeyset after, int limit) {
+        List<Object> args = new ArrayList<>(List.of(Timestamp.valueOf(from), Timestamp.valueOf(until)));
+        StringBuilder sql = new StringBuilder(SELECT)
+                .append(" WHERE t.departure_time >= ? AND t.departure_time < ?");
+        if (after != null) {
+            sql.append(" AND (t.departure_time, t.id) > (?, ?)");
+            args.add(Timestamp.valueOf(after.departureTime()));
+            args.add(after.id());
+        }
+        sql.append(" ORDER BY t.departure_time, t.id LIMIT ?");
+        args.add(limit);
+        return jdbcTemplate.query(sql.toString(), SUMMARY, args.toArray());
+    }
+
+    @Override
+    public List<NearbyTrip> findNearest(NearbyTripCriteria criteria, int limit) {
+        // The bounding box and the KNN ordering are served by the index; the box holds
+        // the radius, so the exact distance is checked on the trips it returns.
+        double radiusMeters = criteria.radiusKm() * METERS_PER_KM;
+        String sql = SELECT_NEARBY
+                + " WHERE t.start_latitude IS NOT NULL"
+                + " AND " + PICKUP + " <@ earth_box(ll_to_earth(?, ?), ?)"
+                + " AND t.departure_time >= ? AND t.departure_time < ?"
+                + " AND t.available_seats - t.booked_seats >= ?"
+                + " AND earth_distance(" + PICKUP + ", ll_to_earth(?, ?)) <= ?"
+                + " ORDER BY " + PICKUP + " <-> ll_to_earth(?, ?) LIMIT ?";
+        return jdbcTemplate.query(sql, NEARBY,
+                criteria.latitude(), criteria.longitude(),
+                criteria.latitude(), criteria.longitude(), radiusMeters,
+                Timestamp.valueOf(criteria.departureFrom()), Timestamp.valueOf(criteria.departureTo()),
+                criteria.minSeats(),
+                criteria.latitude(), criteria.longitude(), radiusMeters,
+                criteria.latitude(), criteria.longitude(),
+                limit);
+    }
+}
@@ -0,0 +1,12 @@
+package api.carpooling.repository;
+
+import java.util.UUID;
+
+/**
+ * User row returned by a bulk update.
+ *
+ * @param id    identifier of the user
+ * @param email email of the user
+ */
+public record UpdatedUser(UUID id, String email) {
+}
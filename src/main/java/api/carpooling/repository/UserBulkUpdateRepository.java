@@ -0,0 +1,57 @@
+package api.carpooling.repository;
+
+import api.carpooling.application.dto.admin.UserListFilter;
+import api.carpooling.domain.enumeration.RoleUser;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Set-based updates of the role and activity of many users.
+ * <p>
+ * Each call is a single {@code UPDATE ... RETURNING} statement, whatever the number of
+ * users it touches. A null role or activity leaves the column unchanged; at least one
+ * of them must be set. Administrators, including the one making the change, are never
+ * updated in bulk, so a bulk change cannot lock every administrator out.
+ */
+public interface UserBulkUpdateRepository {
+
+    /**
+     * Updates users selected by identifier.
+     *
+     * @param ids identifiers of the users
+     * @param roleUser new role, or null
+     * @param active new activity status, or null
+     * @param adminId identifier of the administrator making the change
+     * @return the updated users
+     */
+    List<UpdatedUser> updateByIds(Collection<UUID> ids, RoleUser roleUser, Boolean active, UUID adminId);
+
+    /**
+     * Updates users selected by email.
+     *
+     * @param emails emails of the users
+     * @param roleUser new role, or null
+     * @param active new activity status, or null
+     * @param adminId identifier of the administrator making the change
+     * @return the updated users
+     */
+    List<UpdatedUser> updateByEmails(Collection<String> emails, RoleUser roleUser, Boolean active, UUID adminId);
+
+    /**
+     * Updates at most {@code limit} users matching a filter that the change would modify.
+     * <p>
+     * Users already holding the requested values are skipped, so calling this method
+     * until it returns fewer than {@code limit} users walks the whole selection.
+     *
+     * @param filter filters on role and activity
+     * @param roleUser new role, or null
+     * @param active new activity status, or null
+     * @param limit maximum number of users updated
+     * @param adminId identifier of the administrator making the change
+     * @return the updated users
+     */
+    List<UpdatedUser> updateMatching(UserListFilter filter, RoleUser roleUser, Boolean active, int limit,
+                                     UUID adminId);
+}
@@ -0,0 +1,172 @@
+package api.carpooling.repository;
+
+import api.carpooling.application.dto.admin.UserListFilter;
+import api.carpooling.domain.enumeration.RoleUser;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+
+import java.sql.Array;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * JDBC implementation of {@link UserBulkUpdateRepository}.
+ * <p>
+ * Identifiers and emails are bound as a single array parameter, so the statement text
+ * and its plan do not depend on the number of users.
+ */
+@RequiredArgsConstructor
+public class UserBulkUpdateRepositoryImpl implements UserBulkUpdateRepository {
+
+    /**
+     * Maps the {@code RETURNING} clause of the updates.
+     */
+    private static final RowMapper<UpdatedUser> UPDATED_USER = (resultSet, rowNum) ->
+            new UpdatedUser(resultSet.getObject("id", UUID.class), resultSet.getString("email"));
+
+    /**
+     * Template running the updates.
+     */
+    private final JdbcTemplate jdbcTemplate;
+
+    @Override
+    public List<UpdatedUser> updateByIds(Collection<UUID> ids, RoleUser roleUser, Boolean active, UUID adminId) {
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        List<Object> args = new ArrayList<>();
+        String sql = updateListed(args, roleUser, active, adminId)
+                .append(" AND id = ANY(?) RETURNING id, email").toString();
+        return updateWithArray(sql, args, "uuid", ids.toArray());
+    }
+
+    @Override
+    public List<UpdatedUser> updateByEmails(Collection<String> emails, RoleUser roleUser, Boolean active,
+                                            UUID adminId) {
+        if (emails.isEmpty()) {
+            return List.of();
+        }
+        List<Object> args = new ArrayList<>();
+        String sql = updateListed(args, roleUser, active, adminId)
+                .append(" AND email = ANY(?) RETURNING id, email").toString();
+        return updateWithArray(sql, args, "varchar", emails.toArray());
+    }
+
+    @Override
+    public List<UpdatedUser> updateMatching(UserListFilter filter, RoleUser roleUser, Boolean active, int limit,
+                                            UUID adminId) {
+        List<Object> args = new ArrayList<>();
+        StringBuilder sql = new StringBuilder("UPDATE users SET ");
+        appendSet(sql, args, roleUser, active);
+        sql.append(" WHERE id IN (SELECT id FROM users WHERE deleted_at IS NULL");
+        appendProtected(sql, args, adminId);
+        if (filter.roleUser() != null) {
+            sql.append(" AND role = CAST(? AS role_user)");
+            args.add(filter.roleUser().name());
+        }
+        if (filter.active() != null) {
+            sql.append(" AND is_active = ?");
+            args.add(filter.active());
+        }
+
+        // Only rows the change modifies, so that repeated calls make progress.
+        List<String> changes = new ArrayList<>();
+        if (roleUser != null) {
+            changes.add("role <> CAST(? AS role_user)");
+            args.add(roleUser.name());
+        }
+        if (active != null) {
+            changes.add("is_active <> ?");
+            args.add(active);
+        }
+        sql.append(" AND (").append(String.join(" OR ", changes)).append(')')
+                .append(" ORDER BY id LIMIT ?) RETURNING id, email");
+        args.add(limit);
+
+        return jdbcTemplate.query(sql.toString(), UPDATED_USER, args.toArray());
+    }
+
+    /**
+     * Starts an update of listed users, leaving out the deleted users and the administrators.
+     *
+     * @param args arguments of the statement, filled with those of the started statement
+     * @param roleUser new role, or null
+     * @param active new activity status, or null
+     * @param adminId identifier of the administrator making the change
+     * @return the statement, to be completed with the predicate selecting the users
+     */
+    private static StringBuilder updateListed(List<Object> args, RoleUser roleUser, Boolean active, UUID adminId) {
+        StringBuilder sql = new StringBuilder("UPDATE users SET ");
+        appendSet(sql, args, roleUser, active);
+        sql.append(" WHERE deleted_at IS NULL");
+        appendProtected(sql, args, adminId);
+        return sql;
+    }
+
+    /**
+     * Runs an update whose last placeholder is an array of keys.
+     *
+     * @param sql statement whose last placeholder is the array
+     * @param args arguments bound before the array
+     * @param arrayType SQL type of the array elements
+     * @param keys values bound to the array
+     * @return the updated users
+     */
+    private List<UpdatedUser> updateWithArray(String sql, List<Object> args, String arrayType, Object[] keys) {
+        return jdbcTemplate.query(connection -> {
+            PreparedStatement statement = connection.prepareStatement(sql);
+            try {
+                int index = 1;
+                for (Object arg : args) {
+                    statement.setObject(index++, arg);
+                }
+                Array array = connection.createArrayOf(arrayType, keys);
+                statement.setArray(index, array);
+                return statement;
+            } catch (SQLException e) {
+                statement.close();
+                throw e;
+            }
+        }, UPDATED_USER);
+    }
+
+    /**
+     * Appends the assignments of an update.
+     *
+     * @param sql statement being built
+     * @param args arguments of the statement
+     * @param roleUser new role, or null
+     * @param active new activity status, or null
+     */
+    private static void appendSet(StringBuilder sql, List<Object> args, RoleUser roleUser, Boolean active) {
+        if (roleUser != null) {
+            sql.append("role = CAST(? AS role_user), ");
+            args.add(roleUser.name());
+        }
+        if (active != null) {
+            sql.append("is_active = ?, ");
+            args.add(active);
+        }
+        sql.append("update_at = now()");
+    }
+
+    /**
+     * Appends the conditions keeping the acting administrator and every administrator
+     * out of an update.
+     *
+     * @param sql statement being built
+     * @param args arguments of the statement
+     * @param adminId identifier of the administrator making the change
+     */
+    private static void appendProtected(StringBuilder sql, List<Object> args, UUID adminId) {
+        sql.append(" AND id <> ? AND role <> CAST(? AS role_user)");
+        args.add(adminId);
+        args.add(RoleUser.ROLE_ADMIN.name());
+    }
+}
@@ -0,0 +1,53 @@
+package api.carpooling.repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Soft deletion of users and purge of their data.
+ * <p>
+ * A soft-deleted user keeps its row as an anonymized tombstone, hidden from every query,
+ * until the purge detached it from the rows that reference it.
+ */
+public interface UserDeletionRepository {
+
+    /**
+     * Marks a user as deleted and anonymizes it in a single statement.
+     * <p>
+     * The email, username and phone number are replaced by values derived from the
+     * identifier, so they can be used again right away.
+     *
+     * @param id identifier of the user
+     * @return true if the user existed and was not already deleted
+     */
+    boolean softDelete(UUID id);
+
+    /**
+     * Lists the deleted users waiting to be purged, oldest deletion first.
+     *
+     * @param deletedBefore only users deleted before this date
+     * @param limit maximum number of users
+     * @return identifiers of the users to purge
+     */
+    List<UUID> findPendingPurge(LocalDateTime deletedBefore, int limit);
+
+    /**
+     * Runs one batch of a purge step.
+     *
+     * @param step the purge step
+     * @param id identifier of the deleted user
+     * @param limit maximum number of rows touched
+     * @return the number of rows touched
+     */
+    int purgeStep(UserPurgeStep step, UUID id, int limit);
+
+    /**
+     * Deletes a purged user, or keeps its tombstone if past trips, paid reservations or
+     * wallets still reference it.
+     *
+     * @param id identifier of the deleted user
+     * @return true if the row was deleted, false if the tombstone is kept
+     */
+    boolean completePurge(UUID id);
+}
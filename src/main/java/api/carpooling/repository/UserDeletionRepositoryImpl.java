@@ -0,0 +1,67 @@
+package api.carpooling.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * JDBC implementation of {@link UserDeletionRepository}.
+ */
+@RequiredArgsConstructor
+public class UserDeletionRepositoryImpl implements UserDeletionRepository {
+
+    /**
+     * Tombstones a user; the phone number keeps within its 20 characters.
+     */
+    private static final String SOFT_DELETE = "UPDATE users SET deleted_at = now(), is_active = false,"
+            + " email = 'deleted-' || id || '@deleted.invalid', username = 'deleted-' || id,"
+            + " phone_number = '~' || left(replace(id::text, '-', ''), 19),"
+            + " password = '!', photo_user = NULL, address = NULL"
+            + " WHERE id = ? AND deleted_at IS NULL";
+
+    /**
+     * Deletes a user row nothing references any more.
+     */
+    private static final String DELETE_PURGED = "DELETE FROM users u WHERE u.id = ? AND u.deleted_at IS NOT NULL"
+            + " AND NOT EXISTS (SELECT 1 FROM trips t WHERE t.driver_id = u.id)"
+            + " AND NOT EXISTS (SELECT 1 FROM reservations r WHERE r.passenger_id = u.id)"
+            + " AND NOT EXISTS (SELECT 1 FROM wallets w WHERE w.user_id = u.id)";
+
+    /**
+     * Template running the statements.
+     */
+    private final JdbcTemplate jdbcTemplate;
+
+    @Override
+    public boolean softDelete(UUID id) {
+        return jdbcTemplate.update(SOFT_DELETE, id) > 0;
+    }
+
+    @Override
+    public List<UUID> findPendingPurge(LocalDateTime deletedBefore, int limit) {
+        return jdbcTemplate.queryForList("SELECT id FROM users WHERE deleted_at < ? AND purged_at IS NULL"
+                + " ORDER BY deleted_at LIMIT ?", UUID.class, Timestamp.valueOf(deletedBefore), limit);
+    }
+
+    @Override
+    public int purgeStep(UserPurgeStep step, UUID id, int limit) {
+        Object[] args = new Object[step.userParameters() + 1];
+        Arrays.fill(args, 0, step.userParameters(), id);
+        args[step.userParameters()] = limit;
+        return jdbcTemplate.update(step.sql(), args);
+    }
+
+    @Override
+    public boolean completePurge(UUID id) {
+        if (jdbcTemplate.update(DELETE_PURGED, id) > 0) {
+            return true;
+        }
+        jdbcTemplate.update("UPDATE users SET purged_at = now() WHERE id = ?", id);
+        return false;
+    }
+}
@@ -0,0 +1,13 @@
+package api.carpooling.repository;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Position of a user in the listing ordered by creation date then id.
+ *
+ * @param createdAt creation date of the user
+ * @param id        identifier of the user, breaking ties between equal dates
+ */
+public record UserKeyset(LocalDateTime createdAt, UUID id) {
+}
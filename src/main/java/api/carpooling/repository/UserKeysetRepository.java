@@ -0,0 +1,41 @@
+package api.carpooling.repository;
+
+import api.carpooling.application.dto.admin.UserListFilter;
+import api.carpooling.domain.User;
+
+import java.util.List;
+
+/**
+ * Keyset (seek) pagination over users, ordered by creation date then id, newest first.
+ * <p>
+ * Each page starts right after the last row of the previous one through the
+ * {@code (created_at, id)} index, so its cost does not depend on its depth.
+ */
+public interface UserKeysetRepository {
+
+    /**
+     * Returns the users following a position.
+     *
+     * @param filter filters on role and activity
+     * @param after position of the last user of the previous page, or null for the first page
+     * @param limit maximum number of users returned
+     * @return the users, newest first
+     */
+    List<User> findPage(UserListFilter filter, UserKeyset after, int limit);
+
+    /**
+     * Counts the users matching a filter.
+     *
+     * @param filter filters on role and activity
+     * @return the exact number of users
+     */
+    long countMatching(UserListFilter filter);
+
+    /**
+     * Estimates the number of users matching a filter from the planner statistics.
+     *
+     * @param filter filters on role and activity
+     * @return the estimated number of users
+     */
+    long estimateMatching(UserListFilter filter);
+}
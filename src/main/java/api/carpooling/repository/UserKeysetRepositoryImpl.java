@@ -0,0 +1,113 @@
+package api.carpooling.repository;
+
+import api.carpooling.application.dto.admin.UserListFilter;
+import api.carpooling.domain.User;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Query;
+import jakarta.persistence.TypedQuery;
+
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * JPQL implementation of {@link UserKeysetRepository}.
+ * <p>
+ * The seek predicate is a row-value comparison, which PostgreSQL resolves as a
+ * single range scan on {@code idx_users_created_at_id}.
+ */
+public class UserKeysetRepositoryImpl implements UserKeysetRepository {
+
+    /**
+     * Number of rows the planner expects for the filtered query, in an {@code EXPLAIN} plan.
+     */
+    private static final Pattern PLAN_ROWS = Pattern.compile("\"Plan Rows\":\\s*(\\d+)");
+
+    /**
+     * Entity manager running the queries.
+     */
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<User> findPage(UserListFilter filter, UserKeyset after, int limit) {
+        StringBuilder jpql = new StringBuilder("SELECT u FROM User u WHERE 1 = 1");
+        appendFilter(jpql, filter);
+        if (after != null) {
+            jpql.append(" AND (u.createdAt, u.id) < (:createdAt, :id)");
+        }
+        jpql.append(" ORDER BY u.createdAt DESC, u.id DESC");
+
+        TypedQuery<User> query = entityManager.createQuery(jpql.toString(), User.class);
+        bindFilter(query, filter);
+        if (after != null) {
+            query.setParameter("createdAt", after.createdAt());
+            query.setParameter("id", after.id());
+        }
+        return query.setMaxResults(limit).getResultList();
+    }
+
+    @Override
+    public long countMatching(UserListFilter filter) {
+        StringBuilder jpql = new StringBuilder("SELECT count(u) FROM User u WHERE 1 = 1");
+        appendFilter(jpql, filter);
+        TypedQuery<Long> query = entityManager.createQuery(jpql.toString(), Long.class);
+        bindFilter(query, filter);
+        return query.getSingleResult();
+    }
+
+    @Override
+    public long estimateMatching(UserListFilter filter) {
+        if (!filter.isFiltered()) {
+            Number reltuples = (Number) entityManager
+                    .createNativeQuery("SELECT reltuples FROM pg_class WHERE oid = 'users'::regclass")
+                    .getSingleResult();
+            // -1 until the table has been analyzed once
+            return reltuples.longValue() >= 0 ? reltuples.longValue() : countMatching(filter);
+        }
+
+        // Values are an enum name and a boolean, so inlining them is safe.
+        StringBuilder sql = new StringBuilder("EXPLAIN (FORMAT JSON) SELECT 1 FROM users WHERE deleted_at IS NULL");
+        if (filter.roleUser() != null) {
+            sql.append(" AND role = '").append(filter.roleUser().name()).append('\'');
+        }
+        if (filter.active() != null) {
+            sql.append(" AND is_active = ").append(filter.active());
+        }
+        Object plan = entityManager.createNativeQuery(sql.toString()).getSingleResult();
+        Matcher matcher = PLAN_ROWS.matcher(String.valueOf(plan));
+        return matcher.find() ? Long.parseLong(matcher.group(1)) : countMatching(filter);
+    }
+
+    /**
+     * Appends the filter predicates to a JPQL query.
+     *
+     * @param jpql the query being built
+     * @param filter filters on role and activity
+     */
+    private static void appendFilter(StringBuilder jpql, UserListFilter filter) {
+        if (filter.roleUser() != null) {
+            jpql.append(" AND u.roleUser = :roleUser");
+        }
+        if (filter.active() != null) {
+            jpql.append(" AND u.isActive = :active");
+        }
+    }
+
+    /**
+     * Binds the filter parameters of a query built by {@link #appendFilter}.
+     *
+     * @param query the query
+     * @param filter filters on role and activity
+     */
+    private static void bindFilter(Query query, UserListFilter filter) {
+        if (filter.roleUser() != null) {
+            query.setParameter("roleUser", filter.roleUser());
+        }
+        if (filter.active() != null) {
+            query.setParameter("active", filter.active());
+        }
+    }
+}
@@ -0,0 +1,128 @@
+package api.carpooling.repository;
+
+/**
+ * Steps detaching a soft-deleted user from the rows that reference it.
+ * <p>
+ * Every foreign key to {@code users} is {@code ON DELETE RESTRICT}, so the rows of a
+ * deleted user are removed or anonymized before the user row itself. Each step touches
+ * at most a given number of rows, selected by primary key, and is meant to be repeated
+ * in short transactions until it returns fewer rows than requested. Past trips,
+ * reservations with payments and funded wallets are kept, and so is the anonymized user
+ * row they reference.
+ */
+public enum UserPurgeStep {
+
+    /**
+     * Refresh token sessions.
+     */
+    SESSIONS("DELETE FROM user_refresh_tokens WHERE id IN "
+            + "(SELECT id FROM user_refresh_tokens WHERE user_id = ? LIMIT ?)", 1),
+
+    /**
+     * Legacy refresh tokens.
+     */
+    LEGACY_TOKENS("DELETE FROM refresh_tokens WHERE id IN "
+            + "(SELECT id FROM refresh_tokens WHERE user_id = ? LIMIT ?)", 1),
+
+    /**
+     * Messages sent or received.
+     */
+    MESSAGES("DELETE FROM messages WHERE id IN "
+            + "(SELECT id FROM messages WHERE sender_id = ? UNION ALL "
+            + "SELECT id FROM messages WHERE receiver_id = ? LIMIT ?)", 2),
+
+    /**
+     * Ratings given or received.
+     */
+    RATINGS("DELETE FROM ratings WHERE id IN "
+            + "(SELECT id FROM ratings WHERE rater_id = ? UNION ALL "
+            + "SELECT id FROM ratings WHERE rater_user_id = ? LIMIT ?)", 2),
+
+    /**
+     * Cars.
+     */
+    CARS("DELETE FROM cars WHERE id IN (SELECT id FROM cars WHERE user_id = ? LIMIT ?)", 1),
+
+    /**
+     * Upcoming trips nobody paid for; their reservations and ratings cascade.
+     */
+    UPCOMING_TRIPS("DELETE FROM trips WHERE id IN "
+            + "(SELECT t.id FROM trips t WHERE t.driver_id = ? AND t.departure_time > now() "
+            + "AND NOT EXISTS (SELECT 1 FROM reservations r "
+            + "JOIN wallet_transactions wt ON wt.reservation_id = r.id WHERE r.trip_id = t.id) LIMIT ?)", 1),
+
+    /**
+     * Unpaid reservations on upcoming trips.
+     */
+    UPCOMING_RESERVATIONS("DELETE FROM reservations WHERE id IN "
+            + "(SELECT r.id FROM reservations r JOIN trips t ON t.id = r.trip_id "
+            + "WHERE r.passenger_id = ? AND t.departure_time > now() "
+            + "AND NOT EXISTS (SELECT 1 FROM wallet_transactions wt WHERE wt.reservation_id = r.id) LIMIT ?)", 1),
+
+    /**
+     * Paid reservations on upcoming trips, canceled rather than deleted.
+     */
+    PAID_RESERVATIONS("UPDATE reservations SET status_reservation = 'CANCELED', updated_at = now() WHERE id IN "
+            + "(SELECT r.id FROM reservations r JOIN trips t ON t.id = r.trip_id "
+            + "WHERE r.passenger_id = ? AND t.departure_time > now() "
+            + "AND r.status_reservation <> 'CANCELED' LIMIT ?)", 1),
+
+    /**
+     * Reservation status changes made by the user.
+     */
+    RESERVATION_HISTORY("UPDATE reservation_status_history SET changed_by = NULL WHERE id IN "
+            + "(SELECT id FROM reservation_status_history WHERE changed_by = ? LIMIT ?)", 1),
+
+    /**
+     * Wallet transaction status changes made by the user.
+     */
+    WALLET_TX_HISTORY("UPDATE wallet_tx_status_history SET changed_by = NULL WHERE id IN "
+            + "(SELECT id FROM wallet_tx_status_history WHERE changed_by = ? LIMIT ?)", 1),
+
+    /**
+     * Empty wallets without any transaction.
+     */
+    EMPTY_WALLETS("DELETE FROM wallets WHERE id IN "
+            + "(SELECT w.id FROM wallets w WHERE w.user_id = ? AND w.balance = 0 "
+            + "AND NOT EXISTS (SELECT 1 FROM wallet_transactions wt WHERE wt.wallet_id = w.id) LIMIT ?)", 1);
+
+    /**
+     * Statement of the step, with the user identifier repeated {@link #userParameters}
+     * times followed by the row limit.
+     */
+    private final String sql;
+
+    /**
+     * Number of user identifier placeholders in the statement.
+     */
+    private final int userParameters;
+
+    /**
+     * Declares a step.
+     *
+     * @param sql statement of the step
+     * @param userParameters number of user identifier placeholders
+     */
+    UserPurgeStep(String sql, int userParameters) {
+        this.sql = sql;
+        this.userParameters = userParameters;
+    }
+
+    /**
+     * Returns the statement of the step.
+     *
+     * @return the statement
+     */
+    String sql() {
+        return sql;
+    }
+
+    /**
+     * Returns the number of user identifier placeholders in the statement.
+     *
+     * @return the number of placeholders
+     */
+    int userParameters() {
+        return userParameters;
+    }
+}
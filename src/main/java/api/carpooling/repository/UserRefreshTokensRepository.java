@@ -0,0 +1,156 @@
+package api.carpooling.repository;
+
+import api.carpooling.domain.UserRefreshTokens;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Repository interface for managing refresh token sessions.
+ * <p>
+ * Tokens are always looked up by their SHA-256 digest through the unique index on
+ * {@code user_refresh_tokens.token}, so a lookup or a rotation costs a single round trip.
+ */
+@Repository
+public interface UserRefreshTokensRepository extends JpaRepository<UserRefreshTokens, UUID> {
+
+    /**
+     * Find a session by the digest of its refresh token, fetching its owner in the same query.
+     *
+     * @param tokenHash SHA-256 digest of the refresh token
+     * @return an Optional containing the session if found
+     */
+    @Query("SELECT s FROM UserRefreshTokens s JOIN FETCH s.user WHERE s.tokenHash = :tokenHash")
+    Optional<UserRefreshTokens> findByTokenHashWithUser(@Param("tokenHash") String tokenHash);
+
+    /**
+     * Creates the session of a device, or replaces its token if the device already has one.
+     *
+     * @param userId owner of the session
+     * @param deviceId device identifier
+     * @param tokenHash SHA-256 digest of the new refresh token
+     * @param expiresAt expiration of the new refresh token
+     * @return number of affected rows
+     */
+    @Modifying
+    @Query(value = """
+            INSERT INTO user_refresh_tokens (user_id, device_id, token, created_at, expires_at, revoked)
+            VALUES (:userId, :deviceId, :tokenHash, current_timestamp, :expiresAt, false)
+            ON CONFLICT (user_id, device_id) DO UPDATE
+               SET token = EXCLUDED.token,
+                   created_at = EXCLUDED.created_at,
+                   expires_at = EXCLUDED.expires_at,
+                   last_used_at = NULL,
+                   revoked = false
+            """, nativeQuery = true)
+    int upsertSession(@Param("userId") UUID userId,
+                      @Param("deviceId") String deviceId,
+                      @Param("tokenHash") String tokenHash,
+                      @Param("expiresAt") LocalDateTime expiresAt);
+
+    /**
+     * Replaces the token of a session only if it still holds the presented token.
+     * <p>
+     * Two concurrent refreshes with the same token cannot both succeed: the second
+     * one no longer matches {@code oldHash} and updates nothing.
+     *
+     * @param id session identifier
+     * @param oldHash digest of the presented refresh token
+     * @param newHash digest of the new refresh token
+     * @param expiresAt expiration of the new refresh token
+     * @return 1 if the token was rotated, 0 otherwise
+     */
+    @Modifying
+    @Query("""
+            UPDATE UserRefreshTokens s
+               SET s.tokenHash = :newHash, s.expiresAt = :expiresAt, s.lastUsedAt = LOCAL DATETIME
+             WHERE s.id = :id AND s.tokenHash = :oldHash AND s.revoked = false
+            """)
+    int rotate(@Param("id") UUID id,
+               @Param("oldHash") String oldHash,
+               @Param("newHash") String newHash,
+               @Param("expiresAt") LocalDateTime expiresAt);
+
+    /**
+     * Revokes one session of a user.
+     *
+     * @param id session identifier
+     * @param userId owner of the session
+     * @return number of revoked sessions
+     */
+    @Modifying
+    @Query("UPDATE UserRefreshTokens s SET s.revoked = true WHERE s.id = :id AND s.user.id = :userId")
+    int revokeSession(@Param("id") UUID id, @Param("userId") UUID userId);
+
+    /**
+     * Revokes every session of a user.
+     *
+     * @param userId owner of the sessions
+     * @return number of revoked sessions
+     */
+    @Modifying
+    @Query("UPDATE UserRefreshTokens s SET s.revoked = true WHERE s.user.id = :userId AND s.revoked = false")
+    int revokeAllByUserId(@Param("userId") UUID userId);
+
+    /**
+     * Revokes every active session of several users.
+     *
+     * @param userIds owners of the sessions
+     * @return number of revoked sessions
+     */
+    @Modifying
+    @Query("UPDATE UserRefreshTokens s SET s.revoked = true WHERE s.user.id IN :userIds AND s.revoked = false")
+    int revokeAllByUserIdIn(@Param("userIds") Collection<UUID> userIds);
+
+    /**
+     * Deletes every session of a user, before the user itself is deleted.
+     *
+     * @param userId owner of the sessions
+     * @return number of deleted sessions
+     */
+    @Modifying
+    @Query("DELETE FROM UserRefreshTokens s WHERE s.user.id = :userId")
+    int deleteAllByUserId(@Param("userId") UUID userId);
+
+    /**
+     * Lists the sessions of a user that can still be used, most recent first.
+     *
+     * @param userId owner of the sessions
+     * @param now current timestamp
+     * @return active sessions of the user
+     */
+    @Query("""
+            SELECT s FROM UserRefreshTokens s
+             WHERE s.user.id = :userId AND s.revoked = false AND s.expiresAt > :now
+             ORDER BY s.createdAt DESC
+            """)
+    List<UserRefreshTokens> findActiveByUserId(@Param("userId") UUID userId, @Param("now") LocalDateTime now);
+
+    /**
+     * Deletes one batch of expired or revoked sessions.
+     * <p>
+     * The batch is bounded so that each call holds its locks for a short time only.
+     *
+     * @param now current timestamp
+     * @param batchSize maximum number of rows deleted
+     * @return number of deleted rows
+     */
+    @Transactional
+    @Modifying
+    @Query(value = """
+            DELETE FROM user_refresh_tokens
+             WHERE id IN (SELECT id FROM user_refresh_tokens
+                           WHERE expires_at < :now OR revoked
+                           LIMIT :batchSize)
+            """, nativeQuery = true)
+    int deleteExpiredBatch(@Param("now") LocalDateTime now, @Param("batchSize") int batchSize);
+}
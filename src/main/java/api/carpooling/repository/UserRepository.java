@@ -1,20 +1,28 @@
 package api.carpooling.repository;
 
 import api.carpooling.domain.User;
-import io.lettuce.core.dynamic.annotation.Param;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
 import java.util.Optional;
 import java.util.UUID;
 
 /**
  * Repository interface for managing User entities.
- * Provides methods to query users by email, username, tokens, and refresh tokens.
+ * Provides methods to query users by email, phone number and username,
+ * keyset pagination through {@link UserKeysetRepository}, set-based updates
+ * through {@link UserBulkUpdateRepository}, fuzzy search through {@link UserSearchRepository}
+ * and soft deletion through {@link UserDeletionRepository}.
+ * <p>
+ * Soft-deleted users are invisible to every method of this repository.
  */
 @Repository
-public interface UserRepository extends JpaRepository<User, UUID> {
+public interface UserRepository extends JpaRepository<User, UUID>, UserKeysetRepository,
+        UserBulkUpdateRepository, UserSearchRepository, UserDeletionRepository {
 
     /**
      * Find a user by their email.
@@ -57,27 +65,13 @@ public interface UserRepository extends JpaRepository<User, UUID> {
     boolean existsByUsername(String username);
 
     /**
-     * Find a user by their authentication token.
+     * Records the last login of a user in a single UPDATE, without loading the entity.
      *
-     * @param token the authentication token
-     * @return an Optional containing the user if found
-     */
-    @Query("SELECT u FROM User u WHERE u.token = :token")
-    Optional<User> findByToken(@Param("token") String token);
-
-    /**
-     * Find a user by their refresh token.
-     *
-     * @param refreshToken the refresh token
-     * @return an Optional containing the user if found
-     */
-    Optional<User> findByRefreshToken(String refreshToken);
-
-    /**
-     * Check if a refresh token exists in the database.
-     *
-     * @param refreshToken the refresh token
-     * @return true if the refresh token exists
+     * @param id the user's identifier
+     * @param lastLogin date and time of the login
+     * @return the number of updated users
      */
-    boolean existsByRefreshToken(String refreshToken);
+    @Modifying
+    @Query("UPDATE User u SET u.lastLogin = :lastLogin, u.updatedAt = :lastLogin WHERE u.id = :id")
+    int updateLastLogin(@Param("id") UUID id, @Param("lastLogin") LocalDateTime lastLogin);
 }
@@ -0,0 +1,36 @@
+package api.carpooling.repository;
+
+import api.carpooling.application.dto.admin.UserSearchResult;
+
+import java.util.List;
+
+/**
+ * Trigram search over the username, email and phone number of users.
+ * <p>
+ * Every predicate is served by the {@code pg_trgm} GIN indexes of the three columns.
+ * Terms are expected trimmed and lower-cased.
+ */
+public interface UserSearchRepository {
+
+    /**
+     * Returns the users containing a term, or close to it, following a position.
+     * <p>
+     * A user matches when one of the columns contains the term, or when its username
+     * or email is similar to it, which tolerates typos.
+     *
+     * @param term the searched term
+     * @param after position of the last user of the previous page, or null for the first page
+     * @param limit maximum number of users returned
+     * @return the users, newest first
+     */
+    List<UserSearchResult> search(String term, UserKeyset after, int limit);
+
+    /**
+     * Returns the users whose username, email or phone number starts with a prefix.
+     *
+     * @param prefix the typed prefix
+     * @param limit maximum number of users returned
+     * @return the users, by username
+     */
+    List<UserSearchResult> autocomplete(String prefix, int limit);
+}
@@ -0,0 +1,84 @@
+package api.carpooling.repository;
+
+import api.carpooling.application.dto.admin.UserSearchResult;
+import api.carpooling.domain.enumeration.RoleUser;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * JDBC implementation of {@link UserSearchRepository}.
+ * <p>
+ * Queries only read the projected columns, and the {@code LIKE} patterns escape the
+ * wildcards typed by the admin.
+ */
+@RequiredArgsConstructor
+public class UserSearchRepositoryImpl implements UserSearchRepository {
+
+    /**
+     * Columns read by the search queries.
+     */
+    private static final String SELECT = "SELECT id, username, email, phone_number, role, is_active, created_at"
+            + " FROM users";
+
+    /**
+     * Maps a row to a search result.
+     */
+    private static final RowMapper<UserSearchResult> RESULT = (resultSet, rowNum) -> new UserSearchResult(
+            resultSet.getObject("id", UUID.class),
+            resultSet.getString("username"),
+            resultSet.getString("email"),
+            resultSet.getString("phone_number"),
+            RoleUser.valueOf(resultSet.getString("role")),
+            resultSet.getBoolean("is_active"),
+            resultSet.getObject("created_at", Timestamp.class).toLocalDateTime());
+
+    /**
+     * Template running the queries.
+     */
+    private final JdbcTemplate jdbcTemplate;
+
+    @Override
+    public List<UserSearchResult> search(String term, UserKeyset after, int limit) {
+        String contains = "%" + escapeLike(term) + "%";
+        List<Object> args = new ArrayList<>(List.of(contains, contains, contains, term, term));
+        StringBuilder sql = new StringBuilder(SELECT)
+                .append(" WHERE deleted_at IS NULL")
+                .append(" AND (lower(username) LIKE ? OR lower(email) LIKE ? OR phone_number LIKE ?")
+                .append(" OR lower(username) % ? OR lower(email) % ?)");
+        if (after != null) {
+            sql.append(" AND (created_at, id) < (?, ?)");
+            args.add(Timestamp.valueOf(after.createdAt()));
+            args.add(after.id());
+        }
+        sql.append(" ORDER BY created_at DESC, id DESC LIMIT ?");
+        args.add(limit);
+        return jdbcTemplate.query(sql.toString(), RESULT, args.toArray());
+    }
+
+    @Override
+    public List<UserSearchResult> autocomplete(String prefix, int limit) {
+        String startsWith = escapeLike(prefix) + "%";
+        return jdbcTemplate.query(SELECT
+                        + " WHERE deleted_at IS NULL"
+                        + " AND (lower(username) LIKE ? OR lower(email) LIKE ? OR phone_number LIKE ?)"
+                        + " ORDER BY username LIMIT ?",
+                RESULT, startsWith, startsWith, startsWith, limit);
+    }
+
+    /**
+     * Escapes the {@code LIKE} wildcards of a term, with the default backslash escape.
+     *
+     * @param term the term
+     * @return the term matching itself literally
+     */
+    static String escapeLike(String term) {
+        return term.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+    }
+}
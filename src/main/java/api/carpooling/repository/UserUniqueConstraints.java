@@ -0,0 +1,45 @@
+package api.carpooling.repository;
+
+import org.hibernate.exception.ConstraintViolationException;
+import org.springframework.dao.DataIntegrityViolationException;
+
+import java.util.Map;
+
+/**
+ * Unique constraints of the users table, and the fields they protect.
+ */
+public final class UserUniqueConstraints {
+
+    /**
+     * Field reported for each unique constraint of the users table.
+     */
+    private static final Map<String, String> FIELDS = Map.of(
+            "users_email_key", "email",
+            "users_username_key", "username",
+            "users_phone_number_key", "phone number");
+
+    /**
+     * Field reported when the violated constraint cannot be identified.
+     */
+    private static final String ANY_UNIQUE_FIELD = "email, username or phone number";
+
+    /**
+     * Utility class, not instantiable.
+     */
+    private UserUniqueConstraints() { }
+
+    /**
+     * Finds which unique field of the users table a failed write collided with.
+     *
+     * @param e the integrity violation raised by the write
+     * @return the duplicated field, or a generic label when the constraint is unknown
+     */
+    public static String duplicateField(DataIntegrityViolationException e) {
+        for (Throwable cause = e; cause != null; cause = cause.getCause()) {
+            if (cause instanceof ConstraintViolationException violation && violation.getConstraintName() != null) {
+                return FIELDS.getOrDefault(violation.getConstraintName(), ANY_UNIQUE_FIELD);
+            }
+        }
+        return ANY_UNIQUE_FIELD;
+    }
+}
@@ -0,0 +1,134 @@
+package api.carpooling.repository.routing;
+
+import api.carpooling.configuration.DataSourceRoutingProperties;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.Getter;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Connection pools of the primary database and of its read replicas.
+ * <p>
+ * The pools are owned by the cluster and closed with it. They are not exposed as beans:
+ * the application only sees {@link #routingDataSource(ReadYourWritesTracker)}, so that
+ * statements are instrumented once, on the way in.
+ */
+public class DataSourceCluster implements AutoCloseable {
+
+    /**
+     * Pool name of the primary.
+     */
+    private static final String PRIMARY_POOL = "primary";
+
+    /**
+     * Connections to the primary.
+     */
+    @Getter
+    private final DataSource primary;
+
+    /**
+     * The read replicas.
+     */
+    @Getter
+    private final List<ReplicaNode> replicas = new ArrayList<>();
+
+    /**
+     * Every pool opened by the cluster.
+     */
+    private final List<HikariDataSource> pools = new ArrayList<>();
+
+    /**
+     * Routing configuration.
+     */
+    private final DataSourceRoutingProperties properties;
+
+    /**
+     * Registry receiving the pool and routing metrics.
+     */
+    private final MeterRegistry meterRegistry;
+
+    /**
+     * Opens the pools of the primary and of every configured replica.
+     *
+     * @param primaryProperties connection settings of the primary
+     * @param properties routing configuration, listing the replicas
+     * @param meterRegistry registry receiving the pool and routing metrics
+     */
+    public DataSourceCluster(DataSourceProperties primaryProperties,
+                             DataSourceRoutingProperties properties,
+                             MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.meterRegistry = meterRegistry;
+
+        HikariDataSource primaryPool = primaryProperties.initializeDataSourceBuilder()
+                .type(HikariDataSource.class)
+                .build();
+        this.primary = register(primaryPool, PRIMARY_POOL);
+
+        List<DataSourceRoutingProperties.Replica> configured = properties.getReplicas();
+        for (int i = 0; i < configured.size(); i++) {
+            DataSourceRoutingProperties.Replica replica = configured.get(i);
+            String name = "replica-" + (i + 1);
+            HikariDataSource pool = new HikariDataSource();
+            pool.setJdbcUrl(replica.getUrl());
+            pool.setUsername(replica.getUsername());
+            pool.setPassword(replica.getPassword());
+            pool.setMaximumPoolSize(replica.getMaximumPoolSize());
+            pool.setReadOnly(true);
+            replicas.add(new ReplicaNode(name, register(pool, name)));
+        }
+    }
+
+    /**
+     * Names a pool, publishes its metrics and takes ownership of it.
+     *
+     * @param pool the pool
+     * @param name name of the pool
+     * @return the pool
+     */
+    private HikariDataSource register(HikariDataSource pool, String name) {
+        pool.setPoolName(name);
+        pool.setMetricsTrackerFactory(new MicrometerMetricsTrackerFactory(meterRegistry));
+        pools.add(pool);
+        return pool;
+    }
+
+    /**
+     * Builds the data source used by the application.
+     * <p>
+     * Physical connections are only fetched when the first statement runs, once the
+     * transaction has declared whether it is read-only. Read-only connections go through
+     * {@link ReplicaRoutingDataSource}; every other connection goes to the primary.
+     *
+     * @param tracker tracker of the users who have just written
+     * @return the routing data source
+     */
+    public DataSource routingDataSource(ReadYourWritesTracker tracker) {
+        ReplicaRoutingDataSource readOnly = new ReplicaRoutingDataSource(
+                primary, replicas, tracker, properties.getMaxLag(), meterRegistry);
+        readOnly.afterPropertiesSet();
+
+        LazyConnectionDataSourceProxy proxy =
+                new LazyConnectionDataSourceProxy(new WriteTrackingDataSource(primary, tracker));
+        proxy.setReadOnlyDataSource(readOnly);
+        proxy.setDefaultAutoCommit(true);
+        proxy.setDefaultTransactionIsolation(Connection.TRANSACTION_READ_COMMITTED);
+        return proxy;
+    }
+
+    /**
+     * Closes every pool of the cluster.
+     */
+    @Override
+    public void close() {
+        pools.forEach(HikariDataSource::close);
+    }
+}
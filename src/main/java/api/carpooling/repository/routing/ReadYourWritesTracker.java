@@ -0,0 +1,70 @@
+package api.carpooling.repository.routing;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.time.Duration;
+import java.util.UUID;
+
+/**
+ * Remembers which users have recently written to the primary.
+ * <p>
+ * Until the window elapses, the read-only transactions of such a user are kept on the
+ * primary, so that a user always reads its own writes even if the replicas lag behind.
+ * The tracking is local to the instance: the window is meant to cover the replication
+ * lag, not the time it takes for a client to hit another instance.
+ */
+public class ReadYourWritesTracker {
+
+    /**
+     * Users with a recent write; entries expire with the window.
+     */
+    private final Cache<UUID, Boolean> recentWriters;
+
+    /**
+     * Builds a tracker.
+     *
+     * @param window time during which a writer stays on the primary
+     * @param maxUsers maximum number of users tracked at once
+     */
+    public ReadYourWritesTracker(Duration window, long maxUsers) {
+        this.recentWriters = Caffeine.newBuilder()
+                .expireAfterWrite(window)
+                .maximumSize(maxUsers)
+                .build();
+    }
+
+    /**
+     * Returns the user authenticated on the current thread.
+     *
+     * @return the user id, or null for anonymous and background work
+     */
+    public static UUID currentUser() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication != null && authentication.getPrincipal() instanceof UUID userId) {
+            return userId;
+        }
+        return null;
+    }
+
+    /**
+     * Records that a user has just committed a write.
+     *
+     * @param userId the writer
+     */
+    public void recordWrite(UUID userId) {
+        recentWriters.put(userId, Boolean.TRUE);
+    }
+
+    /**
+     * Tells whether a user has written within the window.
+     *
+     * @param userId the user
+     * @return true if the reads of the user must stay on the primary
+     */
+    public boolean hasRecentWrite(UUID userId) {
+        return recentWriters.getIfPresent(userId) != null;
+    }
+}
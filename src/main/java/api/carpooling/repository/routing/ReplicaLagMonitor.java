@@ -0,0 +1,92 @@
+package api.carpooling.repository.routing;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Periodically measures the replication lag of every replica.
+ * <p>
+ * A replica that has replayed everything it received has no lag, even if the primary
+ * has been idle for a while; otherwise the lag is the age of the last replayed
+ * transaction. A database that is not in recovery is not a standby, e.g. a promoted
+ * replica or a URL pointing at the primary, and is marked unavailable like a replica
+ * that cannot be reached, until the next check.
+ */
+@Slf4j
+public class ReplicaLagMonitor {
+
+    /**
+     * Whether the database is a standby, and its replication lag in milliseconds or -1
+     * before its first replay.
+     */
+    private static final String LAG_SQL = """
+            SELECT pg_is_in_recovery(),
+                   CAST(CASE
+                            WHEN pg_last_wal_receive_lsn() = pg_last_wal_replay_lsn() THEN 0
+                            ELSE COALESCE(EXTRACT(EPOCH FROM now() - pg_last_xact_replay_timestamp()) * 1000, -1)
+                        END AS bigint)
+            """;
+
+    /**
+     * Replicas whose lag is measured.
+     */
+    private final List<ReplicaNode> replicas;
+
+    /**
+     * Builds the monitor and publishes the lag of each replica as {@code db.replica.lag}.
+     *
+     * @param replicas replicas whose lag is measured
+     * @param meterRegistry registry receiving the lag gauges
+     */
+    public ReplicaLagMonitor(List<ReplicaNode> replicas, MeterRegistry meterRegistry) {
+        this.replicas = List.copyOf(replicas);
+        for (ReplicaNode replica : this.replicas) {
+            Gauge.builder("db.replica.lag", replica, ReplicaNode::lagSeconds)
+                    .tag("replica", replica.getName())
+                    .baseUnit("seconds")
+                    .register(meterRegistry);
+        }
+    }
+
+    /**
+     * Measures the lag of every replica.
+     */
+    @Scheduled(fixedDelayString = "${datasource-routing.lag-check-interval-ms:1000}")
+    public void checkLag() {
+        replicas.forEach(this::check);
+    }
+
+    /**
+     * Measures the lag of one replica.
+     *
+     * @param replica the replica
+     */
+    void check(ReplicaNode replica) {
+        try (Connection connection = replica.getDataSource().getConnection();
+             Statement statement = connection.createStatement();
+             ResultSet resultSet = statement.executeQuery(LAG_SQL)) {
+            resultSet.next();
+            long lagMillis = resultSet.getLong(2);
+            if (!resultSet.getBoolean(1)) {
+                replica.markUnavailable();
+                log.warn("[REPLICA LAG] Replica {} is not a standby", replica.getName());
+            } else if (lagMillis < 0) {
+                replica.markUnavailable();
+            } else {
+                replica.updateLag(Duration.ofMillis(lagMillis));
+            }
+        } catch (SQLException e) {
+            replica.markUnavailable();
+            log.warn("[REPLICA LAG] Replica {} unreachable: {}", replica.getName(), e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,85 @@
+package api.carpooling.repository.routing;
+
+import lombok.Getter;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+
+/**
+ * One read replica, together with the last replication lag measured on it.
+ * <p>
+ * A replica whose lag has never been measured, or could not be measured, is
+ * considered unavailable and receives no reads.
+ */
+public class ReplicaNode {
+
+    /**
+     * Lag value meaning that the replica is unavailable.
+     */
+    private static final long UNKNOWN = -1L;
+
+    /**
+     * Name of the replica, used in metrics and logs.
+     */
+    @Getter
+    private final String name;
+
+    /**
+     * Connections to the replica.
+     */
+    @Getter
+    private final DataSource dataSource;
+
+    /**
+     * Last measured replication lag in milliseconds, or {@link #UNKNOWN}.
+     */
+    private volatile long lagMillis = UNKNOWN;
+
+    /**
+     * Builds a replica whose lag is not yet known.
+     *
+     * @param name name of the replica
+     * @param dataSource connections to the replica
+     */
+    public ReplicaNode(String name, DataSource dataSource) {
+        this.name = name;
+        this.dataSource = dataSource;
+    }
+
+    /**
+     * Records the replication lag just measured.
+     *
+     * @param lag the replication lag
+     */
+    public void updateLag(Duration lag) {
+        lagMillis = Math.max(lag.toMillis(), 0L);
+    }
+
+    /**
+     * Marks the replica as unavailable until its lag is measured again.
+     */
+    public void markUnavailable() {
+        lagMillis = UNKNOWN;
+    }
+
+    /**
+     * Tells whether the replica is available and close enough to the primary.
+     *
+     * @param maxLag the maximum accepted lag
+     * @return true if the replica may serve reads
+     */
+    public boolean isWithin(Duration maxLag) {
+        long lag = lagMillis;
+        return lag != UNKNOWN && lag <= maxLag.toMillis();
+    }
+
+    /**
+     * Returns the last measured lag, for the metrics.
+     *
+     * @return the lag in seconds, or NaN if the replica is unavailable
+     */
+    public double lagSeconds() {
+        long lag = lagMillis;
+        return lag == UNKNOWN ? Double.NaN : lag / 1000.0;
+    }
+}
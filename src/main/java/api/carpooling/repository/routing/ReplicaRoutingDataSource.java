@@ -0,0 +1,137 @@
+package api.carpooling.repository.routing;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Data source serving the read-only transactions.
+ * <p>
+ * Each connection goes to the next replica, in round-robin order, whose replication lag
+ * is within the limit. The primary is used instead when no replica qualifies, and for
+ * the users who have just written, so that they read their own writes. Every decision
+ * is counted in {@code db.routing.reads}.
+ */
+public class ReplicaRoutingDataSource extends AbstractRoutingDataSource {
+
+    /**
+     * Lookup key of the primary.
+     */
+    public static final String PRIMARY = "primary";
+
+    /**
+     * Name of the routing counter.
+     */
+    private static final String METRIC_NAME = "db.routing.reads";
+
+    /**
+     * Replicas eligible for reads.
+     */
+    private final List<ReplicaNode> replicas;
+
+    /**
+     * Tracker of the users who have just written.
+     */
+    private final ReadYourWritesTracker tracker;
+
+    /**
+     * Replication lag above which a replica is skipped.
+     */
+    private final Duration maxLag;
+
+    /**
+     * Position of the round-robin.
+     */
+    private final AtomicInteger next = new AtomicInteger();
+
+    /**
+     * Reads served by each replica, indexed by replica name.
+     */
+    private final Map<String, Counter> replicaReads = new HashMap<>();
+
+    /**
+     * Reads kept on the primary for read-your-writes.
+     */
+    private final Counter stickyReads;
+
+    /**
+     * Reads sent to the primary because no replica was available.
+     */
+    private final Counter fallbackReads;
+
+    /**
+     * Builds the routing data source; {@link #afterPropertiesSet()} must be called before use.
+     *
+     * @param primary the primary data source
+     * @param replicas the replicas
+     * @param tracker tracker of the users who have just written
+     * @param maxLag replication lag above which a replica is skipped
+     * @param meterRegistry registry receiving the routing metrics
+     */
+    public ReplicaRoutingDataSource(DataSource primary,
+                                    List<ReplicaNode> replicas,
+                                    ReadYourWritesTracker tracker,
+                                    Duration maxLag,
+                                    MeterRegistry meterRegistry) {
+        this.replicas = List.copyOf(replicas);
+        this.tracker = tracker;
+        this.maxLag = maxLag;
+
+        Map<Object, Object> targets = new HashMap<>();
+        targets.put(PRIMARY, primary);
+        for (ReplicaNode replica : this.replicas) {
+            targets.put(replica.getName(), replica.getDataSource());
+            replicaReads.put(replica.getName(), counter(meterRegistry, replica.getName(), "replica"));
+        }
+        setTargetDataSources(targets);
+        setDefaultTargetDataSource(primary);
+        setLenientFallback(false);
+
+        this.stickyReads = counter(meterRegistry, PRIMARY, "read-your-writes");
+        this.fallbackReads = counter(meterRegistry, PRIMARY, "no-replica");
+    }
+
+    /**
+     * Builds the counter of one routing decision.
+     *
+     * @param meterRegistry registry receiving the counter
+     * @param target data source chosen
+     * @param reason reason of the choice
+     * @return the counter
+     */
+    private static Counter counter(MeterRegistry meterRegistry, String target, String reason) {
+        return Counter.builder(METRIC_NAME)
+                .tag("target", target)
+                .tag("reason", reason)
+                .register(meterRegistry);
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        UUID userId = ReadYourWritesTracker.currentUser();
+        if (userId != null && tracker.hasRecentWrite(userId)) {
+            stickyReads.increment();
+            return PRIMARY;
+        }
+
+        int size = replicas.size();
+        int start = Math.floorMod(next.getAndIncrement(), Math.max(size, 1));
+        for (int i = 0; i < size; i++) {
+            ReplicaNode replica = replicas.get((start + i) % size);
+            if (replica.isWithin(maxLag)) {
+                replicaReads.get(replica.getName()).increment();
+                return replica.getName();
+            }
+        }
+        fallbackReads.increment();
+        return PRIMARY;
+    }
+}
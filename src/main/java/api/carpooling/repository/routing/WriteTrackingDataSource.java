@@ -0,0 +1,74 @@
+package api.carpooling.repository.routing;
+
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.UUID;
+
+/**
+ * Primary data source recording the users whose read-write transactions commit.
+ * <p>
+ * The write is recorded once the transaction has committed, so that the window of
+ * {@link ReadYourWritesTracker} starts when the data becomes visible on the primary.
+ */
+public class WriteTrackingDataSource extends DelegatingDataSource {
+
+    /**
+     * Tracker receiving the writes.
+     */
+    private final ReadYourWritesTracker tracker;
+
+    /**
+     * Wraps the primary data source.
+     *
+     * @param primary the primary data source
+     * @param tracker tracker receiving the writes
+     */
+    public WriteTrackingDataSource(DataSource primary, ReadYourWritesTracker tracker) {
+        super(primary);
+        this.tracker = tracker;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        trackTransaction();
+        return super.getConnection();
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        trackTransaction();
+        return super.getConnection(username, password);
+    }
+
+    /**
+     * Registers the current read-write transaction of the authenticated user, once.
+     */
+    private void trackTransaction() {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()
+                || TransactionSynchronizationManager.isCurrentTransactionReadOnly()
+                || TransactionSynchronizationManager.hasResource(this)) {
+            return;
+        }
+        UUID userId = ReadYourWritesTracker.currentUser();
+        if (userId == null) {
+            return;
+        }
+        TransactionSynchronizationManager.bindResource(this, userId);
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                tracker.recordWrite(userId);
+            }
+
+            @Override
+            public void afterCompletion(int status) {
+                TransactionSynchronizationManager.unbindResourceIfPossible(WriteTrackingDataSource.this);
+            }
+        });
+    }
+}
@@ -0,0 +1,14 @@
+package api.carpooling.security;
+
+import java.time.Instant;
+
+/**
+ * Identity of the access token that authenticated the current request.
+ * <p>
+ * Stored as authentication details by {@link JwtAuthFilter}.
+ *
+ * @param jti the token id, null for tokens issued before token ids were introduced
+ * @param expiresAt expiry of the token
+ */
+public record AccessToken(String jti, Instant expiresAt) {
+}
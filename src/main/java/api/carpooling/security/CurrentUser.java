@@ -0,0 +1,20 @@
+package api.carpooling.security;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Binds a controller parameter of type {@link java.util.UUID} to the identifier
+ * of the authenticated user.
+ * <p>
+ * The value is taken from the principal stored by {@link JwtAuthFilter}, so the
+ * access token is never parsed a second time.
+ */
+@Target(ElementType.PARAMETER)
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+public @interface CurrentUser {
+}
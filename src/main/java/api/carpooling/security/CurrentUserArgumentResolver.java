@@ -0,0 +1,51 @@
+package api.carpooling.security;
+
+import api.carpooling.application.exception.UnauthorizedException;
+
+import lombok.NonNull;
+import org.springframework.core.MethodParameter;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.web.bind.support.WebDataBinderFactory;
+import org.springframework.web.context.request.NativeWebRequest;
+import org.springframework.web.method.support.HandlerMethodArgumentResolver;
+import org.springframework.web.method.support.ModelAndViewContainer;
+
+import java.util.UUID;
+
+/**
+ * Resolves parameters annotated with {@link CurrentUser} or {@link CurrentAccessToken}.
+ * <p>
+ * Reads the user identifier and the access token placed in the security context of
+ * the current request by {@link JwtAuthFilter}.
+ */
+@Component
+public class CurrentUserArgumentResolver implements HandlerMethodArgumentResolver {
+
+    @Override
+    public boolean supportsParameter(@NonNull MethodParameter parameter) {
+        return parameter.hasParameterAnnotation(CurrentUser.class)
+                && UUID.class.equals(parameter.getParameterType())
+                || parameter.hasParameterAnnotation(CurrentAccessToken.class)
+                && AccessToken.class.equals(parameter.getParameterType());
+    }
+
+    @Override
+    public Object resolveArgument(@NonNull MethodParameter parameter,
+                                ModelAndViewContainer mavContainer,
+                                @NonNull NativeWebRequest webRequest,
+                                WebDataBinderFactory binderFactory) {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication == null || !(authentication.getPrincipal() instanceof UUID userId)) {
+            throw new UnauthorizedException("[CURRENT USER] No authenticated user for this request");
+        }
+        if (parameter.hasParameterAnnotation(CurrentAccessToken.class)) {
+            if (!(authentication.getDetails() instanceof AccessToken accessToken)) {
+                throw new UnauthorizedException("[CURRENT USER] No access token for this request");
+            }
+            return accessToken;
+        }
+        return userId;
+    }
+}
@@ -1,6 +1,7 @@
 package api.carpooling.security;
 
-import api.carpooling.utils.TokenGenerator;
+import api.carpooling.security.revocation.AccessTokenRevocationList;
+import api.carpooling.utils.TokenVerifier;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -32,9 +33,14 @@ import java.util.UUID;
 public class JwtAuthFilter extends OncePerRequestFilter {
 
     /**
-     * Token generator utility used to parse and validate JWT tokens.
+     * Verification engine used to validate JWT tokens and cache their claims.
      */
-    private final TokenGenerator tokenGenerator;
+    private final TokenVerifier tokenVerifier;
+
+    /**
+     * List of access tokens revoked before their expiry.
+     */
+    private final AccessTokenRevocationList revocationList;
 
     /**
      * Name of the HTTP header used for JWT authentication.
@@ -67,7 +73,13 @@ public class JwtAuthFilter extends OncePerRequestFilter {
             String token = header.substring(TOKEN_PREFIX.length());
 
             try {
-                var claims = tokenGenerator.parseJwt(token);
+                var claims = tokenVerifier.verify(token);
+                String jti = claims.getId();
+                if (jti != null && revocationList.isRevoked(jti)) {
+                    log.warn("[JWT AUTH FILTER] Revoked token {} rejected", jti);
+                    response.setStatus(HttpServletResponse.SC_UNAUTHORIZED);
+                    return;
+                }
                 UUID userId = UUID.fromString(claims.getSubject());
                 String role = (String) claims.get("role_user");
                 if (!role.startsWith("ROLE_")) {
@@ -78,6 +90,7 @@ public class JwtAuthFilter extends OncePerRequestFilter {
                 log.info("[JWT AUTH FILTER] User {} authenticated with authorities {}", userId, authorities);
 
                 var auth = new UsernamePasswordAuthenticationToken(userId, null, authorities);
+                auth.setDetails(new AccessToken(jti, claims.getExpiration().toInstant()));
                 SecurityContextHolder.getContext().setAuthentication(auth);
 
             } catch (Exception e) {
@@ -60,18 +60,22 @@ public class SecurityConfig {
                 .authorizeHttpRequests(authorizeRequests -> authorizeRequests
                         .requestMatchers("/api/v1/auth/register", "/api/v1/auth/login",
                                 "/api/v1/auth/refresh_token").permitAll()
-                        .requestMatchers("/api/v1/auth/me", "/api/v1/auth/logout").authenticated()
+                        .requestMatchers("/api/v1/auth/me", "/api/v1/auth/logout",
+                                "/api/v1/auth/sessions/**").authenticated()
                         .requestMatchers("/api/v1/user/**").hasAnyRole("ADMIN",
                                 "PASSENGER", "DRIVER")
                         .requestMatchers("/api/v1/admin/**").hasRole("ADMIN")
-                        .requestMatchers(HttpMethod.GET, "/api/v1/trips/**").permitAll()
+                        .requestMatchers(HttpMethod.GET, "/api/v1/trips/**", "/api/v1/places/**").permitAll()
+                        .requestMatchers("/actuator/prometheus", "/actuator/health").permitAll()
+                        // Query statistics expose SQL text and can be reset: administrators only
+                        .requestMatchers("/actuator/**").hasRole("ADMIN")
                         .requestMatchers(
                                 "/v3/api-docs/**",
                                 "/swagger-ui/**",
                                 "/swagger-ui.html",
                                 "/swagger-resources/**",
                                 "/webjars/**",
-                                "/actuator/**",
+                                "/.well-known/jwks.json",
                                 "/"
                         ).permitAll()
                         .anyRequest().authenticated()
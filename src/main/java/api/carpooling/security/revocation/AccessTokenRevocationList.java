@@ -0,0 +1,119 @@
+package api.carpooling.security.revocation;
+
+import api.carpooling.configuration.TokenRevocationProperties;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * In-memory list of revoked access tokens, keyed by token id ({@code jti}).
+ * <p>
+ * A Bloom filter answers the common case, a token that was never revoked, without
+ * touching the exact set. Only Bloom hits are confirmed in the exact set, which
+ * also holds the expiry of each entry. Expired entries are purged and the Bloom
+ * filter is rebuilt from the remaining entries, since bits cannot be removed.
+ */
+@Component
+public class AccessTokenRevocationList {
+
+    /**
+     * Revocation configuration.
+     */
+    private final TokenRevocationProperties properties;
+
+    /**
+     * Expiry in epoch milliseconds of each revoked token, indexed by token id.
+     */
+    private final Map<String, Long> revoked = new ConcurrentHashMap<>();
+
+    /**
+     * Current Bloom filter, replaced on each rebuild.
+     */
+    private volatile BloomFilter bloomFilter;
+
+    /**
+     * Builds the list and registers its size gauge.
+     *
+     * @param properties revocation configuration
+     * @param meterRegistry registry receiving the metrics
+     */
+    public AccessTokenRevocationList(TokenRevocationProperties properties, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.bloomFilter = newBloomFilter();
+        Gauge.builder("auth.token.revocation.size", revoked, Map::size)
+                .description("Revoked access tokens not yet expired")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Adds a token to the list until its expiry.
+     *
+     * @param jti the token id
+     * @param expiresAtMs expiry of the token in epoch milliseconds
+     */
+    public void add(String jti, long expiresAtMs) {
+        if (expiresAtMs <= System.currentTimeMillis()) {
+            return;
+        }
+        revoked.merge(jti, expiresAtMs, Math::max);
+        bloomFilter.put(jti);
+    }
+
+    /**
+     * Tells whether a token was revoked and has not expired yet.
+     * <p>
+     * Runs in constant time and does not allocate.
+     *
+     * @param jti the token id
+     * @return true if the token was revoked
+     */
+    public boolean isRevoked(String jti) {
+        if (!bloomFilter.mightContain(jti)) {
+            return false;
+        }
+        Long expiresAtMs = revoked.get(jti);
+        return expiresAtMs != null && expiresAtMs > System.currentTimeMillis();
+    }
+
+    /**
+     * Removes expired entries and rebuilds the Bloom filter when something was removed.
+     *
+     * @return the number of removed entries
+     */
+    public int purgeExpired() {
+        long now = System.currentTimeMillis();
+        int sizeBefore = revoked.size();
+        revoked.values().removeIf(expiresAtMs -> expiresAtMs <= now);
+        int removed = sizeBefore - revoked.size();
+        if (removed > 0) {
+            BloomFilter rebuilt = newBloomFilter();
+            revoked.keySet().forEach(rebuilt::put);
+            bloomFilter = rebuilt;
+            // Entries added during the rebuild may be missing from the new filter.
+            revoked.keySet().forEach(rebuilt::put);
+        }
+        return removed;
+    }
+
+    /**
+     * Returns the number of entries currently held.
+     *
+     * @return the number of revoked tokens
+     */
+    public int size() {
+        return revoked.size();
+    }
+
+    /**
+     * Builds an empty Bloom filter sized from the configuration.
+     *
+     * @return the Bloom filter
+     */
+    private BloomFilter newBloomFilter() {
+        return new BloomFilter(properties.getExpectedEntries(), properties.getFalsePositiveRate());
+    }
+}
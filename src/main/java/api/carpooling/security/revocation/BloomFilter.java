@@ -0,0 +1,121 @@
+package api.carpooling.security.revocation;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Fixed-size Bloom filter over strings.
+ * <p>
+ * Probes are derived from {@link String#hashCode()}, which the JVM caches, and a
+ * second FNV-1a hash computed over the characters, so {@link #mightContain(String)}
+ * neither allocates nor depends on the length of the filter. Bits are set with
+ * atomic operations, so concurrent additions and lookups are safe.
+ */
+public final class BloomFilter {
+
+    /**
+     * FNV-1a 64-bit offset basis.
+     */
+    private static final long FNV_OFFSET = 0xcbf29ce484222325L;
+
+    /**
+     * FNV-1a 64-bit prime.
+     */
+    private static final long FNV_PRIME = 0x100000001b3L;
+
+    /**
+     * Number of bits in a word of {@link #words}.
+     */
+    private static final int WORD_BITS = 64;
+
+    /**
+     * Bit array of the filter.
+     */
+    private final AtomicLongArray words;
+
+    /**
+     * Number of bits of the filter.
+     */
+    private final long bitCount;
+
+    /**
+     * Number of probes per element.
+     */
+    private final int hashCount;
+
+    /**
+     * Builds a filter sized for a number of elements and a false positive rate.
+     *
+     * @param expectedEntries number of elements the filter is sized for
+     * @param falsePositiveRate target false positive rate, between 0 and 1
+     */
+    public BloomFilter(int expectedEntries, double falsePositiveRate) {
+        int entries = Math.max(expectedEntries, 1);
+        double ln2 = Math.log(2);
+        long bits = (long) Math.ceil(-entries * Math.log(falsePositiveRate) / (ln2 * ln2));
+        int wordCount = (int) Math.max(1L, (bits + WORD_BITS - 1) / WORD_BITS);
+        this.words = new AtomicLongArray(wordCount);
+        this.bitCount = (long) wordCount * WORD_BITS;
+        this.hashCount = Math.max(1, (int) Math.round((double) bitCount / entries * ln2));
+    }
+
+    /**
+     * Adds an element to the filter.
+     *
+     * @param value the element
+     */
+    public void put(String value) {
+        long h1 = value.hashCode();
+        long h2 = fnv1a(value);
+        for (int i = 0; i < hashCount; i++) {
+            long bit = Math.floorMod(h1 + i * h2, bitCount);
+            int index = (int) (bit >>> 6);
+            long mask = 1L << bit;
+            long current;
+            do {
+                current = words.get(index);
+            } while ((current & mask) == 0 && !words.compareAndSet(index, current, current | mask));
+        }
+    }
+
+    /**
+     * Tells whether an element may have been added.
+     *
+     * @param value the element
+     * @return false if the element was never added, true if it may have been
+     */
+    public boolean mightContain(String value) {
+        long h1 = value.hashCode();
+        long h2 = fnv1a(value);
+        for (int i = 0; i < hashCount; i++) {
+            long bit = Math.floorMod(h1 + i * h2, bitCount);
+            if ((words.get((int) (bit >>> 6)) & (1L << bit)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Returns the number of probes per element.
+     *
+     * @return the number of hash functions
+     */
+    public int hashCount() {
+        return hashCount;
+    }
+
+    /**
+     * Computes the FNV-1a hash of the characters of a string, forced to be odd.
+     *
+     * @param value the string
+     * @return the hash
+     */
+    private static long fnv1a(String value) {
+        long hash = FNV_OFFSET;
+        for (int i = 0; i < value.length(); i++) {
+            hash ^= value.charAt(i);
+            hash *= FNV_PRIME;
+        }
+        return hash | 1L;
+    }
+}
@@ -0,0 +1,179 @@
+package api.carpooling.security.revocation;
+
+import api.carpooling.configuration.TokenRevocationProperties;
+
+import lombok.NonNull;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.connection.SubscriptionListener;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.ZSetOperations;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Set;
+
+/**
+ * Revokes access tokens and keeps the revocation list of every instance in sync.
+ * <p>
+ * A revocation is applied to the local {@link AccessTokenRevocationList}, recorded in a
+ * Redis sorted set scored by token expiry and broadcast on a pub/sub channel. Other
+ * instances apply broadcast revocations as they arrive. Pub/sub does not keep messages
+ * for a subscriber that is away, so every instance also reads the sorted set when it
+ * starts, each time its subscription is restored and on every purge: revocations
+ * published while it was not subscribed are picked up there. Redis failures are logged
+ * and never fail a logout: the token is then only revoked on the instance that handled
+ * the request.
+ */
+@Slf4j
+@Component
+public class TokenRevocationService implements MessageListener, SubscriptionListener {
+
+    /**
+     * Separator between the token id and its expiry in broadcast messages.
+     */
+    private static final char SEPARATOR = ':';
+
+    /**
+     * Local revocation list.
+     */
+    private final AccessTokenRevocationList revocationList;
+
+    /**
+     * Redis template used to record and broadcast revocations.
+     */
+    private final StringRedisTemplate redisTemplate;
+
+    /**
+     * Revocation configuration.
+     */
+    private final TokenRevocationProperties properties;
+
+    /**
+     * Builds the service.
+     *
+     * @param revocationList local revocation list
+     * @param redisTemplate Redis template used to record and broadcast revocations
+     * @param properties revocation configuration
+     */
+    public TokenRevocationService(AccessTokenRevocationList revocationList,
+                                  StringRedisTemplate redisTemplate,
+                                  TokenRevocationProperties properties) {
+        this.revocationList = revocationList;
+        this.redisTemplate = redisTemplate;
+        this.properties = properties;
+    }
+
+    /**
+     * Revokes an access token until its expiry.
+     *
+     * @param jti the token id
+     * @param expiresAtMs expiry of the token in epoch milliseconds
+     */
+    public void revoke(String jti, long expiresAtMs) {
+        revocationList.add(jti, expiresAtMs);
+        if (!properties.isSync()) {
+            return;
+        }
+        try {
+            redisTemplate.opsForZSet().add(properties.getRedisKey(), jti, expiresAtMs);
+            redisTemplate.convertAndSend(properties.getChannel(), jti + SEPARATOR + expiresAtMs);
+        } catch (DataAccessException e) {
+            log.warn("[TOKEN REVOCATION] Redis unavailable, token {} only revoked locally: {}",
+                    jti, e.getMessage());
+        }
+    }
+
+    /**
+     * Applies a revocation broadcast by another instance.
+     *
+     * @param message the message, formatted as {@code <jti>:<expiresAtMs>}
+     * @param pattern the matched pattern, unused
+     */
+    @Override
+    public void onMessage(@NonNull Message message, byte[] pattern) {
+        String body = new String(message.getBody(), StandardCharsets.UTF_8);
+        int separator = body.lastIndexOf(SEPARATOR);
+        if (separator <= 0) {
+            log.warn("[TOKEN REVOCATION] Ignoring malformed revocation message");
+            return;
+        }
+        try {
+            revocationList.add(body.substring(0, separator), Long.parseLong(body.substring(separator + 1)));
+        } catch (NumberFormatException e) {
+            log.warn("[TOKEN REVOCATION] Ignoring malformed revocation message");
+        }
+    }
+
+    /**
+     * Reads the sorted set once the revocation channel is subscribed again, since the
+     * messages published while the subscription was down are lost.
+     *
+     * @param channel the subscribed channel
+     * @param count number of channels the connection is subscribed to
+     */
+    @Override
+    public void onChannelSubscribed(@NonNull byte[] channel, long count) {
+        int loaded = loadRevocations();
+        log.debug("[TOKEN REVOCATION] Subscribed, {} revoked token(s) loaded", loaded);
+    }
+
+    /**
+     * Loads the revocations still in force when the application starts.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadOnStartup() {
+        int loaded = loadRevocations();
+        log.info("[TOKEN REVOCATION] {} revoked token(s) loaded", loaded);
+    }
+
+    /**
+     * Reads the revocations still in force from the sorted set into the local list.
+     *
+     * @return the number of revocations read, 0 if Redis is unavailable
+     */
+    int loadRevocations() {
+        if (!properties.isSync()) {
+            return 0;
+        }
+        long now = System.currentTimeMillis();
+        try {
+            ZSetOperations<String, String> zSet = redisTemplate.opsForZSet();
+            zSet.removeRangeByScore(properties.getRedisKey(), Double.NEGATIVE_INFINITY, now);
+            Set<ZSetOperations.TypedTuple<String>> entries =
+                    zSet.rangeByScoreWithScores(properties.getRedisKey(), now, Double.POSITIVE_INFINITY);
+            if (entries == null) {
+                return 0;
+            }
+            for (ZSetOperations.TypedTuple<String> entry : entries) {
+                Double score = entry.getScore();
+                if (entry.getValue() != null && score != null) {
+                    revocationList.add(entry.getValue(), score.longValue());
+                }
+            }
+            return entries.size();
+        } catch (DataAccessException e) {
+            log.warn("[TOKEN REVOCATION] Redis unavailable, revocations not loaded: {}", e.getMessage());
+            return 0;
+        }
+    }
+
+    /**
+     * Drops the revocations of tokens that have expired, then reads the sorted set again
+     * to catch up on broadcasts this instance missed.
+     */
+    @Scheduled(fixedDelayString = "${token-revocation.purge-interval-ms:60000}",
+            initialDelayString = "${token-revocation.purge-interval-ms:60000}")
+    public void purgeExpired() {
+        int removed = revocationList.purgeExpired();
+        if (removed > 0) {
+            log.debug("[TOKEN REVOCATION] {} expired revocation(s) dropped", removed);
+        }
+        loadRevocations();
+    }
+}
@@ -0,0 +1,291 @@
+package api.carpooling.utils;
+
+import api.carpooling.configuration.JwtProperties;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.math.BigInteger;
+import java.security.GeneralSecurityException;
+import java.security.KeyFactory;
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.security.interfaces.RSAPrivateCrtKey;
+import java.security.interfaces.RSAPrivateKey;
+import java.security.interfaces.RSAPublicKey;
+import java.security.spec.PKCS8EncodedKeySpec;
+import java.security.spec.RSAPublicKeySpec;
+import java.security.spec.X509EncodedKeySpec;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Set of RSA keys used to sign and verify access tokens.
+ * <p>
+ * One key signs new tokens; every configured public key verifies them, selected
+ * by the {@code kid} header. Rotating keys without downtime is done in three
+ * deployments: publish the new public key, make it the active key, then drop the
+ * old key once the last token it signed has expired.
+ * <p>
+ * Startup fails when no key is configured, unless {@code jwt.allow-ephemeral-key} is
+ * set for development: an ephemeral key pair is then generated, whose tokens stop being
+ * valid on restart and are not shared between instances.
+ */
+@Slf4j
+@Component
+public final class JwtKeyRing {
+
+    /**
+     * Size in bits of the ephemeral RSA key.
+     */
+    private static final int EPHEMERAL_KEY_SIZE = 2048;
+
+    /**
+     * Identifier of the key signing new tokens.
+     */
+    private final String activeKeyId;
+
+    /**
+     * Private key signing new tokens.
+     */
+    private final RSAPrivateKey activePrivateKey;
+
+    /**
+     * Public keys accepted for verification, indexed by key identifier.
+     */
+    private final Map<String, RSAPublicKey> publicKeys;
+
+    /**
+     * Loads the keys from configuration.
+     *
+     * @param jwtProperties JWT properties from configuration
+     * @throws IllegalStateException if no key is configured and the ephemeral key is not
+     *         allowed, if a key cannot be read or if the active key cannot sign
+     */
+    public JwtKeyRing(JwtProperties jwtProperties) {
+        Map<String, RSAPublicKey> verificationKeys = new LinkedHashMap<>();
+        Map<String, RSAPrivateKey> signingKeys = new LinkedHashMap<>();
+        List<JwtProperties.SigningKey> configured = jwtProperties.getKeys();
+
+        if (configured == null || configured.isEmpty()) {
+            if (!jwtProperties.isAllowEphemeralKey()) {
+                throw new IllegalStateException("[JWT KEY RING] No signing key configured, set jwt.keys or "
+                        + "jwt.allow-ephemeral-key=true for development");
+            }
+            addEphemeralKey(signingKeys, verificationKeys);
+        } else {
+            addConfiguredKeys(configured, signingKeys, verificationKeys);
+        }
+
+        String kid = hasText(jwtProperties.getActiveKeyId())
+                ? jwtProperties.getActiveKeyId()
+                : signingKeys.keySet().stream().findFirst().orElse(null);
+        if (kid == null || !signingKeys.containsKey(kid)) {
+            throw new IllegalStateException("[JWT KEY RING] Active key '" + kid + "' has no private key");
+        }
+
+        this.activeKeyId = kid;
+        this.activePrivateKey = signingKeys.get(kid);
+        this.publicKeys = Collections.unmodifiableMap(verificationKeys);
+        log.info("[JWT KEY RING] Signing with key {}, verifying with keys {}", activeKeyId, publicKeys.keySet());
+    }
+
+    /**
+     * Generates a key pair valid until the application stops.
+     *
+     * @param signingKeys private keys, indexed by key identifier
+     * @param verificationKeys public keys, indexed by key identifier
+     */
+    private static void addEphemeralKey(Map<String, RSAPrivateKey> signingKeys,
+                                        Map<String, RSAPublicKey> verificationKeys) {
+        KeyPair keyPair = generateKeyPair();
+        String kid = "ephemeral-" + UUID.randomUUID();
+        signingKeys.put(kid, (RSAPrivateKey) keyPair.getPrivate());
+        verificationKeys.put(kid, (RSAPublicKey) keyPair.getPublic());
+        log.warn("[JWT KEY RING] No signing key configured, using ephemeral key {}", kid);
+    }
+
+    /**
+     * Reads the configured keys; a key without a private part only verifies tokens.
+     *
+     * @param configured the configured keys
+     * @param signingKeys private keys, indexed by key identifier
+     * @param verificationKeys public keys, indexed by key identifier
+     */
+    private static void addConfiguredKeys(List<JwtProperties.SigningKey> configured,
+                                          Map<String, RSAPrivateKey> signingKeys,
+                                          Map<String, RSAPublicKey> verificationKeys) {
+        for (JwtProperties.SigningKey key : configured) {
+            RSAPrivateKey privateKey = hasText(key.getPrivateKey()) ? readPrivateKey(key) : null;
+            RSAPublicKey publicKey = hasText(key.getPublicKey())
+                    ? readPublicKey(key) : derivePublicKey(key, privateKey);
+            if (privateKey != null) {
+                signingKeys.put(key.getId(), privateKey);
+            }
+            verificationKeys.put(key.getId(), publicKey);
+        }
+    }
+
+    /**
+     * Returns the identifier of the key signing new tokens.
+     *
+     * @return the active key identifier
+     */
+    public String activeKeyId() {
+        return activeKeyId;
+    }
+
+    /**
+     * Returns the private key signing new tokens.
+     *
+     * @return the active private key
+     */
+    public RSAPrivateKey activePrivateKey() {
+        return activePrivateKey;
+    }
+
+    /**
+     * Returns the public key registered under an identifier.
+     *
+     * @param kid the key identifier
+     * @return the public key, or empty if the identifier is unknown
+     */
+    public Optional<RSAPublicKey> publicKey(String kid) {
+        return Optional.ofNullable(kid).map(publicKeys::get);
+    }
+
+    /**
+     * Returns every public key accepted for verification.
+     *
+     * @return an unmodifiable map of public keys indexed by key identifier
+     */
+    public Map<String, RSAPublicKey> publicKeys() {
+        return publicKeys;
+    }
+
+    /**
+     * Returns the public keys as a JSON Web Key Set (RFC 7517).
+     *
+     * @return the JWKS document
+     */
+    public Map<String, Object> toJwks() {
+        List<Map<String, Object>> jwks = publicKeys.entrySet().stream()
+                .map(entry -> {
+                    Map<String, Object> jwk = new LinkedHashMap<>();
+                    jwk.put("kty", "RSA");
+                    jwk.put("use", "sig");
+                    jwk.put("alg", "RS256");
+                    jwk.put("kid", entry.getKey());
+                    jwk.put("n", base64Url(entry.getValue().getModulus()));
+                    jwk.put("e", base64Url(entry.getValue().getPublicExponent()));
+                    return jwk;
+                })
+                .toList();
+        return Map.of("keys", jwks);
+    }
+
+    /**
+     * Encodes an unsigned big integer as base64url without padding.
+     *
+     * @param value the value to encode
+     * @return the encoded value
+     */
+    private static String base64Url(BigInteger value) {
+        byte[] bytes = value.toByteArray();
+        if (bytes.length > 1 && bytes[0] == 0) {
+            bytes = Arrays.copyOfRange(bytes, 1, bytes.length);
+        }
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+    }
+
+    /**
+     * Reads a PEM encoded PKCS#8 private key.
+     *
+     * @param key the configured key
+     * @return the private key
+     */
+    private static RSAPrivateKey readPrivateKey(JwtProperties.SigningKey key) {
+        try {
+            return (RSAPrivateKey) KeyFactory.getInstance("RSA")
+                    .generatePrivate(new PKCS8EncodedKeySpec(decodePem(key.getPrivateKey())));
+        } catch (GeneralSecurityException | IllegalArgumentException e) {
+            throw new IllegalStateException("[JWT KEY RING] Invalid private key '" + key.getId() + "'", e);
+        }
+    }
+
+    /**
+     * Reads a PEM encoded X.509 public key.
+     *
+     * @param key the configured key
+     * @return the public key
+     */
+    private static RSAPublicKey readPublicKey(JwtProperties.SigningKey key) {
+        try {
+            return (RSAPublicKey) KeyFactory.getInstance("RSA")
+                    .generatePublic(new X509EncodedKeySpec(decodePem(key.getPublicKey())));
+        } catch (GeneralSecurityException | IllegalArgumentException e) {
+            throw new IllegalStateException("[JWT KEY RING] Invalid public key '" + key.getId() + "'", e);
+        }
+    }
+
+    /**
+     * Derives the public key from a CRT private key.
+     *
+     * @param key the configured key
+     * @param privateKey the private key, or null
+     * @return the public key
+     */
+    private static RSAPublicKey derivePublicKey(JwtProperties.SigningKey key, RSAPrivateKey privateKey) {
+        if (!(privateKey instanceof RSAPrivateCrtKey crtKey)) {
+            throw new IllegalStateException("[JWT KEY RING] Key '" + key.getId() + "' has no public key");
+        }
+        try {
+            return (RSAPublicKey) KeyFactory.getInstance("RSA")
+                    .generatePublic(new RSAPublicKeySpec(crtKey.getModulus(), crtKey.getPublicExponent()));
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("[JWT KEY RING] Cannot derive public key '" + key.getId() + "'", e);
+        }
+    }
+
+    /**
+     * Strips the PEM armour and decodes the base64 body.
+     *
+     * @param pem the PEM text
+     * @return the DER bytes
+     */
+    private static byte[] decodePem(String pem) {
+        String body = pem.replaceAll("-----[A-Z ]+-----", "").replaceAll("\\s", "");
+        return Base64.getDecoder().decode(body);
+    }
+
+    /**
+     * Generates an ephemeral RSA key pair.
+     *
+     * @return the key pair
+     */
+    private static KeyPair generateKeyPair() {
+        try {
+            KeyPairGenerator generator = KeyPairGenerator.getInstance("RSA");
+            generator.initialize(EPHEMERAL_KEY_SIZE);
+            return generator.generateKeyPair();
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("[JWT KEY RING] Cannot generate RSA key pair", e);
+        }
+    }
+
+    /**
+     * Checks that a string is neither null nor blank.
+     *
+     * @param value the string
+     * @return true if the string has text
+     */
+    private static boolean hasText(String value) {
+        return value != null && !value.isBlank();
+    }
+}
@@ -0,0 +1,197 @@
+package api.carpooling.utils;
+
+import api.carpooling.application.exception.PasswordHashingOverloadedException;
+import api.carpooling.configuration.PasswordHashingProperties;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Runs BCrypt hashing on a dedicated, bounded executor.
+ * <p>
+ * Request threads hand their hash over to a fixed pool of workers and wait for the
+ * result. When every worker is busy and the queue is full, the call fails fast with a
+ * {@link PasswordHashingOverloadedException} instead of blocking another Tomcat thread,
+ * so credential traffic cannot starve the rest of the API.
+ */
+@Slf4j
+@Component
+public class PasswordHasher implements DisposableBean {
+
+    /**
+     * Prefix of the metrics published by this component.
+     */
+    private static final String METRIC_PREFIX = "auth.password.hashing";
+
+    /**
+     * Message returned to clients when the executor is saturated.
+     */
+    private static final String OVERLOADED_MESSAGE = "[PASSWORD HASHER] Too many authentication requests, "
+            + "please retry later";
+
+    /**
+     * Executor running the hashing tasks.
+     */
+    private final ThreadPoolExecutor executor;
+
+    /**
+     * Hashing executor configuration.
+     */
+    private final PasswordHashingProperties properties;
+
+    /**
+     * Time spent computing new hashes.
+     */
+    private final Timer encodeTimer;
+
+    /**
+     * Time spent comparing a password with its hash.
+     */
+    private final Timer matchTimer;
+
+    /**
+     * Time spent by tasks waiting in the queue.
+     */
+    private final Timer queueWaitTimer;
+
+    /**
+     * Number of hashing requests rejected because the executor was saturated.
+     */
+    private final Counter rejectedCounter;
+
+    /**
+     * Builds the executor and registers its metrics.
+     *
+     * @param properties hashing executor configuration
+     * @param meterRegistry registry receiving the metrics
+     */
+    public PasswordHasher(PasswordHashingProperties properties, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.executor = new ThreadPoolExecutor(
+                properties.getThreads(),
+                properties.getThreads(),
+                0L,
+                TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(properties.getQueueCapacity()),
+                Thread.ofPlatform().name("password-hash-", 0).daemon(true).factory(),
+                new ThreadPoolExecutor.AbortPolicy());
+
+        Gauge.builder(METRIC_PREFIX + ".queue.depth", executor, e -> e.getQueue().size())
+                .description("Hashing tasks waiting for a worker")
+                .register(meterRegistry);
+        Gauge.builder(METRIC_PREFIX + ".active", executor, ThreadPoolExecutor::getActiveCount)
+                .description("Workers currently hashing a password")
+                .register(meterRegistry);
+        this.encodeTimer = Timer.builder(METRIC_PREFIX + ".latency")
+                .tag("operation", "encode")
+                .register(meterRegistry);
+        this.matchTimer = Timer.builder(METRIC_PREFIX + ".latency")
+                .tag("operation", "match")
+                .register(meterRegistry);
+        this.queueWaitTimer = Timer.builder(METRIC_PREFIX + ".queue.wait")
+                .register(meterRegistry);
+        this.rejectedCounter = Counter.builder(METRIC_PREFIX + ".rejected")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Encodes a raw password using BCrypt on the hashing executor.
+     *
+     * @param password the raw password to encode
+     * @return the hashed password
+     * @throws PasswordHashingOverloadedException if the executor is saturated
+     */
+    public String encode(String password) {
+        return execute(() -> EncodedPassword.encode(password), encodeTimer);
+    }
+
+    /**
+     * Verifies on the hashing executor if a raw password matches the hashed password.
+     *
+     * @param password the raw password
+     * @param passwordHash the hashed password
+     * @return true if the password matches, false otherwise
+     * @throws PasswordHashingOverloadedException if the executor is saturated
+     */
+    public boolean matches(String password, String passwordHash) {
+        return execute(() -> EncodedPassword.isRightPassword(password, passwordHash), matchTimer);
+    }
+
+    /**
+     * Submits a hashing task and waits for its result.
+     *
+     * @param task the hashing task
+     * @param timer timer recording the hashing latency
+     * @param <T> result type
+     * @return the task result
+     */
+    private <T> T execute(Callable<T> task, Timer timer) {
+        long submittedAt = System.nanoTime();
+        Future<T> future;
+        try {
+            future = executor.submit(() -> {
+                queueWaitTimer.record(System.nanoTime() - submittedAt, TimeUnit.NANOSECONDS);
+                return timer.recordCallable(task);
+            });
+        } catch (RejectedExecutionException e) {
+            rejectedCounter.increment();
+            log.warn("[PASSWORD HASHER] Hashing queue full ({} waiting), rejecting request",
+                    executor.getQueue().size());
+            throw new PasswordHashingOverloadedException(OVERLOADED_MESSAGE, e, properties.getRetryAfterSeconds());
+        }
+        return await(future);
+    }
+
+    /**
+     * Waits for a submitted hashing task within the configured timeout.
+     * <p>
+     * Runtime exceptions of the task are rethrown as is, so that callers see the same
+     * exceptions as if the hash had been computed on their own thread.
+     *
+     * @param future the submitted task
+     * @param <T> result type
+     * @return the task result
+     */
+    @SuppressWarnings("PMD.PreserveStackTrace")
+    private <T> T await(Future<T> future) {
+        try {
+            return future.get(properties.getTimeoutMs(), TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            future.cancel(true);
+            rejectedCounter.increment();
+            log.warn("[PASSWORD HASHER] Hashing did not complete within {} ms", properties.getTimeoutMs());
+            throw new PasswordHashingOverloadedException(OVERLOADED_MESSAGE, e, properties.getRetryAfterSeconds());
+        } catch (InterruptedException e) {
+            future.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("[PASSWORD HASHER] Interrupted while hashing", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new IllegalStateException("[PASSWORD HASHER] Hashing failed", e.getCause());
+        }
+    }
+
+    /**
+     * Stops the hashing workers when the application shuts down.
+     */
+    @Override
+    public void destroy() {
+        executor.shutdownNow();
+    }
+}
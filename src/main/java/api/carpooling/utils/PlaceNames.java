@@ -0,0 +1,51 @@
+package api.carpooling.utils;
+
+import java.text.Normalizer;
+import java.util.Locale;
+import java.util.regex.Pattern;
+
+/**
+ * Utility class normalizing the spelling of places.
+ * <p>
+ * The result matches the {@code normalize_place} SQL function that fills
+ * {@code places.normalized_name}: lower case, no accents, words separated by a single
+ * space. "Saint-Étienne " and "saint etienne" are the same place.
+ */
+public final class PlaceNames {
+
+    /**
+     * Combining marks left by the decomposition of accented letters.
+     */
+    private static final Pattern MARKS = Pattern.compile("\\p{M}+");
+
+    /**
+     * Runs of characters separating words.
+     */
+    private static final Pattern SEPARATORS = Pattern.compile("[^\\p{L}\\p{N}]+");
+
+    /**
+     * Private constructor to prevent instantiation.
+     */
+    private PlaceNames() { }
+
+    /**
+     * Normalizes the spelling of a place.
+     *
+     * @param place the spelling, possibly null
+     * @return the normalized spelling, empty if the place has no letter nor digit
+     */
+    public static String normalize(String place) {
+        if (place == null) {
+            return "";
+        }
+        String decomposed = Normalizer.normalize(place, Normalizer.Form.NFKD).toLowerCase(Locale.ROOT)
+                .replace("œ", "oe")
+                .replace("æ", "ae")
+                .replace("ß", "ss")
+                .replace("ø", "o")
+                .replace("đ", "d")
+                .replace("ł", "l");
+        String unaccented = MARKS.matcher(decomposed).replaceAll("");
+        return SEPARATORS.matcher(unaccented).replaceAll(" ").strip();
+    }
+}
@@ -0,0 +1,45 @@
+package api.carpooling.utils;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+
+/**
+ * Utility class computing fixed-size digests of tokens.
+ * <p>
+ * Digests are used whenever a token has to be stored or used as a key
+ * without keeping the raw (secret) value around.
+ */
+public final class TokenDigest {
+
+    /**
+     * Digest algorithm applied to tokens.
+     */
+    private static final String ALGORITHM = "SHA-256";
+
+    /**
+     * Hexadecimal formatter for digest output.
+     */
+    private static final HexFormat HEX = HexFormat.of();
+
+    /**
+     * Private constructor to prevent instantiation.
+     */
+    private TokenDigest() { }
+
+    /**
+     * Computes the SHA-256 digest of a token as a lowercase hexadecimal string.
+     *
+     * @param token the raw token
+     * @return 64 characters hexadecimal digest
+     */
+    public static String sha256Hex(String token) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance(ALGORITHM);
+            return HEX.formatHex(digest.digest(token.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available on this JVM", e);
+        }
+    }
+}
@@ -1,9 +1,13 @@
 package api.carpooling.utils;
 
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwsHeader;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.SignatureAlgorithm;
+import io.jsonwebtoken.SigningKeyResolverAdapter;
 import io.jsonwebtoken.security.Keys;
-import lombok.RequiredArgsConstructor;
+import io.jsonwebtoken.security.SignatureException;
 import org.springframework.stereotype.Component;
 import api.carpooling.configuration.JwtProperties;
 
@@ -15,10 +19,17 @@ import java.util.UUID;
 
 /**
  * Utility class for generating and parsing JWT and refresh tokens.
+ * <p>
+ * Access tokens are signed with RS256 by the active key of the {@link JwtKeyRing}
+ * and carry its identifier in the {@code kid} header, so any holder of the public
+ * keys published on the JWKS endpoint can verify them. The parser is immutable and
+ * thread-safe, so it is built once at startup instead of on every call.
+ * <p>
+ * Former HS256 tokens without {@code kid} are only accepted when explicitly enabled
+ * with their secret, and only if issued before the rollout of RS256.
  */
 @Component
-@RequiredArgsConstructor
-public class TokenGenerator {
+public final class TokenGenerator {
 
     /**
      * JWT properties from configuration.
@@ -26,16 +37,56 @@ public class TokenGenerator {
     private final JwtProperties jwtProperties;
 
     /**
-     * Returns the signing key used for JWT tokens.
+     * Keys signing and verifying access tokens.
+     */
+    private final JwtKeyRing keyRing;
+
+    /**
+     * Former HS256 key, kept to verify tokens issued before the switch to RS256.
+     */
+    private final Key legacyHmacKey;
+
+    /**
+     * Legacy tokens issued at or after this instant are rejected, or null without legacy key.
+     */
+    private final Date legacyIssuedBefore;
+
+    /**
+     * Prebuilt parser selecting the verification key from the {@code kid} header.
+     */
+    private final JwtParser jwtParser;
+
+    /**
+     * Builds the token generator and its immutable parser.
      *
-     * @return signing key
+     * @param jwtProperties JWT properties from configuration
+     * @param keyRing keys signing and verifying access tokens
+     * @throws IllegalStateException if legacy tokens are accepted without secret or cutoff
      */
-    private Key getSigningKey() {
-        return Keys.hmacShaKeyFor(jwtProperties.getSecret().getBytes(StandardCharsets.UTF_8));
+    public TokenGenerator(JwtProperties jwtProperties, JwtKeyRing keyRing) {
+        this.jwtProperties = jwtProperties;
+        this.keyRing = keyRing;
+        if (jwtProperties.isAcceptLegacyHmac()) {
+            if (jwtProperties.getSecret() == null || jwtProperties.getSecret().isBlank()
+                    || jwtProperties.getLegacyHmacIssuedBefore() == null) {
+                throw new IllegalStateException("[TOKEN GENERATOR] Legacy HS256 tokens require jwt.secret"
+                        + " and jwt.legacy-hmac-issued-before");
+            }
+            this.legacyHmacKey = Keys.hmacShaKeyFor(jwtProperties.getSecret().getBytes(StandardCharsets.UTF_8));
+            this.legacyIssuedBefore = Date.from(jwtProperties.getLegacyHmacIssuedBefore());
+        } else {
+            this.legacyHmacKey = null;
+            this.legacyIssuedBefore = null;
+        }
+        this.jwtParser = Jwts.parserBuilder()
+                .setSigningKeyResolver(new KeyRingResolver())
+                .build();
     }
 
     /**
      * Generates a JWT token for a user with a role.
+     * <p>
+     * Each token carries a random id ({@code jti}) so that it can be revoked on its own.
      *
      * @param userId the user ID
      * @param roleUser the user role
@@ -44,11 +95,13 @@ public class TokenGenerator {
     public String generateJwtToken(UUID userId, String roleUser) {
         Instant now = Instant.now();
         return Jwts.builder()
+                .setHeaderParam(JwsHeader.KEY_ID, keyRing.activeKeyId())
+                .setId(UUID.randomUUID().toString())
                 .setSubject(userId.toString())
                 .claim("role_user", roleUser)
                 .setIssuedAt(Date.from(now))
                 .setExpiration(Date.from(now.plusMillis(jwtProperties.getExpirationMs())))
-                .signWith(getSigningKey())
+                .signWith(keyRing.activePrivateKey(), SignatureAlgorithm.RS256)
                 .compact();
     }
 
@@ -77,10 +130,32 @@ public class TokenGenerator {
      * @return claims contained in the token
      */
     public Claims parseJwt(String token) {
-        return Jwts.parserBuilder()
-                .setSigningKey(getSigningKey())
-                .build()
-                .parseClaimsJws(token)
-                .getBody();
+        return jwtParser.parseClaimsJws(token).getBody();
+    }
+
+    /**
+     * Resolves the verification key from the {@code kid} header of a token.
+     * <p>
+     * The parser then checks that the key type matches the declared algorithm,
+     * so an HMAC header can never be verified with an RSA public key.
+     */
+    private final class KeyRingResolver extends SigningKeyResolverAdapter {
+
+        @Override
+        public Key resolveSigningKey(JwsHeader header, Claims claims) {
+            String kid = header.getKeyId();
+            if (kid == null) {
+                if (legacyHmacKey == null) {
+                    throw new SignatureException("Token has no key id");
+                }
+                Date issuedAt = claims.getIssuedAt();
+                if (issuedAt == null || !issuedAt.before(legacyIssuedBefore)) {
+                    throw new SignatureException("Legacy token issued after the switch to RS256");
+                }
+                return legacyHmacKey;
+            }
+            return keyRing.publicKey(kid)
+                    .orElseThrow(() -> new SignatureException("Unknown key id " + kid));
+        }
     }
 }
@@ -0,0 +1,109 @@
+package api.carpooling.utils;
+
+import api.carpooling.configuration.JwtProperties;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import io.jsonwebtoken.Claims;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.stereotype.Component;
+
+import java.util.Date;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Verification engine for access tokens.
+ * <p>
+ * Signature verification is delegated to the prebuilt parser of {@link TokenGenerator}.
+ * Verified claims are kept in a bounded cache keyed by the SHA-256 digest of the token,
+ * and every entry expires at the same instant as the token itself, so an expired token
+ * is never served from the cache. Hits, misses and evictions are published to Micrometer
+ * under the {@code jwt.claims} cache name.
+ */
+@Component
+public class TokenVerifier {
+
+    /**
+     * Name under which the cache metrics are published.
+     */
+    private static final String CACHE_NAME = "jwt.claims";
+
+    /**
+     * Token generator holding the immutable signing key and parser.
+     */
+    private final TokenGenerator tokenGenerator;
+
+    /**
+     * Verified claims indexed by token digest.
+     */
+    private final Cache<String, Claims> claimsCache;
+
+    /**
+     * Builds the verifier and registers its cache metrics.
+     *
+     * @param tokenGenerator token generator holding the key and parser
+     * @param jwtProperties JWT properties from configuration
+     * @param meterRegistry registry receiving the cache metrics
+     */
+    public TokenVerifier(TokenGenerator tokenGenerator,
+                         JwtProperties jwtProperties,
+                         MeterRegistry meterRegistry) {
+        this.tokenGenerator = tokenGenerator;
+        this.claimsCache = Caffeine.newBuilder()
+                .maximumSize(jwtProperties.getClaimsCacheMaxSize())
+                .expireAfter(new TokenExpiry())
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, claimsCache, CACHE_NAME);
+    }
+
+    /**
+     * Verifies a JWT token and returns its claims.
+     * <p>
+     * The signature is only checked the first time a token is seen; subsequent
+     * calls with the same token are answered from the cache until it expires.
+     * The returned claims are shared and must be treated as read-only.
+     *
+     * @param token the JWT token
+     * @return claims contained in the token
+     */
+    public Claims verify(String token) {
+        String digest = TokenDigest.sha256Hex(token);
+        Claims claims = claimsCache.getIfPresent(digest);
+        if (claims == null) {
+            claims = tokenGenerator.parseJwt(token);
+            claimsCache.put(digest, claims);
+        }
+        return claims;
+    }
+
+    /**
+     * Expiry policy aligning each cache entry on the expiration of its token.
+     */
+    private static final class TokenExpiry implements Expiry<String, Claims> {
+
+        @Override
+        public long expireAfterCreate(String key, Claims claims, long currentTime) {
+            Date expiration = claims.getExpiration();
+            if (expiration == null) {
+                return 0L;
+            }
+            long remainingMs = expiration.getTime() - System.currentTimeMillis();
+            return TimeUnit.MILLISECONDS.toNanos(Math.max(remainingMs, 0L));
+        }
+
+        @Override
+        public long expireAfterUpdate(String key, Claims claims,
+                                      long currentTime, long currentDuration) {
+            return expireAfterCreate(key, claims, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(String key, Claims claims,
+                                    long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
+}
@@ -0,0 +1,66 @@
+package api.carpooling.utils;
+
+import api.carpooling.application.exception.InvalidCursorException;
+import api.carpooling.repository.UserKeyset;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+import java.util.UUID;
+
+/**
+ * Utility class converting listing positions to opaque continuation tokens and back.
+ * <p>
+ * A token is the URL-safe Base64 form of {@code <createdAt>|<id>}. Clients must treat
+ * it as opaque, which leaves the format free to change.
+ */
+public final class UserCursorCodec {
+
+    /**
+     * Separator between the creation date and the id.
+     */
+    private static final char SEPARATOR = '|';
+
+    /**
+     * Message returned for any token that cannot be decoded.
+     */
+    private static final String INVALID_MESSAGE = "[ADMIN SERVICE] Invalid cursor";
+
+    /**
+     * Private constructor to prevent instantiation.
+     */
+    private UserCursorCodec() { }
+
+    /**
+     * Encodes a listing position.
+     *
+     * @param keyset position of the last user of a page
+     * @return the continuation token
+     */
+    public static String encode(UserKeyset keyset) {
+        String raw = keyset.createdAt().toString() + SEPARATOR + keyset.id();
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Decodes a continuation token.
+     *
+     * @param cursor the continuation token
+     * @return the listing position
+     * @throws InvalidCursorException if the token is malformed
+     */
+    public static UserKeyset decode(String cursor) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int separator = raw.indexOf(SEPARATOR);
+            if (separator < 0) {
+                throw new InvalidCursorException(INVALID_MESSAGE);
+            }
+            return new UserKeyset(LocalDateTime.parse(raw.substring(0, separator)),
+                    UUID.fromString(raw.substring(separator + 1)));
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            throw new InvalidCursorException(INVALID_MESSAGE, e);
+        }
+    }
+}
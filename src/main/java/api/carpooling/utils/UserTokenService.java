@@ -1,14 +1,18 @@
 package api.carpooling.utils;
 
+import api.carpooling.application.dto.auth.AuthTokens;
+import api.carpooling.application.dto.auth.IssuedRefreshToken;
+import api.carpooling.application.service.RefreshTokenService;
 import api.carpooling.domain.User;
-import api.carpooling.repository.UserRepository;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Component;
 
 /**
- * Utility class for generating and parsing JWT and refresh tokens using tokenGenerator class.
+ * Utility class for generating the JWT and opening the refresh token session of a user.
+ * <p>
+ * Access tokens are stateless: they are signed and returned, never written to the users table.
  */
 @Component
 @RequiredArgsConstructor
@@ -16,37 +20,40 @@ import org.springframework.stereotype.Component;
 public class UserTokenService {
 
     /**
-     * Repository for User entity operations.
+     * Utility class for generating and parsing JWT tokens.
      */
-    private final UserRepository userRepository;
+    private final TokenGenerator tokenGenerator;
 
     /**
-     * Utility class for generating and parsing JWT tokens.
+     * Service storing the refresh token sessions.
      */
-    private final TokenGenerator tokenGenerator;
+    private final RefreshTokenService refreshTokenService;
+
+    /**
+     * Generates JWT and refresh token for a user on the default device.
+     *
+     * @param user the user receiving the tokens
+     * @return generated tokens
+     */
+    public AuthTokens generateTokens(User user) {
+        return generateTokens(user, null);
+    }
 
     /**
-     * Generates JWT and refresh token for a user, sets expiration, and saves the user.
+     * Generates JWT and refresh token for a user on a device.
+     * <p>
+     * The refresh token is stored hashed in its own session row, replacing the
+     * previous session of the same device. The user row is not written.
      *
-     * @param user the user entity to update
-     * @return updated user with tokens
+     * @param user the user receiving the tokens
+     * @param deviceId device identifier, or null for the default device
+     * @return generated tokens
      */
-    public User generateTokens(User user) {
+    public AuthTokens generateTokens(User user, String deviceId) {
         String jwtToken = tokenGenerator.generateJwtToken(user.getId(), user.getRoleUser().name());
-        String refreshToken;
-        do {
-            refreshToken = tokenGenerator.generateRefreshToken();
-        } while (userRepository.existsByRefreshToken(refreshToken));
-
-        user.setToken(jwtToken);
-        user.setRefreshToken(refreshToken);
-        user.setTokenExpired(
-                tokenGenerator.getRefreshTokenExpiry().toInstant()
-                        .atZone(java.time.ZoneId.systemDefault())
-                        .toLocalDateTime()
-        );
-
-        log.info("New User registered with JWT Token: {}", jwtToken);
-        return userRepository.save(user);
+        IssuedRefreshToken refreshToken = refreshTokenService.issue(user, deviceId);
+
+        log.info("Tokens issued for user {}", user.getId());
+        return new AuthTokens(jwtToken, refreshToken.token(), refreshToken.expiresAt());
     }
 }
@@ -0,0 +1,34 @@
+package api.carpooling.utils;
+
+import java.util.regex.Pattern;
+
+/**
+ * Regular expressions shared by the request DTOs and the services.
+ * <p>
+ * The expressions are declared once as constants for the {@code @Pattern} annotations,
+ * and compiled once for the checks made in code.
+ */
+public final class ValidationPatterns {
+
+    /**
+     * At least 8 characters with a lowercase, an uppercase, a digit and a special character.
+     */
+    public static final String PASSWORD_REGEXP =
+            "^(?=.*[a-z])(?=.*[A-Z])(?=.*\\d)(?=.*[@$!%*?&])[A-Za-z\\d@$!%*?&]{8,}$";
+
+    /**
+     * E.164 phone number, with an optional leading plus sign.
+     */
+    public static final String PHONE_NUMBER_REGEXP = "^\\+?[1-9]\\d{1,14}$";
+
+    /**
+     * Compiled {@link #PASSWORD_REGEXP}.
+     */
+    public static final Pattern PASSWORD = Pattern.compile(PASSWORD_REGEXP);
+
+    /**
+     * Utility class, not instantiable.
+     */
+    private ValidationPatterns() {
+    }
+}
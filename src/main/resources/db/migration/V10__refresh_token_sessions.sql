@@ -0,0 +1,36 @@
+-- =====================================
+-- V10: Multi-device refresh token sessions
+-- =====================================
+
+-- 1. Rows written before hashing can never match a presented token anymore
+DELETE FROM user_refresh_tokens;
+
+-- 2. Per-device session columns
+ALTER TABLE user_refresh_tokens
+    ADD COLUMN IF NOT EXISTS device_id VARCHAR(255) NOT NULL DEFAULT 'default',
+    ADD COLUMN IF NOT EXISTS last_used_at TIMESTAMP;
+
+-- 3. Move still valid refresh tokens from users into a "legacy" session (stored as SHA-256 hex)
+INSERT INTO user_refresh_tokens (user_id, token, device_id, created_at, expires_at, revoked)
+SELECT u.id,
+       encode(sha256(convert_to(u.refresh_token, 'UTF8')), 'hex'),
+       'legacy',
+       current_timestamp,
+       u.token_expires_at,
+       false
+FROM users u
+WHERE u.refresh_token IS NOT NULL
+  AND u.token_expires_at > current_timestamp;
+
+-- 4. Every session must expire so the sweeper can reclaim it
+ALTER TABLE user_refresh_tokens ALTER COLUMN expires_at SET NOT NULL;
+
+-- 5. Lookups by token hash, one session per device, sweeper range scans
+CREATE UNIQUE INDEX IF NOT EXISTS ux_user_refresh_tokens_token ON user_refresh_tokens (token);
+CREATE UNIQUE INDEX IF NOT EXISTS ux_user_refresh_tokens_user_device ON user_refresh_tokens (user_id, device_id);
+CREATE INDEX IF NOT EXISTS idx_user_refresh_tokens_expires_at ON user_refresh_tokens (expires_at);
+
+-- 6. Refresh tokens no longer live on the users row
+ALTER TABLE users
+    DROP COLUMN IF EXISTS refresh_token,
+    DROP COLUMN IF EXISTS token_expires_at;
@@ -0,0 +1,10 @@
+-- =====================================
+-- V11: Stateless access tokens
+-- =====================================
+
+-- 1. Access JWTs are verified from their signature and never looked up
+DROP INDEX IF EXISTS idx_users_token;
+ALTER TABLE users DROP CONSTRAINT IF EXISTS users_token_key;
+
+-- 2. Drop the column (and its V8 default) so logins no longer rewrite it
+ALTER TABLE users DROP COLUMN IF EXISTS token;
@@ -0,0 +1,9 @@
+-- =====================================
+-- V12: Keyset pagination of users
+-- =====================================
+
+-- 1. Seek index for ORDER BY created_at DESC, id DESC
+CREATE INDEX IF NOT EXISTS idx_users_created_at_id ON users (created_at, id);
+
+-- 2. Covered by the new index
+DROP INDEX IF EXISTS idx_users_created_at;
@@ -0,0 +1,11 @@
+-- =====================================
+-- V13: Fuzzy search of users
+-- =====================================
+
+-- 1. Trigram operators (LIKE '%...%', similarity %)
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
+
+-- 2. Trigram indexes on the searched columns, lower-cased as in the queries
+CREATE INDEX IF NOT EXISTS idx_users_username_trgm ON users USING gin (lower(username) gin_trgm_ops);
+CREATE INDEX IF NOT EXISTS idx_users_email_trgm ON users USING gin (lower(email) gin_trgm_ops);
+CREATE INDEX IF NOT EXISTS idx_users_phone_number_trgm ON users USING gin (phone_number gin_trgm_ops);
@@ -0,0 +1,10 @@
+-- =====================================
+-- V14: Asynchronous audit log writer
+-- =====================================
+
+-- 1. Audit rows outlive the users they mention, and batches are not checked row by row
+ALTER TABLE audit_logs DROP CONSTRAINT IF EXISTS fk_id_user_audit_logs;
+
+-- 2. History of a user, and of an entity, most recent first
+CREATE INDEX IF NOT EXISTS idx_audit_logs_user_id_created_at ON audit_logs (user_id, created_at);
+CREATE INDEX IF NOT EXISTS idx_audit_logs_entity_id_created_at ON audit_logs (entity_id, created_at);
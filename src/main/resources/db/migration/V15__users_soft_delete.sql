@@ -0,0 +1,18 @@
+-- =====================================
+-- V15: Soft deletion of users
+-- =====================================
+
+-- 1. Tombstone: deleted users stay until the purge detached them from their rows
+ALTER TABLE users
+    ADD COLUMN IF NOT EXISTS deleted_at TIMESTAMP,
+    ADD COLUMN IF NOT EXISTS purged_at TIMESTAMP;
+
+-- 2. Users waiting for the purge job
+CREATE INDEX IF NOT EXISTS idx_users_pending_purge ON users (deleted_at)
+    WHERE deleted_at IS NOT NULL AND purged_at IS NULL;
+
+-- 3. Foreign keys searched by the purge and not indexed yet
+CREATE INDEX IF NOT EXISTS idx_refresh_tokens_user_id ON refresh_tokens (user_id);
+CREATE INDEX IF NOT EXISTS idx_ratings_rater_id ON ratings (rater_id);
+CREATE INDEX IF NOT EXISTS idx_reservation_status_history_changed_by ON reservation_status_history (changed_by);
+CREATE INDEX IF NOT EXISTS idx_wallet_tx_status_history_changed_by ON wallet_tx_status_history (changed_by);
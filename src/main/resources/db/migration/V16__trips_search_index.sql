@@ -0,0 +1,18 @@
+-- =====================================
+-- V16: Trip search
+-- =====================================
+
+-- 1. Seek index matching the search: equality on the lower-cased route, range and
+--    ORDER BY on (departure_time, id); price and seats are filtered from the index
+CREATE INDEX IF NOT EXISTS idx_trips_search
+    ON trips (lower(start_location), lower(end_location), departure_time, id)
+    INCLUDE (price, available_seats, driver_id);
+
+-- 2. Covered by the new index
+DROP INDEX IF EXISTS idx_trips_locations;
+
+-- 3. Confirmed seats of a trip, summed by the search
+CREATE INDEX IF NOT EXISTS idx_reservations_trip_confirmed
+    ON reservations (trip_id)
+    INCLUDE (seats_booked)
+    WHERE status_reservation = 'CONFIRMED';
@@ -0,0 +1,72 @@
+-- =====================================
+-- V17: Change feed of the route index
+-- =====================================
+
+-- Every change that can alter a search result publishes the id of the trip on the
+-- 'trip_changes' channel. Notifications are delivered on commit, and identical
+-- payloads of one transaction are delivered once.
+
+-- 1. Trips created, modified or deleted
+CREATE OR REPLACE FUNCTION notify_trip_change()
+RETURNS TRIGGER AS $$
+BEGIN
+    IF TG_OP = 'DELETE' THEN
+        PERFORM pg_notify('trip_changes', OLD.id::text);
+        RETURN OLD;
+    END IF;
+    PERFORM pg_notify('trip_changes', NEW.id::text);
+    RETURN NEW;
+END;
+$$ LANGUAGE plpgsql;
+
+CREATE TRIGGER trg_notify_trip_change
+    AFTER INSERT OR UPDATE OR DELETE ON trips
+    FOR EACH ROW
+    EXECUTE FUNCTION notify_trip_change();
+
+
+-- 2. Reservations changing the free seats of a trip
+CREATE OR REPLACE FUNCTION notify_reservation_change()
+RETURNS TRIGGER AS $$
+BEGIN
+    IF TG_OP IN ('UPDATE', 'DELETE') THEN
+        PERFORM pg_notify('trip_changes', OLD.trip_id::text);
+    END IF;
+    IF TG_OP IN ('INSERT', 'UPDATE') THEN
+        PERFORM pg_notify('trip_changes', NEW.trip_id::text);
+    END IF;
+    RETURN NULL;
+END;
+$$ LANGUAGE plpgsql;
+
+CREATE TRIGGER trg_notify_reservation_change
+    AFTER INSERT OR DELETE OR UPDATE OF status_reservation, seats_booked, trip_id ON reservations
+    FOR EACH ROW
+    EXECUTE FUNCTION notify_reservation_change();
+
+
+-- 3. Drivers renamed or deleted: their upcoming trips change or leave the results
+CREATE OR REPLACE FUNCTION notify_driver_change()
+RETURNS TRIGGER AS $$
+DECLARE
+    changed_trip UUID;
+BEGIN
+    IF NEW.deleted_at IS DISTINCT FROM OLD.deleted_at OR NEW.username IS DISTINCT FROM OLD.username THEN
+        FOR changed_trip IN
+            SELECT id FROM trips WHERE driver_id = NEW.id AND departure_time >= NOW()
+        LOOP
+            PERFORM pg_notify('trip_changes', changed_trip::text);
+        END LOOP;
+    END IF;
+    RETURN NULL;
+END;
+$$ LANGUAGE plpgsql;
+
+CREATE TRIGGER trg_notify_driver_change
+    AFTER UPDATE OF deleted_at, username ON users
+    FOR EACH ROW
+    EXECUTE FUNCTION notify_driver_change();
+
+-- 4. Upcoming trips of a driver, read by the trigger above; covers idx_trips_driver_id
+CREATE INDEX IF NOT EXISTS idx_trips_driver_departure ON trips (driver_id, departure_time);
+DROP INDEX IF EXISTS idx_trips_driver_id;
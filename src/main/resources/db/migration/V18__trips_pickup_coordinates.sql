@@ -0,0 +1,30 @@
+-- =====================================
+-- V18: Pickup coordinates of trips
+-- =====================================
+
+-- 1. Great-circle distances on an indexable earth model, and B-tree types inside GiST
+--    indexes; all three ship with PostgreSQL and are trusted extensions
+CREATE EXTENSION IF NOT EXISTS cube;
+CREATE EXTENSION IF NOT EXISTS earthdistance;
+CREATE EXTENSION IF NOT EXISTS btree_gist;
+
+-- 2. Coordinates of departure and arrival, in degrees (WGS 84); optional for existing trips
+ALTER TABLE trips
+    ADD COLUMN IF NOT EXISTS start_latitude DOUBLE PRECISION,
+    ADD COLUMN IF NOT EXISTS start_longitude DOUBLE PRECISION,
+    ADD COLUMN IF NOT EXISTS end_latitude DOUBLE PRECISION,
+    ADD COLUMN IF NOT EXISTS end_longitude DOUBLE PRECISION;
+
+ALTER TABLE trips
+    ADD CONSTRAINT chk_trips_start_coordinates CHECK (
+        (start_latitude IS NULL AND start_longitude IS NULL)
+        OR (start_latitude BETWEEN -90 AND 90 AND start_longitude BETWEEN -180 AND 180)),
+    ADD CONSTRAINT chk_trips_end_coordinates CHECK (
+        (end_latitude IS NULL AND end_longitude IS NULL)
+        OR (end_latitude BETWEEN -90 AND 90 AND end_longitude BETWEEN -180 AND 180));
+
+-- 3. Nearest pickups: KNN ordering on the pickup point, departure window checked in the
+--    same index scan
+CREATE INDEX IF NOT EXISTS idx_trips_pickup
+    ON trips USING gist (ll_to_earth(start_latitude, start_longitude), departure_time)
+    WHERE start_latitude IS NOT NULL;
@@ -0,0 +1,106 @@
+-- =====================================
+-- V19: Place dictionary
+-- =====================================
+
+-- 1. Spelling of a place compared by the dictionary: lower-cased, without accents, words
+--    separated by a single space ("Saint-Étienne " -> "saint etienne")
+CREATE EXTENSION IF NOT EXISTS unaccent;
+
+CREATE OR REPLACE FUNCTION normalize_place(place TEXT)
+RETURNS TEXT AS $$
+    SELECT btrim(regexp_replace(lower(unaccent(place)), '[^[:alnum:]]+', ' ', 'g'));
+$$ LANGUAGE sql STABLE;
+
+
+-- 2. Canonical places; the name is the spelling displayed, and may be curated
+CREATE TABLE IF NOT EXISTS places (
+    id BIGINT GENERATED ALWAYS AS IDENTITY PRIMARY KEY,
+    name VARCHAR(255) NOT NULL,
+    normalized_name VARCHAR(255) NOT NULL,
+    created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    updated_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+
+    CONSTRAINT uq_places_normalized_name UNIQUE (normalized_name)
+);
+
+-- The normalized spelling is always derived from the name, and every change is dated,
+-- so that the application notices it and reloads the dictionary
+CREATE OR REPLACE FUNCTION normalize_place_row()
+RETURNS TRIGGER AS $$
+BEGIN
+    NEW.normalized_name := normalize_place(NEW.name);
+    IF TG_OP = 'UPDATE' THEN
+        NEW.updated_at := NOW();
+    END IF;
+    RETURN NEW;
+END;
+$$ LANGUAGE plpgsql;
+
+CREATE TRIGGER trg_normalize_place_row
+    BEFORE INSERT OR UPDATE ON places
+    FOR EACH ROW
+    EXECUTE FUNCTION normalize_place_row();
+
+
+-- 3. Place of a spelling, created on first use
+CREATE OR REPLACE FUNCTION place_id_for(place TEXT)
+RETURNS BIGINT AS $$
+DECLARE
+    found BIGINT;
+BEGIN
+    SELECT id INTO found FROM places WHERE normalized_name = normalize_place(place);
+    IF found IS NULL THEN
+        INSERT INTO places (name, normalized_name) VALUES (btrim(place), normalize_place(place))
+        ON CONFLICT (normalized_name) DO NOTHING
+        RETURNING id INTO found;
+    END IF;
+    IF found IS NULL THEN
+        SELECT id INTO found FROM places WHERE normalized_name = normalize_place(place);
+    END IF;
+    RETURN found;
+END;
+$$ LANGUAGE plpgsql;
+
+
+-- 4. Trips reference their places; the raw spellings stay for display. The backfill
+--    does not notify the route index, which is rebuilt when the application starts
+ALTER TABLE trips
+    ADD COLUMN IF NOT EXISTS start_place_id BIGINT,
+    ADD COLUMN IF NOT EXISTS end_place_id BIGINT;
+
+ALTER TABLE trips DISABLE TRIGGER trg_notify_trip_change;
+UPDATE trips
+SET start_place_id = place_id_for(start_location),
+    end_place_id = place_id_for(end_location);
+ALTER TABLE trips ENABLE TRIGGER trg_notify_trip_change;
+
+ALTER TABLE trips
+    ALTER COLUMN start_place_id SET NOT NULL,
+    ALTER COLUMN end_place_id SET NOT NULL,
+    ADD CONSTRAINT fk_trips_start_place FOREIGN KEY (start_place_id) REFERENCES places(id),
+    ADD CONSTRAINT fk_trips_end_place FOREIGN KEY (end_place_id) REFERENCES places(id);
+
+CREATE OR REPLACE FUNCTION assign_trip_places()
+RETURNS TRIGGER AS $$
+BEGIN
+    NEW.start_place_id := place_id_for(NEW.start_location);
+    NEW.end_place_id := place_id_for(NEW.end_location);
+    RETURN NEW;
+END;
+$$ LANGUAGE plpgsql;
+
+CREATE TRIGGER trg_assign_trip_places
+    BEFORE INSERT OR UPDATE OF start_location, end_location ON trips
+    FOR EACH ROW
+    EXECUTE FUNCTION assign_trip_places();
+
+
+-- 5. Route search on the place ids, replacing the lower-cased spellings
+CREATE INDEX IF NOT EXISTS idx_trips_route
+    ON trips (start_place_id, end_place_id, departure_time, id)
+    INCLUDE (price, available_seats, driver_id);
+
+DROP INDEX IF EXISTS idx_trips_search;
+
+-- 6. Places sought by the foreign keys when a place is removed
+CREATE INDEX IF NOT EXISTS idx_trips_end_place_id ON trips (end_place_id);
@@ -0,0 +1,61 @@
+-- =====================================
+-- V20: Booked seats kept on the trip
+-- =====================================
+
+-- The seats of the confirmed reservations were summed on every read of the free seats.
+-- They are now counted on the trip row, in the transaction that confirms, cancels or
+-- moves a reservation, and the reads only subtract two columns.
+
+-- 1. Counter of the confirmed seats. It is kept out of every index so that its updates
+--    stay HOT; the free space left in each page receives the new row versions
+ALTER TABLE trips
+    ADD COLUMN IF NOT EXISTS booked_seats INT NOT NULL DEFAULT 0,
+    ADD CONSTRAINT booked_seats_positive CHECK (booked_seats >= 0);
+
+ALTER TABLE trips SET (fillfactor = 90);
+
+
+-- 2. Backfill from the confirmed reservations. It does not notify the route index,
+--    which is rebuilt when the application starts
+ALTER TABLE trips DISABLE TRIGGER trg_notify_trip_change;
+UPDATE trips t
+SET booked_seats = b.booked
+FROM (SELECT trip_id, SUM(seats_booked) AS booked
+      FROM reservations
+      WHERE status_reservation = 'CONFIRMED'
+      GROUP BY trip_id) b
+WHERE t.id = b.trip_id;
+ALTER TABLE trips ENABLE TRIGGER trg_notify_trip_change;
+
+
+-- 3. Confirmed seats moved by a reservation. The increment is applied on the row, so
+--    concurrent reservations of one trip queue on its lock instead of losing updates;
+--    the update of the trip notifies the route index through trg_notify_trip_change
+CREATE OR REPLACE FUNCTION count_booked_seats()
+RETURNS TRIGGER AS $$
+BEGIN
+    IF TG_OP IN ('UPDATE', 'DELETE') AND OLD.status_reservation = 'CONFIRMED' THEN
+        UPDATE trips SET booked_seats = booked_seats - OLD.seats_booked WHERE id = OLD.trip_id;
+    END IF;
+    IF TG_OP IN ('INSERT', 'UPDATE') AND NEW.status_reservation = 'CONFIRMED' THEN
+        UPDATE trips SET booked_seats = booked_seats + NEW.seats_booked WHERE id = NEW.trip_id;
+    END IF;
+    RETURN NULL;
+END;
+$$ LANGUAGE plpgsql;
+
+CREATE TRIGGER trg_count_booked_seats
+    AFTER INSERT OR DELETE OR UPDATE OF status_reservation, seats_booked, trip_id ON reservations
+    FOR EACH ROW
+    EXECUTE FUNCTION count_booked_seats();
+
+
+-- 4. Occupancy read from the counter; the columns are unchanged
+CREATE OR REPLACE VIEW trip_occupancy AS
+SELECT t.id AS trip_id,
+       t.start_location,
+       t.end_location,
+       t.available_seats,
+       t.booked_seats::BIGINT AS booked_seats,
+       ROUND((t.booked_seats::DECIMAL / NULLIF(t.available_seats, 0)) * 100, 2) AS occupancy_rate
+FROM trips t;
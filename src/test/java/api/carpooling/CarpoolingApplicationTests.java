@@ -12,7 +12,7 @@ import org.springframework.context.annotation.Import;
  * properly initialized before running other tests.
  */
 @Import(TestcontainersConfiguration.class)
-@SpringBootTest
+@SpringBootTest(properties = "jwt.allow-ephemeral-key=true")
 public class CarpoolingApplicationTests {
 
     /**
@@ -0,0 +1,126 @@
+package api.carpooling.api;
+
+import api.carpooling.application.dto.admin.UserExportFormat;
+import api.carpooling.application.dto.admin.UserListFilter;
+import api.carpooling.application.service.UserBulkUpdateService;
+import api.carpooling.application.service.UserExportService;
+import api.carpooling.configuration.UserExportProperties;
+
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.MethodOrderer;
+import org.junit.jupiter.api.Order;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestMethodOrder;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.context.annotation.ComponentScan;
+import org.springframework.context.annotation.FilterType;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Integration tests for {@link AdminBulkController}.
+ * <p>
+ * Tests the streaming of the user exports.
+ */
+@ExtendWith(SpringExtension.class)
+@WebMvcTest(
+        controllers = AdminBulkController.class,
+        excludeFilters = @ComponentScan.Filter(type = FilterType.ASSIGNABLE_TYPE,
+                value = api.carpooling.security.JwtAuthFilter.class)
+)
+@AutoConfigureMockMvc(addFilters = false)
+@Import(UserExportProperties.class)
+@TestMethodOrder(MethodOrderer.OrderAnnotation.class)
+@DisplayName("AdminBulkController REST API Tests")
+@Slf4j
+public class AdminBulkControllerTest {
+
+    /**
+     * MockMvc to simulate HTTP requests without starting a full server.
+     */
+    @Autowired
+    private MockMvc mockMvc;
+
+    /**
+     * Mocked {@link UserExportService} to simulate user exports.
+     */
+    @MockitoBean
+    private UserExportService userExportService;
+
+    /**
+     * Mocked {@link UserBulkUpdateService} required by the controller.
+     */
+    @MockitoBean
+    private UserBulkUpdateService userBulkUpdateService;
+
+    /**
+     * Displays start message before all tests.
+     */
+    @BeforeAll
+    static void beforeAll() {
+        log.info("Starting AdminBulkController tests...");
+    }
+
+    /**
+     * Displays message after all tests.
+     */
+    @AfterAll
+    static void afterAll() {
+        log.info("AdminBulkController tests completed!");
+    }
+
+    /**
+     * Test the GET /api/v1/admin/export endpoint.
+     * <p>
+     * Verifies that the export is streamed asynchronously under its own timeout, with the
+     * content type of the requested format and an attachment filename.
+     */
+    @Test
+    @Order(1)
+    @DisplayName("GET /api/v1/admin/export - should stream users as NDJSON")
+    void testExportUsers() throws Exception {
+        UserListFilter filter = new UserListFilter(null, true);
+        doAnswer(invocation -> {
+            invocation.getArgument(2, OutputStream.class)
+                    .write("{\"email\":\"user@mail.com\"}\n".getBytes(StandardCharsets.UTF_8));
+            return null;
+        }).when(userExportService).export(eq(filter), eq(UserExportFormat.NDJSON), any(OutputStream.class));
+
+        MvcResult result = mockMvc.perform(get("/api/v1/admin/export")
+                        .param("format", "NDJSON")
+                        .param("active", "true"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        assertEquals(Duration.ofHours(1).toMillis(), result.getRequest().getAsyncContext().getTimeout());
+
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Content-Type", "application/x-ndjson"))
+                .andExpect(header().string("Content-Disposition", "attachment; filename=\"users.ndjson\""))
+                .andExpect(content().string("{\"email\":\"user@mail.com\"}\n"));
+    }
+}
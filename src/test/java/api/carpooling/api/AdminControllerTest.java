@@ -1,6 +1,11 @@
 package api.carpooling.api;
 
+import api.carpooling.application.dto.admin.CountMode;
 import api.carpooling.application.dto.admin.UpdateUserByAdmin;
+import api.carpooling.application.dto.admin.UserCursorPage;
+import api.carpooling.application.dto.admin.UserListFilter;
+import api.carpooling.application.dto.admin.UserSearchPage;
+import api.carpooling.application.dto.admin.UserSearchResult;
 import api.carpooling.application.dto.user.UserResponse;
 import api.carpooling.application.service.AdminService;
 import api.carpooling.domain.enumeration.RoleUser;
@@ -37,6 +42,7 @@ import java.util.List;
 import static org.hamcrest.Matchers.is;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
@@ -218,4 +224,80 @@ public class AdminControllerTest {
 
         Mockito.verify(adminService, Mockito.times(1)).deleteUser("user@mail.com");
     }
+
+    /**
+     * Test the GET /api/v1/admin/cursor endpoint.
+     * <p>
+     * Verifies that the query parameters are bound to the filter, the cursor, the size and
+     * the count mode, and that the page is returned with its next cursor.
+     */
+    @Test
+    @Order(5)
+    @DisplayName("GET /api/v1/admin/cursor - should list users with a cursor")
+    void testListUsersWithCursor() throws Exception {
+        UserListFilter filter = new UserListFilter(RoleUser.ROLE_DRIVER, true);
+        UserCursorPage page = UserCursorPage.builder()
+                .items(List.of(userResponse))
+                .nextCursor("next")
+                .totalCount(1L)
+                .totalEstimated(true)
+                .build();
+        Mockito.when(adminService.listUsers(filter, "abc", 10, CountMode.ESTIMATED)).thenReturn(page);
+
+        mockMvc.perform(get("/api/v1/admin/cursor")
+                        .param("cursor", "abc")
+                        .param("size", "10")
+                        .param("roleUser", "ROLE_DRIVER")
+                        .param("active", "true")
+                        .param("count", "ESTIMATED"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items[0].email", is("user@mail.com")))
+                .andExpect(jsonPath("$.nextCursor", is("next")))
+                .andExpect(jsonPath("$.totalEstimated", is(true)));
+
+        Mockito.verify(adminService, Mockito.times(1))
+                .listUsers(eq(filter), eq("abc"), eq(10), eq(CountMode.ESTIMATED));
+    }
+
+    /**
+     * Test the GET /api/v1/admin/search endpoint.
+     * <p>
+     * Verifies that the term, cursor and size are passed to the service and that the
+     * projections are returned with the next cursor.
+     */
+    @Test
+    @Order(6)
+    @DisplayName("GET /api/v1/admin/search - should search users")
+    void testSearchUsers() throws Exception {
+        UserSearchResult result = new UserSearchResult(UUID.randomUUID(), "UserTest", "user@mail.com",
+                "+33611111111", RoleUser.ROLE_PASSENGER, true, LocalDateTime.now());
+        Mockito.when(adminService.searchUsers("usr", "abc", 5))
+                .thenReturn(UserSearchPage.builder().items(List.of(result)).nextCursor("next").build());
+
+        mockMvc.perform(get("/api/v1/admin/search")
+                        .param("q", "usr")
+                        .param("cursor", "abc")
+                        .param("size", "5"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items[0].email", is("user@mail.com")))
+                .andExpect(jsonPath("$.nextCursor", is("next")));
+    }
+
+    /**
+     * Test the GET /api/v1/admin/autocomplete endpoint.
+     * <p>
+     * Verifies that the suggestions are returned with the default size.
+     */
+    @Test
+    @Order(7)
+    @DisplayName("GET /api/v1/admin/autocomplete - should suggest users")
+    void testAutocompleteUsers() throws Exception {
+        UserSearchResult result = new UserSearchResult(UUID.randomUUID(), "UserTest", "user@mail.com",
+                "+33611111111", RoleUser.ROLE_PASSENGER, true, LocalDateTime.now());
+        Mockito.when(adminService.autocompleteUsers("use", 10)).thenReturn(List.of(result));
+
+        mockMvc.perform(get("/api/v1/admin/autocomplete").param("prefix", "use"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].username", is("UserTest")));
+    }
 }
@@ -2,9 +2,11 @@ package api.carpooling.api;
 
 import api.carpooling.application.dto.auth.LoginUserRequest;
 import api.carpooling.application.dto.auth.RegisterUserRequest;
+import api.carpooling.application.dto.auth.SessionResponse;
 import api.carpooling.application.dto.user.UserDTO;
 import api.carpooling.application.service.AuthService;
 import api.carpooling.domain.enumeration.RoleUser;
+import api.carpooling.security.AccessToken;
 import api.carpooling.utils.TokenGenerator;
 
 import lombok.extern.slf4j.Slf4j;
@@ -16,6 +18,7 @@ import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Order;
 import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mockito;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -24,17 +27,23 @@ import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.context.annotation.ComponentScan;
 import org.springframework.context.annotation.FilterType;
 import org.springframework.http.MediaType;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.test.context.bean.override.mockito.MockitoBean;
 import org.springframework.test.context.junit.jupiter.SpringExtension;
 import org.springframework.test.web.servlet.MockMvc;
 
+import java.time.Instant;
 import java.time.LocalDateTime;
+import java.util.List;
 import java.util.UUID;
 
 import static org.hamcrest.Matchers.is;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 
@@ -84,6 +93,11 @@ public class AuthControllerTest {
      */
     private UserDTO userDTO;
 
+    /**
+     * Access token placed in the security context as authentication details.
+     */
+    private AccessToken accessToken;
+
     /**
      * Initializes all mocks before each test.
      */
@@ -100,6 +114,14 @@ public class AuthControllerTest {
         log.info("AuthController tests completed!");
     }
 
+    /**
+     * Clears the authenticated user after each test.
+     */
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
     /**
      * Initialization of a test user before each method.
      */
@@ -117,6 +139,11 @@ public class AuthControllerTest {
                 LocalDateTime.now().minusDays(1),
                 LocalDateTime.now()
         );
+        accessToken = new AccessToken(UUID.randomUUID().toString(), Instant.now().plusSeconds(60));
+        UsernamePasswordAuthenticationToken authentication =
+                new UsernamePasswordAuthenticationToken(userDTO.id(), null, List.of());
+        authentication.setDetails(accessToken);
+        SecurityContextHolder.getContext().setAuthentication(authentication);
     }
 
     /**
@@ -154,7 +181,7 @@ public class AuthControllerTest {
     @Order(2)
     @DisplayName("POST /api/v1/auth/login - should login successfully")
     void testLoginSuccess() throws Exception {
-        Mockito.when(authService.login(any(LoginUserRequest.class))).thenReturn(userDTO);
+        Mockito.when(authService.login(any(LoginUserRequest.class), anyString())).thenReturn(userDTO);
 
         String jsonRequest = """
             {
@@ -170,7 +197,7 @@ public class AuthControllerTest {
                 .andExpect(jsonPath("$.username", is("TestUser")))
                 .andExpect(jsonPath("$.email", is("test@example.com")));
 
-        Mockito.verify(authService, Mockito.times(1)).login(any(LoginUserRequest.class));
+        Mockito.verify(authService, Mockito.times(1)).login(any(LoginUserRequest.class), anyString());
     }
 
     /**
@@ -192,38 +219,74 @@ public class AuthControllerTest {
     }
 
     /**
-     * Test the /me route with a valid authorization header.
+     * Test the /me route for the authenticated user.
      */
     @Test
     @Order(4)
     @DisplayName("GET /api/v1/auth/me - should return current user profile")
     void testMeSuccess() throws Exception {
-        Mockito.when(authService.me("Bearer jwt.token")).thenReturn(userDTO);
+        Mockito.when(authService.me(userDTO.id())).thenReturn(userDTO);
 
-        mockMvc.perform(get("/api/v1/auth/me")
-                        .header("Authorization", "Bearer jwt.token"))
+        mockMvc.perform(get("/api/v1/auth/me"))
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$.username", is("TestUser")))
                 .andExpect(jsonPath("$.email", is("test@example.com")));
 
-        Mockito.verify(authService, Mockito.times(1)).me("Bearer jwt.token");
+        Mockito.verify(authService, Mockito.times(1)).me(userDTO.id());
     }
 
     /**
-     * Test the /logout route with a valid authorization header.
+     * Test the /logout route for the authenticated user.
      */
     @Test
     @Order(5)
     @DisplayName("POST /api/v1/auth/logout - should logout successfully")
     void testLogoutSuccess() throws Exception {
-        Mockito.doNothing().when(authService).logout("Bearer jwt.token");
+        Mockito.doNothing().when(authService).logout(userDTO.id(), accessToken);
 
-        mockMvc.perform(post("/api/v1/auth/logout")
-                        .header("Authorization", "Bearer jwt.token"))
+        mockMvc.perform(post("/api/v1/auth/logout"))
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$.message", is("User logout successfully")))
                 .andExpect(jsonPath("$.timestamp").exists());
 
-        Mockito.verify(authService, Mockito.times(1)).logout("Bearer jwt.token");
+        Mockito.verify(authService, Mockito.times(1)).logout(userDTO.id(), accessToken);
+    }
+
+    /**
+     * Test the /sessions route for the authenticated user.
+     */
+    @Test
+    @Order(6)
+    @DisplayName("GET /api/v1/auth/sessions - should list active sessions")
+    void testSessionsSuccess() throws Exception {
+        SessionResponse session = SessionResponse.builder()
+                .id(UUID.randomUUID())
+                .deviceId("phone")
+                .createdAt(LocalDateTime.now())
+                .expiresAt(LocalDateTime.now().plusDays(7))
+                .build();
+        Mockito.when(authService.sessions(userDTO.id())).thenReturn(List.of(session));
+
+        mockMvc.perform(get("/api/v1/auth/sessions"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].deviceId", is("phone")));
+
+        Mockito.verify(authService, Mockito.times(1)).sessions(userDTO.id());
+    }
+
+    /**
+     * Test the /sessions/{sessionId} route for the authenticated user.
+     */
+    @Test
+    @Order(7)
+    @DisplayName("DELETE /api/v1/auth/sessions/{sessionId} - should revoke session")
+    void testRevokeSessionSuccess() throws Exception {
+        UUID sessionId = UUID.randomUUID();
+        Mockito.doNothing().when(authService).revokeSession(userDTO.id(), sessionId);
+
+        mockMvc.perform(delete("/api/v1/auth/sessions/" + sessionId))
+                .andExpect(status().isNoContent());
+
+        Mockito.verify(authService, Mockito.times(1)).revokeSession(userDTO.id(), sessionId);
     }
 }
@@ -0,0 +1,93 @@
+package api.carpooling.api;
+
+import api.carpooling.utils.JwtKeyRing;
+
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.MethodOrderer;
+import org.junit.jupiter.api.Order;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestMethodOrder;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mockito;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.context.annotation.ComponentScan;
+import org.springframework.context.annotation.FilterType;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.is;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Integration tests for {@link JwksController}.
+ */
+@ExtendWith(SpringExtension.class)
+@WebMvcTest(
+        controllers = JwksController.class,
+        excludeFilters = @ComponentScan.Filter(type = FilterType.ASSIGNABLE_TYPE,
+                value = api.carpooling.security.JwtAuthFilter.class)
+)
+@AutoConfigureMockMvc(addFilters = false)
+@TestMethodOrder(MethodOrderer.OrderAnnotation.class)
+@DisplayName("JwksController REST API Tests")
+@Slf4j
+public class JwksControllerTest {
+
+    /**
+     * MockMvc to simulate HTTP requests without starting a full server.
+     */
+    @Autowired
+    private MockMvc mockMvc;
+
+    /**
+     * Mocked key ring providing the published keys.
+     */
+    @MockitoBean
+    private JwtKeyRing jwtKeyRing;
+
+    /**
+     * Displays start message before all tests.
+     */
+    @BeforeAll
+    static void beforeAll() {
+        log.info("Starting JwksController tests...");
+    }
+
+    /**
+     * Displays message after all tests.
+     */
+    @AfterAll
+    static void afterAll() {
+        log.info("JwksController tests completed!");
+    }
+
+    /**
+     * Test the GET /.well-known/jwks.json endpoint.
+     */
+    @Test
+    @Order(1)
+    @DisplayName("GET /.well-known/jwks.json - should return the key set")
+    void testJwks() throws Exception {
+        Map<String, Object> jwk = Map.of("kty", "RSA", "kid", "2026-10", "n", "AQAB", "e", "AQAB");
+        Mockito.when(jwtKeyRing.toJwks()).thenReturn(Map.of("keys", List.of(jwk)));
+
+        mockMvc.perform(get("/.well-known/jwks.json"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Cache-Control", containsString("max-age=300")))
+                .andExpect(jsonPath("$.keys[0].kid", is("2026-10")))
+                .andExpect(jsonPath("$.keys[0].kty", is("RSA")));
+    }
+}
@@ -0,0 +1,97 @@
+package api.carpooling.api;
+
+import api.carpooling.application.dto.place.PlaceSuggestion;
+import api.carpooling.application.service.PlaceService;
+
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.MethodOrderer;
+import org.junit.jupiter.api.Order;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestMethodOrder;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mockito;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.context.annotation.ComponentScan;
+import org.springframework.context.annotation.FilterType;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.List;
+
+import static org.hamcrest.Matchers.is;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Integration tests for {@link PlaceController}.
+ * <p>
+ * Tests that the typed text and the size are bound and that the suggestions are returned.
+ */
+@ExtendWith(SpringExtension.class)
+@WebMvcTest(
+        controllers = PlaceController.class,
+        excludeFilters = @ComponentScan.Filter(type = FilterType.ASSIGNABLE_TYPE,
+                value = api.carpooling.security.JwtAuthFilter.class)
+)
+@AutoConfigureMockMvc(addFilters = false)
+@TestMethodOrder(MethodOrderer.OrderAnnotation.class)
+@DisplayName("PlaceController REST API Tests")
+@Slf4j
+public class PlaceControllerTest {
+
+    /**
+     * MockMvc to simulate HTTP requests without starting a full server.
+     */
+    @Autowired
+    private MockMvc mockMvc;
+
+    /**
+     * Mocked {@link PlaceService} to simulate the autocomplete.
+     */
+    @MockitoBean
+    private PlaceService placeService;
+
+    /**
+     * Displays start message before all tests.
+     */
+    @BeforeAll
+    static void beforeAll() {
+        log.info("Starting PlaceController tests...");
+    }
+
+    /**
+     * Displays message after all tests.
+     */
+    @AfterAll
+    static void afterAll() {
+        log.info("PlaceController tests completed.");
+    }
+
+    /**
+     * Test the GET /api/v1/places/autocomplete endpoint.
+     * <p>
+     * Verifies that the typed text is passed as is and that the places are returned.
+     */
+    @Test
+    @Order(1)
+    @DisplayName("GET /api/v1/places/autocomplete - should suggest places")
+    void testAutocomplete() throws Exception {
+        Mockito.when(placeService.autocomplete(eq("Saint-É"), eq(5)))
+                .thenReturn(List.of(new PlaceSuggestion(7L, "Saint-Étienne")));
+
+        mockMvc.perform(get("/api/v1/places/autocomplete")
+                        .param("q", "Saint-É")
+                        .param("size", "5"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].id", is(7)))
+                .andExpect(jsonPath("$[0].name", is("Saint-Étienne")));
+    }
+}
@@ -0,0 +1,164 @@
+package api.carpooling.api;
+
+import api.carpooling.application.dto.trip.NearbyTrip;
+import api.carpooling.application.dto.trip.NearbyTripCriteria;
+import api.carpooling.application.dto.trip.TripSearchCriteria;
+import api.carpooling.application.dto.trip.TripSearchPage;
+import api.carpooling.application.dto.trip.TripSummary;
+import api.carpooling.application.service.TripSearchService;
+
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.MethodOrderer;
+import org.junit.jupiter.api.Order;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestMethodOrder;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mockito;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.context.annotation.ComponentScan;
+import org.springframework.context.annotation.FilterType;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+import static org.hamcrest.Matchers.is;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Integration tests for {@link TripController}.
+ * <p>
+ * Tests that the search criteria are bound from the query parameters, that the
+ * page is returned with its cursor and that nearby trips carry their distance.
+ */
+@ExtendWith(SpringExtension.class)
+@WebMvcTest(
+        controllers = TripController.class,
+        excludeFilters = @ComponentScan.Filter(type = FilterType.ASSIGNABLE_TYPE,
+                value = api.carpooling.security.JwtAuthFilter.class)
+)
+@AutoConfigureMockMvc(addFilters = false)
+@TestMethodOrder(MethodOrderer.OrderAnnotation.class)
+@DisplayName("TripController REST API Tests")
+@Slf4j
+public class TripControllerTest {
+
+    /**
+     * Start of the departure window of the searches.
+     */
+    private static final LocalDateTime DEPARTURE_FROM = LocalDateTime.of(2026, 7, 1, 6, 0);
+
+    /**
+     * Latitude of the centre of Paris.
+     */
+    private static final double PARIS_LATITUDE = 48.8566;
+
+    /**
+     * Longitude of the centre of Paris.
+     */
+    private static final double PARIS_LONGITUDE = 2.3522;
+
+    /**
+     * Distance of the nearby trip from the searched point, in meters.
+     */
+    private static final int DISTANCE_METERS = 1250;
+
+    /**
+     * MockMvc to simulate HTTP requests without starting a full server.
+     */
+    @Autowired
+    private MockMvc mockMvc;
+
+    /**
+     * Mocked {@link TripSearchService} to simulate the search.
+     */
+    @MockitoBean
+    private TripSearchService tripSearchService;
+
+    /**
+     * Displays start message before all tests.
+     */
+    @BeforeAll
+    static void beforeAll() {
+        log.info("Starting TripController tests...");
+    }
+
+    /**
+     * Displays message after all tests.
+     */
+    @AfterAll
+    static void afterAll() {
+        log.info("TripController tests completed.");
+    }
+
+    /**
+     * Test the GET /api/v1/trips/search endpoint.
+     * <p>
+     * Verifies that every criterion is bound and that the trips are returned with the next cursor.
+     */
+    @Test
+    @Order(1)
+    @DisplayName("GET /api/v1/trips/search - should search trips")
+    void testSearchTrips() throws Exception {
+        LocalDateTime to = DEPARTURE_FROM.plusDays(1);
+        TripSearchCriteria criteria = new TripSearchCriteria("Paris", "Lyon", DEPARTURE_FROM, to, 2,
+                new BigDecimal("30"));
+        TripSummary trip = new TripSummary(UUID.randomUUID(), UUID.randomUUID(), "driver", 1L, "Paris", 2L, "Lyon",
+                DEPARTURE_FROM.plusHours(2), DEPARTURE_FROM.plusHours(7), new BigDecimal("25.00"), 3);
+        Mockito.when(tripSearchService.search(eq(criteria), eq("abc"), eq(5)))
+                .thenReturn(TripSearchPage.builder().items(List.of(trip)).nextCursor("next").build());
+
+        mockMvc.perform(get("/api/v1/trips/search")
+                        .param("origin", "Paris")
+                        .param("destination", "Lyon")
+                        .param("departureFrom", "2026-07-01T06:00:00")
+                        .param("departureTo", "2026-07-02T06:00:00")
+                        .param("minSeats", "2")
+                        .param("maxPrice", "30")
+                        .param("cursor", "abc")
+                        .param("size", "5"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items[0].driverUsername", is("driver")))
+                .andExpect(jsonPath("$.items[0].freeSeats", is(3)))
+                .andExpect(jsonPath("$.nextCursor", is("next")));
+    }
+
+    /**
+     * Test the GET /api/v1/trips/nearby endpoint.
+     * <p>
+     * Verifies that the point and the radius are bound and that each trip carries its distance.
+     */
+    @Test
+    @Order(2)
+    @DisplayName("GET /api/v1/trips/nearby - should search trips near a point")
+    void testSearchNearbyTrips() throws Exception {
+        NearbyTripCriteria criteria = new NearbyTripCriteria(PARIS_LATITUDE, PARIS_LONGITUDE, 5.0, DEPARTURE_FROM,
+                null, null);
+        TripSummary trip = new TripSummary(UUID.randomUUID(), UUID.randomUUID(), "driver", 1L, "Paris", 2L, "Lyon",
+                DEPARTURE_FROM.plusHours(2), DEPARTURE_FROM.plusHours(7), new BigDecimal("25.00"), 3);
+        Mockito.when(tripSearchService.searchNearby(eq(criteria), eq(10)))
+                .thenReturn(List.of(new NearbyTrip(trip, DISTANCE_METERS)));
+
+        mockMvc.perform(get("/api/v1/trips/nearby")
+                        .param("latitude", "48.8566")
+                        .param("longitude", "2.3522")
+                        .param("radiusKm", "5")
+                        .param("departureFrom", "2026-07-01T06:00:00")
+                        .param("size", "10"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].trip.origin", is("Paris")))
+                .andExpect(jsonPath("$[0].distanceMeters", is(DISTANCE_METERS)));
+    }
+}
@@ -6,8 +6,10 @@ import api.carpooling.application.dto.user.UserResponse;
 import api.carpooling.application.service.UserService;
 import api.carpooling.domain.enumeration.RoleUser;
 
+import com.fasterxml.jackson.databind.JsonNode;
 import lombok.extern.slf4j.Slf4j;
 import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
@@ -23,17 +25,21 @@ import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.context.annotation.ComponentScan;
 import org.springframework.context.annotation.FilterType;
 import org.springframework.http.MediaType;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.test.context.bean.override.mockito.MockitoBean;
 import org.springframework.test.context.junit.jupiter.SpringExtension;
 import org.springframework.test.web.servlet.MockMvc;
 
 import java.time.LocalDateTime;
+import java.util.List;
 import java.util.UUID;
 
 import static org.hamcrest.Matchers.is;
 import static org.mockito.ArgumentMatchers.any;
-import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
@@ -90,6 +96,14 @@ public class UserControllerTest {
         log.info("UserController tests completed!");
     }
 
+    /**
+     * Clears the authenticated user after each test.
+     */
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
     /**
      * Initialization of a test user before each method.
      */
@@ -112,12 +126,14 @@ public class UserControllerTest {
                 LocalDateTime.now().minusDays(1),
                 LocalDateTime.now()
         );
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(userResponse.id(), null, List.of()));
     }
 
     /**
      * Test the POST /api/v1/user endpoint.
      * <p>
-     * Mocks UserService.completeUserProfil(CompleteUserRequest, String) to return a UserResponse.
+     * Mocks UserService.completeUserProfil(CompleteUserRequest, UUID) to return a UserResponse.
      * Sends a JSON body representing the user profile to complete.
      * Verifies the returned JSON contains expected username, email, and phoneNumber fields.
      */
@@ -125,7 +141,7 @@ public class UserControllerTest {
     @Order(1)
     @DisplayName("POST /api/v1/user - should complete user profile")
     void testCompleteUser() throws Exception {
-        Mockito.when(userService.completeUserProfil(any(CompleteUserRequest.class), anyString()))
+        Mockito.when(userService.completeUserProfil(any(CompleteUserRequest.class), eq(userResponse.id())))
                 .thenReturn(userResponse);
 
         String jsonRequest = """
@@ -138,7 +154,6 @@ public class UserControllerTest {
             """;
 
         mockMvc.perform(post("/api/v1/user")
-                        .header("Authorization", "Bearer jwt.token")
                         .contentType(MediaType.APPLICATION_JSON)
                         .content(jsonRequest))
                 .andExpect(status().isOk())
@@ -147,13 +162,13 @@ public class UserControllerTest {
                 .andExpect(jsonPath("$.phoneNumber", is("+33611111111")));
 
         Mockito.verify(userService, Mockito.times(1))
-                .completeUserProfil(any(CompleteUserRequest.class), anyString());
+                .completeUserProfil(any(CompleteUserRequest.class), eq(userResponse.id()));
     }
 
     /**
      * Test the PUT /api/v1/user endpoint.
      * <p>
-     * Mocks UserService.updateUser(UpdateRequestUser, String) to return a UserResponse.
+     * Mocks UserService.updateUser(UpdateRequestUser, UUID) to return a UserResponse.
      * Sends a JSON body representing the updated user data.
      * Verifies the returned JSON contains expected username and email fields.
      */
@@ -161,7 +176,7 @@ public class UserControllerTest {
     @Order(2)
     @DisplayName("PUT /api/v1/user - should update user")
     void testUpdateUser() throws Exception {
-        Mockito.when(userService.updateUser(any(UpdateRequestUser.class), anyString()))
+        Mockito.when(userService.updateUser(any(UpdateRequestUser.class), eq(userResponse.id())))
                 .thenReturn(userResponse);
 
         String jsonRequest = """
@@ -176,7 +191,6 @@ public class UserControllerTest {
         """;
 
         mockMvc.perform(put("/api/v1/user")
-                        .header("Authorization", "Bearer jwt.token")
                         .contentType(MediaType.APPLICATION_JSON)
                         .content(jsonRequest))
                 .andExpect(status().isOk())
@@ -184,28 +198,50 @@ public class UserControllerTest {
                 .andExpect(jsonPath("$.email", is("user@mail.com")));
 
         Mockito.verify(userService, Mockito.times(1))
-                .updateUser(any(UpdateRequestUser.class), anyString());
+                .updateUser(any(UpdateRequestUser.class), eq(userResponse.id()));
     }
 
     /**
      * Test the DELETE /api/v1/user endpoint.
      * <p>
-     * Mocks UserService.deleteUser(String) to do nothing.
+     * Mocks UserService.deleteUser(UUID) to do nothing.
      * Verifies that the response JSON contains a success message and a timestamp.
      */
     @Test
     @Order(3)
     @DisplayName("DELETE /api/v1/user - should delete user")
     void testDeleteUser() throws Exception {
-        Mockito.doNothing().when(userService).deleteUser(anyString());
+        Mockito.doNothing().when(userService).deleteUser(eq(userResponse.id()));
 
-        mockMvc.perform(delete("/api/v1/user")
-                        .header("Authorization", "Bearer jwt.token"))
+        mockMvc.perform(delete("/api/v1/user"))
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$.message", is("User deleted successfully")))
                 .andExpect(jsonPath("$.timestamp").exists());
 
         Mockito.verify(userService, Mockito.times(1))
-                .deleteUser(anyString());
+                .deleteUser(eq(userResponse.id()));
+    }
+
+    /**
+     * Test the PATCH /api/v1/user endpoint.
+     * <p>
+     * Sends a JSON Merge Patch and verifies that it is handed over to the service as is.
+     */
+    @Test
+    @Order(4)
+    @DisplayName("PATCH /api/v1/user - should apply merge patch")
+    void testPatchUser() throws Exception {
+        Mockito.when(userService.patchUser(any(JsonNode.class), eq(userResponse.id())))
+                .thenReturn(userResponse);
+
+        mockMvc.perform(patch("/api/v1/user")
+                        .contentType(UserController.MERGE_PATCH_JSON)
+                        .content("{\"address\": null, \"username\": \"UserTest\"}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.username", is("UserTest")));
+
+        Mockito.verify(userService, Mockito.times(1)).patchUser(
+                Mockito.argThat(node -> node.get("address").isNull() && node.has("username")),
+                eq(userResponse.id()));
     }
 }
@@ -0,0 +1,279 @@
+package api.carpooling.application.audit;
+
+import api.carpooling.configuration.AuditProperties;
+import api.carpooling.configuration.JacksonConfig;
+import api.carpooling.repository.AuditLogRepository;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.MethodOrderer;
+import org.junit.jupiter.api.Order;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestMethodOrder;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.after;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Unit tests for {@link AuditLogger} and {@link AuditOverflow}.
+ * <p>
+ * These tests run the real writer thread against a mocked repository and verify that
+ * events are written in batches, that events recorded in a transaction wait for its
+ * commit, and that events the database rejects are spilled to disk and replayed once,
+ * with unreadable lines quarantined.
+ */
+@TestMethodOrder(MethodOrderer.OrderAnnotation.class)
+@DisplayName("AuditLogger Test")
+@Slf4j
+public class AuditLoggerTest {
+
+    /**
+     * Longest time the tests wait for the writer thread, in milliseconds.
+     */
+    private static final long WRITER_TIMEOUT_MS = 2000L;
+
+    /**
+     * Flush interval of the tested logger, short so that the tests do not wait.
+     */
+    private static final Duration FLUSH_INTERVAL = Duration.ofMillis(20);
+
+    /**
+     * Directory receiving the overflow files.
+     */
+    @TempDir
+    Path overflowDirectory;
+
+    /**
+     * Mapper configured as in the application.
+     */
+    private final ObjectMapper objectMapper = new JacksonConfig().objectMapper();
+
+    /**
+     * Mocked repository inserting the batches.
+     */
+    private AuditLogRepository auditLogRepository;
+
+    /**
+     * Instance of {@link AuditLogger} under test.
+     */
+    private AuditLogger auditLogger;
+
+    /**
+     * Displays start message before all tests.
+     */
+    @BeforeAll
+    static void setUpAll() {
+        log.info("Starting AuditLogger tests");
+    }
+
+    /**
+     * Displays message after all tests.
+     */
+    @AfterAll
+    static void tearDownAll() {
+        log.info("Finished AuditLogger tests");
+    }
+
+    /**
+     * Starts a logger with a short flush interval before each test.
+     */
+    @BeforeEach
+    void setUp() {
+        AuditProperties properties = new AuditProperties();
+        properties.setBatchSize(10);
+        properties.setFlushInterval(FLUSH_INTERVAL);
+        properties.setOverflowDirectory(overflowDirectory.toString());
+        auditLogRepository = mock(AuditLogRepository.class);
+        auditLogger = new AuditLogger(auditLogRepository, properties, objectMapper, new SimpleMeterRegistry());
+    }
+
+    /**
+     * Stops the writer thread after each test.
+     *
+     * @throws InterruptedException if interrupted while waiting for the writer
+     */
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        auditLogger.destroy();
+    }
+
+    /**
+     * Builds an event about a user.
+     *
+     * @param action the recorded action
+     * @return the event
+     */
+    private static AuditEvent event(AuditAction action) {
+        UUID userId = UUID.randomUUID();
+        return AuditEvent.forUser(action, userId).userId(userId).details(Map.of("ip", "127.0.0.1")).build();
+    }
+
+    /**
+     * Verifies that events recorded together are inserted by a single batch.
+     */
+    @Test
+    @Order(1)
+    @DisplayName("Should write recorded events in one batch")
+    void testWritesBatch() {
+        List<AuditEvent> written = new CopyOnWriteArrayList<>();
+        when(auditLogRepository.insertAll(anyList())).thenAnswer(invocation -> {
+            List<AuditEvent> batch = invocation.getArgument(0);
+            written.addAll(batch);
+            return batch.size();
+        });
+
+        for (int i = 0; i < 3; i++) {
+            auditLogger.record(event(AuditAction.LOGIN_SUCCEEDED));
+        }
+
+        verify(auditLogRepository, timeout(WRITER_TIMEOUT_MS)).insertAll(anyList());
+        verify(auditLogRepository, after(WRITER_TIMEOUT_MS / 10).times(1)).insertAll(anyList());
+        assertEquals(3, written.size(), "All events should be written together");
+        assertNotNull(written.get(0).createdAt(), "Creation date should be stamped");
+    }
+
+    /**
+     * Verifies that an event recorded in a transaction is only buffered after commit.
+     */
+    @Test
+    @Order(2)
+    @DisplayName("Should wait for the transaction commit")
+    void testWaitsForCommit() {
+        TransactionSynchronizationManager.initSynchronization();
+        List<TransactionSynchronization> synchronizations;
+        try {
+            auditLogger.record(event(AuditAction.PROFILE_UPDATED));
+            synchronizations = new ArrayList<>(TransactionSynchronizationManager.getSynchronizations());
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        verify(auditLogRepository, after(WRITER_TIMEOUT_MS / 10).never()).insertAll(anyList());
+        synchronizations.forEach(TransactionSynchronization::afterCommit);
+        verify(auditLogRepository, timeout(WRITER_TIMEOUT_MS)).insertAll(anyList());
+    }
+
+    /**
+     * Verifies that a rejected batch is spilled to disk and replayed once the database is back.
+     */
+    @Test
+    @Order(3)
+    @DisplayName("Should spill rejected batches and replay them")
+    void testSpillsAndReplays() {
+        List<AuditEvent> written = new CopyOnWriteArrayList<>();
+        when(auditLogRepository.insertAll(anyList()))
+                .thenThrow(new DataAccessResourceFailureException("database down"))
+                .thenAnswer(invocation -> {
+                    List<AuditEvent> batch = invocation.getArgument(0);
+                    written.addAll(batch);
+                    return batch.size();
+                });
+
+        AuditEvent event = event(AuditAction.ADMIN_USER_DELETED);
+        auditLogger.record(event);
+
+        verify(auditLogRepository, timeout(WRITER_TIMEOUT_MS).times(2)).insertAll(anyList());
+        assertEquals(1, written.size(), "Spilled event should be replayed");
+        assertEquals(event.entityId(), written.get(0).entityId(), "Replayed event should be unchanged");
+        assertEquals("127.0.0.1", written.get(0).details().get("ip"), "Details should survive the overflow");
+    }
+
+    /**
+     * Verifies that a failed replay keeps the overflow file for the next attempt.
+     */
+    @Test
+    @Order(4)
+    @DisplayName("Should keep the overflow file when replay fails")
+    void testReplayFailureKeepsFile() {
+        AuditOverflow overflow = new AuditOverflow(overflowDirectory.resolve("manual"), objectMapper);
+        overflow.append(List.of(event(AuditAction.TOKEN_REFRESHED), event(AuditAction.TOKENS_REVOKED)));
+
+        assertThrows(IllegalStateException.class, () -> overflow.replay(10, batch -> {
+            throw new IllegalStateException("database down");
+        }));
+
+        List<AuditEvent> replayed = new ArrayList<>();
+        assertEquals(2, overflow.replay(10, replayed::addAll), "Both events should be replayed");
+        assertEquals(AuditAction.TOKEN_REFRESHED, replayed.get(0).action(), "Order should be preserved");
+        assertEquals(0, overflow.replay(10, replayed::addAll), "Replayed file should be deleted");
+        assertEquals(2, replayed.size(), "Nothing should be replayed twice");
+        verify(auditLogRepository, never()).insertAll(anyList());
+    }
+
+    /**
+     * Verifies that a retried replay resumes after the last written batch.
+     */
+    @Test
+    @Order(5)
+    @DisplayName("Should resume the replay after the last written batch")
+    void testReplayResumesAfterWrittenBatch() {
+        AuditOverflow overflow = new AuditOverflow(overflowDirectory.resolve("resume"), objectMapper);
+        overflow.append(List.of(event(AuditAction.TOKEN_REFRESHED), event(AuditAction.TOKENS_REVOKED),
+                event(AuditAction.TOKEN_REFRESHED)));
+
+        List<AuditEvent> written = new ArrayList<>();
+        assertThrows(IllegalStateException.class, () -> overflow.replay(1, batch -> {
+            if (!written.isEmpty()) {
+                throw new IllegalStateException("database down");
+            }
+            written.addAll(batch);
+        }));
+
+        assertEquals(2, overflow.replay(1, written::addAll), "Only the unwritten events should be replayed");
+        assertEquals(3, written.stream().map(AuditEvent::entityId).distinct().count(),
+                "No event should be written twice");
+        assertEquals(0, overflow.replay(1, written::addAll), "Replayed file should be deleted");
+    }
+
+    /**
+     * Verifies that an unreadable line is quarantined and does not block the replay.
+     *
+     * @throws IOException if the overflow files cannot be accessed
+     */
+    @Test
+    @Order(6)
+    @DisplayName("Should quarantine unreadable lines")
+    void testReplayQuarantinesUnreadableLine() throws IOException {
+        Path directory = overflowDirectory.resolve("quarantine");
+        AuditOverflow overflow = new AuditOverflow(directory, objectMapper);
+        overflow.append(List.of(event(AuditAction.TOKEN_REFRESHED)));
+        Files.writeString(directory.resolve("audit-overflow.ndjson"), "{not json\n", StandardOpenOption.APPEND);
+        overflow.append(List.of(event(AuditAction.TOKENS_REVOKED)));
+
+        List<AuditEvent> replayed = new ArrayList<>();
+        assertEquals(2, overflow.replay(10, replayed::addAll), "Readable events should be replayed");
+        assertEquals(AuditAction.TOKENS_REVOKED, replayed.get(1).action(), "Events after the line should follow");
+        assertEquals("{not json\n", Files.readString(directory.resolve("audit-quarantine.ndjson")),
+                "Unreadable line should be quarantined");
+        assertEquals(0, overflow.replay(10, replayed::addAll), "Replayed file should be deleted");
+    }
+}
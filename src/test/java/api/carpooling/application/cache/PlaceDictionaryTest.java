@@ -0,0 +1,141 @@
+package api.carpooling.application.cache;
+
+import api.carpooling.application.dto.place.PlaceSuggestion;
+import api.carpooling.configuration.PlaceDictionaryProperties;
+import api.carpooling.repository.PlaceEntry;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.MethodOrderer;
+import org.junit.jupiter.api.Order;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestMethodOrder;
+
+import java.util.List;
+import java.util.OptionalLong;
+
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Unit tests for {@link PlaceDictionary}.
+ * <p>
+ * These tests verify that completions are ranked and bounded, that places are resolved
+ * to their ids, and that a reload replaces the whole content.
+ */
+@TestMethodOrder(MethodOrderer.OrderAnnotation.class)
+@DisplayName("PlaceDictionary Test")
+@Slf4j
+public class PlaceDictionaryTest {
+
+    /**
+     * Paris.
+     */
+    private static final PlaceEntry PARIS = new PlaceEntry(1L, "Paris", "paris");
+
+    /**
+     * Paris La Défense.
+     */
+    private static final PlaceEntry LA_DEFENSE = new PlaceEntry(2L, "Paris La Défense", "paris la defense");
+
+    /**
+     * Parempuyre.
+     */
+    private static final PlaceEntry PAREMPUYRE = new PlaceEntry(3L, "Parempuyre", "parempuyre");
+
+    /**
+     * Pau.
+     */
+    private static final PlaceEntry PAU = new PlaceEntry(4L, "Pau", "pau");
+
+    /**
+     * Instance of {@link PlaceDictionary} under test.
+     */
+    private PlaceDictionary placeDictionary;
+
+    /**
+     * Displays start message before all tests.
+     */
+    @BeforeAll
+    static void setUpAll() {
+        log.info("Starting PlaceDictionary tests");
+    }
+
+    /**
+     * Displays message after all tests.
+     */
+    @AfterAll
+    static void tearDownAll() {
+        log.info("Finished PlaceDictionary tests");
+    }
+
+    /**
+     * Builds a dictionary keeping three suggestions per prefix before each test.
+     */
+    @BeforeEach
+    void setUp() {
+        PlaceDictionaryProperties properties = new PlaceDictionaryProperties();
+        properties.setMaxSuggestions(3);
+        placeDictionary = new PlaceDictionary(properties, new SimpleMeterRegistry());
+        placeDictionary.load(List.of(LA_DEFENSE, PAREMPUYRE, PAU, PARIS));
+    }
+
+    /**
+     * Returns the suggestion of a place.
+     *
+     * @param entry the place
+     * @return its suggestion
+     */
+    private static PlaceSuggestion suggestion(PlaceEntry entry) {
+        return new PlaceSuggestion(entry.id(), entry.name());
+    }
+
+    /**
+     * Verifies that completions start with the prefix, shortest spellings first.
+     */
+    @Test
+    @Order(1)
+    @DisplayName("Should complete a prefix, shortest spellings first")
+    void testComplete() {
+        assertAll("Completions",
+                () -> assertEquals(List.of(suggestion(PAU), suggestion(PARIS), suggestion(PAREMPUYRE)),
+                        placeDictionary.complete("pa", 10), "Best three places of the prefix"),
+                () -> assertEquals(List.of(suggestion(PARIS), suggestion(LA_DEFENSE)),
+                        placeDictionary.complete("paris", 10), "Exact match should lead"),
+                () -> assertEquals(List.of(suggestion(PAU)), placeDictionary.complete("pa", 1),
+                        "Limit should be applied"),
+                () -> assertEquals(List.of(), placeDictionary.complete("lyon", 10), "Unknown prefix"));
+    }
+
+    /**
+     * Verifies that places are resolved by their normalized spelling.
+     */
+    @Test
+    @Order(2)
+    @DisplayName("Should resolve a place to its id")
+    void testIdOf() {
+        assertAll("Resolution",
+                () -> assertEquals(OptionalLong.of(2L), placeDictionary.idOf("paris la defense")),
+                () -> assertEquals(OptionalLong.empty(), placeDictionary.idOf("lyon")));
+    }
+
+    /**
+     * Verifies that a reload replaces the places held.
+     */
+    @Test
+    @Order(3)
+    @DisplayName("Should replace the places on reload")
+    void testReload() {
+        placeDictionary.load(List.of(new PlaceEntry(1L, "Paris (Centre)", "paris centre")));
+
+        assertAll("Reloaded dictionary",
+                () -> assertEquals(1, placeDictionary.size(), "Only the new places should be held"),
+                () -> assertEquals(OptionalLong.empty(), placeDictionary.idOf("paris"), "Old spelling is gone"),
+                () -> assertEquals(List.of(new PlaceSuggestion(1L, "Paris (Centre)")),
+                        placeDictionary.complete("par", 10), "New name should be suggested"));
+    }
+}
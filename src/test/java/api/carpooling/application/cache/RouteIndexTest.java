@@ -0,0 +1,226 @@
+package api.carpooling.application.cache;
+
+import api.carpooling.application.dto.trip.TripSearchCriteria;
+import api.carpooling.application.dto.trip.TripSummary;
+import api.carpooling.configuration.PlaceDictionaryProperties;
+import api.carpooling.configuration.RouteIndexProperties;
+import api.carpooling.repository.PlaceEntry;
+import api.carpooling.repository.TripKeyset;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.MethodOrderer;
+import org.junit.jupiter.api.Order;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestMethodOrder;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Unit tests for {@link RouteIndex}.
+ * <p>
+ * These tests verify that searches are answered in the order and with the filters of the
+ * database, only within the covered window and for places known to the dictionary, and
+ * that refreshes, reconciliations and evictions keep the index in line with the trips.
+ */
+@TestMethodOrder(MethodOrderer.OrderAnnotation.class)
+@DisplayName("RouteIndex Test")
+@Slf4j
+public class RouteIndexTest {
+
+    /**
+     * Start of the covered window in the tests.
+     */
+    private static final LocalDateTime START = LocalDateTime.of(2026, 7, 1, 0, 0);
+
+    /**
+     * End of the covered window in the tests.
+     */
+    private static final LocalDateTime END = START.plusDays(8);
+
+    /**
+     * Duration of the trips in the tests.
+     */
+    private static final Duration TRIP_DURATION = Duration.ofHours(5);
+
+    /**
+     * Instance of {@link RouteIndex} under test.
+     */
+    private RouteIndex routeIndex;
+
+    /**
+     * Displays start message before all tests.
+     */
+    @BeforeAll
+    static void setUpAll() {
+        log.info("Starting RouteIndex tests");
+    }
+
+    /**
+     * Displays message after all tests.
+     */
+    @AfterAll
+    static void tearDownAll() {
+        log.info("Finished RouteIndex tests");
+    }
+
+    /**
+     * Builds an empty index, over a dictionary of three places, before each test.
+     */
+    @BeforeEach
+    void setUp() {
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        PlaceDictionary placeDictionary = new PlaceDictionary(new PlaceDictionaryProperties(), meterRegistry);
+        placeDictionary.load(List.of(new PlaceEntry(1L, "Paris", "paris"), new PlaceEntry(2L, "Lyon", "lyon"),
+                new PlaceEntry(3L, "Nice", "nice")));
+        routeIndex = new RouteIndex(new RouteIndexProperties(), placeDictionary, meterRegistry);
+    }
+
+    /**
+     * Builds a trip from Paris to Lyon.
+     *
+     * @param departure departure of the trip
+     * @param price price of a seat
+     * @param freeSeats free seats left
+     * @return the trip
+     */
+    private static TripSummary trip(LocalDateTime departure, String price, int freeSeats) {
+        return new TripSummary(UUID.randomUUID(), UUID.randomUUID(), "driver", 1L, "Paris", 2L, "Lyon",
+                departure, departure.plus(TRIP_DURATION), new BigDecimal(price), freeSeats);
+    }
+
+    /**
+     * Builds criteria for Paris to Lyon over the first day of the window.
+     *
+     * @param minSeats minimum free seats
+     * @param maxPrice maximum price, or null
+     * @return the criteria
+     */
+    private static TripSearchCriteria parisLyon(int minSeats, BigDecimal maxPrice) {
+        return new TripSearchCriteria("paris", "lyon", START, START.plusDays(1), minSeats, maxPrice);
+    }
+
+    /**
+     * Verifies that trips come back sorted, filtered and after the cursor.
+     */
+    @Test
+    @Order(1)
+    @DisplayName("Should search like the database")
+    void testSearch() {
+        TripSummary early = trip(START.plusHours(2), "20.00", 3);
+        TripSummary late = trip(START.plusHours(9), "15.00", 1);
+        TripSummary expensive = trip(START.plusHours(4), "90.00", 3);
+        TripSummary nextWeek = trip(START.plusDays(3), "10.00", 3);
+        routeIndex.replaceAll(List.of(late, nextWeek, expensive, early), START, END);
+
+        assertAll("Search results",
+                () -> assertEquals(Optional.of(List.of(early, expensive, late)),
+                        routeIndex.search(parisLyon(1, null), null, 10), "Trips should be sorted by departure"),
+                () -> assertEquals(Optional.of(List.of(early)),
+                        routeIndex.search(parisLyon(2, new BigDecimal("50")), null, 10),
+                        "Seats and price should be filtered"),
+                () -> assertEquals(Optional.of(List.of(early)),
+                        routeIndex.search(parisLyon(1, null), null, 1), "Limit should be applied"),
+                () -> assertEquals(Optional.of(List.of(expensive, late)),
+                        routeIndex.search(parisLyon(1, null), new TripKeyset(early.departureTime(), early.id()), 10),
+                        "Trips should be sought after the cursor"),
+                () -> assertEquals(Optional.of(List.of()),
+                        routeIndex.search(new TripSearchCriteria("paris", "nice", START, END, 1, null), null, 10),
+                        "Route without trips should have no trip"),
+                () -> assertFalse(routeIndex.search(new TripSearchCriteria("paris", "brest", START, END, 1, null),
+                        null, 10).isPresent(), "Place unknown to the dictionary should be left to the database"));
+    }
+
+    /**
+     * Verifies that searches outside the covered window are left to the database.
+     */
+    @Test
+    @Order(2)
+    @DisplayName("Should not answer outside the covered window")
+    void testNotCovered() {
+        assertFalse(routeIndex.search(parisLyon(1, null), null, 10).isPresent(), "Empty index is not ready");
+
+        routeIndex.replaceAll(List.of(), START, END);
+        assertAll("Coverage",
+                () -> assertTrue(routeIndex.search(parisLyon(1, null), null, 10).isPresent(), "Window is covered"),
+                () -> assertFalse(routeIndex.search(new TripSearchCriteria("paris", "lyon", START, END.plusDays(1),
+                        1, null), null, 10).isPresent(), "Window ends after the horizon"),
+                () -> assertFalse(routeIndex.search(new TripSearchCriteria("paris", "lyon", START.minusDays(1),
+                        START, 1, null), null, 10).isPresent(), "Window starts before the coverage"));
+
+        routeIndex.invalidate();
+        assertFalse(routeIndex.search(parisLyon(1, null), null, 10).isPresent(), "Invalidated index is not ready");
+    }
+
+    /**
+     * Verifies that a refresh moves a changed trip and drops a deleted one.
+     */
+    @Test
+    @Order(3)
+    @DisplayName("Should apply refreshed trips")
+    void testRefresh() {
+        TripSummary moved = trip(START.plusHours(2), "20.00", 3);
+        TripSummary deleted = trip(START.plusHours(3), "20.00", 3);
+        routeIndex.replaceAll(List.of(moved, deleted), START, END);
+
+        TripSummary later = new TripSummary(moved.id(), moved.driverId(), moved.driverUsername(),
+                1L, "Paris", 2L, "Lyon", START.plusHours(6), START.plusHours(6).plus(TRIP_DURATION), moved.price(), 2);
+        routeIndex.refresh(List.of(moved.id(), deleted.id()), List.of(later));
+
+        assertEquals(Optional.of(List.of(later)), routeIndex.search(parisLyon(1, null), null, 10),
+                "Only the moved trip should remain, at its new departure");
+    }
+
+    /**
+     * Verifies that reconciliation adds missing trips and drops vanished ones within its range.
+     */
+    @Test
+    @Order(4)
+    @DisplayName("Should align a range on the database")
+    void testReconcile() {
+        TripSummary kept = trip(START.plusHours(1), "20.00", 3);
+        TripSummary vanished = trip(START.plusHours(2), "20.00", 3);
+        TripSummary missed = trip(START.plusHours(3), "20.00", 3);
+        routeIndex.replaceAll(List.of(kept, vanished), START, END);
+
+        int corrections = routeIndex.reconcile(null, null, List.of(kept, missed));
+
+        assertAll("Reconciled index",
+                () -> assertEquals(2, corrections, "One trip added and one removed"),
+                () -> assertEquals(Optional.of(List.of(kept, missed)),
+                        routeIndex.search(parisLyon(1, null), null, 10), "Index should match the database"));
+    }
+
+    /**
+     * Verifies that departed trips are evicted and the coverage moves forward.
+     */
+    @Test
+    @Order(5)
+    @DisplayName("Should evict departed trips")
+    void testEvict() {
+        TripSummary departed = trip(START.plusMinutes(10), "20.00", 3);
+        TripSummary upcoming = trip(START.plusHours(5), "20.00", 3);
+        routeIndex.replaceAll(List.of(departed, upcoming), START, END);
+
+        routeIndex.evictBefore(START.plusHours(2).plusMinutes(10));
+
+        assertAll("After eviction",
+                () -> assertEquals(START.plusHours(2), routeIndex.coveredFrom(), "Coverage starts at the bucket"),
+                () -> assertEquals(Optional.of(List.of(upcoming)), routeIndex.search(new TripSearchCriteria("paris",
+                        "lyon", START.plusHours(2), END, 1, null), null, 10), "Departed trip should be gone"));
+    }
+}
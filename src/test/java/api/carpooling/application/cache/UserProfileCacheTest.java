@@ -0,0 +1,130 @@
+package api.carpooling.application.cache;
+
+import api.carpooling.application.dto.user.UserDTO;
+import api.carpooling.application.exception.UserNotFoundException;
+import api.carpooling.configuration.ProfileCacheProperties;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.MethodOrderer;
+import org.junit.jupiter.api.Order;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestMethodOrder;
+
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Unit tests for {@link UserProfileCache}.
+ * <p>
+ * These tests verify that profiles are loaded once, reloaded after eviction,
+ * and never cached when the loader fails.
+ */
+@TestMethodOrder(MethodOrderer.OrderAnnotation.class)
+@DisplayName("UserProfileCache Test")
+@Slf4j
+public class UserProfileCacheTest {
+
+    /**
+     * Instance of {@link UserProfileCache} under test.
+     */
+    private UserProfileCache userProfileCache;
+
+    /**
+     * Number of calls made to the loader.
+     */
+    private AtomicInteger loads;
+
+    /**
+     * Displays start message before all tests.
+     */
+    @BeforeAll
+    static void setUpAll() {
+        log.info("Starting UserProfileCache tests");
+    }
+
+    /**
+     * Displays message after all tests.
+     */
+    @AfterAll
+    static void tearDownAll() {
+        log.info("Finished UserProfileCache tests");
+    }
+
+    /**
+     * Builds a fresh cache before each test.
+     */
+    @BeforeEach
+    void setUp() {
+        userProfileCache = new UserProfileCache(new ProfileCacheProperties(), new SimpleMeterRegistry());
+        loads = new AtomicInteger();
+    }
+
+    /**
+     * Loads a profile and counts the call.
+     *
+     * @param userId the user id
+     * @return a profile for this user
+     */
+    private UserDTO load(UUID userId) {
+        loads.incrementAndGet();
+        return UserDTO.builder().id(userId).username("UserTest").build();
+    }
+
+    /**
+     * Verifies that the database is only read on the first call.
+     */
+    @Test
+    @Order(1)
+    @DisplayName("Should serve repeated lookups from cache")
+    void testGetUsesCache() {
+        UUID userId = UUID.randomUUID();
+
+        UserDTO first = userProfileCache.get(userId, this::load);
+        UserDTO second = userProfileCache.get(userId, this::load);
+
+        assertSame(first, second, "Second call should return cached profile");
+        assertEquals(1, loads.get(), "Profile should be loaded once");
+    }
+
+    /**
+     * Verifies that an evicted profile is reloaded.
+     */
+    @Test
+    @Order(2)
+    @DisplayName("Should reload profile after eviction")
+    void testEvict() {
+        UUID userId = UUID.randomUUID();
+        userProfileCache.get(userId, this::load);
+
+        userProfileCache.evict(userId);
+        userProfileCache.get(userId, this::load);
+
+        assertEquals(2, loads.get(), "Profile should be reloaded after eviction");
+    }
+
+    /**
+     * Verifies that a failed load is propagated and not cached.
+     */
+    @Test
+    @Order(3)
+    @DisplayName("Should not cache missing user")
+    void testLoaderFailure() {
+        UUID userId = UUID.randomUUID();
+
+        assertThrows(UserNotFoundException.class, () -> userProfileCache.get(userId, id -> {
+            throw new UserNotFoundException("User not found");
+        }));
+        userProfileCache.get(userId, this::load);
+
+        assertEquals(1, loads.get(), "Missing user should not be cached");
+    }
+}
@@ -0,0 +1,79 @@
+package api.carpooling.application.exception;
+
+import api.carpooling.application.exception.api.ApiException;
+import api.carpooling.exception.ErrorCode;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestMethodOrder;
+import org.junit.jupiter.api.MethodOrderer;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Order;
+import org.junit.jupiter.api.AfterAll;
+import org.springframework.http.HttpStatus;
+
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Unit tests for {@link InvalidPatchException}.
+ * <p>
+ * These tests verify that the exception correctly stores the message,
+ * associates the proper error code {@link ErrorCode#VALIDATION_ERROR},
+ * and returns the expected HTTP status {@link HttpStatus#BAD_REQUEST}.
+ */
+@TestMethodOrder(MethodOrderer.OrderAnnotation.class)
+@DisplayName("InvalidPatchException Test")
+@Slf4j
+public class InvalidPatchExceptionTest {
+
+    /**
+     * Message used when a merge patch cannot be applied.
+     */
+    private static final String MESSAGE = "Invalid patch";
+
+    /**
+     * Displays start message before all tests.
+     */
+    @BeforeAll
+    static void setUpAll() {
+        log.info("Starting InvalidPatchException tests");
+    }
+
+    /**
+     * Displays message after all tests.
+     */
+    @AfterAll
+    static void tearDownAll() {
+        log.info("Finished InvalidPatchException tests");
+    }
+
+    /**
+     * Verifies that the exception correctly stores the message, error code, and HTTP status.
+     */
+    @Test
+    @Order(1)
+    @DisplayName("Should store message, error code, and HTTP status correctly")
+    void testExceptionFields() {
+        InvalidPatchException ex = new InvalidPatchException(MESSAGE);
+
+        assertAll("InvalidPatchException fields",
+                () -> assertEquals(MESSAGE, ex.getMessage(), "Message should match"),
+                () -> assertEquals(ErrorCode.VALIDATION_ERROR, ex.getErrorCode(), "ErrorCode should match"),
+                () -> assertEquals(HttpStatus.BAD_REQUEST, ex.getHttpStatus(), "HttpStatus should match")
+        );
+    }
+
+    /**
+     * Verifies that the exception is an instance of ApiException and RuntimeException.
+     */
+    @Test
+    @Order(2)
+    @DisplayName("Should be a subtype of ApiException and RuntimeException")
+    void testInstanceOf() {
+        InvalidPatchException ex = new InvalidPatchException(MESSAGE);
+        assertInstanceOf(ApiException.class, ex, "Should be an ApiException");
+        assertInstanceOf(RuntimeException.class, ex, "Should be a RuntimeException");
+    }
+}
@@ -0,0 +1,86 @@
+package api.carpooling.application.exception;
+
+import api.carpooling.application.exception.api.ApiException;
+import api.carpooling.exception.ErrorCode;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.MethodOrderer;
+import org.junit.jupiter.api.Order;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestMethodOrder;
+import org.springframework.http.HttpStatus;
+
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Unit tests for {@link PasswordHashingOverloadedException}.
+ * <p>
+ * These tests verify that the exception correctly stores the message,
+ * associates the proper error code {@link ErrorCode#SERVICE_UNAVAILABLE},
+ * and returns the expected HTTP status {@link HttpStatus#SERVICE_UNAVAILABLE}.
+ */
+@TestMethodOrder(MethodOrderer.OrderAnnotation.class)
+@DisplayName("PasswordHashingOverloadedException Test")
+@Slf4j
+public class PasswordHashingOverloadedExceptionTest {
+
+    /**
+     * Message used when the hashing executor is saturated.
+     */
+    private static final String MESSAGE = "Too many authentication requests";
+
+    /**
+     * Number of seconds the client is asked to wait.
+     */
+    private static final long RETRY_AFTER_SECONDS = 3L;
+
+    /**
+     * Displays start message before all tests.
+     */
+    @BeforeAll
+    static void setUpAll() {
+        log.info("Starting PasswordHashingOverloadedException tests");
+    }
+
+    /**
+     * Displays message after all tests.
+     */
+    @AfterAll
+    static void tearDownAll() {
+        log.info("Finished PasswordHashingOverloadedException tests");
+    }
+
+    /**
+     * Verifies that the exception correctly stores the message, error code, and HTTP status.
+     */
+    @Test
+    @Order(1)
+    @DisplayName("Should store message, error code, and HTTP status correctly")
+    void testExceptionFields() {
+        PasswordHashingOverloadedException ex = new PasswordHashingOverloadedException(MESSAGE, RETRY_AFTER_SECONDS);
+
+        assertAll("PasswordHashingOverloadedException fields",
+                () -> assertEquals(MESSAGE, ex.getMessage(), "Message should match"),
+                () -> assertEquals(ErrorCode.SERVICE_UNAVAILABLE, ex.getErrorCode(), "ErrorCode should match"),
+                () -> assertEquals(HttpStatus.SERVICE_UNAVAILABLE, ex.getHttpStatus(), "HttpStatus should match"),
+                () -> assertEquals(RETRY_AFTER_SECONDS, ex.getRetryAfterSeconds(), "Retry-After should match")
+        );
+    }
+
+    /**
+     * Verifies that the exception is an instance of ApiException and RuntimeException.
+     */
+    @Test
+    @Order(2)
+    @DisplayName("Should be a subtype of ApiException and RuntimeException")
+    void testInstanceOf() {
+        PasswordHashingOverloadedException ex = new PasswordHashingOverloadedException(MESSAGE, RETRY_AFTER_SECONDS);
+        assertInstanceOf(ApiException.class, ex, "Should be an ApiException");
+        assertTrue(true, "Should be a RuntimeException");
+    }
+}
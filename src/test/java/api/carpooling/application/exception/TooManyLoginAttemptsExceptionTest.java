@@ -0,0 +1,86 @@
+package api.carpooling.application.exception;
+
+import api.carpooling.application.exception.api.ApiException;
+import api.carpooling.exception.ErrorCode;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.MethodOrderer;
+import org.junit.jupiter.api.Order;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestMethodOrder;
+import org.springframework.http.HttpStatus;
+
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Unit tests for {@link TooManyLoginAttemptsException}.
+ * <p>
+ * These tests verify that the exception correctly stores the message,
+ * associates the proper error code {@link ErrorCode#TOO_MANY_REQUESTS},
+ * and returns the expected HTTP status {@link HttpStatus#TOO_MANY_REQUESTS}.
+ */
+@TestMethodOrder(MethodOrderer.OrderAnnotation.class)
+@DisplayName("TooManyLoginAttemptsException Test")
+@Slf4j
+public class TooManyLoginAttemptsExceptionTest {
+
+    /**
+     * Message used when login attempts are throttled.
+     */
+    private static final String MESSAGE = "Too many login attempts";
+
+    /**
+     * Number of seconds the client is asked to wait.
+     */
+    private static final long RETRY_AFTER_SECONDS = 30L;
+
+    /**
+     * Displays start message before all tests.
+     */
+    @BeforeAll
+    static void setUpAll() {
+        log.info("Starting TooManyLoginAttemptsException tests");
+    }
+
+    /**
+     * Displays message after all tests.
+     */
+    @AfterAll
+    static void tearDownAll() {
+        log.info("Finished TooManyLoginAttemptsException tests");
+    }
+
+    /**
+     * Verifies that the exception correctly stores the message, error code, and HTTP status.
+     */
+    @Test
+    @Order(1)
+    @DisplayName("Should store message, error code, and HTTP status correctly")
+    void testExceptionFields() {
+        TooManyLoginAttemptsException ex = new TooManyLoginAttemptsException(MESSAGE, RETRY_AFTER_SECONDS);
+
+        assertAll("TooManyLoginAttemptsException fields",
+                () -> assertEquals(MESSAGE, ex.getMessage(), "Message should match"),
+                () -> assertEquals(ErrorCode.TOO_MANY_REQUESTS, ex.getErrorCode(), "ErrorCode should match"),
+                () -> assertEquals(HttpStatus.TOO_MANY_REQUESTS, ex.getHttpStatus(), "HttpStatus should match"),
+                () -> assertEquals(RETRY_AFTER_SECONDS, ex.getRetryAfterSeconds(), "Retry-After should match")
+        );
+    }
+
+    /**
+     * Verifies that the exception is an instance of ApiException and RuntimeException.
+     */
+    @Test
+    @Order(2)
+    @DisplayName("Should be a subtype of ApiException and RuntimeException")
+    void testInstanceOf() {
+        TooManyLoginAttemptsException ex = new TooManyLoginAttemptsException(MESSAGE, RETRY_AFTER_SECONDS);
+        assertInstanceOf(ApiException.class, ex, "Should be an ApiException");
+        assertTrue(true, "Should be a RuntimeException");
+    }
+}
@@ -0,0 +1,89 @@
+package api.carpooling.application.scheduler;
+
+import api.carpooling.application.cache.PlaceDictionary;
+import api.carpooling.repository.PlaceEntry;
+import api.carpooling.repository.PlaceRepository;
+import api.carpooling.repository.PlaceVersion;
+
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.MethodOrderer;
+import org.junit.jupiter.api.Order;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestMethodOrder;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Unit tests for {@link PlaceDictionaryRefresher}.
+ */
+@ExtendWith(MockitoExtension.class)
+@TestMethodOrder(MethodOrderer.OrderAnnotation.class)
+@DisplayName("PlaceDictionaryRefresher Tests")
+@Slf4j
+public class PlaceDictionaryRefresherTest {
+
+    /** Time of the last change of the places. */
+    private static final LocalDateTime LAST_CHANGE = LocalDateTime.of(2026, 7, 1, 8, 0);
+
+    /** Mocked repository reading the places. */
+    @Mock
+    private PlaceRepository placeRepository;
+
+    /** Mocked dictionary kept up to date. */
+    @Mock
+    private PlaceDictionary placeDictionary;
+
+    /** Refresher under test. */
+    @InjectMocks
+    private PlaceDictionaryRefresher placeDictionaryRefresher;
+
+    /**
+     * Displays start message before all tests.
+     */
+    @BeforeAll
+    static void beforeAll() {
+        log.info("PlaceDictionaryRefresher tests initialized");
+    }
+
+    /**
+     * Displays message after all tests.
+     */
+    @AfterAll
+    static void afterAll() {
+        log.info("PlaceDictionaryRefresher tests completed");
+    }
+
+    /**
+     * Verifies that the places are only read again once the table changed.
+     */
+    @Test
+    @Order(1)
+    @DisplayName("Should reload the dictionary only when the places changed")
+    void testReloadOnChange() {
+        List<PlaceEntry> entries = List.of(new PlaceEntry(1L, "Paris", "paris"));
+        when(placeRepository.findVersion()).thenReturn(
+                new PlaceVersion(1L, LAST_CHANGE),
+                new PlaceVersion(1L, LAST_CHANGE),
+                new PlaceVersion(2L, LAST_CHANGE.plusMinutes(1)));
+        when(placeRepository.findAllEntries()).thenReturn(entries);
+
+        placeDictionaryRefresher.refresh();
+        placeDictionaryRefresher.refresh();
+        placeDictionaryRefresher.refresh();
+
+        verify(placeRepository, times(2)).findAllEntries();
+        verify(placeDictionary, times(2)).load(entries);
+    }
+}
@@ -0,0 +1,68 @@
+package api.carpooling.application.scheduler;
+
+import api.carpooling.application.service.RefreshTokenService;
+
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.MethodOrderer;
+import org.junit.jupiter.api.Order;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestMethodOrder;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Unit tests for {@link RefreshTokenSweeper}.
+ */
+@ExtendWith(MockitoExtension.class)
+@TestMethodOrder(MethodOrderer.OrderAnnotation.class)
+@DisplayName("RefreshTokenSweeper Tests")
+@Slf4j
+public class RefreshTokenSweeperTest {
+
+    /** Mocked service owning the refresh token sessions. */
+    @Mock
+    private RefreshTokenService refreshTokenService;
+
+    /** Sweeper under test. */
+    @InjectMocks
+    private RefreshTokenSweeper refreshTokenSweeper;
+
+    /**
+     * Displays start message before all tests.
+     */
+    @BeforeAll
+    static void beforeAll() {
+        log.info("RefreshTokenSweeper tests initialized");
+    }
+
+    /**
+     * Displays message after all tests.
+     */
+    @AfterAll
+    static void afterAll() {
+        log.info("RefreshTokenSweeper tests completed");
+    }
+
+    /**
+     * Verifies that a sweep delegates to the batched purge.
+     */
+    @Test
+    @Order(1)
+    @DisplayName("Should purge expired sessions on each run")
+    void testSweep() {
+        when(refreshTokenService.purgeExpired()).thenReturn(3);
+
+        refreshTokenSweeper.sweep();
+
+        verify(refreshTokenService, times(1)).purgeExpired();
+    }
+}
@@ -1,12 +1,25 @@
 package api.carpooling.application.service.impl;
 
+import api.carpooling.application.audit.AuditAction;
+import api.carpooling.application.audit.AuditLogger;
+import api.carpooling.application.cache.UserProfileCache;
+import api.carpooling.application.dto.admin.CountMode;
 import api.carpooling.application.dto.admin.UpdateUserByAdmin;
+import api.carpooling.application.dto.admin.UserCursorPage;
+import api.carpooling.application.dto.admin.UserListFilter;
+import api.carpooling.application.dto.admin.UserSearchPage;
+import api.carpooling.application.dto.admin.UserSearchResult;
 import api.carpooling.application.dto.user.UserResponse;
+import api.carpooling.application.exception.InvalidCursorException;
+import api.carpooling.application.exception.InvalidSearchQueryException;
 import api.carpooling.application.exception.UserNotFoundException;
 import api.carpooling.application.mapper.UserResponseMapper;
+import api.carpooling.application.service.RefreshTokenService;
 import api.carpooling.domain.User;
 import api.carpooling.domain.enumeration.RoleUser;
+import api.carpooling.repository.UserKeyset;
 import api.carpooling.repository.UserRepository;
+import api.carpooling.utils.UserCursorCodec;
 
 import lombok.extern.slf4j.Slf4j;
 import org.junit.jupiter.api.AfterAll;
@@ -26,12 +39,15 @@ import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
 import static org.mockito.Mockito.when;
@@ -39,6 +55,11 @@ import static org.mockito.Mockito.anyString;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.any;
 import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.isNull;
+import static org.mockito.Mockito.anyInt;
+import static org.mockito.Mockito.argThat;
 
 /**
  * Unit tests for {@link AdminServiceImpl}.
@@ -49,6 +70,7 @@ import static org.mockito.Mockito.times;
  *     <li>Deletion of users</li>
  *     <li>Retrieving all users (paginated)</li>
  *     <li>Retrieving a user by email</li>
+ *     <li>Fuzzy search and autocomplete</li>
  * </ul>
  * Ensures both success and error paths are properly tested.
  */
@@ -58,6 +80,21 @@ import static org.mockito.Mockito.times;
 @Slf4j
 public class AdminServiceImplTest {
 
+    /** Page size requested by the tests. */
+    private static final int PAGE_SIZE = 20;
+
+    /** Largest page size accepted by the service. */
+    private static final int MAX_PAGE_SIZE = 100;
+
+    /** Total number of users matching a filter. */
+    private static final long TOTAL_USERS = 42L;
+
+    /** Page size above the largest accepted one. */
+    private static final int OVERSIZED_PAGE = 5000;
+
+    /** Number of suggestions above the largest accepted one. */
+    private static final int OVERSIZED_SUGGESTIONS = 500;
+
     /** Mocked repository for User entity. */
     @Mock
     private UserRepository userRepository;
@@ -66,6 +103,18 @@ public class AdminServiceImplTest {
     @Mock
     private UserResponseMapper userResponseMapper;
 
+    /** Mocked service storing refresh token sessions. */
+    @Mock
+    private RefreshTokenService refreshTokenService;
+
+    /** Mocked cache of user profiles. */
+    @Mock
+    private UserProfileCache userProfileCache;
+
+    /** Mocked audit logger. */
+    @Mock
+    private AuditLogger auditLogger;
+
     /** Injected AdminService with mocked dependencies. */
     @InjectMocks
     private AdminServiceImpl adminService;
@@ -139,6 +188,8 @@ public class AdminServiceImplTest {
         assertNotNull(result, "Returned response should not be null");
         verify(userRepository, times(1)).findByEmail("user@mail.com");
         verify(userRepository, times(1)).save(user);
+        verify(refreshTokenService, times(1)).revokeAll(user.getId());
+        verify(userProfileCache, times(1)).evict(user.getId());
         assertEquals(userResponse, result, "Returned response should match the mapped object");
     }
 
@@ -173,7 +224,11 @@ public class AdminServiceImplTest {
         assertDoesNotThrow(() -> adminService.deleteUser("user@mail.com"),
                 "Deletion should not throw any exception");
 
-        verify(userRepository, times(1)).delete(user);
+        verify(refreshTokenService, times(1)).deleteAll(user.getId());
+        verify(userProfileCache, times(1)).evict(user.getId());
+        verify(userRepository, times(1)).softDelete(user.getId());
+        verify(auditLogger).record(argThat(event -> event.action() == AuditAction.ADMIN_USER_DELETED
+                && user.getId().equals(event.entityId())));
     }
 
     /**
@@ -249,4 +304,158 @@ public class AdminServiceImplTest {
                 () -> adminService.getUserByEmail("unknown@mail.com"),
                 "Should throw UserNotFoundException for missing user");
     }
-}
\ No newline at end of file
+
+    // -------------------------
+    // CURSOR LISTING
+    // -------------------------
+
+    /**
+     * Builds a user created at the given date.
+     *
+     * @param createdAt creation date of the user
+     * @return the user
+     */
+    private User userCreatedAt(LocalDateTime createdAt) {
+        User created = new User();
+        created.setId(UUID.randomUUID());
+        created.setCreatedAt(createdAt);
+        return created;
+    }
+
+    /**
+     * Verifies that a full page returns the cursor of its last user and no total.
+     */
+    @Test
+    @Order(8)
+    @DisplayName("Should return next cursor when more users follow")
+    void testListUsersWithNextPage() {
+        UserListFilter filter = new UserListFilter(RoleUser.ROLE_DRIVER, true);
+        LocalDateTime now = LocalDateTime.now();
+        User first = userCreatedAt(now);
+        User second = userCreatedAt(now.minusMinutes(1));
+        User third = userCreatedAt(now.minusMinutes(2));
+        when(userRepository.findPage(eq(filter), isNull(), eq(3))).thenReturn(List.of(first, second, third));
+        when(userResponseMapper.toUserResponse(any(User.class))).thenReturn(userResponse);
+
+        UserCursorPage page = adminService.listUsers(filter, null, 2, CountMode.NONE);
+
+        assertEquals(2, page.items().size(), "Page should hold the requested number of users");
+        assertEquals(new UserKeyset(second.getCreatedAt(), second.getId()),
+                UserCursorCodec.decode(page.nextCursor()), "Cursor should point at the last user of the page");
+        assertNull(page.totalCount(), "Total should not be computed");
+        verify(userRepository, never()).countMatching(any());
+    }
+
+    /**
+     * Verifies that the cursor is decoded and that the last page has no cursor.
+     */
+    @Test
+    @Order(9)
+    @DisplayName("Should seek after cursor and end on last page")
+    void testListUsersLastPage() {
+        UserListFilter filter = new UserListFilter(null, null);
+        UserKeyset after = new UserKeyset(LocalDateTime.now(), UUID.randomUUID());
+        when(userRepository.findPage(filter, after, PAGE_SIZE + 1)).thenReturn(List.of(user));
+        when(userRepository.countMatching(filter)).thenReturn(TOTAL_USERS);
+        when(userResponseMapper.toUserResponse(user)).thenReturn(userResponse);
+
+        UserCursorPage page = adminService.listUsers(filter, UserCursorCodec.encode(after), PAGE_SIZE, CountMode.EXACT);
+
+        assertEquals(List.of(userResponse), page.items(), "Page should hold the remaining user");
+        assertNull(page.nextCursor(), "Last page should have no cursor");
+        assertEquals(TOTAL_USERS, page.totalCount(), "Exact total should be returned");
+    }
+
+    /**
+     * Verifies that the estimated total is flagged and that the page size is capped.
+     */
+    @Test
+    @Order(10)
+    @DisplayName("Should cap page size and flag estimated total")
+    void testListUsersEstimatedTotal() {
+        UserListFilter filter = new UserListFilter(null, false);
+        when(userRepository.findPage(filter, null, MAX_PAGE_SIZE + 1)).thenReturn(List.of());
+        when(userRepository.estimateMatching(filter)).thenReturn(1000L);
+
+        UserCursorPage page = adminService.listUsers(filter, null, OVERSIZED_PAGE, CountMode.ESTIMATED);
+
+        assertTrue(page.items().isEmpty(), "Page should be empty");
+        assertEquals(1000L, page.totalCount(), "Estimated total should be returned");
+        assertTrue(page.totalEstimated(), "Total should be flagged as estimated");
+    }
+
+    /**
+     * Ensures {@link InvalidCursorException} is thrown for a malformed cursor.
+     */
+    @Test
+    @Order(11)
+    @DisplayName("Should reject malformed cursor")
+    void testListUsersInvalidCursor() {
+        UserListFilter filter = new UserListFilter(null, null);
+
+        assertThrows(InvalidCursorException.class,
+                () -> adminService.listUsers(filter, "not-a-cursor", PAGE_SIZE, CountMode.NONE));
+        verify(userRepository, never()).findPage(any(), any(), anyInt());
+    }
+
+    // -------------------------
+    // SEARCH
+    // -------------------------
+
+    /**
+     * Builds a search result created at the given date.
+     *
+     * @param createdAt creation date of the user
+     * @return the search result
+     */
+    private static UserSearchResult resultCreatedAt(LocalDateTime createdAt) {
+        return new UserSearchResult(UUID.randomUUID(), "jane", "jane@mail.com", "+33611111111",
+                RoleUser.ROLE_PASSENGER, true, createdAt);
+    }
+
+    /**
+     * Verifies that the term is normalized and that a cursor follows a full page.
+     */
+    @Test
+    @Order(12)
+    @DisplayName("Should search with normalized term and return next cursor")
+    void testSearchUsers() {
+        LocalDateTime now = LocalDateTime.now();
+        UserSearchResult first = resultCreatedAt(now);
+        UserSearchResult second = resultCreatedAt(now.minusMinutes(1));
+        when(userRepository.search("jane", null, 2)).thenReturn(List.of(first, second));
+
+        UserSearchPage page = adminService.searchUsers("  JaNe ", null, 1);
+
+        assertEquals(List.of(first), page.items(), "Page should hold the requested number of users");
+        assertEquals(new UserKeyset(first.createdAt(), first.id()), UserCursorCodec.decode(page.nextCursor()),
+                "Cursor should point at the last user of the page");
+    }
+
+    /**
+     * Verifies that autocomplete caps the number of suggestions.
+     */
+    @Test
+    @Order(13)
+    @DisplayName("Should autocomplete with capped size")
+    void testAutocompleteUsers() {
+        UserSearchResult result = resultCreatedAt(LocalDateTime.now());
+        when(userRepository.autocomplete("+336", MAX_PAGE_SIZE)).thenReturn(List.of(result));
+
+        List<UserSearchResult> suggestions = adminService.autocompleteUsers("+336", OVERSIZED_SUGGESTIONS);
+
+        assertEquals(List.of(result), suggestions, "Suggestions should come from the repository");
+    }
+
+    /**
+     * Ensures {@link InvalidSearchQueryException} is thrown for terms too short to be indexed.
+     */
+    @Test
+    @Order(14)
+    @DisplayName("Should reject search term shorter than three characters")
+    void testSearchTermTooShort() {
+        assertThrows(InvalidSearchQueryException.class, () -> adminService.searchUsers(" ab ", null, PAGE_SIZE));
+        assertThrows(InvalidSearchQueryException.class, () -> adminService.autocompleteUsers(null, 10));
+        verify(userRepository, never()).search(anyString(), any(), anyInt());
+    }
+}
@@ -1,22 +1,34 @@
 package api.carpooling.application.service.impl;
 
+import api.carpooling.application.audit.AuditAction;
+import api.carpooling.application.audit.AuditLogger;
+import api.carpooling.application.cache.UserProfileCache;
+import api.carpooling.application.dto.auth.AuthTokens;
+import api.carpooling.application.dto.auth.IssuedRefreshToken;
 import api.carpooling.application.dto.auth.LoginUserRequest;
+import api.carpooling.application.dto.auth.RefreshedSession;
 import api.carpooling.application.dto.auth.RegisterUserRequest;
+import api.carpooling.application.dto.auth.SessionResponse;
 import api.carpooling.application.dto.user.UserDTO;
 import api.carpooling.application.exception.UserNotFoundException;
 import api.carpooling.application.exception.UserExistsAlready;
 import api.carpooling.application.exception.PasswordNotMatchException;
 import api.carpooling.application.exception.ExpiredRefreshTokenException;
+import api.carpooling.application.exception.TooManyLoginAttemptsException;
 import api.carpooling.application.mapper.UserMapper;
+import api.carpooling.application.service.RefreshTokenService;
+import api.carpooling.application.throttle.LoginThrottle;
 import api.carpooling.domain.User;
 import api.carpooling.domain.enumeration.RoleUser;
 import api.carpooling.repository.UserRepository;
-import api.carpooling.utils.EncodedPassword;
+import api.carpooling.security.AccessToken;
+import api.carpooling.security.revocation.TokenRevocationService;
+import api.carpooling.utils.PasswordHasher;
 import api.carpooling.utils.TokenGenerator;
 import api.carpooling.utils.UserTokenService;
 
-import io.jsonwebtoken.Claims;
 import lombok.extern.slf4j.Slf4j;
+import org.hibernate.exception.ConstraintViolationException;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.TestMethodOrder;
@@ -26,27 +38,38 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Order;
 import org.junit.jupiter.api.AfterAll;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
-import org.mockito.MockedStatic;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.sql.SQLException;
+import java.time.Instant;
 import java.time.LocalDateTime;
-import java.util.Date;
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.function.Function;
 
 import static org.junit.jupiter.api.Assertions.assertNotNull;
-import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
 import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.when;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
-import static org.mockito.Mockito.mockStatic;
-import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verifyNoInteractions;
 
 /**
  * Unit tests for {@link AuthServiceImpl}.
@@ -60,6 +83,16 @@ import static org.mockito.Mockito.mock;
 @Slf4j
 public class AuthServiceImplTest {
 
+    /**
+     * Client address used for login attempts.
+     */
+    private static final String CLIENT_IP = "203.0.113.7";
+
+    /**
+     * Delay before a throttled client may retry, in seconds.
+     */
+    private static final long RETRY_AFTER_SECONDS = 30L;
+
     /**
      * Mocked instance of {@link UserRepository} used to simulate database operations.
      * <p>
@@ -101,6 +134,52 @@ public class AuthServiceImplTest {
     @Mock
     private UserTokenService userTokenService;
 
+    /**
+     * Mocked instance of {@link PasswordHasher} used to simulate password hashing.
+     * <p>
+     * Avoids running BCrypt on the hashing executor during service tests.
+     */
+    @Mock
+    private PasswordHasher passwordHasher;
+
+    /**
+     * Mocked instance of {@link RefreshTokenService} used to simulate refresh token sessions.
+     * <p>
+     * Avoids touching the user_refresh_tokens table during service tests.
+     */
+    @Mock
+    private RefreshTokenService refreshTokenService;
+
+    /**
+     * Mocked cache of user profiles.
+     */
+    @Mock
+    private UserProfileCache userProfileCache;
+
+    /**
+     * Mocked throttle applied to login attempts.
+     */
+    @Mock
+    private LoginThrottle loginThrottle;
+
+    /**
+     * Mocked service revoking access tokens.
+     */
+    @Mock
+    private TokenRevocationService tokenRevocationService;
+
+    /**
+     * Mocked audit logger.
+     */
+    @Mock
+    private AuditLogger auditLogger;
+
+    /**
+     * Mocked template running the database steps of login and registration.
+     */
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
     /**
      * Represents a mock {@link User} entity used as test data.
      * <p>
@@ -144,7 +223,6 @@ public class AuthServiceImplTest {
         user.setPhoneNumber("+33600000000");
         user.setRoleUser(RoleUser.ROLE_PASSENGER);
         user.setLastLogin(LocalDateTime.now());
-        user.setTokenExpired(LocalDateTime.now().plusDays(1));
 
         LocalDateTime now = LocalDateTime.now();
         userDTO = new UserDTO(
@@ -152,13 +230,17 @@ public class AuthServiceImplTest {
                 user.getEmail(),
                 user.getUsername(),
                 "jwt.token",
-                "refresh.token",
-                user.getTokenExpired(),
+                null,
+                null,
                 user.getLastLogin(),
                 user.getRoleUser(),
                 now.minusDays(1),
                 now
         );
+
+        // The mocked transaction template runs its callbacks, for the tests that reach the database
+        lenient().doAnswer(invocation -> invocation.getArgument(0, TransactionCallback.class).doInTransaction(null))
+                .when(transactionTemplate).execute(any());
     }
 
     // -------------------------
@@ -180,36 +262,32 @@ public class AuthServiceImplTest {
                 "+33600000000"
         );
 
-        when(userRepository.existsByEmail(anyString())).thenReturn(false);
-        when(userRepository.existsByUsername(anyString())).thenReturn(false);
         when(userRepository.saveAndFlush(any(User.class))).thenReturn(user);
 
-        when(userTokenService.generateTokens(any(User.class))).thenAnswer(invocation -> {
-            User u = invocation.getArgument(0);
-            u.setToken("jwt.token");
-            u.setRefreshToken("refresh.token");
-            return u;
-        });
+        when(userTokenService.generateTokens(any(User.class))).thenReturn(
+                new AuthTokens("jwt.token", "refresh.token", LocalDateTime.now().plusDays(7)));
 
         when(userMapper.toDTO(any(User.class))).thenReturn(userDTO);
 
-        try (MockedStatic<EncodedPassword> encodedStatic = mockStatic(EncodedPassword.class)) {
-            encodedStatic.when(() -> EncodedPassword.encode(request.password())).thenReturn("hashedPass");
+        when(passwordHasher.encode(request.password())).thenReturn("hashedPass");
 
-            UserDTO result = authService.register(request);
+        UserDTO result = authService.register(request);
 
-            assertNotNull(result);
-            assertEquals("TestUser", result.username());
-            verify(userRepository, times(1)).saveAndFlush(any(User.class));
-        }
+        assertNotNull(result);
+        assertEquals("TestUser", result.username());
+        assertEquals("refresh.token", result.refreshToken());
+        verify(userRepository, times(1)).saveAndFlush(any(User.class));
+        InOrder order = inOrder(passwordHasher, transactionTemplate);
+        order.verify(passwordHasher, times(1)).encode(request.password());
+        order.verify(transactionTemplate, times(1)).execute(any());
     }
 
     /**
-     * Checks that the registration fails if the email or username already exists.
+     * Checks that a unique constraint violation of the insert is reported with the duplicated field.
      */
     @Test
     @Order(2)
-    @DisplayName("Should throw UserExistsAlready when email or username exists")
+    @DisplayName("Should throw UserExistsAlready naming the duplicated field")
     void testRegisterUserAlreadyExists() {
         RegisterUserRequest request = new RegisterUserRequest(
                 "TestUser",
@@ -218,8 +296,14 @@ public class AuthServiceImplTest {
                 "+33600000000"
         );
 
-        when(userRepository.existsByEmail(anyString())).thenReturn(true);
-        assertThrows(UserExistsAlready.class, () -> authService.register(request));
+        when(passwordHasher.encode(request.password())).thenReturn("hashedPass");
+        when(userRepository.saveAndFlush(any(User.class))).thenThrow(new DataIntegrityViolationException(
+                "duplicate key", new ConstraintViolationException("duplicate key", new SQLException(),
+                "users_username_key")));
+
+        UserExistsAlready ex = assertThrows(UserExistsAlready.class, () -> authService.register(request));
+        assertTrue(ex.getMessage().endsWith("with this username"), "Duplicated field should be named");
+        verify(userTokenService, never()).generateTokens(any(User.class));
     }
 
     /**
@@ -236,10 +320,8 @@ public class AuthServiceImplTest {
                 "+33600000000"
         );
 
-        when(userRepository.existsByEmail(anyString())).thenReturn(false);
-        when(userRepository.existsByUsername(anyString())).thenReturn(false);
-
         assertThrows(PasswordNotMatchException.class, () -> authService.register(request));
+        verify(userRepository, never()).saveAndFlush(any(User.class));
     }
 
     // -------------------------
@@ -256,27 +338,27 @@ public class AuthServiceImplTest {
         LoginUserRequest request = new LoginUserRequest("test@example.com", "Password@123");
 
         when(userRepository.findByEmail(anyString())).thenReturn(Optional.of(user));
-        when(tokenGenerator.generateJwtToken(any(UUID.class), anyString())).thenReturn("jwt.token");
-        when(tokenGenerator.generateRefreshToken()).thenReturn("refresh.token");
-        when(tokenGenerator.getRefreshTokenExpiry()).thenReturn(
-                Date.from(LocalDateTime.now().plusDays(7)
-                        .atZone(java.time.ZoneId.systemDefault())
-                        .toInstant())
-        );
-        when(userRepository.existsByRefreshToken(anyString())).thenReturn(false);
+        when(userTokenService.generateTokens(user, null)).thenReturn(
+                new AuthTokens("jwt.token", "refresh.token", LocalDateTime.now().plusDays(7)));
         when(userMapper.toDTO(any(User.class))).thenReturn(userDTO);
+        when(passwordHasher.matches(request.password(), user.getPassword())).thenReturn(true);
 
-        try (MockedStatic<EncodedPassword> enc = mockStatic(EncodedPassword.class)) {
-            enc.when(() -> EncodedPassword.isRightPassword(request.password(), user.getPassword()))
-                    .thenReturn(true);
+        UserDTO result = authService.login(request, CLIENT_IP);
 
-            UserDTO result = authService.login(request);
-
-            assertNotNull(result);
-            assertEquals("TestUser", result.username());
-            verify(userRepository, times(1)).findByEmail(anyString());
-            verify(userRepository, times(1)).save(any(User.class));
-        }
+        assertNotNull(result);
+        assertEquals("TestUser", result.username());
+        assertEquals("jwt.token", result.token());
+        assertEquals("refresh.token", result.refreshToken());
+        verify(userRepository, times(1)).findByEmail(anyString());
+        verify(userTokenService, times(1)).generateTokens(user, null);
+        verify(userProfileCache, times(1)).evict(user.getId());
+        verify(loginThrottle, times(1)).check(request.email(), CLIENT_IP);
+        verify(loginThrottle, times(1)).reset(request.email());
+        verify(userRepository, times(1)).updateLastLogin(eq(user.getId()), any(LocalDateTime.class));
+        InOrder order = inOrder(transactionTemplate, passwordHasher);
+        order.verify(transactionTemplate, times(1)).execute(any());
+        order.verify(passwordHasher, times(1)).matches(request.password(), "EncodedPass123!");
+        order.verify(transactionTemplate, times(1)).execute(any());
     }
 
     /**
@@ -289,7 +371,7 @@ public class AuthServiceImplTest {
         LoginUserRequest request = new LoginUserRequest("test@example.com", "Password@123");
         when(userRepository.findByEmail(anyString())).thenReturn(Optional.empty());
 
-        assertThrows(UserNotFoundException.class, () -> authService.login(request));
+        assertThrows(UserNotFoundException.class, () -> authService.login(request, CLIENT_IP));
     }
 
     /**
@@ -301,13 +383,12 @@ public class AuthServiceImplTest {
     void testLoginPasswordIncorrect() {
         LoginUserRequest request = new LoginUserRequest("test@example.com", "Password@123");
         when(userRepository.findByEmail(anyString())).thenReturn(Optional.of(user));
+        when(passwordHasher.matches(request.password(), user.getPassword())).thenReturn(false);
 
-        try (MockedStatic<EncodedPassword> enc = mockStatic(EncodedPassword.class)) {
-            enc.when(() -> EncodedPassword.isRightPassword(request.password(), user.getPassword()))
-                    .thenReturn(false);
-
-            assertThrows(PasswordNotMatchException.class, () -> authService.login(request));
-        }
+        assertThrows(PasswordNotMatchException.class, () -> authService.login(request, CLIENT_IP));
+        verify(userRepository, never()).updateLastLogin(any(UUID.class), any(LocalDateTime.class));
+        verify(auditLogger).recordNow(argThat(event -> event.action() == AuditAction.LOGIN_FAILED
+                && CLIENT_IP.equals(event.details().get("ip"))));
     }
 
     // -------------------------
@@ -321,19 +402,18 @@ public class AuthServiceImplTest {
     @Order(7)
     @DisplayName("Should refresh token successfully")
     void testRefreshTokenSuccess() {
-        when(userRepository.findByRefreshToken(anyString())).thenReturn(Optional.of(user));
-        when(tokenGenerator.generateJwtToken(any(UUID.class), anyString())).thenReturn("new.jwt.token");
-        when(tokenGenerator.getRefreshTokenExpiry()).thenReturn(
-                Date.from(LocalDateTime.now().plusDays(7)
-                        .atZone(java.time.ZoneId.systemDefault())
-                        .toInstant())
-        );
-        when(userMapper.toDTO(any(User.class))).thenReturn(userDTO);
+        when(refreshTokenService.rotate("validRefreshToken")).thenReturn(new RefreshedSession(user.getId(),
+                RoleUser.ROLE_PASSENGER,
+                new IssuedRefreshToken("rotated.refresh.token", LocalDateTime.now().plusDays(7))));
+        when(tokenGenerator.generateJwtToken(user.getId(), "ROLE_PASSENGER")).thenReturn("new.jwt.token");
 
         UserDTO result = authService.refreshToken("validRefreshToken");
         assertNotNull(result);
-        verify(userRepository, times(1)).findByRefreshToken(anyString());
-        verify(userRepository, times(1)).save(any(User.class));
+        assertEquals(user.getId(), result.id());
+        assertEquals("new.jwt.token", result.token());
+        assertEquals("rotated.refresh.token", result.refreshToken());
+        verify(refreshTokenService, times(1)).rotate("validRefreshToken");
+        verifyNoInteractions(userRepository);
     }
 
     /**
@@ -343,8 +423,8 @@ public class AuthServiceImplTest {
     @Order(8)
     @DisplayName("Should throw ExpiredRefreshTokenException when token expired")
     void testRefreshTokenExpired() {
-        user.setTokenExpired(LocalDateTime.now().minusDays(1));
-        when(userRepository.findByRefreshToken(anyString())).thenReturn(Optional.of(user));
+        when(refreshTokenService.rotate(anyString()))
+                .thenThrow(new ExpiredRefreshTokenException("Refresh token expired"));
 
         assertThrows(ExpiredRefreshTokenException.class, () -> authService.refreshToken("expiredToken"));
     }
@@ -354,21 +434,29 @@ public class AuthServiceImplTest {
     // -------------------------
 
     /**
-     * Verifies the retrieval of the user profile via the token (me).
+     * Stubs the profile cache so that every lookup calls the loader.
+     */
+    @SuppressWarnings("unchecked")
+    private void cacheMiss() {
+        when(userProfileCache.get(any(UUID.class), any(Function.class)))
+                .thenAnswer(invocation -> ((Function<UUID, UserDTO>) invocation.getArgument(1))
+                        .apply(invocation.getArgument(0)));
+    }
+
+    /**
+     * Verifies the retrieval of the user profile of the authenticated user (me).
      */
     @Test
     @Order(9)
-    @DisplayName("Should return user profile for valid JWT")
+    @DisplayName("Should load user profile on cache miss")
     void testMeSuccess() {
-        Claims claims = mock(Claims.class);
-        when(claims.getSubject()).thenReturn(user.getId().toString());
-        when(tokenGenerator.parseJwt(anyString())).thenReturn(claims);
-        when(userRepository.findById(any(UUID.class))).thenReturn(Optional.of(user));
+        cacheMiss();
+        when(userRepository.findById(user.getId())).thenReturn(Optional.of(user));
         when(userMapper.toDTO(any(User.class))).thenReturn(userDTO);
 
-        UserDTO result = authService.me("Bearer valid.jwt.token");
+        UserDTO result = authService.me(user.getId());
         assertEquals("TestUser", result.username());
-        verify(tokenGenerator, times(1)).parseJwt(anyString());
+        verify(userRepository, times(1)).findById(user.getId());
     }
 
     /**
@@ -378,12 +466,26 @@ public class AuthServiceImplTest {
     @Order(10)
     @DisplayName("Should throw UserNotFoundException when user not found in me()")
     void testMeUserNotFound() {
-        Claims claims = mock(Claims.class);
-        when(claims.getSubject()).thenReturn(UUID.randomUUID().toString());
-        when(tokenGenerator.parseJwt(anyString())).thenReturn(claims);
+        cacheMiss();
         when(userRepository.findById(any(UUID.class))).thenReturn(Optional.empty());
 
-        assertThrows(UserNotFoundException.class, () -> authService.me("Bearer valid.jwt.token"));
+        UUID unknownId = UUID.randomUUID();
+        assertThrows(UserNotFoundException.class, () -> authService.me(unknownId));
+    }
+
+    /**
+     * Verifies that a cached profile is returned without reading the database.
+     */
+    @Test
+    @Order(11)
+    @DisplayName("Should serve user profile from cache")
+    void testMeFromCache() {
+        when(userProfileCache.get(eq(user.getId()), any())).thenReturn(userDTO);
+
+        UserDTO result = authService.me(user.getId());
+
+        assertEquals("TestUser", result.username());
+        verify(userRepository, never()).findById(any(UUID.class));
     }
 
     // -------------------------
@@ -391,49 +493,86 @@ public class AuthServiceImplTest {
     // -------------------------
 
     /**
-     * Verifies that logout() correctly invalidates the user's tokens.
+     * Verifies that logout() revokes every refresh token session of the user
+     * and the access token used for the request.
      */
     @Test
-    @Order(11)
+    @Order(12)
     @DisplayName("Should logout user successfully")
     void testLogoutSuccess() {
-        Claims claims = mock(Claims.class);
-        when(claims.getSubject()).thenReturn(user.getId().toString());
-        when(tokenGenerator.parseJwt(anyString())).thenReturn(claims);
-        when(userRepository.findById(any(UUID.class))).thenReturn(Optional.of(user));
-
-        authService.logout("Bearer valid.jwt.token");
+        Instant expiresAt = Instant.now().plusSeconds(60);
+        authService.logout(user.getId(), new AccessToken("token-id", expiresAt));
 
-        verify(userRepository, times(1)).save(user);
-        assertNull(user.getToken());
-        assertNull(user.getRefreshToken());
-        assertNotNull(user.getLastLogin());
+        verify(refreshTokenService, times(1)).revokeAll(user.getId());
+        verify(tokenRevocationService, times(1)).revoke("token-id", expiresAt.toEpochMilli());
     }
 
     /**
-     * Ensures logout() throws UserNotFoundException when no user is found.
+     * Ensures logout() never reads or writes the users table.
      */
     @Test
-    @Order(12)
-    @DisplayName("Should throw UserNotFoundException when user not found in logout()")
-    void testLogoutUserNotFound() {
-        Claims claims = mock(Claims.class);
-        when(claims.getSubject()).thenReturn(UUID.randomUUID().toString());
-        when(tokenGenerator.parseJwt(anyString())).thenReturn(claims);
-        when(userRepository.findById(any(UUID.class))).thenReturn(Optional.empty());
+    @Order(13)
+    @DisplayName("Should logout without touching the users table")
+    void testLogoutDoesNotTouchUsers() {
+        authService.logout(UUID.randomUUID(), new AccessToken(null, Instant.now().plusSeconds(60)));
 
-        assertThrows(UserNotFoundException.class, () -> authService.logout("Bearer valid.jwt.token"));
+        verifyNoInteractions(userRepository);
     }
 
+    // -------------------------
+    // SESSIONS
+    // -------------------------
+
     /**
-     * Ensures logout() throws an exception if the token is malformed or invalid.
+     * Verifies that sessions() lists the sessions of the authenticated user.
      */
     @Test
-    @Order(13)
-    @DisplayName("Should throw IllegalArgumentException for invalid token in logout()")
-    void testLogoutInvalidToken() {
-        when(tokenGenerator.parseJwt(anyString())).thenThrow(new IllegalArgumentException("Invalid JWT token"));
-        assertThrows(IllegalArgumentException.class, () -> authService.logout("Bearer invalid.jwt.token"));
+    @Order(14)
+    @DisplayName("Should list sessions of the authenticated user")
+    void testSessionsSuccess() {
+        SessionResponse session = SessionResponse.builder()
+                .id(UUID.randomUUID())
+                .deviceId("phone")
+                .build();
+        when(refreshTokenService.listSessions(user.getId())).thenReturn(List.of(session));
+
+        List<SessionResponse> result = authService.sessions(user.getId());
+
+        assertEquals(1, result.size());
+        assertEquals("phone", result.get(0).deviceId());
+    }
+
+    /**
+     * Verifies that revokeSession() revokes the session for the authenticated user only.
+     */
+    @Test
+    @Order(15)
+    @DisplayName("Should revoke a session of the authenticated user")
+    void testRevokeSessionSuccess() {
+        UUID sessionId = UUID.randomUUID();
+
+        authService.revokeSession(user.getId(), sessionId);
+
+        verify(refreshTokenService, times(1)).revoke(user.getId(), sessionId);
     }
 
+    // -------------------------
+    // THROTTLING
+    // -------------------------
+
+    /**
+     * Ensures a throttled login is rejected before the user lookup and the password check.
+     */
+    @Test
+    @Order(16)
+    @DisplayName("Should reject throttled login before any lookup or hashing")
+    void testLoginThrottled() {
+        LoginUserRequest request = new LoginUserRequest("test@example.com", "Password@123");
+        doThrow(new TooManyLoginAttemptsException("Too many login attempts", RETRY_AFTER_SECONDS))
+                .when(loginThrottle).check(request.email(), CLIENT_IP);
+
+        assertThrows(TooManyLoginAttemptsException.class, () -> authService.login(request, CLIENT_IP));
+
+        verifyNoInteractions(userRepository, passwordHasher, userTokenService);
+    }
 }
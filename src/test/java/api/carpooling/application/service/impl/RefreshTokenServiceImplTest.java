@@ -0,0 +1,302 @@
+package api.carpooling.application.service.impl;
+
+import api.carpooling.application.dto.auth.IssuedRefreshToken;
+import api.carpooling.application.dto.auth.RefreshedSession;
+import api.carpooling.application.dto.auth.SessionResponse;
+import api.carpooling.application.exception.ExpiredRefreshTokenException;
+import api.carpooling.application.exception.SessionNotFoundException;
+import api.carpooling.application.exception.UserNotActiveException;
+import api.carpooling.application.exception.UserNotFoundException;
+import api.carpooling.application.store.RefreshTokenStore;
+import api.carpooling.application.store.StoredRefreshSession;
+import api.carpooling.configuration.RefreshTokenProperties;
+import api.carpooling.domain.User;
+import api.carpooling.domain.enumeration.RoleUser;
+import api.carpooling.utils.TokenDigest;
+import api.carpooling.utils.TokenGenerator;
+
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.MethodOrderer;
+import org.junit.jupiter.api.Order;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestMethodOrder;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Date;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Unit tests for {@link RefreshTokenServiceImpl}.
+ * <p>
+ * Tests cover session issuing, rotation (success, reuse, expiry, inactive user),
+ * revocation and the delegation of the purge to the store.
+ */
+@ExtendWith(MockitoExtension.class)
+@TestMethodOrder(MethodOrderer.OrderAnnotation.class)
+@DisplayName("RefreshTokenServiceImpl Tests")
+@Slf4j
+public class RefreshTokenServiceImplTest {
+
+    /** Mocked store holding refresh token sessions. */
+    @Mock
+    private RefreshTokenStore refreshTokenStore;
+
+    /** Mocked JWT token utility. */
+    @Mock
+    private TokenGenerator tokenGenerator;
+
+    /** Refresh token configuration used by the service. */
+    private RefreshTokenProperties refreshTokenProperties;
+
+    /** Service under test. */
+    private RefreshTokenServiceImpl refreshTokenService;
+
+    /** Sample user owning the sessions. */
+    private User user;
+
+    /**
+     * Displays start message before all tests.
+     */
+    @BeforeAll
+    static void beforeAll() {
+        log.info("RefreshTokenServiceImpl tests initialized");
+    }
+
+    /**
+     * Displays message after all tests.
+     */
+    @AfterAll
+    static void afterAll() {
+        log.info("RefreshTokenServiceImpl tests completed");
+    }
+
+    /**
+     * Prepares the service and a reusable user before each test.
+     */
+    @BeforeEach
+    void setUp() {
+        refreshTokenProperties = new RefreshTokenProperties();
+        refreshTokenProperties.setSweepBatchSize(2);
+        refreshTokenProperties.setSweepMaxBatches(3);
+        refreshTokenService = new RefreshTokenServiceImpl(
+                refreshTokenStore, tokenGenerator, refreshTokenProperties);
+
+        user = new User();
+        user.setId(UUID.randomUUID());
+        user.setRoleUser(RoleUser.ROLE_PASSENGER);
+        user.setActive(true);
+    }
+
+    /**
+     * Stubs the generation of the next refresh token.
+     *
+     * @param token raw token to generate
+     */
+    private void stubNextToken(String token) {
+        when(tokenGenerator.generateRefreshToken()).thenReturn(token);
+        when(tokenGenerator.getRefreshTokenExpiry()).thenReturn(Date.from(LocalDateTime.now().plusDays(7)
+                .atZone(ZoneId.systemDefault()).toInstant()));
+    }
+
+    /**
+     * Builds a session holding the given raw token.
+     *
+     * @param token raw refresh token
+     * @param expiresAt expiry of the token
+     * @return the session
+     */
+    private StoredRefreshSession session(String token, LocalDateTime expiresAt) {
+        return StoredRefreshSession.builder()
+                .id(UUID.randomUUID())
+                .userId(user.getId())
+                .roleUser(user.getRoleUser())
+                .userActive(user.isActive())
+                .deviceId("phone")
+                .tokenHash(TokenDigest.sha256Hex(token))
+                .expiresAt(expiresAt)
+                .build();
+    }
+
+    /**
+     * Verifies that issue() stores only the digest of the token, on the default device.
+     */
+    @Test
+    @Order(1)
+    @DisplayName("Should issue a token and store its digest")
+    void testIssueStoresDigest() {
+        stubNextToken("raw-token");
+
+        IssuedRefreshToken issued = refreshTokenService.issue(user, null);
+
+        assertEquals("raw-token", issued.token());
+        verify(refreshTokenStore, times(1)).open(argThat(s -> s.userId().equals(user.getId())
+                && "default".equals(s.deviceId())
+                && s.roleUser() == RoleUser.ROLE_PASSENGER
+                && TokenDigest.sha256Hex("raw-token").equals(s.tokenHash())
+                && issued.expiresAt().equals(s.expiresAt())));
+    }
+
+    /**
+     * Verifies that rotate() replaces the presented token with a new one.
+     */
+    @Test
+    @Order(2)
+    @DisplayName("Should rotate a valid refresh token")
+    void testRotateSuccess() {
+        StoredRefreshSession session = session("old-token", LocalDateTime.now().plusDays(1));
+        when(refreshTokenStore.findByTokenHash(TokenDigest.sha256Hex("old-token")))
+                .thenReturn(Optional.of(session));
+        stubNextToken("new-token");
+        when(refreshTokenStore.rotate(eq(session), eq(TokenDigest.sha256Hex("old-token")),
+                eq(TokenDigest.sha256Hex("new-token")), any(LocalDateTime.class)))
+                .thenReturn(true);
+
+        RefreshedSession refreshed = refreshTokenService.rotate("old-token");
+
+        assertEquals(user.getId(), refreshed.userId());
+        assertEquals(RoleUser.ROLE_PASSENGER, refreshed.roleUser());
+        assertEquals("new-token", refreshed.refreshToken().token());
+        assertNotEquals("old-token", refreshed.refreshToken().token());
+    }
+
+    /**
+     * Verifies that a token already consumed by a concurrent refresh is rejected.
+     */
+    @Test
+    @Order(3)
+    @DisplayName("Should reject a token already rotated")
+    void testRotateAlreadyUsed() {
+        StoredRefreshSession session = session("old-token", LocalDateTime.now().plusDays(1));
+        when(refreshTokenStore.findByTokenHash(anyString())).thenReturn(Optional.of(session));
+        stubNextToken("new-token");
+        when(refreshTokenStore.rotate(any(), anyString(), anyString(), any())).thenReturn(false);
+
+        assertThrows(UserNotFoundException.class, () -> refreshTokenService.rotate("old-token"));
+    }
+
+    /**
+     * Verifies that unknown and revoked tokens are rejected.
+     */
+    @Test
+    @Order(4)
+    @DisplayName("Should reject unknown or revoked token")
+    void testRotateUnknownOrRevoked() {
+        StoredRefreshSession revoked = StoredRefreshSession.builder()
+                .id(UUID.randomUUID())
+                .userId(user.getId())
+                .expiresAt(LocalDateTime.now().plusDays(1))
+                .revoked(true)
+                .build();
+        when(refreshTokenStore.findByTokenHash(TokenDigest.sha256Hex("revoked-token")))
+                .thenReturn(Optional.of(revoked));
+        when(refreshTokenStore.findByTokenHash(TokenDigest.sha256Hex("unknown-token")))
+                .thenReturn(Optional.empty());
+
+        assertThrows(UserNotFoundException.class, () -> refreshTokenService.rotate("revoked-token"));
+        assertThrows(UserNotFoundException.class, () -> refreshTokenService.rotate("unknown-token"));
+        verify(tokenGenerator, never()).generateRefreshToken();
+    }
+
+    /**
+     * Verifies that an expired token is rejected.
+     */
+    @Test
+    @Order(5)
+    @DisplayName("Should throw ExpiredRefreshTokenException when token expired")
+    void testRotateExpired() {
+        StoredRefreshSession session = session("old-token", LocalDateTime.now().minusMinutes(1));
+        when(refreshTokenStore.findByTokenHash(anyString())).thenReturn(Optional.of(session));
+
+        assertThrows(ExpiredRefreshTokenException.class, () -> refreshTokenService.rotate("old-token"));
+    }
+
+    /**
+     * Verifies that an inactive user cannot refresh.
+     */
+    @Test
+    @Order(6)
+    @DisplayName("Should throw UserNotActiveException when user is inactive")
+    void testRotateInactiveUser() {
+        user.setActive(false);
+        StoredRefreshSession session = session("old-token", LocalDateTime.now().plusDays(1));
+        when(refreshTokenStore.findByTokenHash(anyString())).thenReturn(Optional.of(session));
+
+        assertThrows(UserNotActiveException.class, () -> refreshTokenService.rotate("old-token"));
+    }
+
+    /**
+     * Verifies that active sessions are mapped to responses.
+     */
+    @Test
+    @Order(7)
+    @DisplayName("Should list active sessions")
+    void testListSessions() {
+        StoredRefreshSession session = session("token", LocalDateTime.now().plusDays(1));
+        when(refreshTokenStore.findActive(user.getId())).thenReturn(List.of(session));
+
+        List<SessionResponse> sessions = refreshTokenService.listSessions(user.getId());
+
+        assertEquals(1, sessions.size());
+        assertEquals(session.id(), sessions.get(0).id());
+        assertEquals("phone", sessions.get(0).deviceId());
+    }
+
+    /**
+     * Verifies that revoking an unknown session fails.
+     */
+    @Test
+    @Order(8)
+    @DisplayName("Should throw SessionNotFoundException when session does not belong to user")
+    void testRevokeUnknownSession() {
+        UUID sessionId = UUID.randomUUID();
+        when(refreshTokenStore.revoke(user.getId(), sessionId)).thenReturn(false);
+
+        assertThrows(SessionNotFoundException.class, () -> refreshTokenService.revoke(user.getId(), sessionId));
+    }
+
+    /**
+     * Verifies that the purge is delegated to the store with the configured sizing.
+     */
+    @Test
+    @Order(9)
+    @DisplayName("Should purge expired sessions with configured batches")
+    void testPurgeExpired() {
+        when(refreshTokenStore.purgeExpired(2, 3)).thenReturn(5);
+
+        assertEquals(5, refreshTokenService.purgeExpired());
+    }
+
+    /**
+     * Verifies that role changes are propagated to the store.
+     */
+    @Test
+    @Order(10)
+    @DisplayName("Should propagate role change to the store")
+    void testUpdateRole() {
+        refreshTokenService.updateRole(user.getId(), RoleUser.ROLE_DRIVER);
+
+        verify(refreshTokenStore, times(1)).updateRole(user.getId(), RoleUser.ROLE_DRIVER);
+    }
+}
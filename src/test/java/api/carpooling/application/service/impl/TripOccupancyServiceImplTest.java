@@ -0,0 +1,138 @@
+package api.carpooling.application.service.impl;
+
+import api.carpooling.configuration.TripOccupancyProperties;
+import api.carpooling.repository.TripOccupancySlice;
+import api.carpooling.repository.TripRepository;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.MethodOrderer.OrderAnnotation;
+import org.junit.jupiter.api.Order;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestMethodOrder;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Unit tests for {@link TripOccupancyServiceImpl}.
+ * <p>
+ * These tests verify that a run compares a bounded number of batches, resumes after the
+ * last trip compared, and only opens a transaction to correct the trips that drifted.
+ */
+@ExtendWith(MockitoExtension.class)
+@TestMethodOrder(OrderAnnotation.class)
+@DisplayName("TripOccupancyServiceImpl Tests")
+@Slf4j
+public class TripOccupancyServiceImplTest {
+
+    /**
+     * Trips compared by a single batch in these tests.
+     */
+    private static final int BATCH_SIZE = 2;
+
+    /** Mocked repository holding the trips. */
+    @Mock
+    private TripRepository tripRepository;
+
+    /** Mocked template running each correction. */
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    /** Registry receiving the counter of corrections. */
+    private SimpleMeterRegistry meterRegistry;
+
+    /** Service under test. */
+    private TripOccupancyServiceImpl tripOccupancyService;
+
+    /**
+     * Displays start message before all tests.
+     */
+    @BeforeAll
+    static void setUpAll() {
+        log.info("Starting TripOccupancyServiceImpl tests");
+    }
+
+    /**
+     * Displays message after all tests.
+     */
+    @AfterAll
+    static void tearDownAll() {
+        log.info("Finished TripOccupancyServiceImpl tests");
+    }
+
+    /**
+     * Builds the service with small batches, two per run, before each test.
+     */
+    @BeforeEach
+    void setUp() {
+        TripOccupancyProperties properties = new TripOccupancyProperties();
+        properties.setBatchSize(BATCH_SIZE);
+        properties.setBatchesPerRun(2);
+        meterRegistry = new SimpleMeterRegistry();
+        tripOccupancyService = new TripOccupancyServiceImpl(tripRepository, transactionTemplate, properties,
+                meterRegistry);
+    }
+
+    /**
+     * Verifies that drifted trips are corrected and that the next run resumes after the last batch.
+     */
+    @Test
+    @Order(1)
+    @DisplayName("Should correct drifted trips and resume after the last batch")
+    void testCorrectAndResume() {
+        UUID first = UUID.randomUUID();
+        UUID second = UUID.randomUUID();
+        UUID drifted = UUID.randomUUID();
+        doAnswer(invocation -> invocation.getArgument(0, TransactionCallback.class).doInTransaction(null))
+                .when(transactionTemplate).execute(any());
+        when(tripRepository.findDrift(null, BATCH_SIZE)).thenReturn(new TripOccupancySlice(first, List.of()));
+        when(tripRepository.findDrift(first, BATCH_SIZE)).thenReturn(new TripOccupancySlice(second,
+                List.of(drifted)));
+        when(tripRepository.correctDrift(List.of(drifted))).thenReturn(1);
+        when(tripRepository.findDrift(second, BATCH_SIZE)).thenReturn(new TripOccupancySlice(null, List.of()));
+
+        int corrected = tripOccupancyService.checkDrift();
+        int nextRun = tripOccupancyService.checkDrift();
+
+        assertAll("Drift check",
+                () -> assertEquals(1, corrected, "The drifted trip should be corrected"),
+                () -> assertEquals(0, nextRun, "The next run should find no drift"),
+                () -> assertEquals(1, meterRegistry.counter("trips.occupancy.drift").count(),
+                        "The correction should be counted"));
+        verify(tripRepository).findDrift(second, BATCH_SIZE);
+    }
+
+    /**
+     * Verifies that no transaction is opened when no trip drifted, and that the end of the
+     * table ends the run.
+     */
+    @Test
+    @Order(2)
+    @DisplayName("Should not correct anything without drift")
+    void testNoDrift() {
+        when(tripRepository.findDrift(null, BATCH_SIZE)).thenReturn(new TripOccupancySlice(null, List.of()));
+
+        assertEquals(0, tripOccupancyService.checkDrift(), "No counter should be corrected");
+        verify(tripRepository, never()).correctDrift(anyCollection());
+        verify(transactionTemplate, never()).execute(any());
+    }
+}
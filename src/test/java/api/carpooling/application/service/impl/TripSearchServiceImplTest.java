@@ -0,0 +1,317 @@
+package api.carpooling.application.service.impl;
+
+import api.carpooling.application.cache.PlaceDictionary;
+import api.carpooling.application.cache.RouteIndex;
+import api.carpooling.application.dto.trip.NearbyTrip;
+import api.carpooling.application.dto.trip.NearbyTripCriteria;
+import api.carpooling.application.dto.trip.TripSearchCriteria;
+import api.carpooling.application.dto.trip.TripSearchPage;
+import api.carpooling.application.dto.trip.TripSummary;
+import api.carpooling.application.exception.InvalidTripSearchException;
+import api.carpooling.configuration.PlaceDictionaryProperties;
+import api.carpooling.configuration.RouteIndexProperties;
+import api.carpooling.configuration.TripSearchProperties;
+import api.carpooling.repository.PlaceEntry;
+import api.carpooling.repository.TripKeyset;
+import api.carpooling.repository.TripRepository;
+import api.carpooling.utils.TripCursorCodec;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.MethodOrderer.OrderAnnotation;
+import org.junit.jupiter.api.Order;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestMethodOrder;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+/**
+ * Unit tests for {@link TripSearchServiceImpl}.
+ * <p>
+ * These tests verify that criteria are normalized and completed before reaching the
+ * repository, that pages carry a cursor only when more trips follow, that invalid
+ * criteria are rejected, that covered searches are answered by the route index, that
+ * searches around a point are completed and bounded, and that the latency of each search
+ * is recorded.
+ */
+@ExtendWith(MockitoExtension.class)
+@TestMethodOrder(OrderAnnotation.class)
+@DisplayName("TripSearchServiceImpl Tests")
+@Slf4j
+public class TripSearchServiceImplTest {
+
+    /** Departure of the first trip of the tests. */
+    private static final LocalDateTime DEPARTURE = LocalDateTime.of(2026, 7, 1, 8, 0);
+
+    /**
+     * Page size requested by the tests.
+     */
+    private static final int PAGE_SIZE = 20;
+
+    /**
+     * Latitude of the centre of Paris.
+     */
+    private static final double PARIS_LATITUDE = 48.8566;
+
+    /**
+     * Longitude of the centre of Paris.
+     */
+    private static final double PARIS_LONGITUDE = 2.3522;
+
+    /**
+     * Latitude beyond the poles.
+     */
+    private static final double INVALID_LATITUDE = 91.0;
+
+    /**
+     * Radius above the largest accepted one, in kilometers.
+     */
+    private static final double OVERSIZED_RADIUS_KM = 80.0;
+
+    /**
+     * Distance of the nearby trip from the searched point, in meters.
+     */
+    private static final long DISTANCE_METERS = 1200L;
+
+    /**
+     * Largest number of trips returned around a point.
+     */
+    private static final int MAX_NEARBY = 50;
+
+    /**
+     * Number of trips above the largest accepted one.
+     */
+    private static final int OVERSIZED_NEARBY = 200;
+
+    /** Mocked repository running the search. */
+    @Mock
+    private TripRepository tripRepository;
+
+    /** Mocked manager of the read-only transactions. */
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    /** Route index, empty until a test loads it. */
+    private RouteIndex routeIndex;
+
+    /** Registry receiving the metrics. */
+    private SimpleMeterRegistry meterRegistry;
+
+    /** Service under test. */
+    private TripSearchServiceImpl tripSearchService;
+
+    /**
+     * Displays start message before all tests.
+     */
+    @BeforeAll
+    static void setUpAll() {
+        log.info("Starting TripSearchServiceImpl tests");
+    }
+
+    /**
+     * Displays message after all tests.
+     */
+    @AfterAll
+    static void tearDownAll() {
+        log.info("Finished TripSearchServiceImpl tests");
+    }
+
+    /**
+     * Builds the service before each test.
+     */
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        PlaceDictionary placeDictionary = new PlaceDictionary(new PlaceDictionaryProperties(), meterRegistry);
+        placeDictionary.load(List.of(new PlaceEntry(1L, "Paris", "paris"), new PlaceEntry(2L, "Lyon", "lyon")));
+        routeIndex = new RouteIndex(new RouteIndexProperties(), placeDictionary, meterRegistry);
+        tripSearchService = new TripSearchServiceImpl(tripRepository, routeIndex, transactionManager,
+                new TripSearchProperties(), meterRegistry);
+    }
+
+    /**
+     * Builds a trip leaving a given number of hours after {@link #DEPARTURE}.
+     *
+     * @param hours offset of the departure
+     * @return the trip
+     */
+    private static TripSummary trip(int hours) {
+        return new TripSummary(UUID.randomUUID(), UUID.randomUUID(), "driver", 1L, "Paris", 2L, "Lyon",
+                DEPARTURE.plusHours(hours), DEPARTURE.plusHours(hours + 5), new BigDecimal("25.00"), 2);
+    }
+
+    /**
+     * Verifies that the criteria are normalized and completed with the defaults.
+     */
+    @Test
+    @Order(1)
+    @DisplayName("Should normalize the route and fill in the defaults")
+    void testCriteriaCompleted() {
+        when(tripRepository.search(any(), any(), anyInt())).thenReturn(List.of(trip(0)));
+
+        tripSearchService.search(new TripSearchCriteria("  Paris ", "LYON", DEPARTURE, null, null, null), null,
+                PAGE_SIZE);
+
+        ArgumentCaptor<TripSearchCriteria> captor = ArgumentCaptor.forClass(TripSearchCriteria.class);
+        verify(tripRepository).search(captor.capture(), eq(null), eq(PAGE_SIZE + 1));
+        TripSearchCriteria criteria = captor.getValue();
+        assertAll("Completed criteria",
+                () -> assertEquals("paris", criteria.origin(), "Origin should be trimmed and lower-cased"),
+                () -> assertEquals("lyon", criteria.destination(), "Destination should be lower-cased"),
+                () -> assertEquals(DEPARTURE.plusDays(7), criteria.departureTo(), "Default window is 7 days"),
+                () -> assertEquals(1, criteria.minSeats(), "At least one free seat by default"),
+                () -> assertNull(criteria.maxPrice(), "No price limit by default"));
+    }
+
+    /**
+     * Verifies that the cursor of the next page points at the last returned trip.
+     */
+    @Test
+    @Order(2)
+    @DisplayName("Should return a cursor when more trips follow")
+    void testNextCursor() {
+        TripSummary first = trip(0);
+        TripSummary second = trip(1);
+        when(tripRepository.search(any(), any(), eq(3))).thenReturn(List.of(first, second, trip(2)));
+
+        TripSearchPage page = tripSearchService.search(
+                new TripSearchCriteria("Paris", "Lyon", DEPARTURE, null, 2, null), null, 2);
+
+        assertAll("First page",
+                () -> assertEquals(List.of(first, second), page.items(), "Extra trip should be dropped"),
+                () -> assertEquals(new TripKeyset(second.departureTime(), second.id()),
+                        TripCursorCodec.decode(page.nextCursor()), "Cursor should point at the last trip"),
+                () -> assertEquals(1L, meterRegistry.get("trips.search.latency").tag("page", "first")
+                        .tag("source", "database").timer().count(),
+                        "Latency of the first page should be recorded"));
+    }
+
+    /**
+     * Verifies that a following page is sought after the cursor position.
+     */
+    @Test
+    @Order(3)
+    @DisplayName("Should search after the cursor position")
+    void testFollowingPage() {
+        TripKeyset after = new TripKeyset(DEPARTURE, UUID.randomUUID());
+        when(tripRepository.search(any(), eq(after), anyInt())).thenReturn(List.of(trip(1)));
+
+        TripSearchPage page = tripSearchService.search(new TripSearchCriteria("Paris", "Lyon", DEPARTURE, null,
+                null, null), TripCursorCodec.encode(after), PAGE_SIZE);
+
+        assertNull(page.nextCursor(), "Last page should have no cursor");
+        assertEquals(1L, meterRegistry.get("trips.search.latency").tag("page", "next").tag("source", "database")
+                .timer().count(), "Latency of the following page should be recorded");
+    }
+
+    /**
+     * Verifies that invalid criteria never reach the repository.
+     */
+    @Test
+    @Order(4)
+    @DisplayName("Should reject invalid criteria")
+    void testInvalidCriteria() {
+        assertAll("Invalid criteria",
+                () -> assertThrows(InvalidTripSearchException.class, () -> tripSearchService.search(
+                        new TripSearchCriteria(" ", "Lyon", null, null, null, null), null, PAGE_SIZE)),
+                () -> assertThrows(InvalidTripSearchException.class, () -> tripSearchService.search(
+                        new TripSearchCriteria("Paris", "Lyon", DEPARTURE, DEPARTURE, null, null), null, PAGE_SIZE)),
+                () -> assertThrows(InvalidTripSearchException.class, () -> tripSearchService.search(
+                        new TripSearchCriteria("Paris", "Lyon", DEPARTURE, DEPARTURE.plusDays(60), null, null),
+                        null, PAGE_SIZE)),
+                () -> assertThrows(InvalidTripSearchException.class, () -> tripSearchService.search(
+                        new TripSearchCriteria("Paris", "Lyon", null, null, 0, null), null, PAGE_SIZE)));
+        verifyNoInteractions(tripRepository);
+    }
+
+    /**
+     * Verifies that a search within the covered window never reaches the database.
+     */
+    @Test
+    @Order(5)
+    @DisplayName("Should answer covered searches from the route index")
+    void testAnsweredFromMemory() {
+        TripSummary first = trip(0);
+        TripSummary second = trip(1);
+        routeIndex.replaceAll(List.of(second, first), DEPARTURE.minusDays(1), DEPARTURE.plusMonths(1));
+
+        TripSearchPage page = tripSearchService.search(
+                new TripSearchCriteria("Paris", "LYON", DEPARTURE, null, null, null), null, PAGE_SIZE);
+
+        assertAll("Page from memory",
+                () -> assertEquals(List.of(first, second), page.items(), "Trips should be sorted by departure"),
+                () -> assertNull(page.nextCursor(), "Last page should have no cursor"),
+                () -> assertEquals(1L, meterRegistry.get("trips.search.latency").tag("page", "first")
+                        .tag("source", "memory").timer().count(), "Latency should be tagged with the memory"));
+        verifyNoInteractions(tripRepository, transactionManager);
+    }
+
+    /**
+     * Verifies that a search around a point is completed with the defaults.
+     */
+    @Test
+    @Order(6)
+    @DisplayName("Should complete a search around a point")
+    void testNearbyCompleted() {
+        NearbyTrip nearby = new NearbyTrip(trip(0), DISTANCE_METERS);
+        when(tripRepository.findNearest(any(), anyInt())).thenReturn(List.of(nearby));
+
+        List<NearbyTrip> trips = tripSearchService.searchNearby(
+                new NearbyTripCriteria(PARIS_LATITUDE, PARIS_LONGITUDE, null, DEPARTURE, null, null),
+                OVERSIZED_NEARBY);
+
+        ArgumentCaptor<NearbyTripCriteria> captor = ArgumentCaptor.forClass(NearbyTripCriteria.class);
+        verify(tripRepository).findNearest(captor.capture(), eq(MAX_NEARBY));
+        NearbyTripCriteria criteria = captor.getValue();
+        assertAll("Completed criteria",
+                () -> assertEquals(List.of(nearby), trips, "Trips should be returned as found"),
+                () -> assertEquals(10.0, criteria.radiusKm(), "Default radius is 10 km"),
+                () -> assertEquals(DEPARTURE.plusDays(7), criteria.departureTo(), "Default window is 7 days"),
+                () -> assertEquals(1, criteria.minSeats(), "At least one free seat by default"),
+                () -> assertEquals(1L, meterRegistry.get("trips.nearby.latency").timer().count(),
+                        "Latency of the search should be recorded"));
+    }
+
+    /**
+     * Verifies that invalid points and radii never reach the repository.
+     */
+    @Test
+    @Order(7)
+    @DisplayName("Should reject an invalid point or radius")
+    void testInvalidNearby() {
+        assertAll("Invalid criteria",
+                () -> assertThrows(InvalidTripSearchException.class, () -> tripSearchService.searchNearby(
+                        new NearbyTripCriteria(null, PARIS_LONGITUDE, null, null, null, null), PAGE_SIZE)),
+                () -> assertThrows(InvalidTripSearchException.class, () -> tripSearchService.searchNearby(
+                        new NearbyTripCriteria(INVALID_LATITUDE, PARIS_LONGITUDE, null, null, null, null), PAGE_SIZE)),
+                () -> assertThrows(InvalidTripSearchException.class, () -> tripSearchService.searchNearby(
+                        new NearbyTripCriteria(PARIS_LATITUDE, PARIS_LONGITUDE, 0.0, null, null, null), PAGE_SIZE)),
+                () -> assertThrows(InvalidTripSearchException.class, () -> tripSearchService.searchNearby(
+                        new NearbyTripCriteria(PARIS_LATITUDE, PARIS_LONGITUDE, OVERSIZED_RADIUS_KM, null, null, null),
+                        PAGE_SIZE)));
+        verifyNoInteractions(tripRepository);
+    }
+}
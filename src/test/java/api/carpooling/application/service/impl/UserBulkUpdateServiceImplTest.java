@@ -0,0 +1,224 @@
+package api.carpooling.application.service.impl;
+
+import api.carpooling.application.audit.AuditLogger;
+import api.carpooling.application.cache.UserProfileCache;
+import api.carpooling.application.dto.admin.BulkUpdateStatus;
+import api.carpooling.application.dto.admin.BulkUserUpdateItem;
+import api.carpooling.application.dto.admin.BulkUserUpdateRequest;
+import api.carpooling.application.dto.admin.BulkUserUpdateResult;
+import api.carpooling.application.dto.admin.UserListFilter;
+import api.carpooling.application.exception.InvalidBulkUpdateException;
+import api.carpooling.application.service.RefreshTokenService;
+import api.carpooling.configuration.AdminBulkProperties;
+import api.carpooling.domain.enumeration.RoleUser;
+import api.carpooling.repository.UpdatedUser;
+import api.carpooling.repository.UserRepository;
+
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Order;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestMethodOrder;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.MethodOrderer.OrderAnnotation;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.when;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.any;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.anyInt;
+import static org.mockito.Mockito.anyList;
+import static org.mockito.Mockito.doAnswer;
+
+/**
+ * Unit tests for {@link UserBulkUpdateServiceImpl}.
+ * <p>
+ * Covers the selection of the users by ids, filter or opt-in for every user, the
+ * rejection of ambiguous or empty requests and the propagation of each chunk to the
+ * refresh token sessions and the profile cache.
+ */
+@ExtendWith(MockitoExtension.class)
+@TestMethodOrder(OrderAnnotation.class)
+@DisplayName("UserBulkUpdateServiceImpl Tests")
+@Slf4j
+public class UserBulkUpdateServiceImplTest {
+
+    /** Mocked repository running the updates. */
+    @Mock
+    private UserRepository userRepository;
+
+    /** Mocked service storing refresh token sessions. */
+    @Mock
+    private RefreshTokenService refreshTokenService;
+
+    /** Mocked cache of user profiles. */
+    @Mock
+    private UserProfileCache userProfileCache;
+
+    /** Mocked template running each bulk update chunk. */
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    /** Mocked bulk update configuration. */
+    @Mock
+    private AdminBulkProperties adminBulkProperties;
+
+    /** Mocked audit logger. */
+    @Mock
+    private AuditLogger auditLogger;
+
+    /** Injected UserBulkUpdateService with mocked dependencies. */
+    @InjectMocks
+    private UserBulkUpdateServiceImpl bulkUpdateService;
+
+    /** Administrator making the bulk updates. */
+    private static final UUID ADMIN_ID = UUID.randomUUID();
+
+    /** Executed once before all tests. */
+    @BeforeAll
+    static void beforeAll() {
+        log.info("Starting UserBulkUpdateServiceImpl tests");
+    }
+
+    /** Executed once after all tests. */
+    @AfterAll
+    static void afterAll() {
+        log.info("Finished UserBulkUpdateServiceImpl tests");
+    }
+
+    /**
+     * Makes the mocked template run its callback and sets the chunk size.
+     *
+     * @param chunkSize number of users per chunk
+     */
+    private void runChunksInline(int chunkSize) {
+        when(adminBulkProperties.getChunkSize()).thenReturn(chunkSize);
+        doAnswer(invocation -> invocation.getArgument(0, TransactionCallback.class).doInTransaction(null))
+                .when(transactionTemplate).execute(any());
+    }
+
+    /**
+     * Verifies that listed ids are updated chunk by chunk and that missing ids are reported.
+     */
+    @Test
+    @Order(1)
+    @DisplayName("Should bulk update listed ids in chunks")
+    void testBulkUpdateByIds() {
+        UUID first = UUID.randomUUID();
+        UUID missing = UUID.randomUUID();
+        UUID third = UUID.randomUUID();
+        runChunksInline(2);
+        when(userRepository.updateByIds(List.of(first, missing), null, false, ADMIN_ID))
+                .thenReturn(List.of(new UpdatedUser(first, "first@mail.com")));
+        when(userRepository.updateByIds(List.of(third), null, false, ADMIN_ID))
+                .thenReturn(List.of(new UpdatedUser(third, "third@mail.com")));
+
+        BulkUserUpdateResult result = bulkUpdateService.bulkUpdate(
+                new BulkUserUpdateRequest(List.of(first, missing, third, first), null, null, false, null, false),
+                ADMIN_ID);
+
+        assertEquals(3, result.requested(), "Duplicated ids should be counted once");
+        assertEquals(2, result.updated(), "Two users should be updated");
+        assertEquals(1, result.notFound(), "One id should be reported missing");
+        assertEquals(new BulkUserUpdateItem(missing.toString(), BulkUpdateStatus.NOT_FOUND), result.items().get(1),
+                "Missing id should be reported in request order");
+        verify(refreshTokenService, times(1)).revokeAllForUsers(List.of(first));
+        verify(refreshTokenService, times(1)).revokeAllForUsers(List.of(third));
+        verify(userProfileCache, times(1)).evict(first);
+        verify(userProfileCache, times(1)).evict(third);
+    }
+
+    /**
+     * Verifies that a filter selection is walked until a chunk comes back incomplete.
+     */
+    @Test
+    @Order(2)
+    @DisplayName("Should bulk update users matching a filter until exhausted")
+    void testBulkUpdateByFilter() {
+        UserListFilter filter = new UserListFilter(RoleUser.ROLE_PASSENGER, true);
+        runChunksInline(2);
+        when(userRepository.updateMatching(filter, RoleUser.ROLE_DRIVER, null, 2, ADMIN_ID))
+                .thenReturn(List.of(new UpdatedUser(UUID.randomUUID(), "a@mail.com"),
+                        new UpdatedUser(UUID.randomUUID(), "b@mail.com")))
+                .thenReturn(List.of(new UpdatedUser(UUID.randomUUID(), "c@mail.com")));
+
+        BulkUserUpdateResult result = bulkUpdateService.bulkUpdate(
+                new BulkUserUpdateRequest(null, null, filter, false, RoleUser.ROLE_DRIVER, null), ADMIN_ID);
+
+        assertEquals(3, result.updated(), "Every matching user should be updated");
+        assertTrue(result.items().isEmpty(), "Filter selections should not list items");
+        verify(userRepository, times(2)).updateMatching(filter, RoleUser.ROLE_DRIVER, null, 2, ADMIN_ID);
+        verify(refreshTokenService, times(2)).updateRoleForUsers(anyList(), eq(RoleUser.ROLE_DRIVER));
+        verify(refreshTokenService, never()).revokeAllForUsers(any());
+    }
+
+    /**
+     * Ensures {@link InvalidBulkUpdateException} is thrown for an ambiguous or empty request.
+     */
+    @Test
+    @Order(3)
+    @DisplayName("Should reject bulk update without a single selector or a change")
+    void testBulkUpdateInvalidRequest() {
+        BulkUserUpdateRequest twoSelectors = new BulkUserUpdateRequest(List.of(UUID.randomUUID()),
+                List.of("user@mail.com"), null, false, RoleUser.ROLE_DRIVER, null);
+        BulkUserUpdateRequest noChange = new BulkUserUpdateRequest(List.of(UUID.randomUUID()),
+                null, null, false, null, null);
+
+        assertThrows(InvalidBulkUpdateException.class, () -> bulkUpdateService.bulkUpdate(twoSelectors, ADMIN_ID));
+        assertThrows(InvalidBulkUpdateException.class, () -> bulkUpdateService.bulkUpdate(noChange, ADMIN_ID));
+        verify(transactionTemplate, never()).execute(any());
+    }
+
+    /**
+     * Ensures an empty filter does not select every user without the explicit opt-in.
+     */
+    @Test
+    @Order(4)
+    @DisplayName("Should reject an empty filter without the allUsers opt-in")
+    void testBulkUpdateEmptyFilter() {
+        BulkUserUpdateRequest emptyFilter = new BulkUserUpdateRequest(null, null,
+                new UserListFilter(null, null), false, null, false);
+        BulkUserUpdateRequest filterAndAll = new BulkUserUpdateRequest(null, null,
+                new UserListFilter(RoleUser.ROLE_DRIVER, null), true, null, false);
+
+        assertThrows(InvalidBulkUpdateException.class, () -> bulkUpdateService.bulkUpdate(emptyFilter, ADMIN_ID));
+        assertThrows(InvalidBulkUpdateException.class, () -> bulkUpdateService.bulkUpdate(filterAndAll, ADMIN_ID));
+        verify(userRepository, never()).updateMatching(any(), any(), any(), anyInt(), any());
+    }
+
+    /**
+     * Verifies that the allUsers opt-in updates every user the caller may change.
+     */
+    @Test
+    @Order(5)
+    @DisplayName("Should bulk update every user with the allUsers opt-in")
+    void testBulkUpdateAllUsers() {
+        UserListFilter everyone = new UserListFilter(null, null);
+        UUID deactivated = UUID.randomUUID();
+        runChunksInline(2);
+        when(userRepository.updateMatching(everyone, null, false, 2, ADMIN_ID))
+                .thenReturn(List.of(new UpdatedUser(deactivated, "a@mail.com")));
+
+        BulkUserUpdateResult result = bulkUpdateService.bulkUpdate(
+                new BulkUserUpdateRequest(null, null, null, true, null, false), ADMIN_ID);
+
+        assertEquals(1, result.updated(), "Every user returned by the repository should be counted");
+        verify(userRepository, times(1)).updateMatching(everyone, null, false, 2, ADMIN_ID);
+        verify(refreshTokenService, times(1)).revokeAllForUsers(List.of(deactivated));
+    }
+}
@@ -0,0 +1,180 @@
+package api.carpooling.application.service.impl;
+
+import api.carpooling.application.dto.admin.UserExportFormat;
+import api.carpooling.application.dto.admin.UserListFilter;
+import api.carpooling.configuration.UserExportProperties;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.MethodOrderer;
+import org.junit.jupiter.api.Order;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestMethodOrder;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.PreparedStatementCreator;
+import org.springframework.jdbc.core.RowCallbackHandler;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Unit tests for {@link UserExportServiceImpl}.
+ * <p>
+ * These tests feed mocked rows to the export and verify the CSV quoting, the NDJSON
+ * layout and the handling of a client that stops reading.
+ */
+@ExtendWith(MockitoExtension.class)
+@TestMethodOrder(MethodOrderer.OrderAnnotation.class)
+@DisplayName("UserExportServiceImpl Test")
+@Slf4j
+public class UserExportServiceImplTest {
+
+    /**
+     * Values of the exported row, in column order.
+     */
+    private static final String[] ROW = {
+        "0b6f0c5e-8a3e-4a5c-9a41-5d1f7c1e9f10", "jane@mail.com", "Jane, \"JD\"", "+33611111111",
+        null, "1 Rue de Paris", "ROLE_DRIVER", "true", "false", null,
+        "2025-01-01 10:00:00", "2025-01-02 10:00:00",
+    };
+
+    /**
+     * Mocked template running the export query.
+     */
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    /**
+     * Instance of {@link UserExportServiceImpl} under test.
+     */
+    private UserExportServiceImpl userExportService;
+
+    /**
+     * Displays start message before all tests.
+     */
+    @BeforeAll
+    static void setUpAll() {
+        log.info("Starting UserExportServiceImpl tests");
+    }
+
+    /**
+     * Displays message after all tests.
+     */
+    @AfterAll
+    static void tearDownAll() {
+        log.info("Finished UserExportServiceImpl tests");
+    }
+
+    /**
+     * Builds the service before each test.
+     */
+    @BeforeEach
+    void setUp() {
+        userExportService = new UserExportServiceImpl(jdbcTemplate, new ObjectMapper(), new UserExportProperties());
+    }
+
+    /**
+     * Makes the mocked query return {@link #ROW} once.
+     *
+     * @throws SQLException never, required by the mocked result set
+     */
+    private void returnOneRow() throws SQLException {
+        ResultSet resultSet = mock(ResultSet.class);
+        when(resultSet.getString(anyInt())).thenAnswer(invocation -> ROW[(int) invocation.getArgument(0) - 1]);
+        when(resultSet.getBoolean(anyInt()))
+                .thenAnswer(invocation -> Boolean.parseBoolean(ROW[(int) invocation.getArgument(0) - 1]));
+        when(resultSet.wasNull()).thenReturn(false);
+        doAnswer(invocation -> {
+            invocation.getArgument(1, RowCallbackHandler.class).processRow(resultSet);
+            return null;
+        }).when(jdbcTemplate).query(any(PreparedStatementCreator.class), any(RowCallbackHandler.class));
+    }
+
+    /**
+     * Verifies the CSV header and the quoting of values containing separators and quotes.
+     *
+     * @throws Exception if the export fails
+     */
+    @Test
+    @Order(1)
+    @DisplayName("Should write CSV with header and quoted values")
+    void testExportCsv() throws Exception {
+        returnOneRow();
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        userExportService.export(new UserListFilter(null, null), UserExportFormat.CSV, out);
+
+        String[] lines = out.toString(StandardCharsets.UTF_8).split("\r\n");
+        assertEquals(2, lines.length, "Export should hold the header and one row");
+        assertTrue(lines[0].startsWith("id,email,username"), "First line should be the header");
+        assertEquals("0b6f0c5e-8a3e-4a5c-9a41-5d1f7c1e9f10,jane@mail.com,\"Jane, \"\"JD\"\"\",+33611111111,,"
+                        + "1 Rue de Paris,ROLE_DRIVER,true,false,,2025-01-01 10:00:00,2025-01-02 10:00:00",
+                lines[1], "Row should be quoted as in RFC 4180");
+    }
+
+    /**
+     * Verifies that NDJSON holds one object per line with typed booleans.
+     *
+     * @throws Exception if the export fails
+     */
+    @Test
+    @Order(2)
+    @DisplayName("Should write one JSON object per line")
+    void testExportNdjson() throws Exception {
+        returnOneRow();
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        userExportService.export(new UserListFilter(null, true), UserExportFormat.NDJSON, out);
+
+        String export = out.toString(StandardCharsets.UTF_8);
+        assertTrue(export.endsWith("\n"), "Each object should end with a line break");
+        assertFalse(export.startsWith(" "), "Objects should not be prefixed");
+        JsonNode node = new ObjectMapper().readTree(export.trim());
+        assertEquals("Jane, \"JD\"", node.get("username").asText(), "Username should be kept as is");
+        assertTrue(node.get("is_active").isBoolean(), "Flags should be JSON booleans");
+        assertTrue(node.get("photo_user").isNull(), "Missing values should be null");
+    }
+
+    /**
+     * Verifies that a write failure stops the export with the original exception.
+     *
+     * @throws Exception if the mocks cannot be set up
+     */
+    @Test
+    @Order(3)
+    @DisplayName("Should stop with IOException when client stops reading")
+    void testExportClientGone() throws Exception {
+        returnOneRow();
+        try (OutputStream broken = new OutputStream() {
+            @Override
+            public void write(int b) throws IOException {
+                throw new IOException("Broken pipe");
+            }
+        }) {
+            assertThrows(IOException.class,
+                    () -> userExportService.export(new UserListFilter(null, null), UserExportFormat.CSV, broken));
+        }
+    }
+}
@@ -0,0 +1,241 @@
+package api.carpooling.application.service.impl;
+
+import api.carpooling.application.dto.admin.UserExportFormat;
+import api.carpooling.application.dto.admin.UserListFilter;
+import api.carpooling.configuration.UserExportProperties;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.MethodOrderer;
+import org.junit.jupiter.api.Order;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestMethodOrder;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import org.testcontainers.utility.DockerImageName;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.util.Objects;
+
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Integration tests for {@link UserExportServiceImpl} on a small and a large users table.
+ * <p>
+ * The export runs in a read-only transaction, as behind the admin endpoint, and the heap
+ * retained halfway through the rows is measured at both sizes: with the rows read through
+ * a cursor it stays flat, whereas a result set loaded at once grows with the table.
+ */
+@Testcontainers
+@TestMethodOrder(MethodOrderer.OrderAnnotation.class)
+@DisplayName("UserExportServiceImpl Streaming Tests")
+@Slf4j
+public class UserExportStreamingTest {
+
+    /**
+     * Users inserted on top of the ones of the migrations for the large export.
+     */
+    private static final int SEEDED_USERS = 1_000_000;
+
+    /**
+     * Largest heap growth accepted while the export is written, in bytes.
+     */
+    private static final long MAX_HEAP_GROWTH = 32L * 1024 * 1024;
+
+    /**
+     * Largest accepted difference between the heap growths of the large and the small export, in bytes.
+     */
+    private static final long MAX_HEAP_DIFFERENCE = 8L * 1024 * 1024;
+
+    /**
+     * PostgreSQL container.
+     */
+    @Container
+    private static final PostgreSQLContainer<?> POSTGRES = new PostgreSQLContainer<>(
+            DockerImageName.parse("postgis/postgis:17-3.5").asCompatibleSubstituteFor("postgres"));
+
+    /**
+     * Template running the statements of the tests.
+     */
+    private static JdbcTemplate jdbcTemplate;
+
+    /**
+     * Template running the export in a read-only transaction.
+     */
+    private static TransactionTemplate transactionTemplate;
+
+    /**
+     * Service under test.
+     */
+    private static UserExportServiceImpl userExportService;
+
+    /**
+     * Heap growth of the export of the small table, compared with the large one.
+     */
+    private static long smallTableGrowth;
+
+    /**
+     * Migrates the schema before all tests, which leaves about a thousand users.
+     */
+    @BeforeAll
+    static void beforeAll() {
+        DriverManagerDataSource dataSource = new DriverManagerDataSource(
+                POSTGRES.getJdbcUrl(), POSTGRES.getUsername(), POSTGRES.getPassword());
+        Flyway.configure().dataSource(dataSource).load().migrate();
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        transactionTemplate = new TransactionTemplate(new DataSourceTransactionManager(dataSource));
+        transactionTemplate.setReadOnly(true);
+        userExportService = new UserExportServiceImpl(jdbcTemplate, new ObjectMapper(),
+                new UserExportProperties());
+        log.info("UserExportServiceImpl streaming tests initialized");
+    }
+
+    /**
+     * Displays message after all tests.
+     */
+    @AfterAll
+    static void afterAll() {
+        log.info("UserExportServiceImpl streaming tests completed");
+    }
+
+    /**
+     * Exports every user as NDJSON and measures the heap retained halfway through.
+     *
+     * @return the heap growth, in bytes
+     */
+    private static long exportHeapGrowth() {
+        long users = Objects.requireNonNull(
+                jdbcTemplate.queryForObject("SELECT COUNT(*) FROM users WHERE deleted_at IS NULL", Long.class));
+        MemoryMXBean memory = ManagementFactory.getMemoryMXBean();
+        memory.gc();
+        long before = memory.getHeapMemoryUsage().getUsed();
+
+        HeapProbe out = new HeapProbe(memory, users / 2);
+        try (out) {
+            transactionTemplate.executeWithoutResult(status -> {
+                try {
+                    userExportService.export(new UserListFilter(null, null), UserExportFormat.NDJSON, out);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        }
+
+        long growth = out.measured - before;
+        log.info("Exported {} users in {} bytes, heap growth {} bytes", out.lines, out.bytes, growth);
+        assertAll(
+                () -> assertEquals(users, out.lines),
+                () -> assertTrue(growth < MAX_HEAP_GROWTH, "Heap grew by " + growth + " bytes")
+        );
+        return growth;
+    }
+
+    /**
+     * Verifies that the users of the migrations are exported with a bounded heap.
+     */
+    @Test
+    @Order(1)
+    @DisplayName("Export - should stream a small table with a bounded heap")
+    void testExportSmallTableHeap() {
+        smallTableGrowth = exportHeapGrowth();
+    }
+
+    /**
+     * Verifies that a table a thousand times larger is exported with the same retained heap.
+     */
+    @Test
+    @Order(2)
+    @DisplayName("Export - should stream a large table with the heap of a small one")
+    void testExportLargeTableHeap() {
+        jdbcTemplate.update("INSERT INTO users (username, email, password, phone_number)"
+                + " SELECT 'export_' || g, 'export_' || g || '@test.com', 'hashed', '+34' || LPAD(g::text, 9, '0')"
+                + " FROM generate_series(1, ?) g", SEEDED_USERS);
+
+        long difference = exportHeapGrowth() - smallTableGrowth;
+
+        assertTrue(Math.abs(difference) < MAX_HEAP_DIFFERENCE,
+                "The large export retained " + difference + " more bytes than the small one");
+    }
+
+    /**
+     * Output discarding the export while counting its lines, which measures the heap
+     * retained after a collection once a given number of lines have been written.
+     */
+    private static final class HeapProbe extends OutputStream {
+
+        /**
+         * Memory bean collecting and measuring the heap.
+         */
+        private final MemoryMXBean memory;
+
+        /**
+         * Lines written before the heap is measured.
+         */
+        private final long measureAfterLines;
+
+        /**
+         * Bytes written so far.
+         */
+        private long bytes;
+
+        /**
+         * Lines written so far.
+         */
+        private long lines;
+
+        /**
+         * Heap used after the collection, or 0 before the measurement.
+         */
+        private long measured;
+
+        /**
+         * Creates a probe measuring the heap through a memory bean.
+         *
+         * @param memory memory bean of the JVM
+         * @param measureAfterLines lines written before the heap is measured
+         */
+        HeapProbe(MemoryMXBean memory, long measureAfterLines) {
+            this.memory = memory;
+            this.measureAfterLines = measureAfterLines;
+        }
+
+        @Override
+        public void write(int b) {
+            write(new byte[] {(byte) b}, 0, 1);
+        }
+
+        @Override
+        public void write(byte[] buffer, int offset, int length) {
+            for (int i = offset; i < offset + length; i++) {
+                if (buffer[i] == '\n') {
+                    lines++;
+                }
+            }
+            bytes += length;
+            if (measured == 0 && lines > measureAfterLines) {
+                memory.gc();
+                measured = memory.getHeapMemoryUsage().getUsed();
+            }
+        }
+
+        @Override
+        public void close() {
+            // Nothing to release: the export is discarded
+        }
+    }
+}
@@ -0,0 +1,129 @@
+package api.carpooling.application.service.impl;
+
+import api.carpooling.configuration.UserPurgeProperties;
+import api.carpooling.repository.UserPurgeStep;
+import api.carpooling.repository.UserRepository;
+
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.MethodOrderer.OrderAnnotation;
+import org.junit.jupiter.api.Order;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestMethodOrder;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Unit tests for {@link UserPurgeServiceImpl}.
+ * <p>
+ * These tests verify that every purge step is repeated until it runs out of rows,
+ * each batch in its own transaction, and that the user row is only completed last.
+ */
+@ExtendWith(MockitoExtension.class)
+@TestMethodOrder(OrderAnnotation.class)
+@DisplayName("UserPurgeServiceImpl Tests")
+@Slf4j
+public class UserPurgeServiceImplTest {
+
+    /**
+     * Rows touched by a single batch in these tests.
+     */
+    private static final int BATCH_SIZE = 2;
+
+    /** Mocked repository holding the deleted users. */
+    @Mock
+    private UserRepository userRepository;
+
+    /** Mocked template running each batch. */
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    /** Service under test. */
+    private UserPurgeServiceImpl userPurgeService;
+
+    /**
+     * Displays start message before all tests.
+     */
+    @BeforeAll
+    static void setUpAll() {
+        log.info("Starting UserPurgeServiceImpl tests");
+    }
+
+    /**
+     * Displays message after all tests.
+     */
+    @AfterAll
+    static void tearDownAll() {
+        log.info("Finished UserPurgeServiceImpl tests");
+    }
+
+    /**
+     * Builds the service with a small batch and no pause before each test.
+     */
+    @BeforeEach
+    void setUp() {
+        UserPurgeProperties properties = new UserPurgeProperties();
+        properties.setBatchSize(BATCH_SIZE);
+        properties.setPause(Duration.ZERO);
+        userPurgeService = new UserPurgeServiceImpl(userRepository, transactionTemplate, properties);
+    }
+
+    /**
+     * Verifies that a full batch is repeated and that the user row is completed last.
+     */
+    @Test
+    @Order(1)
+    @DisplayName("Should purge dependent rows in batches before the user row")
+    void testPurgeInBatches() {
+        UUID userId = UUID.randomUUID();
+        doAnswer(invocation -> invocation.getArgument(0, TransactionCallback.class).doInTransaction(null))
+                .when(transactionTemplate).execute(any());
+        when(userRepository.findPendingPurge(any(LocalDateTime.class), anyInt())).thenReturn(List.of(userId));
+        when(userRepository.purgeStep(any(UserPurgeStep.class), eq(userId), eq(BATCH_SIZE))).thenReturn(0);
+        when(userRepository.purgeStep(UserPurgeStep.MESSAGES, userId, BATCH_SIZE)).thenReturn(BATCH_SIZE, 1);
+        when(userRepository.completePurge(userId)).thenReturn(true);
+
+        assertEquals(1, userPurgeService.purgeDeletedUsers(), "One user should be purged");
+
+        InOrder order = inOrder(userRepository);
+        order.verify(userRepository, times(2)).purgeStep(UserPurgeStep.MESSAGES, userId, BATCH_SIZE);
+        order.verify(userRepository).purgeStep(UserPurgeStep.EMPTY_WALLETS, userId, BATCH_SIZE);
+        order.verify(userRepository).completePurge(userId);
+        verify(transactionTemplate, times(UserPurgeStep.values().length + 2)).execute(any());
+    }
+
+    /**
+     * Verifies that nothing happens when no user waits for the purge.
+     */
+    @Test
+    @Order(2)
+    @DisplayName("Should do nothing without deleted users")
+    void testNothingToPurge() {
+        when(userRepository.findPendingPurge(any(LocalDateTime.class), anyInt())).thenReturn(List.of());
+
+        assertEquals(0, userPurgeService.purgeDeletedUsers(), "No user should be purged");
+        verify(transactionTemplate, times(0)).execute(any());
+    }
+}
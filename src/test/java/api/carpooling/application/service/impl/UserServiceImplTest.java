@@ -1,18 +1,25 @@
 package api.carpooling.application.service.impl;
 
+import api.carpooling.application.audit.AuditLogger;
+import api.carpooling.application.cache.UserProfileCache;
 import api.carpooling.application.dto.user.CompleteUserRequest;
 import api.carpooling.application.dto.user.UpdateRequestUser;
 import api.carpooling.application.dto.user.UserResponse;
+import api.carpooling.application.exception.InvalidPatchException;
 import api.carpooling.application.exception.RoleAssignmentNotAllowedException;
 import api.carpooling.application.exception.UserExistsAlready;
 import api.carpooling.application.exception.UserNotFoundException;
+import api.carpooling.application.mapper.UserPatchMapper;
 import api.carpooling.application.mapper.UserResponseMapper;
+import api.carpooling.application.service.RefreshTokenService;
 import api.carpooling.domain.User;
 import api.carpooling.domain.enumeration.RoleUser;
 import api.carpooling.repository.UserRepository;
-import api.carpooling.utils.TokenGenerator;
+import api.carpooling.utils.PasswordHasher;
 
-import io.jsonwebtoken.Claims;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.validation.Validation;
+import jakarta.validation.Validator;
 import lombok.extern.slf4j.Slf4j;
 import org.junit.jupiter.api.AfterAll;
 import org.junit.jupiter.api.BeforeAll;
@@ -23,19 +30,27 @@ import org.junit.jupiter.api.Order;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.TestMethodOrder;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.mapstruct.factory.Mappers;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.util.Optional;
 import java.util.UUID;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.any;
-import static org.mockito.ArgumentMatchers.anyString;
-import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
@@ -43,7 +58,7 @@ import static org.mockito.Mockito.when;
 /**
  * Unit tests for {@link UserServiceImpl}.
  * <p>
- * Covers profile completion, user update, and deletion scenarios.
+ * Covers profile completion, user update, merge patch and deletion scenarios.
  */
 @ExtendWith(MockitoExtension.class)
 @TestMethodOrder(MethodOrderer.OrderAnnotation.class)
@@ -55,14 +70,42 @@ public class UserServiceImplTest {
     @Mock
     private UserRepository userRepository;
 
-    /** Mocked JWT token utility. */
+    /** Mocked cache of user profiles. */
     @Mock
-    private TokenGenerator tokenGenerator;
+    private UserProfileCache userProfileCache;
 
     /** Mocked mapper for converting User entity to response DTO. */
     @Mock
     private UserResponseMapper userResponseMapper;
 
+    /** Mocked service storing refresh token sessions. */
+    @Mock
+    private RefreshTokenService refreshTokenService;
+
+    /** Generated mapper applying updates, used for real. */
+    @Spy
+    private UserPatchMapper userPatchMapper = Mappers.getMapper(UserPatchMapper.class);
+
+    /** Mocked hasher of updated passwords. */
+    @Mock
+    private PasswordHasher passwordHasher;
+
+    /** Object mapper reading merge patches. */
+    @Spy
+    private ObjectMapper objectMapper = new ObjectMapper();
+
+    /** Bean validator checking merge patch members. */
+    @Spy
+    private Validator validator = Validation.buildDefaultValidatorFactory().getValidator();
+
+    /** Mocked audit logger. */
+    @Mock
+    private AuditLogger auditLogger;
+
+    /** Mocked template running the read and write of the updates. */
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
     /** Injected service under test with mocked dependencies. */
     @InjectMocks
     private UserServiceImpl userService;
@@ -115,6 +158,12 @@ public class UserServiceImplTest {
         );
     }
 
+    /** Runs the callbacks given to the mocked transaction template. */
+    private void runTransactions() {
+        doAnswer(invocation -> invocation.getArgument(0, TransactionCallback.class).doInTransaction(null))
+                .when(transactionTemplate).execute(any());
+    }
+
     // -------------------------
     // COMPLETE USER PROFILE
     // -------------------------
@@ -126,15 +175,12 @@ public class UserServiceImplTest {
     @Order(1)
     @DisplayName("Should complete user profile successfully with ROLE_PASSENGER")
     void testCompleteUserProfileSuccessPassenger() {
-        Claims claims = mock(Claims.class);
-        when(claims.getSubject()).thenReturn(user.getId().toString());
-        when(tokenGenerator.parseJwt(anyString())).thenReturn(claims);
         when(userRepository.findById(any(UUID.class))).thenReturn(Optional.of(user));
         when(userRepository.save(any(User.class))).thenReturn(user);
         when(userResponseMapper.toUserResponse(any(User.class))).thenReturn(userResponse);
 
         CompleteUserRequest request = new CompleteUserRequest("photo.png", "Paris", RoleUser.ROLE_PASSENGER);
-        UserResponse result = userService.completeUserProfil(request, "Bearer token");
+        UserResponse result = userService.completeUserProfil(request, user.getId());
 
         assertNotNull(result);
         verify(userRepository, times(1)).save(any(User.class));
@@ -147,18 +193,17 @@ public class UserServiceImplTest {
     @Order(2)
     @DisplayName("Should complete user profile successfully with ROLE_DRIVER")
     void testCompleteUserProfileSuccessDriver() {
-        Claims claims = mock(Claims.class);
-        when(claims.getSubject()).thenReturn(user.getId().toString());
-        when(tokenGenerator.parseJwt(anyString())).thenReturn(claims);
         when(userRepository.findById(any(UUID.class))).thenReturn(Optional.of(user));
         when(userRepository.save(any(User.class))).thenReturn(user);
         when(userResponseMapper.toUserResponse(any(User.class))).thenReturn(userResponse);
 
         CompleteUserRequest request = new CompleteUserRequest("photo.png", "Paris", RoleUser.ROLE_DRIVER);
-        UserResponse result = userService.completeUserProfil(request, "Bearer token");
+        UserResponse result = userService.completeUserProfil(request, user.getId());
 
         assertNotNull(result);
         verify(userRepository, times(1)).save(any(User.class));
+        verify(refreshTokenService, times(1)).updateRole(user.getId(), RoleUser.ROLE_DRIVER);
+        verify(userProfileCache, times(1)).evict(user.getId());
     }
 
     /**
@@ -168,15 +213,12 @@ public class UserServiceImplTest {
     @Order(3)
     @DisplayName("Should throw RoleAssignmentNotAllowedException for ROLE_ADMIN")
     void testCompleteUserProfileRoleAdminForbidden() {
-        Claims claims = mock(Claims.class);
-        when(claims.getSubject()).thenReturn(user.getId().toString());
-        when(tokenGenerator.parseJwt(anyString())).thenReturn(claims);
         when(userRepository.findById(any(UUID.class))).thenReturn(Optional.of(user));
 
         CompleteUserRequest request = new CompleteUserRequest("photo.png", "Paris", RoleUser.ROLE_ADMIN);
 
         assertThrows(RoleAssignmentNotAllowedException.class,
-                () -> userService.completeUserProfil(request, "Bearer token"));
+                () -> userService.completeUserProfil(request, user.getId()));
     }
 
     // -------------------------
@@ -190,12 +232,11 @@ public class UserServiceImplTest {
     @Order(4)
     @DisplayName("Should update user successfully")
     void testUpdateUserSuccess() {
-        Claims claims = mock(Claims.class);
-        when(claims.getSubject()).thenReturn(user.getId().toString());
-        when(tokenGenerator.parseJwt(anyString())).thenReturn(claims);
+        runTransactions();
         when(userRepository.findById(any(UUID.class))).thenReturn(Optional.of(user));
         when(userRepository.save(any(User.class))).thenReturn(user);
         when(userResponseMapper.toUserResponse(any(User.class))).thenReturn(userResponse);
+        when(passwordHasher.encode("Password@123")).thenReturn("hashed");
 
         UpdateRequestUser request = new UpdateRequestUser(
                 "NewUser",
@@ -207,12 +248,39 @@ public class UserServiceImplTest {
                 "Lyon"
         );
 
-        UserResponse result = userService.updateUser(request, "Bearer token");
+        UserResponse result = userService.updateUser(request, user.getId());
 
         assertNotNull(result);
         assertEquals("NewUser", user.getUsername(),
                 "Username should be updated to the new value");
+        assertEquals("hashed", user.getPassword(), "Password should be stored hashed");
         verify(userRepository, times(1)).save(any(User.class));
+        verify(userProfileCache, times(1)).evict(user.getId());
+        verify(refreshTokenService, never()).updateRole(any(UUID.class), any(RoleUser.class));
+        InOrder order = inOrder(passwordHasher, transactionTemplate);
+        order.verify(passwordHasher, times(1)).encode("Password@123");
+        order.verify(transactionTemplate, times(1)).execute(any());
+    }
+
+    /**
+     * Verifies that a role changed by an update reaches the refresh token sessions.
+     */
+    @Test
+    @Order(11)
+    @DisplayName("Should propagate role changed by update to refresh sessions")
+    void testUpdateUserRoleChange() {
+        runTransactions();
+        when(userRepository.findById(user.getId())).thenReturn(Optional.of(user));
+        when(userRepository.save(user)).thenReturn(user);
+        when(userResponseMapper.toUserResponse(user)).thenReturn(userResponse);
+
+        UpdateRequestUser request = new UpdateRequestUser(
+                null, null, null, null, RoleUser.ROLE_DRIVER, null, null);
+
+        userService.updateUser(request, user.getId());
+
+        assertEquals(RoleUser.ROLE_DRIVER, user.getRoleUser(), "Role should be updated");
+        verify(refreshTokenService, times(1)).updateRole(user.getId(), RoleUser.ROLE_DRIVER);
     }
 
     /**
@@ -222,9 +290,7 @@ public class UserServiceImplTest {
     @Order(5)
     @DisplayName("Should throw UserExistsAlready when no changes detected")
     void testUpdateUserNoChanges() {
-        Claims claims = mock(Claims.class);
-        when(claims.getSubject()).thenReturn(user.getId().toString());
-        when(tokenGenerator.parseJwt(anyString())).thenReturn(claims);
+        runTransactions();
         when(userRepository.findById(any(UUID.class))).thenReturn(Optional.of(user));
 
         UpdateRequestUser request = new UpdateRequestUser(
@@ -237,7 +303,7 @@ public class UserServiceImplTest {
                 "Paris"
         );
 
-        assertThrows(UserExistsAlready.class, () -> userService.updateUser(request, "Bearer token"));
+        assertThrows(UserExistsAlready.class, () -> userService.updateUser(request, user.getId()));
     }
 
     // -------------------------
@@ -245,20 +311,19 @@ public class UserServiceImplTest {
     // -------------------------
 
     /**
-     * Verifies successful deletion of user.
+     * Verifies that deleting a user only tombstones it, leaving its rows to the purge job.
      */
     @Test
     @Order(6)
     @DisplayName("Should delete user successfully")
     void testDeleteUserSuccess() {
-        Claims claims = mock(Claims.class);
-        when(claims.getSubject()).thenReturn(user.getId().toString());
-        when(tokenGenerator.parseJwt(anyString())).thenReturn(claims);
-        when(userRepository.findById(any(UUID.class))).thenReturn(Optional.of(user));
+        when(userRepository.softDelete(user.getId())).thenReturn(true);
 
-        userService.deleteUser("Bearer token");
+        userService.deleteUser(user.getId());
 
-        verify(userRepository, times(1)).delete(user);
+        verify(refreshTokenService, times(1)).deleteAll(user.getId());
+        verify(userRepository, never()).delete(any(User.class));
+        verify(userProfileCache, times(1)).evict(user.getId());
     }
 
     /**
@@ -268,12 +333,97 @@ public class UserServiceImplTest {
     @Order(7)
     @DisplayName("Should throw UserNotFoundException when deleting non-existing user")
     void testDeleteUserNotFound() {
-        Claims claims = mock(Claims.class);
-        when(claims.getSubject()).thenReturn(UUID.randomUUID().toString());
-        when(tokenGenerator.parseJwt(anyString())).thenReturn(claims);
-        when(userRepository.findById(any(UUID.class))).thenReturn(Optional.empty());
+        when(userRepository.softDelete(any(UUID.class))).thenReturn(false);
 
-        assertThrows(UserNotFoundException.class, () -> userService.deleteUser("Bearer token"));
+        assertThrows(UserNotFoundException.class, () -> userService.deleteUser(UUID.randomUUID()));
+        verify(refreshTokenService, never()).deleteAll(any(UUID.class));
     }
-}
 
+    // -------------------------
+    // MERGE PATCH
+    // -------------------------
+
+    /**
+     * Verifies that only the members present in the patch are changed and that a null
+     * member removes an optional field.
+     *
+     * @throws Exception if the patch cannot be parsed
+     */
+    @Test
+    @Order(8)
+    @DisplayName("Should apply merge patch to present members only")
+    void testPatchUserSuccess() throws Exception {
+        user.setAddress("Paris");
+        user.setPhotoUser("photo.png");
+        runTransactions();
+        when(userRepository.findById(user.getId())).thenReturn(Optional.of(user));
+        when(userRepository.save(user)).thenReturn(user);
+        when(userResponseMapper.toUserResponse(user)).thenReturn(userResponse);
+
+        UserResponse result = userService.patchUser(
+                objectMapper.readTree("{\"username\": \"Patched\", \"address\": null}"), user.getId());
+
+        assertEquals(userResponse, result);
+        assertEquals("Patched", user.getUsername(), "Username should be patched");
+        assertNull(user.getAddress(), "Null member should remove the address");
+        assertEquals("photo.png", user.getPhotoUser(), "Absent member should be kept");
+        assertEquals("user@mail.com", user.getEmail(), "Absent member should be kept");
+        verify(passwordHasher, never()).encode(any());
+        verify(userProfileCache, times(1)).evict(user.getId());
+        verify(refreshTokenService, never()).updateRole(any(UUID.class), any(RoleUser.class));
+    }
+
+    /**
+     * Verifies that a role changed by a merge patch reaches the refresh token sessions.
+     *
+     * @throws Exception if the patch cannot be parsed
+     */
+    @Test
+    @Order(12)
+    @DisplayName("Should propagate role changed by merge patch to refresh sessions")
+    void testPatchUserRoleChange() throws Exception {
+        runTransactions();
+        when(userRepository.findById(user.getId())).thenReturn(Optional.of(user));
+        when(userRepository.save(user)).thenReturn(user);
+        when(userResponseMapper.toUserResponse(user)).thenReturn(userResponse);
+
+        userService.patchUser(objectMapper.readTree("{\"roleUser\": \"ROLE_DRIVER\"}"), user.getId());
+
+        assertEquals(RoleUser.ROLE_DRIVER, user.getRoleUser(), "Role should be patched");
+        verify(refreshTokenService, times(1)).updateRole(user.getId(), RoleUser.ROLE_DRIVER);
+    }
+
+    /**
+     * Ensures {@link InvalidPatchException} lists unknown, removed and invalid members.
+     *
+     * @throws Exception if the patch cannot be parsed
+     */
+    @Test
+    @Order(9)
+    @DisplayName("Should reject merge patch with invalid members")
+    void testPatchUserInvalid() throws Exception {
+        InvalidPatchException ex = assertThrows(InvalidPatchException.class, () -> userService.patchUser(
+                objectMapper.readTree("{\"email\": \"not-an-email\", \"username\": null, \"id\": \"x\"}"),
+                user.getId()));
+
+        assertTrue(ex.getMessage().contains("email"), "Invalid email should be reported");
+        assertTrue(ex.getMessage().contains("username: cannot be removed"), "Removed username should be reported");
+        assertTrue(ex.getMessage().contains("id: unknown field"), "Unknown member should be reported");
+        verify(userRepository, never()).save(any(User.class));
+    }
+
+    /**
+     * Ensures a merge patch cannot grant the ADMIN role.
+     *
+     * @throws Exception if the patch cannot be parsed
+     */
+    @Test
+    @Order(10)
+    @DisplayName("Should reject merge patch assigning ADMIN role")
+    void testPatchUserAdminRole() throws Exception {
+        assertThrows(RoleAssignmentNotAllowedException.class, () -> userService.patchUser(
+                objectMapper.readTree("{\"roleUser\": \"ROLE_ADMIN\"}"), user.getId()));
+        assertEquals(RoleUser.ROLE_PASSENGER, user.getRoleUser(), "Role should be unchanged");
+        verify(transactionTemplate, never()).execute(any());
+    }
+}
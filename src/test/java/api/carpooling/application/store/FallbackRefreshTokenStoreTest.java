@@ -0,0 +1,170 @@
+package api.carpooling.application.store;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.MethodOrderer;
+import org.junit.jupiter.api.Order;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestMethodOrder;
+import org.mockito.Mockito;
+import org.springframework.data.redis.RedisConnectionFailureException;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Unit tests for {@link FallbackRefreshTokenStore}.
+ * <p>
+ * These tests verify that the database store takes over when Redis is unreachable,
+ * that lookups missing Redis are retried on the database, and that revocations
+ * are never silently skipped.
+ */
+@TestMethodOrder(MethodOrderer.OrderAnnotation.class)
+@DisplayName("FallbackRefreshTokenStore Tests")
+@Slf4j
+public class FallbackRefreshTokenStoreTest {
+
+    /** Mocked primary (Redis) store. */
+    private RefreshTokenStore primary;
+
+    /** Mocked secondary (database) store. */
+    private RefreshTokenStore secondary;
+
+    /** Registry receiving the fallback counter. */
+    private SimpleMeterRegistry meterRegistry;
+
+    /** Store under test. */
+    private FallbackRefreshTokenStore store;
+
+    /** Sample session. */
+    private StoredRefreshSession session;
+
+    /**
+     * Displays start message before all tests.
+     */
+    @BeforeAll
+    static void beforeAll() {
+        log.info("FallbackRefreshTokenStore tests initialized");
+    }
+
+    /**
+     * Displays message after all tests.
+     */
+    @AfterAll
+    static void afterAll() {
+        log.info("FallbackRefreshTokenStore tests completed");
+    }
+
+    /**
+     * Builds the store with fresh mocks before each test.
+     */
+    @BeforeEach
+    void setUp() {
+        primary = Mockito.mock(RefreshTokenStore.class);
+        secondary = Mockito.mock(RefreshTokenStore.class);
+        meterRegistry = new SimpleMeterRegistry();
+        store = new FallbackRefreshTokenStore(primary, secondary, meterRegistry);
+        session = StoredRefreshSession.builder()
+                .id(UUID.randomUUID())
+                .userId(UUID.randomUUID())
+                .tokenHash("hash")
+                .expiresAt(LocalDateTime.now().plusDays(1))
+                .build();
+    }
+
+    /**
+     * Returns the number of operations served by the database after a Redis failure.
+     *
+     * @return the fallback count
+     */
+    private double fallbackCount() {
+        return meterRegistry.get("auth.refresh_token.store.fallback").counter().count();
+    }
+
+    /**
+     * Verifies that sessions are opened in the database when Redis is down.
+     */
+    @Test
+    @Order(1)
+    @DisplayName("Should open session in database when Redis is down")
+    void testOpenFallback() {
+        doThrow(new RedisConnectionFailureException("down")).when(primary).open(session);
+
+        store.open(session);
+
+        verify(secondary, times(1)).open(session);
+        assertEquals(1.0, fallbackCount());
+    }
+
+    /**
+     * Verifies that a Redis hit never queries the database.
+     */
+    @Test
+    @Order(2)
+    @DisplayName("Should serve lookup from Redis when present")
+    void testFindPrimaryHit() {
+        when(primary.findByTokenHash("hash")).thenReturn(Optional.of(session));
+
+        assertSame(session, store.findByTokenHash("hash").orElseThrow());
+        verify(secondary, never()).findByTokenHash("hash");
+        assertEquals(0.0, fallbackCount());
+    }
+
+    /**
+     * Verifies that a Redis miss or failure is retried on the database.
+     */
+    @Test
+    @Order(3)
+    @DisplayName("Should retry lookup on database after Redis miss or failure")
+    void testFindFallback() {
+        when(primary.findByTokenHash("miss")).thenReturn(Optional.empty());
+        when(primary.findByTokenHash("down")).thenThrow(new RedisConnectionFailureException("down"));
+        when(secondary.findByTokenHash("miss")).thenReturn(Optional.of(session));
+        when(secondary.findByTokenHash("down")).thenReturn(Optional.of(session));
+
+        assertSame(session, store.findByTokenHash("miss").orElseThrow());
+        assertSame(session, store.findByTokenHash("down").orElseThrow());
+        assertEquals(1.0, fallbackCount());
+    }
+
+    /**
+     * Verifies that a revocation fails when Redis cannot be reached.
+     */
+    @Test
+    @Order(4)
+    @DisplayName("Should not swallow Redis failure on revocation")
+    void testRevokeAllPropagatesFailure() {
+        UUID userId = session.userId();
+        when(primary.revokeAll(userId)).thenThrow(new RedisConnectionFailureException("down"));
+
+        assertThrows(RedisConnectionFailureException.class, () -> store.revokeAll(userId));
+        verify(secondary, times(1)).revokeAll(userId);
+    }
+
+    /**
+     * Verifies that the purge only targets the database.
+     */
+    @Test
+    @Order(5)
+    @DisplayName("Should purge only the database store")
+    void testPurgeExpired() {
+        when(secondary.purgeExpired(10, 2)).thenReturn(4);
+
+        assertEquals(4, store.purgeExpired(10, 2));
+        verify(primary, never()).purgeExpired(10, 2);
+    }
+}
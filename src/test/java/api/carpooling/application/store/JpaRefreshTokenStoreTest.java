@@ -0,0 +1,166 @@
+package api.carpooling.application.store;
+
+import api.carpooling.domain.User;
+import api.carpooling.domain.UserRefreshTokens;
+import api.carpooling.domain.enumeration.RoleUser;
+import api.carpooling.repository.UserRefreshTokensRepository;
+
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.MethodOrderer;
+import org.junit.jupiter.api.Order;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestMethodOrder;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Unit tests for {@link JpaRefreshTokenStore}.
+ * <p>
+ * These tests verify the mapping of session entities, the compare-and-set rotation
+ * and the batched purge of expired sessions.
+ */
+@ExtendWith(MockitoExtension.class)
+@TestMethodOrder(MethodOrderer.OrderAnnotation.class)
+@DisplayName("JpaRefreshTokenStore Tests")
+@Slf4j
+public class JpaRefreshTokenStoreTest {
+
+    /** Mocked repository for refresh token sessions. */
+    @Mock
+    private UserRefreshTokensRepository userRefreshTokensRepository;
+
+    /** Store under test. */
+    @InjectMocks
+    private JpaRefreshTokenStore jpaRefreshTokenStore;
+
+    /**
+     * Displays start message before all tests.
+     */
+    @BeforeAll
+    static void beforeAll() {
+        log.info("JpaRefreshTokenStore tests initialized");
+    }
+
+    /**
+     * Displays message after all tests.
+     */
+    @AfterAll
+    static void afterAll() {
+        log.info("JpaRefreshTokenStore tests completed");
+    }
+
+    /**
+     * Verifies that a session found by token digest carries the role and status of its owner.
+     */
+    @Test
+    @Order(1)
+    @DisplayName("Should map session with owner role and status")
+    void testFindByTokenHash() {
+        User user = new User();
+        user.setId(UUID.randomUUID());
+        user.setRoleUser(RoleUser.ROLE_DRIVER);
+        user.setActive(false);
+        UserRefreshTokens entity = UserRefreshTokens.builder()
+                .id(UUID.randomUUID())
+                .user(user)
+                .deviceId("phone")
+                .tokenHash("hash")
+                .expiresAt(LocalDateTime.now().plusDays(1))
+                .build();
+        when(userRefreshTokensRepository.findByTokenHashWithUser("hash")).thenReturn(Optional.of(entity));
+
+        StoredRefreshSession session = jpaRefreshTokenStore.findByTokenHash("hash").orElseThrow();
+
+        assertAll("Stored session",
+                () -> assertEquals(entity.getId(), session.id(), "Id should match"),
+                () -> assertEquals(user.getId(), session.userId(), "Owner should match"),
+                () -> assertEquals(RoleUser.ROLE_DRIVER, session.roleUser(), "Role should come from owner"),
+                () -> assertFalse(session.userActive(), "Status should come from owner"),
+                () -> assertEquals("phone", session.deviceId(), "Device should match")
+        );
+    }
+
+    /**
+     * Verifies that rotation reports whether the row was updated.
+     */
+    @Test
+    @Order(2)
+    @DisplayName("Should report rotation result")
+    void testRotate() {
+        StoredRefreshSession session = StoredRefreshSession.builder().id(UUID.randomUUID()).build();
+        LocalDateTime expiresAt = LocalDateTime.now().plusDays(7);
+        when(userRefreshTokensRepository.rotate(session.id(), "old", "new", expiresAt)).thenReturn(1, 0);
+
+        assertTrue(jpaRefreshTokenStore.rotate(session, "old", "new", expiresAt), "First rotation should succeed");
+        assertFalse(jpaRefreshTokenStore.rotate(session, "old", "new", expiresAt), "Reuse should fail");
+    }
+
+    /**
+     * Verifies that the purge stops as soon as a batch is not full.
+     */
+    @Test
+    @Order(3)
+    @DisplayName("Should purge expired sessions in batches")
+    void testPurgeExpired() {
+        when(userRefreshTokensRepository.deleteExpiredBatch(any(LocalDateTime.class), anyInt()))
+                .thenReturn(2, 1);
+
+        int deleted = jpaRefreshTokenStore.purgeExpired(2, 3);
+
+        assertEquals(3, deleted);
+        verify(userRefreshTokensRepository, times(2)).deleteExpiredBatch(any(LocalDateTime.class), eq(2));
+    }
+
+    /**
+     * Verifies that the purge never runs more batches than configured.
+     */
+    @Test
+    @Order(4)
+    @DisplayName("Should stop purge after max batches")
+    void testPurgeExpiredMaxBatches() {
+        when(userRefreshTokensRepository.deleteExpiredBatch(any(LocalDateTime.class), anyInt())).thenReturn(2);
+
+        int deleted = jpaRefreshTokenStore.purgeExpired(2, 3);
+
+        assertEquals(6, deleted);
+        verify(userRefreshTokensRepository, times(3)).deleteExpiredBatch(any(LocalDateTime.class), eq(2));
+    }
+
+    /**
+     * Verifies that the sessions of several users are revoked with a single statement.
+     */
+    @Test
+    @Order(5)
+    @DisplayName("Should revoke sessions of several users at once")
+    void testRevokeAllForUsers() {
+        List<UUID> userIds = List.of(UUID.randomUUID(), UUID.randomUUID());
+        when(userRefreshTokensRepository.revokeAllByUserIdIn(userIds)).thenReturn(3);
+
+        int revoked = jpaRefreshTokenStore.revokeAllForUsers(userIds);
+
+        assertEquals(3, revoked);
+        verify(userRefreshTokensRepository, times(1)).revokeAllByUserIdIn(userIds);
+        verify(userRefreshTokensRepository, times(0)).revokeAllByUserId(any());
+    }
+}
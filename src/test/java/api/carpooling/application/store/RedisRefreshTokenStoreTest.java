@@ -0,0 +1,206 @@
+package api.carpooling.application.store;
+
+import api.carpooling.configuration.RefreshTokenProperties;
+import api.carpooling.domain.enumeration.RoleUser;
+
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.MethodOrderer;
+import org.junit.jupiter.api.Order;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestMethodOrder;
+import org.springframework.data.redis.connection.RedisStandaloneConfiguration;
+import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.testcontainers.containers.GenericContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import org.testcontainers.utility.DockerImageName;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Integration tests for {@link RedisRefreshTokenStore} against a real Redis container.
+ * <p>
+ * These tests verify the atomic scripts: one session per device, compare-and-set
+ * rotation, revocation and role propagation.
+ */
+@Testcontainers
+@TestMethodOrder(MethodOrderer.OrderAnnotation.class)
+@DisplayName("RedisRefreshTokenStore Tests")
+@Slf4j
+public class RedisRefreshTokenStoreTest {
+
+    /** Default Redis port. */
+    private static final int REDIS_PORT = 6379;
+
+    /** Redis container shared by all tests. */
+    @Container
+    private static final GenericContainer<?> REDIS =
+            new GenericContainer<>(DockerImageName.parse("redis:latest")).withExposedPorts(REDIS_PORT);
+
+    /** Connection factory bound to the container. */
+    private static LettuceConnectionFactory connectionFactory;
+
+    /** Store under test. */
+    private static RedisRefreshTokenStore store;
+
+    /**
+     * Connects the store to the container before all tests.
+     */
+    @BeforeAll
+    static void beforeAll() {
+        connectionFactory = new LettuceConnectionFactory(
+                new RedisStandaloneConfiguration(REDIS.getHost(), REDIS.getMappedPort(REDIS_PORT)));
+        connectionFactory.afterPropertiesSet();
+        StringRedisTemplate redisTemplate = new StringRedisTemplate(connectionFactory);
+        redisTemplate.afterPropertiesSet();
+        RefreshTokenProperties properties = new RefreshTokenProperties();
+        properties.setRedisKeyPrefix("test:rt:");
+        store = new RedisRefreshTokenStore(redisTemplate, properties);
+        log.info("RedisRefreshTokenStore tests initialized");
+    }
+
+    /**
+     * Closes the connection after all tests.
+     */
+    @AfterAll
+    static void afterAll() {
+        connectionFactory.destroy();
+        log.info("RedisRefreshTokenStore tests completed");
+    }
+
+    /**
+     * Builds a session expiring in one day.
+     *
+     * @param userId owner of the session
+     * @param deviceId device of the session
+     * @param tokenHash digest of the refresh token
+     * @return the session
+     */
+    private static StoredRefreshSession session(UUID userId, String deviceId, String tokenHash) {
+        LocalDateTime now = LocalDateTime.now().truncatedTo(ChronoUnit.MILLIS);
+        return StoredRefreshSession.builder()
+                .id(UUID.randomUUID())
+                .userId(userId)
+                .roleUser(RoleUser.ROLE_PASSENGER)
+                .userActive(true)
+                .deviceId(deviceId)
+                .tokenHash(tokenHash)
+                .createdAt(now)
+                .expiresAt(now.plusDays(1))
+                .build();
+    }
+
+    /**
+     * Verifies that an opened session can be found by its token digest.
+     */
+    @Test
+    @Order(1)
+    @DisplayName("Should open and find session")
+    void testOpenAndFind() {
+        UUID userId = UUID.randomUUID();
+        StoredRefreshSession opened = session(userId, "phone", "hash-open");
+
+        store.open(opened);
+        StoredRefreshSession found = store.findByTokenHash("hash-open").orElseThrow();
+
+        assertAll("Stored session",
+                () -> assertEquals(List.of(found.id()), store.findActive(userId).stream()
+                        .map(StoredRefreshSession::id).toList(), "Id should match the active session"),
+                () -> assertEquals(userId, found.userId(), "Owner should match"),
+                () -> assertEquals(RoleUser.ROLE_PASSENGER, found.roleUser(), "Role should match"),
+                () -> assertEquals("phone", found.deviceId(), "Device should match"),
+                () -> assertEquals(opened.expiresAt(), found.expiresAt(), "Expiry should match")
+        );
+    }
+
+    /**
+     * Verifies that a second login on the same device replaces the previous session.
+     */
+    @Test
+    @Order(2)
+    @DisplayName("Should keep one session per device")
+    void testOpenReplacesDevice() {
+        UUID userId = UUID.randomUUID();
+        store.open(session(userId, "laptop", "hash-first"));
+        store.open(session(userId, "laptop", "hash-second"));
+
+        assertTrue(store.findByTokenHash("hash-first").isEmpty(), "Old token should be dropped");
+        assertEquals(1, store.findActive(userId).size(), "Only one session should remain");
+    }
+
+    /**
+     * Verifies that a digest can only be rotated once.
+     */
+    @Test
+    @Order(3)
+    @DisplayName("Should rotate token only once")
+    void testRotate() {
+        store.open(session(UUID.randomUUID(), "phone", "hash-rotate"));
+        StoredRefreshSession opened = store.findByTokenHash("hash-rotate").orElseThrow();
+        LocalDateTime expiresAt = LocalDateTime.now().plusDays(2);
+
+        assertTrue(store.rotate(opened, "hash-rotate", "hash-rotated", expiresAt), "First rotation should succeed");
+        assertFalse(store.rotate(opened, "hash-rotate", "hash-other", expiresAt), "Reuse should fail");
+        assertTrue(store.findByTokenHash("hash-rotate").isEmpty(), "Old digest should be gone");
+        assertTrue(store.findByTokenHash("hash-rotated").isPresent(), "New digest should resolve");
+    }
+
+    /**
+     * Verifies that a session can only be revoked by its owner.
+     */
+    @Test
+    @Order(4)
+    @DisplayName("Should revoke session of its owner only")
+    void testRevoke() {
+        UUID userId = UUID.randomUUID();
+        store.open(session(userId, "phone", "hash-revoke"));
+        StoredRefreshSession opened = store.findByTokenHash("hash-revoke").orElseThrow();
+
+        assertFalse(store.revoke(UUID.randomUUID(), opened.id()), "Other user should not revoke");
+        assertTrue(store.revoke(userId, opened.id()), "Owner should revoke");
+        assertTrue(store.findByTokenHash("hash-revoke").isEmpty(), "Revoked token should be gone");
+    }
+
+    /**
+     * Verifies that all sessions of a user are revoked at once.
+     */
+    @Test
+    @Order(5)
+    @DisplayName("Should revoke all sessions of a user")
+    void testRevokeAll() {
+        UUID userId = UUID.randomUUID();
+        store.open(session(userId, "phone", "hash-all-1"));
+        store.open(session(userId, "laptop", "hash-all-2"));
+
+        assertEquals(2, store.revokeAll(userId));
+        List<StoredRefreshSession> active = store.findActive(userId);
+        assertTrue(active.isEmpty(), "No session should remain");
+    }
+
+    /**
+     * Verifies that a role change is visible on the next refresh.
+     */
+    @Test
+    @Order(6)
+    @DisplayName("Should propagate role change to sessions")
+    void testUpdateRole() {
+        UUID userId = UUID.randomUUID();
+        store.open(session(userId, "phone", "hash-role"));
+
+        store.updateRole(userId, RoleUser.ROLE_DRIVER);
+
+        assertEquals(RoleUser.ROLE_DRIVER, store.findByTokenHash("hash-role").orElseThrow().roleUser());
+    }
+}
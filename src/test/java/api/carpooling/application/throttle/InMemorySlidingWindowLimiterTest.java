@@ -0,0 +1,125 @@
+package api.carpooling.application.throttle;
+
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.MethodOrderer;
+import org.junit.jupiter.api.Order;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestMethodOrder;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Unit tests for {@link InMemorySlidingWindowLimiter}.
+ * <p>
+ * These tests verify that the limit is enforced per key, that the retry delay
+ * is bounded by the window, and that a reset frees the key.
+ */
+@TestMethodOrder(MethodOrderer.OrderAnnotation.class)
+@DisplayName("InMemorySlidingWindowLimiter Test")
+@Slf4j
+public class InMemorySlidingWindowLimiterTest {
+
+    /**
+     * Window used by the tests.
+     */
+    private static final Duration WINDOW = Duration.ofMinutes(1);
+
+    /**
+     * Window short enough to slide during a test.
+     */
+    private static final Duration SHORT_WINDOW = Duration.ofMillis(50);
+
+    /**
+     * Instance of {@link InMemorySlidingWindowLimiter} under test.
+     */
+    private InMemorySlidingWindowLimiter limiter;
+
+    /**
+     * Displays start message before all tests.
+     */
+    @BeforeAll
+    static void setUpAll() {
+        log.info("Starting InMemorySlidingWindowLimiter tests");
+    }
+
+    /**
+     * Displays message after all tests.
+     */
+    @AfterAll
+    static void tearDownAll() {
+        log.info("Finished InMemorySlidingWindowLimiter tests");
+    }
+
+    /**
+     * Builds a fresh limiter before each test.
+     */
+    @BeforeEach
+    void setUp() {
+        limiter = new InMemorySlidingWindowLimiter(100, WINDOW);
+    }
+
+    /**
+     * Verifies that attempts beyond the limit are rejected with a delay within the window.
+     */
+    @Test
+    @Order(1)
+    @DisplayName("Should reject attempts beyond the limit")
+    void testLimit() {
+        assertEquals(0L, limiter.tryAcquire("key", 2, WINDOW));
+        assertEquals(0L, limiter.tryAcquire("key", 2, WINDOW));
+
+        long retryAfterMs = limiter.tryAcquire("key", 2, WINDOW);
+
+        assertTrue(retryAfterMs > 0 && retryAfterMs <= WINDOW.toMillis(), "Delay should be within the window");
+    }
+
+    /**
+     * Verifies that keys are counted independently.
+     */
+    @Test
+    @Order(2)
+    @DisplayName("Should count each key separately")
+    void testKeysAreIndependent() {
+        assertEquals(0L, limiter.tryAcquire("first", 1, WINDOW));
+        assertTrue(limiter.tryAcquire("first", 1, WINDOW) > 0, "First key should be throttled");
+        assertEquals(0L, limiter.tryAcquire("second", 1, WINDOW), "Second key should be allowed");
+    }
+
+    /**
+     * Verifies that a reset allows new attempts immediately.
+     */
+    @Test
+    @Order(3)
+    @DisplayName("Should allow attempts again after reset")
+    void testReset() {
+        limiter.tryAcquire("key", 1, WINDOW);
+
+        limiter.reset("key");
+
+        assertEquals(0L, limiter.tryAcquire("key", 1, WINDOW));
+    }
+
+    /**
+     * Verifies that attempts older than the window no longer count.
+     *
+     * @throws InterruptedException if the test is interrupted while waiting
+     */
+    @Test
+    @Order(4)
+    @DisplayName("Should slide the window")
+    void testWindowSlides() throws InterruptedException {
+        assertEquals(0L, limiter.tryAcquire("key", 1, SHORT_WINDOW));
+        assertTrue(limiter.tryAcquire("key", 1, SHORT_WINDOW) > 0, "Second attempt should be throttled");
+
+        Thread.sleep(SHORT_WINDOW.toMillis() + 10);
+
+        assertEquals(0L, limiter.tryAcquire("key", 1, SHORT_WINDOW));
+    }
+}
@@ -0,0 +1,125 @@
+package api.carpooling.application.throttle;
+
+import api.carpooling.configuration.LoginThrottleProperties;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.MethodOrderer;
+import org.junit.jupiter.api.Order;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestMethodOrder;
+import org.springframework.boot.autoconfigure.AutoConfigurations;
+import org.springframework.boot.autoconfigure.data.redis.RedisAutoConfiguration;
+import org.springframework.boot.test.context.ConfigDataApplicationContextInitializer;
+import org.springframework.boot.test.context.runner.ApplicationContextRunner;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Tests {@link LoginThrottle} against a Redis server that accepts connections but never answers.
+ * <p>
+ * The Redis client is configured from {@code application.yml}, so these tests fail if its
+ * timeouts are removed or raised: the login must fall back to the in-memory limiter well
+ * before the default Lettuce timeout of one minute.
+ */
+@TestMethodOrder(MethodOrderer.OrderAnnotation.class)
+@DisplayName("LoginThrottle Redis Down Tests")
+@Slf4j
+public class LoginThrottleRedisDownTest {
+
+    /**
+     * Longest accepted delay added to a login by the throttle: three Redis calls, each
+     * bounded by the configured timeouts.
+     */
+    private static final Duration MAX_LOGIN_DELAY = Duration.ofSeconds(5);
+
+    /**
+     * Server standing for an unresponsive Redis.
+     */
+    private static ServerSocket silentRedis;
+
+    /**
+     * Connections held open by the silent server.
+     */
+    private static final List<Socket> CONNECTIONS = new CopyOnWriteArrayList<>();
+
+    /**
+     * Starts the silent server before all tests.
+     *
+     * @throws IOException if the server cannot be bound
+     */
+    @BeforeAll
+    static void beforeAll() throws IOException {
+        silentRedis = new ServerSocket(0, 0, InetAddress.getLoopbackAddress());
+        Thread acceptor = new Thread(() -> {
+            while (!silentRedis.isClosed()) {
+                try {
+                    CONNECTIONS.add(silentRedis.accept());
+                } catch (IOException e) {
+                    log.debug("Silent Redis stopped: {}", e.getMessage());
+                }
+            }
+        }, "silent-redis");
+        acceptor.setDaemon(true);
+        acceptor.start();
+        log.info("LoginThrottle Redis down tests initialized");
+    }
+
+    /**
+     * Stops the silent server after all tests.
+     *
+     * @throws IOException if a connection cannot be closed
+     */
+    @AfterAll
+    static void afterAll() throws IOException {
+        silentRedis.close();
+        for (Socket connection : CONNECTIONS) {
+            connection.close();
+        }
+        log.info("LoginThrottle Redis down tests completed");
+    }
+
+    /**
+     * Verifies that the checks of a login fall back to the local limiter within the
+     * configured Redis timeouts.
+     */
+    @Test
+    @Order(1)
+    @DisplayName("Should answer a login quickly when Redis does not respond")
+    void testLoginWithRedisDown() {
+        new ApplicationContextRunner()
+                .withInitializer(new ConfigDataApplicationContextInitializer())
+                .withConfiguration(AutoConfigurations.of(RedisAutoConfiguration.class))
+                .withPropertyValues("spring.data.redis.host=" + silentRedis.getInetAddress().getHostAddress(),
+                        "spring.data.redis.port=" + silentRedis.getLocalPort())
+                .run(context -> {
+                    SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+                    LoginThrottle loginThrottle = new LoginThrottle(new LoginThrottleProperties(),
+                            new RedisSlidingWindowLimiter(context.getBean(StringRedisTemplate.class)),
+                            meterRegistry);
+
+                    long start = System.nanoTime();
+                    loginThrottle.check("user@mail.com", "203.0.113.7");
+                    loginThrottle.reset("user@mail.com");
+                    Duration elapsed = Duration.ofNanos(System.nanoTime() - start);
+
+                    log.info("Login checks answered in {} ms with Redis down", elapsed.toMillis());
+                    assertTrue(elapsed.compareTo(MAX_LOGIN_DELAY) < 0, "Login took " + elapsed);
+                    assertEquals(2.0, meterRegistry.counter("auth.login.throttle.fallback").count(),
+                            "Both checks should be answered by the local limiter");
+                });
+    }
+}
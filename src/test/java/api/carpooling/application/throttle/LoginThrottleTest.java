@@ -0,0 +1,202 @@
+package api.carpooling.application.throttle;
+
+import api.carpooling.application.exception.TooManyLoginAttemptsException;
+import api.carpooling.configuration.LoginThrottleProperties;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.MethodOrderer;
+import org.junit.jupiter.api.Order;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestMethodOrder;
+import org.mockito.Mockito;
+import org.springframework.data.redis.RedisConnectionFailureException;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.startsWith;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Unit tests for {@link LoginThrottle}.
+ * <p>
+ * These tests verify the limits per IP and per email, the Retry-After value,
+ * the in-memory fallback and the published metrics.
+ */
+@TestMethodOrder(MethodOrderer.OrderAnnotation.class)
+@DisplayName("LoginThrottle Test")
+@Slf4j
+public class LoginThrottleTest {
+
+    /**
+     * Client address used by the tests.
+     */
+    private static final String CLIENT_IP = "203.0.113.7";
+
+    /**
+     * Delay returned by the limiter for a throttled IP, in milliseconds.
+     */
+    private static final long IP_RETRY_AFTER_MS = 1500L;
+
+    /**
+     * Delay returned by the limiter for a throttled email, in milliseconds.
+     */
+    private static final long EMAIL_RETRY_AFTER_MS = 60_000L;
+
+    /**
+     * Mocked Redis limiter.
+     */
+    private RedisSlidingWindowLimiter redisLimiter;
+
+    /**
+     * Throttling configuration.
+     */
+    private LoginThrottleProperties properties;
+
+    /**
+     * Registry receiving the metrics.
+     */
+    private SimpleMeterRegistry meterRegistry;
+
+    /**
+     * Instance of {@link LoginThrottle} under test.
+     */
+    private LoginThrottle loginThrottle;
+
+    /**
+     * Displays start message before all tests.
+     */
+    @BeforeAll
+    static void setUpAll() {
+        log.info("Starting LoginThrottle tests");
+    }
+
+    /**
+     * Displays message after all tests.
+     */
+    @AfterAll
+    static void tearDownAll() {
+        log.info("Finished LoginThrottle tests");
+    }
+
+    /**
+     * Builds a fresh throttle before each test.
+     */
+    @BeforeEach
+    void setUp() {
+        redisLimiter = Mockito.mock(RedisSlidingWindowLimiter.class);
+        properties = new LoginThrottleProperties();
+        properties.setMaxAttemptsPerEmail(2);
+        properties.setMaxAttemptsPerIp(5);
+        meterRegistry = new SimpleMeterRegistry();
+        loginThrottle = new LoginThrottle(properties, redisLimiter, meterRegistry);
+    }
+
+    /**
+     * Verifies that an attempt within both limits is allowed.
+     */
+    @Test
+    @Order(1)
+    @DisplayName("Should allow attempt within limits")
+    void testCheckAllowed() {
+        when(redisLimiter.tryAcquire(anyString(), anyInt(), any(Duration.class))).thenReturn(0L);
+
+        assertDoesNotThrow(() -> loginThrottle.check("User@Mail.com", CLIENT_IP));
+        verify(redisLimiter).tryAcquire("lt:ip:" + CLIENT_IP, 5, properties.getWindow());
+        verify(redisLimiter).tryAcquire(startsWith("lt:email:"), eq(2), eq(properties.getWindow()));
+    }
+
+    /**
+     * Verifies that a throttled IP is rejected before its email is counted.
+     */
+    @Test
+    @Order(2)
+    @DisplayName("Should reject throttled IP with Retry-After")
+    void testCheckIpThrottled() {
+        when(redisLimiter.tryAcquire(eq("lt:ip:" + CLIENT_IP), anyInt(), any(Duration.class)))
+                .thenReturn(IP_RETRY_AFTER_MS);
+
+        TooManyLoginAttemptsException ex = assertThrows(TooManyLoginAttemptsException.class,
+                () -> loginThrottle.check("user@mail.com", CLIENT_IP));
+
+        assertEquals(2L, ex.getRetryAfterSeconds());
+        verify(redisLimiter, never()).tryAcquire(startsWith("lt:email:"), anyInt(), any(Duration.class));
+        assertEquals(1.0, meterRegistry.get("auth.login.throttle.rejected").tag("key", "ip").counter().count());
+    }
+
+    /**
+     * Verifies that a throttled email is rejected.
+     */
+    @Test
+    @Order(3)
+    @DisplayName("Should reject throttled email")
+    void testCheckEmailThrottled() {
+        when(redisLimiter.tryAcquire(eq("lt:ip:" + CLIENT_IP), anyInt(), any(Duration.class))).thenReturn(0L);
+        when(redisLimiter.tryAcquire(startsWith("lt:email:"), anyInt(), any(Duration.class)))
+                .thenReturn(EMAIL_RETRY_AFTER_MS);
+
+        TooManyLoginAttemptsException ex = assertThrows(TooManyLoginAttemptsException.class,
+                () -> loginThrottle.check("user@mail.com", CLIENT_IP));
+
+        assertEquals(60L, ex.getRetryAfterSeconds());
+        assertEquals(1.0, meterRegistry.get("auth.login.throttle.rejected").tag("key", "email").counter().count());
+    }
+
+    /**
+     * Verifies that the in-memory limiter enforces the limits when Redis is down.
+     */
+    @Test
+    @Order(4)
+    @DisplayName("Should fall back to in-memory limiter when Redis is down")
+    void testFallback() {
+        when(redisLimiter.tryAcquire(anyString(), anyInt(), any(Duration.class)))
+                .thenThrow(new RedisConnectionFailureException("down"));
+
+        loginThrottle.check("user@mail.com", CLIENT_IP);
+        loginThrottle.check("user@mail.com", CLIENT_IP);
+
+        assertThrows(TooManyLoginAttemptsException.class, () -> loginThrottle.check("user@mail.com", CLIENT_IP));
+        assertEquals(6.0, meterRegistry.get("auth.login.throttle.fallback").counter().count());
+    }
+
+    /**
+     * Verifies that nothing is counted when throttling is disabled.
+     */
+    @Test
+    @Order(5)
+    @DisplayName("Should skip checks when disabled")
+    void testDisabled() {
+        properties.setEnabled(false);
+
+        loginThrottle.check("user@mail.com", CLIENT_IP);
+        loginThrottle.reset("user@mail.com");
+
+        Mockito.verifyNoInteractions(redisLimiter);
+    }
+
+    /**
+     * Verifies that a successful login clears the email window only.
+     */
+    @Test
+    @Order(6)
+    @DisplayName("Should reset email attempts after successful login")
+    void testReset() {
+        loginThrottle.reset("User@Mail.com");
+
+        verify(redisLimiter).reset(startsWith("lt:email:"));
+        verify(redisLimiter, never()).reset(startsWith("lt:ip:"));
+    }
+}
@@ -0,0 +1,125 @@
+package api.carpooling.application.throttle;
+
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.MethodOrderer;
+import org.junit.jupiter.api.Order;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestMethodOrder;
+import org.springframework.data.redis.connection.RedisStandaloneConfiguration;
+import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.testcontainers.containers.GenericContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import org.testcontainers.utility.DockerImageName;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Integration tests for {@link RedisSlidingWindowLimiter} against a real Redis container.
+ * <p>
+ * These tests verify that the limit holds under concurrent attempts and that
+ * a reset frees the key.
+ */
+@Testcontainers
+@TestMethodOrder(MethodOrderer.OrderAnnotation.class)
+@DisplayName("RedisSlidingWindowLimiter Tests")
+@Slf4j
+public class RedisSlidingWindowLimiterTest {
+
+    /** Default Redis port. */
+    private static final int REDIS_PORT = 6379;
+
+    /** Window used by the tests. */
+    private static final Duration WINDOW = Duration.ofMinutes(1);
+
+    /** Redis container shared by all tests. */
+    @Container
+    private static final GenericContainer<?> REDIS =
+            new GenericContainer<>(DockerImageName.parse("redis:latest")).withExposedPorts(REDIS_PORT);
+
+    /** Connection factory bound to the container. */
+    private static LettuceConnectionFactory connectionFactory;
+
+    /** Limiter under test. */
+    private static RedisSlidingWindowLimiter limiter;
+
+    /**
+     * Connects the limiter to the container before all tests.
+     */
+    @BeforeAll
+    static void beforeAll() {
+        connectionFactory = new LettuceConnectionFactory(
+                new RedisStandaloneConfiguration(REDIS.getHost(), REDIS.getMappedPort(REDIS_PORT)));
+        connectionFactory.afterPropertiesSet();
+        StringRedisTemplate redisTemplate = new StringRedisTemplate(connectionFactory);
+        redisTemplate.afterPropertiesSet();
+        limiter = new RedisSlidingWindowLimiter(redisTemplate);
+        log.info("RedisSlidingWindowLimiter tests initialized");
+    }
+
+    /**
+     * Closes the connection after all tests.
+     */
+    @AfterAll
+    static void afterAll() {
+        connectionFactory.destroy();
+        log.info("RedisSlidingWindowLimiter tests completed");
+    }
+
+    /**
+     * Verifies that concurrent attempts never exceed the limit.
+     *
+     * @throws Exception if an attempt fails
+     */
+    @Test
+    @Order(1)
+    @DisplayName("Should enforce limit under concurrent attempts")
+    void testConcurrentLimit() throws Exception {
+        int limit = 10;
+        List<Callable<Long>> attempts = new ArrayList<>();
+        for (int i = 0; i < limit * 5; i++) {
+            attempts.add(() -> limiter.tryAcquire("test:lt:concurrent", limit, WINDOW));
+        }
+
+        int allowed = 0;
+        try (ExecutorService executor = Executors.newFixedThreadPool(8)) {
+            for (Future<Long> result : executor.invokeAll(attempts)) {
+                if (result.get() == 0L) {
+                    allowed++;
+                } else {
+                    assertTrue(result.get() <= WINDOW.toMillis(), "Delay should be within the window");
+                }
+            }
+        }
+
+        assertEquals(limit, allowed);
+    }
+
+    /**
+     * Verifies that a reset allows new attempts immediately.
+     */
+    @Test
+    @Order(2)
+    @DisplayName("Should allow attempts again after reset")
+    void testReset() {
+        assertEquals(0L, limiter.tryAcquire("test:lt:reset", 1, WINDOW));
+        assertTrue(limiter.tryAcquire("test:lt:reset", 1, WINDOW) > 0, "Second attempt should be throttled");
+
+        limiter.reset("test:lt:reset");
+
+        assertEquals(0L, limiter.tryAcquire("test:lt:reset", 1, WINDOW));
+    }
+}
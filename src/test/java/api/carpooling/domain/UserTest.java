@@ -50,9 +50,6 @@ public class UserTest {
                 .phoneNumber("+33612345678")
                 .address("123 Rue de Paris")
                 .photoUser("photo.jpg")
-                .token("token123")
-                .refreshToken("refreshToken123")
-                .tokenExpired(LocalDateTime.now().plusHours(1))
                 .lastLogin(LocalDateTime.now().minusDays(1))
                 .isActive(true)
                 .isVerified(false)
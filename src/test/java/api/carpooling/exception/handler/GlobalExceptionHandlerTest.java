@@ -1,5 +1,7 @@
 package api.carpooling.exception.handler;
 
+import api.carpooling.application.exception.PasswordHashingOverloadedException;
+import api.carpooling.application.exception.TooManyLoginAttemptsException;
 import api.carpooling.application.exception.UserNotFoundException;
 import api.carpooling.exception.ErrorCode;
 import api.carpooling.exception.ErrorResponse;
@@ -11,6 +13,7 @@ import org.junit.jupiter.api.MethodOrderer;
 import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.Order;
 import org.junit.jupiter.api.AfterAll;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.BindingResult;
@@ -40,6 +43,11 @@ import static org.mockito.Mockito.when;
 @Slf4j
 public class GlobalExceptionHandlerTest {
 
+    /**
+     * Delay before a throttled client may retry, in seconds.
+     */
+    private static final long RETRY_AFTER_SECONDS = 42L;
+
     /**
      * Global exception handler used to manage and test API error responses.
      */
@@ -127,4 +135,45 @@ public class GlobalExceptionHandlerTest {
         assertEquals(ErrorCode.USER_NOT_FOUND, response.getBody().getErrorCode());
         assertEquals("/api/test", response.getBody().getInstance());
     }
+
+    /**
+     * Verifies that hashing overload is returned as 503 with a Retry-After header.
+     */
+    @Test
+    @Order(4)
+    @DisplayName("Should handle PasswordHashingOverloadedException with Retry-After")
+    void testHandlePasswordHashingOverloaded() {
+        HttpServletRequest request = mock(HttpServletRequest.class);
+        when(request.getRequestURI()).thenReturn("/api/v1/auth/login");
+
+        PasswordHashingOverloadedException ex = new PasswordHashingOverloadedException("Too many requests", 2L);
+
+        ResponseEntity<ErrorResponse> response = handler.handlePasswordHashingOverloaded(ex, request);
+
+        assertEquals(HttpStatus.SERVICE_UNAVAILABLE, response.getStatusCode());
+        assertEquals("2", response.getHeaders().getFirst(HttpHeaders.RETRY_AFTER));
+        assertNotNull(response.getBody());
+        assertEquals(ErrorCode.SERVICE_UNAVAILABLE, response.getBody().getErrorCode());
+    }
+
+    /**
+     * Verifies that throttled logins are returned as 429 with a Retry-After header.
+     */
+    @Test
+    @Order(5)
+    @DisplayName("Should handle TooManyLoginAttemptsException with Retry-After")
+    void testHandleTooManyLoginAttempts() {
+        HttpServletRequest request = mock(HttpServletRequest.class);
+        when(request.getRequestURI()).thenReturn("/api/v1/auth/login");
+
+        TooManyLoginAttemptsException ex = new TooManyLoginAttemptsException("Too many login attempts",
+                RETRY_AFTER_SECONDS);
+
+        ResponseEntity<ErrorResponse> response = handler.handleTooManyLoginAttempts(ex, request);
+
+        assertEquals(HttpStatus.TOO_MANY_REQUESTS, response.getStatusCode());
+        assertEquals(String.valueOf(RETRY_AFTER_SECONDS), response.getHeaders().getFirst(HttpHeaders.RETRY_AFTER));
+        assertNotNull(response.getBody());
+        assertEquals(ErrorCode.TOO_MANY_REQUESTS, response.getBody().getErrorCode());
+    }
 }
@@ -0,0 +1,215 @@
+package api.carpooling.logging.query;
+
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.MethodOrderer;
+import org.junit.jupiter.api.Order;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestMethodOrder;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Unit tests for {@link InstrumentedDataSource} and {@link QueryRecorder}.
+ * <p>
+ * These tests run against mocked JDBC objects and verify that statements, execution
+ * counts and rows are recorded only while a scope is open, that nested scopes all
+ * receive the statements, and that driver exceptions reach the caller unchanged.
+ */
+@TestMethodOrder(MethodOrderer.OrderAnnotation.class)
+@DisplayName("InstrumentedDataSource Test")
+@Slf4j
+public class InstrumentedDataSourceTest {
+
+    /**
+     * Query used by the tests.
+     */
+    private static final String SELECT_USER = "SELECT * FROM users WHERE id = ?";
+
+    /**
+     * Mocked physical connection.
+     */
+    private Connection connection;
+
+    /**
+     * Mocked prepared statement returned by the connection.
+     */
+    private PreparedStatement preparedStatement;
+
+    /**
+     * Mocked result set returned by the statement.
+     */
+    private ResultSet resultSet;
+
+    /**
+     * Instance of {@link InstrumentedDataSource} under test.
+     */
+    private InstrumentedDataSource dataSource;
+
+    /**
+     * Displays start message before all tests.
+     */
+    @BeforeAll
+    static void setUpAll() {
+        log.info("Starting InstrumentedDataSource tests");
+    }
+
+    /**
+     * Displays message after all tests.
+     */
+    @AfterAll
+    static void tearDownAll() {
+        log.info("Finished InstrumentedDataSource tests");
+    }
+
+    /**
+     * Builds the mocked JDBC objects before each test.
+     *
+     * @throws SQLException never, required by the JDBC signatures
+     */
+    @BeforeEach
+    void setUp() throws SQLException {
+        DataSource target = mock(DataSource.class);
+        connection = mock(Connection.class);
+        preparedStatement = mock(PreparedStatement.class);
+        resultSet = mock(ResultSet.class);
+        when(target.getConnection()).thenReturn(connection);
+        when(connection.prepareStatement(anyString())).thenReturn(preparedStatement);
+        when(preparedStatement.executeQuery()).thenReturn(resultSet);
+        when(resultSet.next()).thenReturn(true, true, false, true, true, false);
+        dataSource = new InstrumentedDataSource(target);
+    }
+
+    /**
+     * Runs the test query on a new connection and reads all its rows.
+     *
+     * @throws SQLException never, required by the JDBC signatures
+     */
+    private void runQuery() throws SQLException {
+        try (Connection wrapped = dataSource.getConnection();
+             PreparedStatement statement = wrapped.prepareStatement(SELECT_USER);
+             ResultSet rows = statement.executeQuery()) {
+            while (rows.next()) {
+                log.debug("Row read");
+            }
+        }
+    }
+
+    /**
+     * Verifies that statements are not wrapped when nothing is recording.
+     *
+     * @throws SQLException never, required by the JDBC signatures
+     */
+    @Test
+    @Order(1)
+    @DisplayName("Should hand out driver statements outside of a scope")
+    void testNoScope() throws SQLException {
+        assertFalse(QueryRecorder.isRecording(), "No scope should be open");
+        try (Connection unwrapped = dataSource.getConnection();
+             Statement statement = unwrapped.prepareStatement(SELECT_USER)) {
+            assertSame(preparedStatement, statement, "Statement should not be wrapped");
+        }
+    }
+
+    /**
+     * Verifies that executions, execution time and rows read are recorded.
+     *
+     * @throws SQLException never, required by the JDBC signatures
+     */
+    @Test
+    @Order(2)
+    @DisplayName("Should record statements and rows within a scope")
+    void testRecordsStatements() throws SQLException {
+        when(connection.createStatement()).thenReturn(preparedStatement);
+        when(preparedStatement.executeUpdate("DELETE FROM users")).thenReturn(3);
+
+        QueryStats stats;
+        try (QueryScope scope = QueryRecorder.open()) {
+            runQuery();
+            runQuery();
+            try (Connection wrapped = dataSource.getConnection();
+                 Statement statement = wrapped.createStatement()) {
+                statement.executeUpdate("DELETE FROM users");
+            }
+            stats = scope.stats();
+        }
+
+        assertEquals(3, stats.statements(), "Three statements should be recorded");
+        assertEquals(2 * 2 + 3, stats.rows(), "Rows read and updated should be summed");
+        assertEquals(SELECT_USER, stats.mostRepeatedSql(), "Repeated query should be reported");
+        assertEquals(2, stats.mostRepeatedCount(), "Repeated query ran twice");
+        assertFalse(QueryRecorder.isRecording(), "Closing the scope should stop recording");
+    }
+
+    /**
+     * Verifies that the statements reach every open scope.
+     *
+     * @throws SQLException never, required by the JDBC signatures
+     */
+    @Test
+    @Order(3)
+    @DisplayName("Should record statements in nested scopes")
+    void testNestedScopes() throws SQLException {
+        try (QueryScope outer = QueryRecorder.open()) {
+            runQuery();
+            try (QueryScope inner = QueryRecorder.open()) {
+                runQuery();
+                assertEquals(1, inner.stats().statements(), "Inner scope sees its own statement");
+            }
+            assertTrue(QueryRecorder.isRecording(), "Outer scope should still be recording");
+            assertEquals(2, outer.stats().statements(), "Outer scope sees both statements");
+        }
+    }
+
+    /**
+     * Verifies that driver exceptions are rethrown as is.
+     *
+     * @throws SQLException never, required by the JDBC signatures
+     */
+    @Test
+    @Order(4)
+    @DisplayName("Should propagate driver exceptions unchanged")
+    void testPropagatesException() throws SQLException {
+        SQLException failure = new SQLException("duplicate key", "23505");
+        when(preparedStatement.executeUpdate()).thenThrow(failure);
+
+        try (QueryScope ignored = QueryRecorder.open();
+             Connection wrapped = dataSource.getConnection();
+             PreparedStatement statement = wrapped.prepareStatement(SELECT_USER)) {
+            SQLException thrown = assertThrows(SQLException.class, statement::executeUpdate);
+            assertSame(failure, thrown, "Driver exception should not be wrapped");
+        }
+    }
+
+    /**
+     * Verifies that the test assertion fails once the budget is exceeded.
+     */
+    @Test
+    @Order(5)
+    @DisplayName("Should fail the budget assertion on too many statements")
+    void testBudgetAssertion() {
+        AssertionError error = assertThrows(AssertionError.class, () -> QueryBudgetAssertions.assertAtMost(1, () -> {
+            runQuery();
+            runQuery();
+            return null;
+        }));
+        assertTrue(error.getMessage().contains(SELECT_USER), "Message should name the repeated query");
+    }
+}
@@ -0,0 +1,81 @@
+package api.carpooling.logging.query;
+
+import java.sql.SQLException;
+
+/**
+ * Test assertions on the number of statements issued by a block of code.
+ * <p>
+ * Meant for integration tests running against the instrumented data source, to pin the
+ * statement count of a service call and catch N+1 regressions before they ship:
+ * <pre>{@code
+ * List<User> users = QueryBudgetAssertions.assertAtMost(2, () -> adminService.listUsers(...));
+ * }</pre>
+ */
+public final class QueryBudgetAssertions {
+
+    /**
+     * Utility class, not instantiable.
+     */
+    private QueryBudgetAssertions() {
+    }
+
+    /**
+     * Runs an action and fails if it issued more statements than allowed.
+     *
+     * @param maxStatements the statement budget of the action
+     * @param action the code under test
+     * @param <T> result type
+     * @return the result of the action
+     * @throws SQLException if the action failed on a JDBC call
+     */
+    public static <T> T assertAtMost(int maxStatements, Action<T> action) throws SQLException {
+        try (QueryScope scope = QueryRecorder.open()) {
+            T result = action.run();
+            QueryStats stats = scope.stats();
+            if (stats.statements() > maxStatements) {
+                throw new AssertionError("Expected at most " + maxStatements + " statements but "
+                        + stats.statements() + " were executed; most repeated ("
+                        + stats.mostRepeatedCount() + "x): " + stats.mostRepeatedSql());
+            }
+            return result;
+        }
+    }
+
+    /**
+     * Runs an action and fails if one statement was executed more than allowed.
+     *
+     * @param maxExecutions how many times a single statement may run
+     * @param action the code under test
+     * @param <T> result type
+     * @return the result of the action
+     * @throws SQLException if the action failed on a JDBC call
+     */
+    public static <T> T assertNoRepeatedStatement(int maxExecutions, Action<T> action) throws SQLException {
+        try (QueryScope scope = QueryRecorder.open()) {
+            T result = action.run();
+            QueryStats stats = scope.stats();
+            if (stats.mostRepeatedCount() > maxExecutions) {
+                throw new AssertionError("Statement executed " + stats.mostRepeatedCount()
+                        + " times (max " + maxExecutions + "): " + stats.mostRepeatedSql());
+            }
+            return result;
+        }
+    }
+
+    /**
+     * Code whose statements are counted.
+     *
+     * @param <T> result type
+     */
+    @FunctionalInterface
+    public interface Action<T> {
+
+        /**
+         * Runs the code under test.
+         *
+         * @return its result
+         * @throws SQLException if a JDBC call failed
+         */
+        T run() throws SQLException;
+    }
+}
@@ -0,0 +1,178 @@
+package api.carpooling.logging.query;
+
+import api.carpooling.configuration.QueryStatsProperties;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.MethodOrderer;
+import org.junit.jupiter.api.Order;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestMethodOrder;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Unit tests for {@link QueryStatsFilter} and {@link QueryStatsRegistry}.
+ * <p>
+ * These tests simulate the statements of a request from within the filter chain and
+ * verify that they are attributed to the matched route, that N+1 and over-budget
+ * requests are flagged, and that the totals can be reset.
+ */
+@TestMethodOrder(MethodOrderer.OrderAnnotation.class)
+@DisplayName("QueryStatsFilter Test")
+@Slf4j
+public class QueryStatsFilterTest {
+
+    /**
+     * Route pattern of the simulated requests.
+     */
+    private static final String PATTERN = "/api/v1/admin/users";
+
+    /**
+     * Endpoint name expected for the simulated requests.
+     */
+    private static final String ENDPOINT = "GET " + PATTERN;
+
+    /**
+     * Execution time of each simulated statement, in nanoseconds.
+     */
+    private static final long STATEMENT_NANOS = 1_000_000L;
+
+    /**
+     * Registry collecting the metrics.
+     */
+    private SimpleMeterRegistry meterRegistry;
+
+    /**
+     * Aggregates filled by the filter.
+     */
+    private QueryStatsRegistry registry;
+
+    /**
+     * Instance of {@link QueryStatsFilter} under test.
+     */
+    private QueryStatsFilter filter;
+
+    /**
+     * Displays start message before all tests.
+     */
+    @BeforeAll
+    static void setUpAll() {
+        log.info("Starting QueryStatsFilter tests");
+    }
+
+    /**
+     * Displays message after all tests.
+     */
+    @AfterAll
+    static void tearDownAll() {
+        log.info("Finished QueryStatsFilter tests");
+    }
+
+    /**
+     * Builds a fresh filter and registry before each test.
+     */
+    @BeforeEach
+    void setUp() {
+        QueryStatsProperties properties = new QueryStatsProperties();
+        properties.setStatementBudget(4);
+        properties.setRepeatedStatementThreshold(3);
+        meterRegistry = new SimpleMeterRegistry();
+        registry = new QueryStatsRegistry(meterRegistry);
+        filter = new QueryStatsFilter(registry, properties);
+    }
+
+    /**
+     * Runs the filter with a chain issuing the given statements.
+     *
+     * @param statements statement texts executed while serving the request
+     * @throws ServletException if the filter fails
+     * @throws IOException if the filter fails
+     */
+    private void serve(String... statements) throws ServletException, IOException {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", PATTERN);
+        FilterChain chain = (req, res) -> {
+            req.setAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE, PATTERN);
+            for (String sql : statements) {
+                QueryRecorder.statement(sql, STATEMENT_NANOS, 0);
+                QueryRecorder.rows(1);
+            }
+        };
+        filter.doFilter(request, new MockHttpServletResponse(), chain);
+    }
+
+    /**
+     * Verifies that a request within its budget is recorded without being flagged.
+     *
+     * @throws Exception if the filter fails
+     */
+    @Test
+    @Order(1)
+    @DisplayName("Should attribute statements to the matched route")
+    void testRecordsRequest() throws Exception {
+        serve("SELECT count(*) FROM users", "SELECT * FROM users LIMIT ?");
+
+        EndpointQueryStats stats = registry.snapshot().get(ENDPOINT);
+        assertEquals(1, stats.requests(), "One request should be recorded");
+        assertEquals(2, stats.statements(), "Two statements should be recorded");
+        assertEquals(2, stats.rows(), "Two rows should be recorded");
+        assertEquals(0, stats.nPlusOne(), "Request should not be flagged as N+1");
+        assertEquals(0, stats.overBudget(), "Request should be within budget");
+        assertEquals(2.0, meterRegistry.get("db.request.statements").tag("endpoint", ENDPOINT)
+                .summary().totalAmount(), "Statements should be published to Micrometer");
+        assertFalse(QueryRecorder.isRecording(), "Scope should be closed after the request");
+    }
+
+    /**
+     * Verifies that repeated statements and over-budget requests are flagged.
+     *
+     * @throws Exception if the filter fails
+     */
+    @Test
+    @Order(2)
+    @DisplayName("Should flag N+1 and over-budget requests")
+    void testFlagsRequest() throws Exception {
+        String perRow = "SELECT * FROM user_refresh_tokens WHERE user_id = ?";
+        serve("SELECT * FROM users", perRow, perRow, perRow, perRow);
+
+        EndpointQueryStats stats = registry.snapshot().get(ENDPOINT);
+        assertEquals(1, stats.nPlusOne(), "Request should be flagged as N+1");
+        assertEquals(1, stats.overBudget(), "Request should exceed its budget");
+        assertEquals(perRow, stats.lastRepeatedSql(), "Repeated statement should be reported");
+        assertEquals(1.0, meterRegistry.get("db.request.n_plus_one").counter().count(),
+                "N+1 counter should be incremented");
+    }
+
+    /**
+     * Verifies that requests without a matched route are grouped and that totals can be reset.
+     *
+     * @throws Exception if the filter fails
+     */
+    @Test
+    @Order(3)
+    @DisplayName("Should group unmatched requests and reset totals")
+    void testUnmatchedAndReset() throws Exception {
+        filter.doFilter(new MockHttpServletRequest("GET", "/missing"), new MockHttpServletResponse(),
+                (req, res) -> QueryRecorder.statement("SELECT 1", 0L, 0));
+
+        Map<String, EndpointQueryStats> snapshot = registry.snapshot();
+        assertTrue(snapshot.containsKey("UNMATCHED"), "Unmatched request should be grouped");
+
+        registry.reset();
+        assertTrue(registry.snapshot().isEmpty(), "Totals should be cleared");
+    }
+}
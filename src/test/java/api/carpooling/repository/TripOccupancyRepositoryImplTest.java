@@ -0,0 +1,187 @@
+package api.carpooling.repository;
+
+import lombok.extern.slf4j.Slf4j;
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.MethodOrderer;
+import org.junit.jupiter.api.Order;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestMethodOrder;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import org.testcontainers.utility.DockerImageName;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Objects;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Integration tests for the booked seats counted on the trips and for
+ * {@link TripOccupancyRepositoryImpl}.
+ * <p>
+ * The schema is built by the Flyway migrations, so the counter is maintained by the
+ * trigger of the reservations exactly as in production.
+ */
+@Testcontainers
+@TestMethodOrder(MethodOrderer.OrderAnnotation.class)
+@DisplayName("TripOccupancyRepositoryImpl Tests")
+@Slf4j
+public class TripOccupancyRepositoryImplTest {
+
+    /**
+     * Batch large enough to compare every trip inserted by the migrations at once.
+     */
+    private static final int ALL_TRIPS = 100_000;
+
+    /**
+     * PostgreSQL container.
+     */
+    @Container
+    private static final PostgreSQLContainer<?> POSTGRES = new PostgreSQLContainer<>(
+            DockerImageName.parse("postgis/postgis:17-3.5").asCompatibleSubstituteFor("postgres"));
+
+    /**
+     * Template running the statements of the tests.
+     */
+    private static JdbcTemplate jdbcTemplate;
+
+    /**
+     * Template running the corrections in a transaction.
+     */
+    private static TransactionTemplate transactionTemplate;
+
+    /**
+     * Repository under test.
+     */
+    private static TripOccupancyRepositoryImpl repository;
+
+    /**
+     * Number of passengers inserted so far, naming the next one.
+     */
+    private static int passengers;
+
+    /**
+     * Trip reserved by the tests.
+     */
+    private static UUID trip;
+
+    /**
+     * Migrates the schema and inserts a trip before all tests.
+     */
+    @BeforeAll
+    static void beforeAll() {
+        DriverManagerDataSource dataSource = new DriverManagerDataSource(
+                POSTGRES.getJdbcUrl(), POSTGRES.getUsername(), POSTGRES.getPassword());
+        Flyway.configure().dataSource(dataSource).load().migrate();
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        transactionTemplate = new TransactionTemplate(new DataSourceTransactionManager(dataSource));
+        repository = new TripOccupancyRepositoryImpl(jdbcTemplate);
+
+        UUID driver = UUID.randomUUID();
+        jdbcTemplate.update("INSERT INTO users (id, username, email, password, phone_number)"
+                + " VALUES (?, 'occupancy_driver', 'occupancy_driver@test.com', 'hashed', '+33999999998')", driver);
+        trip = UUID.randomUUID();
+        LocalDateTime departure = LocalDateTime.now().plusDays(1);
+        jdbcTemplate.update("INSERT INTO trips (id, driver_id, start_location, end_location, departure_time,"
+                        + " time_trips, price, available_seats) VALUES (?, ?, 'Paris', 'Lyon', ?, ?, 20, 3)",
+                trip, driver, Timestamp.valueOf(departure), Timestamp.valueOf(departure.plusHours(5)));
+        log.info("TripOccupancyRepositoryImpl tests initialized");
+    }
+
+    /**
+     * Displays message after all tests.
+     */
+    @AfterAll
+    static void afterAll() {
+        log.info("TripOccupancyRepositoryImpl tests completed");
+    }
+
+    /**
+     * Inserts a reservation of the trip by a new passenger, a passenger reserving a trip once.
+     *
+     * @param seats seats booked
+     * @param status status of the reservation
+     * @return the identifier of the reservation
+     */
+    private static UUID reserve(int seats, String status) {
+        UUID passenger = UUID.randomUUID();
+        passengers++;
+        String username = "occupancy_rider_" + passengers;
+        jdbcTemplate.update("INSERT INTO users (id, username, email, password, phone_number)"
+                        + " VALUES (?, ?, ?, 'hashed', ?)",
+                passenger, username, username + "@test.com", "+3399999990" + passengers);
+        UUID id = UUID.randomUUID();
+        jdbcTemplate.update("INSERT INTO reservations (id, trip_id, passenger_id, seats_booked, status_reservation)"
+                + " VALUES (?, ?, ?, ?, ?::status_reservation)", id, trip, passenger, seats, status);
+        return id;
+    }
+
+    /**
+     * Reads the counter of the trip.
+     *
+     * @return the booked seats of the trip
+     */
+    private static int bookedSeats() {
+        return Objects.requireNonNull(
+                jdbcTemplate.queryForObject("SELECT booked_seats FROM trips WHERE id = ?", Integer.class, trip));
+    }
+
+    /**
+     * Verifies that the counter follows the confirmations, changes and cancellations.
+     */
+    @Test
+    @Order(1)
+    @DisplayName("Should count the seats of confirmed reservations")
+    void testCounter() {
+        UUID pending = reserve(1, "PENDING");
+        assertEquals(0, bookedSeats(), "Pending reservation should not be counted");
+
+        jdbcTemplate.update("UPDATE reservations SET status_reservation = 'CONFIRMED' WHERE id = ?", pending);
+        UUID confirmed = reserve(2, "CONFIRMED");
+        assertEquals(3, bookedSeats(), "Confirmed reservations should be counted");
+
+        jdbcTemplate.update("UPDATE reservations SET seats_booked = 1 WHERE id = ?", confirmed);
+        assertEquals(2, bookedSeats(), "Changed seats should be counted");
+
+        jdbcTemplate.update("UPDATE reservations SET status_reservation = 'CANCELED' WHERE id = ?", pending);
+        jdbcTemplate.update("DELETE FROM reservations WHERE id = ?", confirmed);
+        assertAll("Cancelled and deleted reservations",
+                () -> assertEquals(0, bookedSeats(), "Counter should be back to zero"),
+                () -> assertEquals(0, jdbcTemplate.queryForObject("SELECT booked_seats FROM trip_occupancy"
+                        + " WHERE trip_id = ?", Integer.class, trip), "The view should read the counter"));
+    }
+
+    /**
+     * Verifies that a counter written around the trigger is found and set back.
+     */
+    @Test
+    @Order(2)
+    @DisplayName("Should find and correct a drifted counter")
+    void testDrift() {
+        reserve(2, "CONFIRMED");
+        jdbcTemplate.update("UPDATE trips SET booked_seats = 0 WHERE id = ?", trip);
+
+        TripOccupancySlice slice = repository.findDrift(null, ALL_TRIPS);
+        Integer corrected = transactionTemplate.execute(status -> repository.correctDrift(slice.drifted()));
+
+        assertAll("Drift",
+                () -> assertTrue(slice.drifted().contains(trip), "The trip should have drifted"),
+                () -> assertEquals(1, corrected, "One counter should be corrected"),
+                () -> assertEquals(2, bookedSeats(), "The counter should match the reservations"),
+                () -> assertEquals(List.of(), repository.findDrift(null, ALL_TRIPS).drifted(),
+                        "No drift should remain"));
+    }
+}
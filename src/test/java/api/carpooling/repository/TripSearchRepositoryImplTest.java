@@ -0,0 +1,242 @@
+package api.carpooling.repository;
+
+import api.carpooling.application.dto.trip.NearbyTrip;
+import api.carpooling.application.dto.trip.NearbyTripCriteria;
+
+import lombok.extern.slf4j.Slf4j;
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.MethodOrderer;
+import org.junit.jupiter.api.Order;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestMethodOrder;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import org.testcontainers.utility.DockerImageName;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Integration tests for the search around a point of {@link TripSearchRepositoryImpl}.
+ * <p>
+ * The schema is built by the Flyway migrations on a PostGIS container; the search only
+ * relies on the extensions shipped with PostgreSQL, so it runs on the plain image as well.
+ */
+@Testcontainers
+@TestMethodOrder(MethodOrderer.OrderAnnotation.class)
+@DisplayName("TripSearchRepositoryImpl Tests")
+@Slf4j
+public class TripSearchRepositoryImplTest {
+
+    /**
+     * Latitude of the centre of Paris.
+     */
+    private static final double PARIS_LATITUDE = 48.8566;
+
+    /**
+     * Longitude of the centre of Paris.
+     */
+    private static final double PARIS_LONGITUDE = 2.3522;
+
+    /**
+     * Latitude of the Gare de Lyon.
+     */
+    private static final double GARE_DE_LYON_LATITUDE = 48.8443;
+
+    /**
+     * Longitude of the Gare de Lyon.
+     */
+    private static final double GARE_DE_LYON_LONGITUDE = 2.3730;
+
+    /**
+     * Latitude of La Défense.
+     */
+    private static final double LA_DEFENSE_LATITUDE = 48.8924;
+
+    /**
+     * Longitude of La Défense.
+     */
+    private static final double LA_DEFENSE_LONGITUDE = 2.2360;
+
+    /**
+     * Latitude of Versailles.
+     */
+    private static final double VERSAILLES_LATITUDE = 48.8049;
+
+    /**
+     * Longitude of Versailles.
+     */
+    private static final double VERSAILLES_LONGITUDE = 2.1204;
+
+    /**
+     * Distance between the Gare de Lyon and the centre of Paris, in meters.
+     */
+    private static final int GARE_DE_LYON_METERS = 2000;
+
+    /**
+     * Accepted error on a computed distance, in meters.
+     */
+    private static final int DISTANCE_TOLERANCE_METERS = 300;
+
+    /**
+     * Shortest distance between Versailles and the centre of Paris, in meters.
+     */
+    private static final int VERSAILLES_MIN_METERS = 15_000;
+
+    /**
+     * Radius of the searches covering every located trip, in kilometers.
+     */
+    private static final int WIDE_RADIUS_KM = 50;
+
+    /**
+     * PostGIS container.
+     */
+    @Container
+    private static final PostgreSQLContainer<?> POSTGRES = new PostgreSQLContainer<>(
+            DockerImageName.parse("postgis/postgis:17-3.5").asCompatibleSubstituteFor("postgres"));
+
+    /**
+     * Repository under test.
+     */
+    private static TripSearchRepositoryImpl repository;
+
+    /**
+     * Trip leaving from the Gare de Lyon, about 2 km away.
+     */
+    private static UUID gareDeLyon;
+
+    /**
+     * Trip leaving from La Défense, about 9 km away.
+     */
+    private static UUID laDefense;
+
+    /**
+     * Departure of the trips in the search window.
+     */
+    private static LocalDateTime departure;
+
+    /**
+     * Migrates the schema and inserts the trips before all tests.
+     */
+    @BeforeAll
+    static void beforeAll() {
+        DriverManagerDataSource dataSource = new DriverManagerDataSource(
+                POSTGRES.getJdbcUrl(), POSTGRES.getUsername(), POSTGRES.getPassword());
+        Flyway.configure().dataSource(dataSource).load().migrate();
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+        repository = new TripSearchRepositoryImpl(jdbcTemplate);
+
+        UUID driver = UUID.randomUUID();
+        jdbcTemplate.update("INSERT INTO users (id, username, email, password, phone_number)"
+                + " VALUES (?, 'nearby_driver', 'nearby@test.com', 'hashed', '+33999999999')", driver);
+        departure = LocalDateTime.now().plusDays(1);
+        gareDeLyon = insertTrip(jdbcTemplate, driver, GARE_DE_LYON_LATITUDE, GARE_DE_LYON_LONGITUDE, departure);
+        laDefense = insertTrip(jdbcTemplate, driver, LA_DEFENSE_LATITUDE, LA_DEFENSE_LONGITUDE,
+                departure.plusHours(1));
+        insertTrip(jdbcTemplate, driver, VERSAILLES_LATITUDE, VERSAILLES_LONGITUDE, departure);
+        insertTrip(jdbcTemplate, driver, PARIS_LATITUDE, PARIS_LONGITUDE, departure.plusWeeks(3));
+        insertTrip(jdbcTemplate, driver, null, null, departure);
+        log.info("TripSearchRepositoryImpl tests initialized");
+    }
+
+    /**
+     * Displays message after all tests.
+     */
+    @AfterAll
+    static void afterAll() {
+        log.info("TripSearchRepositoryImpl tests completed");
+    }
+
+    /**
+     * Inserts a trip leaving from a point.
+     *
+     * @param jdbcTemplate template running the insert
+     * @param driver driver of the trip
+     * @param latitude latitude of the place of departure, or null
+     * @param longitude longitude of the place of departure, or null
+     * @param leavesAt departure of the trip
+     * @return the identifier of the trip
+     */
+    private static UUID insertTrip(JdbcTemplate jdbcTemplate, UUID driver, Double latitude, Double longitude,
+                                   LocalDateTime leavesAt) {
+        UUID id = UUID.randomUUID();
+        jdbcTemplate.update("INSERT INTO trips (id, driver_id, start_location, end_location, departure_time,"
+                        + " time_trips, price, available_seats, start_latitude, start_longitude)"
+                        + " VALUES (?, ?, 'Paris', 'Lyon', ?, ?, 20, 3, ?, ?)",
+                id, driver, Timestamp.valueOf(leavesAt), Timestamp.valueOf(leavesAt.plusHours(5)),
+                latitude, longitude);
+        return id;
+    }
+
+    /**
+     * Searches around the centre of Paris over the next week.
+     *
+     * @param radiusKm radius of the search
+     * @param limit maximum number of trips
+     * @return the trips found
+     */
+    private static List<NearbyTrip> searchParis(double radiusKm, int limit) {
+        LocalDateTime now = LocalDateTime.now();
+        return repository.findNearest(new NearbyTripCriteria(PARIS_LATITUDE, PARIS_LONGITUDE, radiusKm,
+                now, now.plusDays(7), 1), limit);
+    }
+
+    /**
+     * Verifies that trips within the radius come back nearest first with their distance.
+     */
+    @Test
+    @Order(1)
+    @DisplayName("Should return the trips within the radius, nearest first")
+    void testNearestFirst() {
+        List<NearbyTrip> trips = searchParis(10, 10);
+
+        assertAll("Trips within 10 km",
+                () -> assertEquals(List.of(gareDeLyon, laDefense),
+                        trips.stream().map(trip -> trip.trip().id()).toList(), "Nearest trip should come first"),
+                () -> assertTrue(
+                        Math.abs(trips.getFirst().distanceMeters() - GARE_DE_LYON_METERS) < DISTANCE_TOLERANCE_METERS,
+                        "Gare de Lyon is about 2 km from the centre"),
+                () -> assertEquals(departure.withNano(0), trips.getFirst().trip().departureTime().withNano(0),
+                        "The trip summary should be read"));
+    }
+
+    /**
+     * Verifies that the limit keeps the nearest trips only.
+     */
+    @Test
+    @Order(2)
+    @DisplayName("Should keep the nearest trips up to the limit")
+    void testLimit() {
+        List<NearbyTrip> trips = searchParis(WIDE_RADIUS_KM, 1);
+
+        assertEquals(List.of(gareDeLyon), trips.stream().map(trip -> trip.trip().id()).toList(),
+                "Only the nearest trip should be returned");
+    }
+
+    /**
+     * Verifies that trips outside the window or without coordinates are never returned.
+     */
+    @Test
+    @Order(3)
+    @DisplayName("Should skip trips outside the window or without coordinates")
+    void testWindowAndCoordinates() {
+        List<NearbyTrip> trips = searchParis(WIDE_RADIUS_KM, 10);
+
+        assertAll("Trips within 50 km",
+                () -> assertEquals(3, trips.size(), "Later and unlocated trips should be skipped"),
+                () -> assertTrue(trips.getLast().distanceMeters() > VERSAILLES_MIN_METERS,
+                        "Versailles should come last"));
+    }
+}
@@ -0,0 +1,171 @@
+package api.carpooling.repository;
+
+import api.carpooling.application.dto.admin.UserListFilter;
+import api.carpooling.domain.enumeration.RoleUser;
+
+import lombok.extern.slf4j.Slf4j;
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.MethodOrderer;
+import org.junit.jupiter.api.Order;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestMethodOrder;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import org.testcontainers.utility.DockerImageName;
+
+import java.util.List;
+import java.util.Objects;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Integration tests for {@link UserBulkUpdateRepositoryImpl}.
+ * <p>
+ * Every selector is run against administrators, so that no bulk change can deactivate
+ * or demote them, whether they are listed or matched by an empty filter.
+ */
+@Testcontainers
+@TestMethodOrder(MethodOrderer.OrderAnnotation.class)
+@DisplayName("UserBulkUpdateRepositoryImpl Tests")
+@Slf4j
+public class UserBulkUpdateRepositoryImplTest {
+
+    /**
+     * Chunk large enough to update every user of the migrations at once.
+     */
+    private static final int ALL_USERS = 100_000;
+
+    /**
+     * PostgreSQL container.
+     */
+    @Container
+    private static final PostgreSQLContainer<?> POSTGRES = new PostgreSQLContainer<>(
+            DockerImageName.parse("postgis/postgis:17-3.5").asCompatibleSubstituteFor("postgres"));
+
+    /**
+     * Template running the statements of the tests.
+     */
+    private static JdbcTemplate jdbcTemplate;
+
+    /**
+     * Repository under test.
+     */
+    private static UserBulkUpdateRepositoryImpl repository;
+
+    /**
+     * Administrator making the changes.
+     */
+    private static UUID actingAdmin;
+
+    /**
+     * Another administrator.
+     */
+    private static UUID otherAdmin;
+
+    /**
+     * Passenger the changes may update.
+     */
+    private static UUID passenger;
+
+    /**
+     * Migrates the schema and inserts the users before all tests.
+     */
+    @BeforeAll
+    static void beforeAll() {
+        DriverManagerDataSource dataSource = new DriverManagerDataSource(
+                POSTGRES.getJdbcUrl(), POSTGRES.getUsername(), POSTGRES.getPassword());
+        Flyway.configure().dataSource(dataSource).load().migrate();
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        repository = new UserBulkUpdateRepositoryImpl(jdbcTemplate);
+
+        actingAdmin = insertUser("bulk_admin", "+33999999996", RoleUser.ROLE_ADMIN);
+        otherAdmin = insertUser("bulk_other_admin", "+33999999995", RoleUser.ROLE_ADMIN);
+        passenger = insertUser("bulk_passenger", "+33999999994", RoleUser.ROLE_PASSENGER);
+        log.info("UserBulkUpdateRepositoryImpl tests initialized");
+    }
+
+    /**
+     * Displays message after all tests.
+     */
+    @AfterAll
+    static void afterAll() {
+        log.info("UserBulkUpdateRepositoryImpl tests completed");
+    }
+
+    /**
+     * Inserts an active user.
+     *
+     * @param username name of the user, also naming its email
+     * @param phoneNumber phone number of the user
+     * @param roleUser role of the user
+     * @return the identifier of the user
+     */
+    private static UUID insertUser(String username, String phoneNumber, RoleUser roleUser) {
+        UUID id = UUID.randomUUID();
+        jdbcTemplate.update("INSERT INTO users (id, username, email, password, phone_number, role, is_active)"
+                        + " VALUES (?, ?, ?, 'hashed', ?, CAST(? AS role_user), true)",
+                id, username, username + "@test.com", phoneNumber, roleUser.name());
+        return id;
+    }
+
+    /**
+     * Counts the active administrators.
+     *
+     * @return the number of active administrators
+     */
+    private static long activeAdmins() {
+        return Objects.requireNonNull(jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM users WHERE role = 'ROLE_ADMIN' AND is_active AND deleted_at IS NULL",
+                Long.class));
+    }
+
+    /**
+     * Verifies that listed administrators, the caller included, are left unchanged.
+     */
+    @Test
+    @Order(1)
+    @DisplayName("Should skip administrators listed by id or email")
+    void testListedAdminsSkipped() {
+        List<UpdatedUser> byIds = repository.updateByIds(List.of(actingAdmin, otherAdmin, passenger),
+                null, false, actingAdmin);
+        List<UpdatedUser> byEmails = repository.updateByEmails(
+                List.of("bulk_admin@test.com", "bulk_other_admin@test.com"), RoleUser.ROLE_PASSENGER, null,
+                actingAdmin);
+
+        assertAll(
+                () -> assertEquals(List.of(passenger), byIds.stream().map(UpdatedUser::id).toList(),
+                        "Only the passenger should be deactivated"),
+                () -> assertTrue(byEmails.isEmpty(), "No administrator should be demoted"),
+                () -> assertEquals(RoleUser.ROLE_ADMIN.name(), jdbcTemplate.queryForObject(
+                        "SELECT role FROM users WHERE id = ?", String.class, otherAdmin))
+        );
+    }
+
+    /**
+     * Verifies that an update of every user leaves the administrators active.
+     */
+    @Test
+    @Order(2)
+    @DisplayName("Should keep every administrator active when deactivating all users")
+    void testAllUsersKeepsAdmins() {
+        long admins = activeAdmins();
+
+        repository.updateMatching(new UserListFilter(null, null), null, false, ALL_USERS, actingAdmin);
+
+        assertAll(
+                () -> assertEquals(admins, activeAdmins(), "Administrators should stay active"),
+                () -> assertEquals(0L, jdbcTemplate.queryForObject(
+                        "SELECT COUNT(*) FROM users WHERE role <> 'ROLE_ADMIN' AND is_active AND deleted_at IS NULL",
+                        Long.class), "Every other user should be deactivated")
+        );
+    }
+}
@@ -0,0 +1,373 @@
+package api.carpooling.repository.routing;
+
+import api.carpooling.application.store.JpaRefreshTokenStore;
+import api.carpooling.configuration.DataSourceRoutingProperties;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.MethodOrderer;
+import org.junit.jupiter.api.Order;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestMethodOrder;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.AnnotationTransactionAttributeSource;
+import org.springframework.transaction.interceptor.TransactionAttribute;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.testcontainers.containers.GenericContainer;
+import org.testcontainers.containers.Network;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.containers.wait.strategy.Wait;
+import org.testcontainers.images.builder.Transferable;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import org.testcontainers.utility.DockerImageName;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.List;
+import java.util.Objects;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Integration tests for {@link DataSourceCluster} against a primary and a streaming replica.
+ * <p>
+ * The replica is cloned from the primary with {@code pg_basebackup} and follows it, so
+ * that its lag is measured as in production; pausing its replay makes it fall behind.
+ * {@code pg_is_in_recovery()} tells which node served a transaction.
+ */
+@Testcontainers
+@TestMethodOrder(MethodOrderer.OrderAnnotation.class)
+@DisplayName("DataSourceCluster Tests")
+@Slf4j
+public class DataSourceClusterTest {
+
+    /**
+     * Image of both nodes.
+     */
+    private static final DockerImageName POSTGRES_IMAGE = DockerImageName.parse("postgres:17.5");
+
+    /**
+     * Port of PostgreSQL inside the containers.
+     */
+    private static final int POSTGRES_PORT = 5432;
+
+    /**
+     * Network alias of the primary, reached by the replica.
+     */
+    private static final String PRIMARY_HOST = "primary";
+
+    /**
+     * Init script of the primary allowing the replica to stream its WAL.
+     */
+    private static final String ALLOW_REPLICATION =
+            "echo 'host replication all all scram-sha-256' >> \"$PGDATA/pg_hba.conf\"\n";
+
+    /**
+     * Command of the replica: clones the primary, then starts as its standby.
+     */
+    private static final String START_REPLICA = "mkdir -m 0700 /replica && chown postgres /replica"
+            + " && gosu postgres pg_basebackup -h %s -U %s -D /replica -R -X stream"
+            + " && exec gosu postgres postgres -D /replica";
+
+    /**
+     * Query returning the node serving the transaction.
+     */
+    private static final String WHO_AM_I = "SELECT CASE WHEN pg_is_in_recovery() THEN 'replica' ELSE 'primary' END";
+
+    /**
+     * Largest lag of a replica still serving reads.
+     */
+    private static final Duration MAX_LAG = Duration.ofMillis(500);
+
+    /**
+     * Longest wait for the replica to replay the primary.
+     */
+    private static final Duration REPLAY_TIMEOUT = Duration.ofSeconds(30);
+
+    /**
+     * Pause between two checks of the replay.
+     */
+    private static final long REPLAY_POLL_MS = 50L;
+
+    /**
+     * Users tracked by read-your-writes.
+     */
+    private static final long TRACKED_USERS = 100L;
+
+    /**
+     * Network shared by both nodes.
+     */
+    private static final Network NETWORK = Network.newNetwork();
+
+    /**
+     * Primary container.
+     */
+    @Container
+    private static final PostgreSQLContainer<?> PRIMARY = new PostgreSQLContainer<>(POSTGRES_IMAGE)
+            .withNetwork(NETWORK)
+            .withNetworkAliases(PRIMARY_HOST)
+            .withCopyToContainer(Transferable.of(ALLOW_REPLICATION), "/docker-entrypoint-initdb.d/replication.sh");
+
+    /**
+     * Replica container, streaming from the primary.
+     */
+    @Container
+    private static final GenericContainer<?> REPLICA = new GenericContainer<>(POSTGRES_IMAGE)
+            .withNetwork(NETWORK)
+            .dependsOn(PRIMARY)
+            .withEnv("PGPASSWORD", PRIMARY.getPassword())
+            .withCommand("bash", "-c", START_REPLICA.formatted(PRIMARY_HOST, PRIMARY.getUsername()))
+            .withExposedPorts(POSTGRES_PORT)
+            .waitingFor(Wait.forLogMessage(".*ready to accept read-only connections.*\\n", 1));
+
+    /**
+     * Pools of the primary and of the replica.
+     */
+    private static DataSourceCluster cluster;
+
+    /**
+     * Monitor measuring the lag of the replica.
+     */
+    private static ReplicaLagMonitor monitor;
+
+    /**
+     * Transactions running on the routing data source.
+     */
+    private static TransactionTemplate transactionTemplate;
+
+    /**
+     * Statements running on the routing data source.
+     */
+    private static JdbcTemplate jdbcTemplate;
+
+    /**
+     * Statements running on the replica itself.
+     */
+    private static JdbcTemplate replicaJdbcTemplate;
+
+    /**
+     * Transaction manager of the routing data source.
+     */
+    private static PlatformTransactionManager transactionManager;
+
+    /**
+     * Builds the cluster on the containers before all tests.
+     */
+    @BeforeAll
+    static void beforeAll() {
+        DataSourceProperties primaryProperties = new DataSourceProperties();
+        primaryProperties.setUrl(PRIMARY.getJdbcUrl());
+        primaryProperties.setUsername(PRIMARY.getUsername());
+        primaryProperties.setPassword(PRIMARY.getPassword());
+
+        DataSourceRoutingProperties.Replica replica = new DataSourceRoutingProperties.Replica();
+        replica.setUrl("jdbc:postgresql://" + REPLICA.getHost() + ":" + REPLICA.getMappedPort(POSTGRES_PORT)
+                + "/" + PRIMARY.getDatabaseName());
+        replica.setUsername(PRIMARY.getUsername());
+        replica.setPassword(PRIMARY.getPassword());
+        DataSourceRoutingProperties properties = new DataSourceRoutingProperties();
+        properties.setReplicas(List.of(replica));
+        properties.setMaxLag(MAX_LAG);
+
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        cluster = new DataSourceCluster(primaryProperties, properties, meterRegistry);
+        monitor = new ReplicaLagMonitor(cluster.getReplicas(), meterRegistry);
+        DataSource dataSource = cluster.routingDataSource(
+                new ReadYourWritesTracker(properties.getReadYourWritesWindow(), TRACKED_USERS));
+        transactionManager = new DataSourceTransactionManager(dataSource);
+        transactionTemplate = new TransactionTemplate(transactionManager);
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        replicaJdbcTemplate = new JdbcTemplate(cluster.getReplicas().get(0).getDataSource());
+        log.info("DataSourceCluster tests initialized");
+    }
+
+    /**
+     * Closes the pools after all tests.
+     */
+    @AfterAll
+    static void afterAll() {
+        cluster.close();
+        log.info("DataSourceCluster tests completed");
+    }
+
+    /**
+     * Clears the authenticated user and resumes the replay after each test.
+     */
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+        transactionTemplate.setReadOnly(false);
+        replicaJdbcTemplate.execute("SELECT pg_wal_replay_resume()");
+    }
+
+    /**
+     * Authenticates a user on the current thread.
+     *
+     * @param userId the user
+     */
+    private static void authenticate(UUID userId) {
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(userId, null, List.of()));
+    }
+
+    /**
+     * Runs a transaction and returns the node that served it.
+     *
+     * @param readOnly whether the transaction is read-only
+     * @return "primary" or "replica"
+     */
+    private static String servedBy(boolean readOnly) {
+        transactionTemplate.setReadOnly(readOnly);
+        return transactionTemplate.execute(status -> jdbcTemplate.queryForObject(WHO_AM_I, String.class));
+    }
+
+    /**
+     * Waits until the replica has replayed everything written on the primary, then
+     * measures its lag.
+     *
+     * @throws InterruptedException if interrupted while waiting
+     */
+    private static void catchUp() throws InterruptedException {
+        String primaryLsn = jdbcTemplate.queryForObject("SELECT pg_current_wal_lsn()::text", String.class);
+        long deadline = System.nanoTime() + REPLAY_TIMEOUT.toNanos();
+        while (!Boolean.TRUE.equals(replicaJdbcTemplate.queryForObject(
+                "SELECT pg_last_wal_replay_lsn() >= ?::pg_lsn", Boolean.class, primaryLsn))) {
+            assertTrue(System.nanoTime() < deadline, "The replica did not replay " + primaryLsn);
+            Thread.sleep(REPLAY_POLL_MS);
+        }
+        monitor.checkLag();
+    }
+
+    /**
+     * Verifies that reads stay on the primary until the replica lag has been measured.
+     */
+    @Test
+    @Order(1)
+    @DisplayName("Should read from the primary before the first lag check")
+    void testUnmeasuredReplica() {
+        assertEquals("primary", servedBy(true), "Unmeasured replica should not serve reads");
+    }
+
+    /**
+     * Verifies that read-only transactions go to the replica once it is up to date.
+     *
+     * @throws InterruptedException if interrupted while waiting for the replica
+     */
+    @Test
+    @Order(2)
+    @DisplayName("Should route read-only transactions to the replica")
+    void testReadOnlyToReplica() throws InterruptedException {
+        catchUp();
+
+        assertEquals("replica", servedBy(true), "Read-only transaction should run on the replica");
+        assertEquals("primary", servedBy(false), "Read-write transaction should run on the primary");
+    }
+
+    /**
+     * Verifies that a user reads from the primary right after its own write.
+     *
+     * @throws InterruptedException if interrupted while waiting for the replica
+     */
+    @Test
+    @Order(3)
+    @DisplayName("Should keep a user on the primary after its own write")
+    void testReadYourWrites() throws InterruptedException {
+        catchUp();
+        UUID writer = UUID.randomUUID();
+        authenticate(writer);
+        transactionTemplate.executeWithoutResult(status ->
+                jdbcTemplate.execute("CREATE TABLE IF NOT EXISTS routing_probe (id uuid)"));
+
+        assertEquals("primary", servedBy(true), "The writer should read its own write");
+
+        authenticate(UUID.randomUUID());
+        assertEquals("replica", servedBy(true), "Other users should keep reading from the replica");
+    }
+
+    /**
+     * Verifies that an anonymous refresh right after a login reads the session on the primary.
+     * <p>
+     * The lookup runs with the transaction attribute declared on
+     * {@link JpaRefreshTokenStore#findByTokenHash} while the replica, still measured as up
+     * to date, has not replayed the login.
+     *
+     * @throws InterruptedException if interrupted while waiting for the replica
+     * @throws NoSuchMethodException if the store no longer declares the lookup
+     */
+    @Test
+    @Order(4)
+    @DisplayName("Should read the refresh token on the primary right after login")
+    void testRefreshAfterLogin() throws InterruptedException, NoSuchMethodException {
+        jdbcTemplate.execute("CREATE TABLE IF NOT EXISTS refresh_probe (token_hash text)");
+        catchUp();
+        replicaJdbcTemplate.execute("SELECT pg_wal_replay_pause()");
+        String tokenHash = UUID.randomUUID().toString();
+        transactionTemplate.executeWithoutResult(status ->
+                jdbcTemplate.update("INSERT INTO refresh_probe (token_hash) VALUES (?)", tokenHash));
+
+        TransactionAttribute lookup = Objects.requireNonNull(new AnnotationTransactionAttributeSource()
+                .getTransactionAttribute(JpaRefreshTokenStore.class.getMethod("findByTokenHash", String.class),
+                        JpaRefreshTokenStore.class), "The lookup should run in a transaction");
+        Long sessions = new TransactionTemplate(transactionManager, lookup).execute(status ->
+                jdbcTemplate.queryForObject("SELECT COUNT(*) FROM refresh_probe WHERE token_hash = ?",
+                        Long.class, tokenHash));
+
+        assertEquals(1L, sessions, "The refresh should find the session issued by the login");
+    }
+
+    /**
+     * Verifies that reads fall back to the primary while the replica lags past the max lag,
+     * and return to it once it has caught up.
+     *
+     * @throws InterruptedException if interrupted while waiting for the lag or the replica
+     */
+    @Test
+    @Order(5)
+    @DisplayName("Should read from the primary while the replica lags")
+    void testLaggingReplica() throws InterruptedException {
+        jdbcTemplate.execute("CREATE TABLE IF NOT EXISTS lag_probe (id uuid)");
+        catchUp();
+        assertEquals("replica", servedBy(true), "An up to date replica should serve reads");
+
+        replicaJdbcTemplate.execute("SELECT pg_wal_replay_pause()");
+        jdbcTemplate.update("INSERT INTO lag_probe (id) VALUES (?)", UUID.randomUUID());
+        Thread.sleep(MAX_LAG.multipliedBy(2).toMillis());
+        monitor.checkLag();
+        assertEquals("primary", servedBy(true), "A lagging replica should not serve reads");
+
+        replicaJdbcTemplate.execute("SELECT pg_wal_replay_resume()");
+        catchUp();
+        assertEquals("replica", servedBy(true), "A replica that caught up should serve reads again");
+    }
+
+    /**
+     * Verifies that a node that is not a standby, such as a promoted replica or a
+     * replica URL pointing at the primary, never serves reads.
+     */
+    @Test
+    @Order(6)
+    @DisplayName("Should mark a node that is not a standby unavailable")
+    void testNotAStandby() {
+        ReplicaNode node = new ReplicaNode("misconfigured", new DriverManagerDataSource(
+                PRIMARY.getJdbcUrl(), PRIMARY.getUsername(), PRIMARY.getPassword()));
+        node.updateLag(Duration.ZERO);
+
+        new ReplicaLagMonitor(List.of(node), new SimpleMeterRegistry()).checkLag();
+
+        assertFalse(node.isWithin(MAX_LAG), "A node out of recovery should not serve reads");
+    }
+}
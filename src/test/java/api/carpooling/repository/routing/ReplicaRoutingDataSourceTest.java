@@ -0,0 +1,214 @@
+package api.carpooling.repository.routing;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.MethodOrderer;
+import org.junit.jupiter.api.Order;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestMethodOrder;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Unit tests for {@link ReplicaRoutingDataSource}.
+ * <p>
+ * These tests verify that reads are spread over the replicas within the lag limit,
+ * fall back to the primary otherwise, and stay on the primary after a user's own write.
+ */
+@TestMethodOrder(MethodOrderer.OrderAnnotation.class)
+@DisplayName("ReplicaRoutingDataSource Test")
+@Slf4j
+public class ReplicaRoutingDataSourceTest {
+
+    /**
+     * Maximum accepted replication lag.
+     */
+    private static final Duration MAX_LAG = Duration.ofSeconds(5);
+
+    /**
+     * Replication lag well above the maximum accepted one.
+     */
+    private static final Duration LAGGING = Duration.ofSeconds(30);
+
+    /**
+     * Connection handed out by the primary.
+     */
+    private Connection primaryConnection;
+
+    /**
+     * Connection handed out by the first replica.
+     */
+    private Connection firstReplicaConnection;
+
+    /**
+     * Connection handed out by the second replica.
+     */
+    private Connection secondReplicaConnection;
+
+    /**
+     * First replica.
+     */
+    private ReplicaNode firstReplica;
+
+    /**
+     * Second replica.
+     */
+    private ReplicaNode secondReplica;
+
+    /**
+     * Tracker of the recent writers.
+     */
+    private ReadYourWritesTracker tracker;
+
+    /**
+     * Instance of {@link ReplicaRoutingDataSource} under test.
+     */
+    private ReplicaRoutingDataSource routingDataSource;
+
+    /**
+     * Displays start message before all tests.
+     */
+    @BeforeAll
+    static void setUpAll() {
+        log.info("Starting ReplicaRoutingDataSource tests");
+    }
+
+    /**
+     * Displays message after all tests.
+     */
+    @AfterAll
+    static void tearDownAll() {
+        log.info("Finished ReplicaRoutingDataSource tests");
+    }
+
+    /**
+     * Builds a data source handing out the given connection.
+     *
+     * @param connection the connection
+     * @return the data source
+     * @throws SQLException never, required by the stubbing
+     */
+    private static DataSource dataSource(Connection connection) throws SQLException {
+        DataSource dataSource = mock(DataSource.class);
+        when(dataSource.getConnection()).thenReturn(connection);
+        return dataSource;
+    }
+
+    /**
+     * Builds a primary and two replicas before each test.
+     *
+     * @throws SQLException never, required by the stubbing
+     */
+    @BeforeEach
+    void setUp() throws SQLException {
+        primaryConnection = mock(Connection.class);
+        firstReplicaConnection = mock(Connection.class);
+        secondReplicaConnection = mock(Connection.class);
+        firstReplica = new ReplicaNode("replica-1", dataSource(firstReplicaConnection));
+        secondReplica = new ReplicaNode("replica-2", dataSource(secondReplicaConnection));
+        tracker = new ReadYourWritesTracker(Duration.ofSeconds(10), 100L);
+
+        routingDataSource = new ReplicaRoutingDataSource(dataSource(primaryConnection),
+                List.of(firstReplica, secondReplica), tracker, MAX_LAG, new SimpleMeterRegistry());
+        routingDataSource.afterPropertiesSet();
+    }
+
+    /**
+     * Clears the authenticated user after each test.
+     */
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    /**
+     * Verifies that reads alternate between the replicas within the lag limit.
+     */
+    @Test
+    @Order(1)
+    @DisplayName("Should spread reads over the up-to-date replicas")
+    void testRoundRobin() throws Exception {
+        firstReplica.updateLag(Duration.ZERO);
+        secondReplica.updateLag(Duration.ofSeconds(1));
+
+        Connection first = routingDataSource.getConnection();
+        Connection second = routingDataSource.getConnection();
+
+        assertSame(firstReplicaConnection, first, "First read should go to the first replica");
+        assertSame(secondReplicaConnection, second, "Second read should go to the second replica");
+    }
+
+    /**
+     * Verifies that lagging and unmeasured replicas are skipped.
+     */
+    @Test
+    @Order(2)
+    @DisplayName("Should skip lagging replicas and fall back to the primary")
+    void testLaggingReplicas() throws Exception {
+        firstReplica.updateLag(LAGGING);
+
+        assertSame(primaryConnection, routingDataSource.getConnection(),
+                "Reads should go to the primary when no replica is up to date");
+
+        secondReplica.updateLag(Duration.ZERO);
+        assertSame(secondReplicaConnection, routingDataSource.getConnection(),
+                "Reads should go to the only up-to-date replica");
+        assertSame(secondReplicaConnection, routingDataSource.getConnection(),
+                "Reads should keep skipping the lagging replica");
+    }
+
+    /**
+     * Verifies that a user reads from the primary after its own write.
+     */
+    @Test
+    @Order(3)
+    @DisplayName("Should keep a recent writer on the primary")
+    void testReadYourWrites() throws Exception {
+        firstReplica.updateLag(Duration.ZERO);
+        secondReplica.updateLag(Duration.ZERO);
+        UUID writer = UUID.randomUUID();
+        tracker.recordWrite(writer);
+
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(writer, null, List.of()));
+        assertSame(primaryConnection, routingDataSource.getConnection(),
+                "The writer should read from the primary");
+
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(UUID.randomUUID(), null, List.of()));
+        assertSame(firstReplicaConnection, routingDataSource.getConnection(),
+                "Other users should read from a replica");
+    }
+
+    /**
+     * Verifies that an unreachable replica is excluded until measured again.
+     */
+    @Test
+    @Order(4)
+    @DisplayName("Should exclude an unavailable replica")
+    void testUnavailableReplica() {
+        firstReplica.updateLag(Duration.ZERO);
+        firstReplica.markUnavailable();
+
+        assertEquals(Double.NaN, firstReplica.lagSeconds(), "Unavailable replica should report no lag");
+        assertFalse(firstReplica.isWithin(MAX_LAG), "Unavailable replica should not serve reads");
+    }
+}
@@ -0,0 +1,164 @@
+package api.carpooling.security;
+
+import api.carpooling.application.exception.UnauthorizedException;
+
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.MethodOrderer;
+import org.junit.jupiter.api.Order;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestMethodOrder;
+import org.springframework.core.MethodParameter;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.context.request.ServletWebRequest;
+
+import java.lang.reflect.Method;
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Unit tests for {@link CurrentUserArgumentResolver}.
+ * <p>
+ * These tests verify that the authenticated user id is read from the security
+ * context, that the access token is read from the authentication details and
+ * that requests without an authenticated user are rejected.
+ */
+@TestMethodOrder(MethodOrderer.OrderAnnotation.class)
+@DisplayName("CurrentUserArgumentResolver Test")
+@Slf4j
+public class CurrentUserArgumentResolverTest {
+
+    /**
+     * Instance of {@link CurrentUserArgumentResolver} under test.
+     */
+    private final CurrentUserArgumentResolver resolver = new CurrentUserArgumentResolver();
+
+    /**
+     * Displays start message before all tests.
+     */
+    @BeforeAll
+    static void setUpAll() {
+        log.info("Starting CurrentUserArgumentResolver tests");
+    }
+
+    /**
+     * Displays message after all tests.
+     */
+    @AfterAll
+    static void tearDownAll() {
+        log.info("Finished CurrentUserArgumentResolver tests");
+    }
+
+    /**
+     * Clears the security context after each test.
+     */
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    /**
+     * Sample handler method used to build method parameters.
+     *
+     * @param userId annotated parameter
+     * @param other parameter without annotation
+     * @param accessToken annotated access token parameter
+     */
+    @SuppressWarnings("unused")
+    void handler(@CurrentUser UUID userId, UUID other, @CurrentAccessToken AccessToken accessToken) {
+        // Only used for its signature.
+    }
+
+    /**
+     * Builds the method parameter at the given index of {@link #handler(UUID, UUID, AccessToken)}.
+     *
+     * @param index parameter index
+     * @return the method parameter
+     * @throws NoSuchMethodException if the handler cannot be found
+     */
+    private MethodParameter parameter(int index) throws NoSuchMethodException {
+        Method method = getClass().getDeclaredMethod("handler", UUID.class, UUID.class, AccessToken.class);
+        return new MethodParameter(method, index);
+    }
+
+    /**
+     * Verifies that only annotated UUID parameters are supported.
+     *
+     * @throws NoSuchMethodException if the handler cannot be found
+     */
+    @Test
+    @Order(1)
+    @DisplayName("Should support only parameters annotated with @CurrentUser")
+    void testSupportsParameter() throws NoSuchMethodException {
+        assertTrue(resolver.supportsParameter(parameter(0)), "Annotated parameter should be supported");
+        assertFalse(resolver.supportsParameter(parameter(1)), "Plain parameter should not be supported");
+        assertTrue(resolver.supportsParameter(parameter(2)), "Access token parameter should be supported");
+    }
+
+    /**
+     * Verifies that the principal set by the JWT filter is returned.
+     *
+     * @throws NoSuchMethodException if the handler cannot be found
+     */
+    @Test
+    @Order(2)
+    @DisplayName("Should resolve authenticated user id")
+    void testResolveArgument() throws NoSuchMethodException {
+        UUID userId = UUID.randomUUID();
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(userId, null, List.of()));
+
+        Object resolved = resolver.resolveArgument(parameter(0), null,
+                new ServletWebRequest(new MockHttpServletRequest()), null);
+
+        assertEquals(userId, resolved, "Resolved id should match principal");
+    }
+
+    /**
+     * Verifies that a request without authenticated user is rejected.
+     *
+     * @throws NoSuchMethodException if the handler cannot be found
+     */
+    @Test
+    @Order(3)
+    @DisplayName("Should reject request without authenticated user")
+    void testResolveArgumentWithoutAuthentication() throws NoSuchMethodException {
+        MethodParameter parameter = parameter(0);
+        ServletWebRequest request = new ServletWebRequest(new MockHttpServletRequest());
+
+        assertThrows(UnauthorizedException.class,
+                () -> resolver.resolveArgument(parameter, null, request, null));
+    }
+
+    /**
+     * Verifies that the access token stored by the JWT filter is returned.
+     *
+     * @throws NoSuchMethodException if the handler cannot be found
+     */
+    @Test
+    @Order(4)
+    @DisplayName("Should resolve access token of the request")
+    void testResolveAccessToken() throws NoSuchMethodException {
+        AccessToken accessToken = new AccessToken(UUID.randomUUID().toString(), Instant.now().plusSeconds(60));
+        UsernamePasswordAuthenticationToken authentication =
+                new UsernamePasswordAuthenticationToken(UUID.randomUUID(), null, List.of());
+        authentication.setDetails(accessToken);
+        SecurityContextHolder.getContext().setAuthentication(authentication);
+
+        Object resolved = resolver.resolveArgument(parameter(2), null,
+                new ServletWebRequest(new MockHttpServletRequest()), null);
+
+        assertEquals(accessToken, resolved, "Resolved token should match authentication details");
+    }
+}
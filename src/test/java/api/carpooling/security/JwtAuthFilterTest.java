@@ -1,6 +1,7 @@
 package api.carpooling.security;
 
-import api.carpooling.utils.TokenGenerator;
+import api.carpooling.security.revocation.AccessTokenRevocationList;
+import api.carpooling.utils.TokenVerifier;
 import io.jsonwebtoken.Claims;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
@@ -19,6 +20,7 @@ import org.junit.jupiter.api.Assertions;
 import org.springframework.security.core.context.SecurityContextHolder;
 
 import java.io.IOException;
+import java.util.Date;
 import java.util.UUID;
 
 import static org.mockito.Mockito.mock;
@@ -37,11 +39,21 @@ import static org.mockito.Mockito.anyString;
 public class JwtAuthFilterTest {
 
     /**
-     * Utility component responsible for generating and validating JWT tokens.
+     * Lifetime of the access tokens presented in the tests, in milliseconds.
+     */
+    private static final long TOKEN_TTL_MS = 60_000L;
+
+    /**
+     * Verification engine responsible for validating JWT tokens.
      * <p>
-     * Used to create access and refresh tokens for authenticated users.
+     * Returns the claims of the access tokens presented by authenticated users.
      */
-    private TokenGenerator tokenGenerator;
+    private TokenVerifier tokenVerifier;
+
+    /**
+     * List of revoked access tokens consulted for every authenticated request.
+     */
+    private AccessTokenRevocationList revocationList;
 
     /**
      * Custom authentication filter that intercepts HTTP requests to validate JWT tokens.
@@ -76,8 +88,9 @@ public class JwtAuthFilterTest {
      */
     @BeforeEach
     void setUp() {
-        tokenGenerator = mock(TokenGenerator.class);
-        jwtAuthFilter = new JwtAuthFilter(tokenGenerator);
+        tokenVerifier = mock(TokenVerifier.class);
+        revocationList = mock(AccessTokenRevocationList.class);
+        jwtAuthFilter = new JwtAuthFilter(tokenVerifier, revocationList);
         request = mock(HttpServletRequest.class);
         response = mock(HttpServletResponse.class);
         filterChain = mock(FilterChain.class);
@@ -112,7 +125,7 @@ public class JwtAuthFilterTest {
         jwtAuthFilter.doFilterInternal(request, response, filterChain);
 
         verify(filterChain, times(1)).doFilter(request, response);
-        verify(tokenGenerator, never()).parseJwt(anyString());
+        verify(tokenVerifier, never()).verify(anyString());
     }
 
     /**
@@ -124,7 +137,7 @@ public class JwtAuthFilterTest {
     void testInvalidToken() throws ServletException, IOException {
         String invalidToken = "Bearer invalid.jwt.token";
         when(request.getHeader("Authorization")).thenReturn(invalidToken);
-        when(tokenGenerator.parseJwt(anyString())).thenThrow(new RuntimeException("Invalid token"));
+        when(tokenVerifier.verify(anyString())).thenThrow(new RuntimeException("Invalid token"));
 
         jwtAuthFilter.doFilterInternal(request, response, filterChain);
 
@@ -146,16 +159,40 @@ public class JwtAuthFilterTest {
         UUID userId = UUID.randomUUID();
         when(claims.getSubject()).thenReturn(userId.toString());
         when(claims.get("role_user")).thenReturn("ROLE_USER");
+        when(claims.getId()).thenReturn("token-id");
+        when(claims.getExpiration()).thenReturn(new Date(System.currentTimeMillis() + TOKEN_TTL_MS));
 
-        when(tokenGenerator.parseJwt("valid.jwt.token")).thenReturn(claims);
+        when(tokenVerifier.verify("valid.jwt.token")).thenReturn(claims);
         jwtAuthFilter.doFilterInternal(request, response, filterChain);
 
         var auth = SecurityContextHolder.getContext().getAuthentication();
         Assertions.assertNotNull(auth);
         Assertions.assertEquals(userId, auth.getPrincipal());
+        Assertions.assertEquals("token-id", ((AccessToken) auth.getDetails()).jti());
         Assertions.assertTrue(auth.getAuthorities().stream()
                 .anyMatch(a -> a.getAuthority().equals("ROLE_USER")));
 
         verify(filterChain, times(1)).doFilter(request, response);
     }
+
+    /**
+     * Tests that the filter rejects a valid token that has been revoked.
+     */
+    @Test
+    @Order(4)
+    @DisplayName("Should set UNAUTHORIZED when token is revoked")
+    void testRevokedToken() throws ServletException, IOException {
+        when(request.getHeader("Authorization")).thenReturn("Bearer revoked.jwt.token");
+
+        Claims claims = mock(Claims.class);
+        when(claims.getId()).thenReturn("revoked-id");
+        when(tokenVerifier.verify("revoked.jwt.token")).thenReturn(claims);
+        when(revocationList.isRevoked("revoked-id")).thenReturn(true);
+
+        jwtAuthFilter.doFilterInternal(request, response, filterChain);
+
+        verify(response, times(1)).setStatus(HttpServletResponse.SC_UNAUTHORIZED);
+        verify(filterChain, never()).doFilter(request, response);
+        Assertions.assertNull(SecurityContextHolder.getContext().getAuthentication());
+    }
 }
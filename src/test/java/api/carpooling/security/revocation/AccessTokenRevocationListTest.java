@@ -0,0 +1,130 @@
+package api.carpooling.security.revocation;
+
+import api.carpooling.configuration.TokenRevocationProperties;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.MethodOrderer;
+import org.junit.jupiter.api.Order;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestMethodOrder;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Unit tests for {@link AccessTokenRevocationList}.
+ * <p>
+ * These tests verify that revoked tokens are reported until their expiry and that
+ * expired entries are purged without losing the others.
+ */
+@TestMethodOrder(MethodOrderer.OrderAnnotation.class)
+@DisplayName("AccessTokenRevocationList Test")
+@Slf4j
+public class AccessTokenRevocationListTest {
+
+    /**
+     * Lifetime of the tokens that stay revoked during a test, in milliseconds.
+     */
+    private static final long LONG_TTL_MS = 60_000L;
+
+    /**
+     * Lifetime of the tokens that expire during a test, in milliseconds.
+     */
+    private static final long SHORT_TTL_MS = 20L;
+
+    /**
+     * Pause long enough for the short-lived tokens to expire, in milliseconds.
+     */
+    private static final long EXPIRY_WAIT_MS = 50L;
+
+    /**
+     * Registry collecting the revocation metrics.
+     */
+    private SimpleMeterRegistry meterRegistry;
+
+    /**
+     * Instance of {@link AccessTokenRevocationList} under test.
+     */
+    private AccessTokenRevocationList revocationList;
+
+    /**
+     * Displays start message before all tests.
+     */
+    @BeforeAll
+    static void setUpAll() {
+        log.info("Starting AccessTokenRevocationList tests");
+    }
+
+    /**
+     * Displays message after all tests.
+     */
+    @AfterAll
+    static void tearDownAll() {
+        log.info("Finished AccessTokenRevocationList tests");
+    }
+
+    /**
+     * Builds a fresh list before each test.
+     */
+    @BeforeEach
+    void setUp() {
+        TokenRevocationProperties properties = new TokenRevocationProperties();
+        properties.setExpectedEntries(1000);
+        meterRegistry = new SimpleMeterRegistry();
+        revocationList = new AccessTokenRevocationList(properties, meterRegistry);
+    }
+
+    /**
+     * Verifies that only revoked tokens are reported.
+     */
+    @Test
+    @Order(1)
+    @DisplayName("Should report revoked token only")
+    void testIsRevoked() {
+        revocationList.add("revoked", System.currentTimeMillis() + LONG_TTL_MS);
+
+        assertTrue(revocationList.isRevoked("revoked"), "Revoked token should be reported");
+        assertFalse(revocationList.isRevoked("other"), "Other token should not be reported");
+    }
+
+    /**
+     * Verifies that a token already expired is not kept.
+     */
+    @Test
+    @Order(2)
+    @DisplayName("Should ignore already expired token")
+    void testAddExpired() {
+        revocationList.add("expired", System.currentTimeMillis() - 1L);
+
+        assertFalse(revocationList.isRevoked("expired"), "Expired token should not be reported");
+        assertEquals(0, revocationList.size(), "Expired token should not be stored");
+    }
+
+    /**
+     * Verifies that the purge drops expired entries and keeps the others revoked.
+     *
+     * @throws InterruptedException if the test is interrupted while waiting
+     */
+    @Test
+    @Order(3)
+    @DisplayName("Should purge expired entries and keep the others")
+    void testPurgeExpired() throws InterruptedException {
+        long now = System.currentTimeMillis();
+        revocationList.add("short", now + SHORT_TTL_MS);
+        revocationList.add("long", now + LONG_TTL_MS);
+
+        Thread.sleep(EXPIRY_WAIT_MS);
+
+        assertFalse(revocationList.isRevoked("short"), "Expired entry should no longer be reported");
+        assertEquals(1, revocationList.purgeExpired(), "One entry should be purged");
+        assertTrue(revocationList.isRevoked("long"), "Remaining entry should still be reported");
+        assertEquals(1.0, meterRegistry.get("auth.token.revocation.size").gauge().value(),
+                "Size gauge should reflect remaining entries");
+    }
+}
@@ -0,0 +1,115 @@
+package api.carpooling.security.revocation;
+
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.MethodOrderer;
+import org.junit.jupiter.api.Order;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestMethodOrder;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Unit tests for {@link BloomFilter}.
+ * <p>
+ * These tests verify that added elements are always found and that the false
+ * positive rate stays close to the configured target.
+ */
+@TestMethodOrder(MethodOrderer.OrderAnnotation.class)
+@DisplayName("BloomFilter Test")
+@Slf4j
+public class BloomFilterTest {
+
+    /**
+     * Number of elements the tested filters are sized for.
+     */
+    private static final int EXPECTED_ENTRIES = 10_000;
+
+    /**
+     * Number of absent elements probed to measure the false positive rate.
+     */
+    private static final int PROBES = 100_000;
+
+    /**
+     * Target false positive rate of the tested filters.
+     */
+    private static final double FALSE_POSITIVE_RATE = 0.01;
+
+    /**
+     * Displays start message before all tests.
+     */
+    @BeforeAll
+    static void setUpAll() {
+        log.info("Starting BloomFilter tests");
+    }
+
+    /**
+     * Displays message after all tests.
+     */
+    @AfterAll
+    static void tearDownAll() {
+        log.info("Finished BloomFilter tests");
+    }
+
+    /**
+     * Verifies that an empty filter contains nothing.
+     */
+    @Test
+    @Order(1)
+    @DisplayName("Should not contain anything when empty")
+    void testEmptyFilter() {
+        BloomFilter filter = new BloomFilter(EXPECTED_ENTRIES, FALSE_POSITIVE_RATE);
+
+        assertFalse(filter.mightContain(UUID.randomUUID().toString()), "Empty filter should not match");
+        assertTrue(filter.hashCount() > 1, "Filter should use several probes");
+    }
+
+    /**
+     * Verifies that the filter has no false negatives.
+     */
+    @Test
+    @Order(2)
+    @DisplayName("Should always contain added elements")
+    void testNoFalseNegative() {
+        BloomFilter filter = new BloomFilter(EXPECTED_ENTRIES, FALSE_POSITIVE_RATE);
+        List<String> added = new ArrayList<>();
+        for (int i = 0; i < EXPECTED_ENTRIES; i++) {
+            String jti = UUID.randomUUID().toString();
+            filter.put(jti);
+            added.add(jti);
+        }
+
+        added.forEach(jti -> assertTrue(filter.mightContain(jti), "Added element should be found"));
+    }
+
+    /**
+     * Verifies that the false positive rate of a full filter stays near its target.
+     */
+    @Test
+    @Order(3)
+    @DisplayName("Should keep false positive rate near its target")
+    void testFalsePositiveRate() {
+        BloomFilter filter = new BloomFilter(EXPECTED_ENTRIES, FALSE_POSITIVE_RATE);
+        for (int i = 0; i < EXPECTED_ENTRIES; i++) {
+            filter.put(UUID.randomUUID().toString());
+        }
+
+        int falsePositives = 0;
+        for (int i = 0; i < PROBES; i++) {
+            if (filter.mightContain(UUID.randomUUID().toString())) {
+                falsePositives++;
+            }
+        }
+
+        double rate = (double) falsePositives / PROBES;
+        log.info("False positive rate: {}", rate);
+        assertTrue(rate < FALSE_POSITIVE_RATE * 2, "False positive rate should stay near its target");
+    }
+}
@@ -0,0 +1,185 @@
+package api.carpooling.security.revocation;
+
+import api.carpooling.configuration.TokenRevocationProperties;
+
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.MethodOrderer;
+import org.junit.jupiter.api.Order;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestMethodOrder;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.redis.RedisConnectionFailureException;
+import org.springframework.data.redis.connection.DefaultMessage;
+import org.springframework.data.redis.core.DefaultTypedTuple;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.ZSetOperations;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Set;
+
+import static org.mockito.ArgumentMatchers.anyDouble;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+/**
+ * Unit tests for {@link TokenRevocationService}.
+ * <p>
+ * These tests verify that revocations are applied locally, recorded and broadcast
+ * through Redis, and that Redis failures never prevent the local revocation.
+ */
+@ExtendWith(MockitoExtension.class)
+@TestMethodOrder(MethodOrderer.OrderAnnotation.class)
+@DisplayName("TokenRevocationService Test")
+@Slf4j
+public class TokenRevocationServiceTest {
+
+    /**
+     * Expiry used for the revoked tokens.
+     */
+    private static final long EXPIRES_AT_MS = 4_102_444_800_000L;
+
+    /**
+     * Mocked local revocation list.
+     */
+    @Mock
+    private AccessTokenRevocationList revocationList;
+
+    /**
+     * Mocked Redis template.
+     */
+    @Mock
+    private StringRedisTemplate redisTemplate;
+
+    /**
+     * Mocked sorted set operations of the Redis template.
+     */
+    @Mock
+    private ZSetOperations<String, String> zSetOperations;
+
+    /**
+     * Revocation configuration.
+     */
+    private TokenRevocationProperties properties;
+
+    /**
+     * Instance of {@link TokenRevocationService} under test.
+     */
+    private TokenRevocationService revocationService;
+
+    /**
+     * Displays start message before all tests.
+     */
+    @BeforeAll
+    static void setUpAll() {
+        log.info("Starting TokenRevocationService tests");
+    }
+
+    /**
+     * Displays message after all tests.
+     */
+    @AfterAll
+    static void tearDownAll() {
+        log.info("Finished TokenRevocationService tests");
+    }
+
+    /**
+     * Builds the service before each test.
+     */
+    @BeforeEach
+    void setUp() {
+        properties = new TokenRevocationProperties();
+        revocationService = new TokenRevocationService(revocationList, redisTemplate, properties);
+    }
+
+    /**
+     * Verifies that a revocation is applied locally, recorded and broadcast.
+     */
+    @Test
+    @Order(1)
+    @DisplayName("Should revoke locally, record and broadcast")
+    void testRevoke() {
+        when(redisTemplate.opsForZSet()).thenReturn(zSetOperations);
+
+        revocationService.revoke("token-id", EXPIRES_AT_MS);
+
+        verify(revocationList, times(1)).add("token-id", EXPIRES_AT_MS);
+        verify(zSetOperations, times(1)).add(properties.getRedisKey(), "token-id", EXPIRES_AT_MS);
+        verify(redisTemplate, times(1)).convertAndSend(properties.getChannel(), "token-id:" + EXPIRES_AT_MS);
+    }
+
+    /**
+     * Verifies that an unavailable Redis does not prevent the local revocation.
+     */
+    @Test
+    @Order(2)
+    @DisplayName("Should revoke locally when Redis is unavailable")
+    void testRevokeRedisDown() {
+        when(redisTemplate.opsForZSet()).thenReturn(zSetOperations);
+        when(zSetOperations.add(anyString(), anyString(), anyDouble()))
+                .thenThrow(new RedisConnectionFailureException("down"));
+
+        revocationService.revoke("token-id", EXPIRES_AT_MS);
+
+        verify(revocationList, times(1)).add("token-id", EXPIRES_AT_MS);
+        verify(redisTemplate, never()).convertAndSend(anyString(), anyString());
+    }
+
+    /**
+     * Verifies that a revocation broadcast by another instance is applied.
+     */
+    @Test
+    @Order(3)
+    @DisplayName("Should apply broadcast revocation")
+    void testOnMessage() {
+        byte[] channel = properties.getChannel().getBytes(StandardCharsets.UTF_8);
+        byte[] body = ("token-id:" + EXPIRES_AT_MS).getBytes(StandardCharsets.UTF_8);
+
+        revocationService.onMessage(new DefaultMessage(channel, body), null);
+
+        verify(revocationList, times(1)).add("token-id", EXPIRES_AT_MS);
+    }
+
+    /**
+     * Verifies that a malformed message is ignored.
+     */
+    @Test
+    @Order(4)
+    @DisplayName("Should ignore malformed message")
+    void testOnMalformedMessage() {
+        byte[] channel = properties.getChannel().getBytes(StandardCharsets.UTF_8);
+        byte[] body = "token-id:not-a-number".getBytes(StandardCharsets.UTF_8);
+
+        revocationService.onMessage(new DefaultMessage(channel, body), null);
+
+        verifyNoInteractions(revocationList);
+    }
+
+    /**
+     * Verifies that each purge reads the sorted set again, catching up on missed broadcasts.
+     */
+    @Test
+    @Order(5)
+    @DisplayName("Should read missed revocations again on purge")
+    void testPurgeReloads() {
+        when(redisTemplate.opsForZSet()).thenReturn(zSetOperations);
+        when(zSetOperations.rangeByScoreWithScores(eq(properties.getRedisKey()), anyDouble(),
+                eq(Double.POSITIVE_INFINITY)))
+                .thenReturn(Set.of(new DefaultTypedTuple<>("missed-id", (double) EXPIRES_AT_MS)));
+
+        revocationService.purgeExpired();
+
+        verify(revocationList, times(1)).purgeExpired();
+        verify(revocationList, times(1)).add("missed-id", EXPIRES_AT_MS);
+    }
+}
@@ -0,0 +1,190 @@
+package api.carpooling.security.revocation;
+
+import api.carpooling.configuration.TokenRevocationProperties;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.MethodOrderer;
+import org.junit.jupiter.api.Order;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestMethodOrder;
+import org.springframework.data.redis.connection.RedisServerCommands;
+import org.springframework.data.redis.connection.RedisStandaloneConfiguration;
+import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.types.RedisClientInfo;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.testcontainers.containers.GenericContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import org.testcontainers.utility.DockerImageName;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Integration tests for the synchronization of {@link TokenRevocationService} instances
+ * through a real Redis container.
+ * <p>
+ * One instance revokes, the other listens on the channel like a second node of the
+ * cluster. Killing the pub/sub connection of the listener stands for a network outage.
+ */
+@Testcontainers
+@TestMethodOrder(MethodOrderer.OrderAnnotation.class)
+@DisplayName("TokenRevocation Sync Tests")
+@Slf4j
+public class TokenRevocationSyncTest {
+
+    /** Default Redis port. */
+    private static final int REDIS_PORT = 6379;
+
+    /** Expiry of the revoked tokens, far in the future. */
+    private static final long EXPIRES_AT_MS = 4_102_444_800_000L;
+
+    /** Longest wait for a revocation to reach the listening instance. */
+    private static final Duration PROPAGATION_TIMEOUT = Duration.ofSeconds(10);
+
+    /** Pause between two checks of the listening instance. */
+    private static final long POLL_MS = 50L;
+
+    /** Pause of the listener container before it subscribes again. */
+    private static final long RECOVERY_INTERVAL_MS = 100L;
+
+    /** Redis container shared by all tests. */
+    @Container
+    private static final GenericContainer<?> REDIS =
+            new GenericContainer<>(DockerImageName.parse("redis:latest")).withExposedPorts(REDIS_PORT);
+
+    /** Revocation configuration shared by both instances. */
+    private static final TokenRevocationProperties PROPERTIES = new TokenRevocationProperties();
+
+    /** Connection factory bound to the container. */
+    private static LettuceConnectionFactory connectionFactory;
+
+    /** Template of both instances. */
+    private static StringRedisTemplate redisTemplate;
+
+    /** Listener container of the listening instance. */
+    private static RedisMessageListenerContainer listenerContainer;
+
+    /** Instance revoking the tokens. */
+    private static TokenRevocationService publisher;
+
+    /** Revocation list of the listening instance. */
+    private static AccessTokenRevocationList listenerList;
+
+    /**
+     * Connects both instances to the container before all tests.
+     */
+    @BeforeAll
+    static void beforeAll() {
+        connectionFactory = new LettuceConnectionFactory(
+                new RedisStandaloneConfiguration(REDIS.getHost(), REDIS.getMappedPort(REDIS_PORT)));
+        connectionFactory.afterPropertiesSet();
+        redisTemplate = new StringRedisTemplate(connectionFactory);
+        redisTemplate.afterPropertiesSet();
+
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        publisher = new TokenRevocationService(new AccessTokenRevocationList(PROPERTIES, meterRegistry),
+                redisTemplate, PROPERTIES);
+        listenerList = new AccessTokenRevocationList(PROPERTIES, meterRegistry);
+        TokenRevocationService listener = new TokenRevocationService(listenerList, redisTemplate, PROPERTIES);
+
+        listenerContainer = new RedisMessageListenerContainer();
+        listenerContainer.setConnectionFactory(connectionFactory);
+        listenerContainer.setRecoveryInterval(RECOVERY_INTERVAL_MS);
+        listenerContainer.addMessageListener(listener, new ChannelTopic(PROPERTIES.getChannel()));
+        listenerContainer.afterPropertiesSet();
+        listenerContainer.start();
+        log.info("TokenRevocation sync tests initialized");
+    }
+
+    /**
+     * Stops the listener and closes the connections after all tests.
+     *
+     * @throws Exception if the listener container fails to stop
+     */
+    @AfterAll
+    @SuppressWarnings("PMD.SignatureDeclareThrowsException")
+    static void afterAll() throws Exception {
+        listenerContainer.destroy();
+        connectionFactory.destroy();
+        log.info("TokenRevocation sync tests completed");
+    }
+
+    /**
+     * Waits until the listening instance knows a revocation.
+     *
+     * @param jti the revoked token id
+     * @return true if the revocation arrived in time
+     * @throws InterruptedException if interrupted while waiting
+     */
+    private static boolean awaitRevoked(String jti) throws InterruptedException {
+        long deadline = System.nanoTime() + PROPAGATION_TIMEOUT.toNanos();
+        while (!listenerList.isRevoked(jti)) {
+            if (System.nanoTime() > deadline) {
+                return false;
+            }
+            Thread.sleep(POLL_MS);
+        }
+        return true;
+    }
+
+    /**
+     * Closes the pub/sub connections on the server side, as a network outage would.
+     */
+    private static void killSubscriptions() {
+        redisTemplate.execute((RedisCallback<Void>) connection -> {
+            RedisServerCommands server = connection.serverCommands();
+            for (RedisClientInfo client : server.getClientList()) {
+                String address = client.getAddressPort();
+                if (client.getFlags().contains("P") && address != null) {
+                    int separator = address.lastIndexOf(':');
+                    server.killClient(address.substring(0, separator),
+                            Integer.parseInt(address.substring(separator + 1)));
+                }
+            }
+            return null;
+        });
+    }
+
+    /**
+     * Verifies that a broadcast revocation reaches the listening instance.
+     *
+     * @throws InterruptedException if interrupted while waiting
+     */
+    @Test
+    @Order(1)
+    @DisplayName("Should propagate a revocation to the other instance")
+    void testBroadcast() throws InterruptedException {
+        publisher.revoke("broadcast-token", EXPIRES_AT_MS);
+
+        assertTrue(awaitRevoked("broadcast-token"), "The broadcast revocation should be applied");
+    }
+
+    /**
+     * Verifies that a revocation whose broadcast was missed is applied once the
+     * subscription of the listening instance is restored.
+     *
+     * @throws InterruptedException if interrupted while waiting
+     */
+    @Test
+    @Order(2)
+    @DisplayName("Should apply a revocation missed during a disconnect once subscribed again")
+    void testMissedDuringDisconnect() throws InterruptedException {
+        // Recorded by another node while this one was not subscribed: the broadcast is gone.
+        redisTemplate.opsForZSet().add(PROPERTIES.getRedisKey(), "missed-token", EXPIRES_AT_MS);
+        assertFalse(listenerList.isRevoked("missed-token"), "The broadcast was never received");
+
+        killSubscriptions();
+
+        assertTrue(awaitRevoked("missed-token"), "The missed revocation should be read after resubscribing");
+    }
+}
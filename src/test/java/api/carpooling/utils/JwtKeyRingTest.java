@@ -0,0 +1,185 @@
+package api.carpooling.utils;
+
+import api.carpooling.configuration.JwtProperties;
+
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.MethodOrderer;
+import org.junit.jupiter.api.Order;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestMethodOrder;
+
+import java.math.BigInteger;
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.security.NoSuchAlgorithmException;
+import java.security.interfaces.RSAPublicKey;
+import java.util.Base64;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Unit tests for {@link JwtKeyRing}.
+ * <p>
+ * These tests verify that PEM keys are loaded, that verification-only keys are
+ * published, that an invalid active key is refused, and the JWKS format.
+ */
+@TestMethodOrder(MethodOrderer.OrderAnnotation.class)
+@DisplayName("JwtKeyRing Test")
+@Slf4j
+public class JwtKeyRingTest {
+
+    /**
+     * Size in bits of the generated RSA keys.
+     */
+    private static final int KEY_SIZE = 2048;
+
+    /**
+     * Current signing key pair.
+     */
+    private static KeyPair currentKey;
+
+    /**
+     * Previous key pair, kept for verification only.
+     */
+    private static KeyPair previousKey;
+
+    /**
+     * Generates the key pairs before all tests.
+     *
+     * @throws NoSuchAlgorithmException if RSA is not available
+     */
+    @BeforeAll
+    static void setUpAll() throws NoSuchAlgorithmException {
+        KeyPairGenerator generator = KeyPairGenerator.getInstance("RSA");
+        generator.initialize(KEY_SIZE);
+        currentKey = generator.generateKeyPair();
+        previousKey = generator.generateKeyPair();
+        log.info("Starting JwtKeyRing tests");
+    }
+
+    /**
+     * Displays message after all tests.
+     */
+    @AfterAll
+    static void tearDownAll() {
+        log.info("Finished JwtKeyRing tests");
+    }
+
+    /**
+     * Encodes DER bytes as PEM.
+     *
+     * @param type PEM block type
+     * @param der the DER bytes
+     * @return the PEM text
+     */
+    private static String pem(String type, byte[] der) {
+        return "-----BEGIN " + type + "-----\n"
+                + Base64.getMimeEncoder().encodeToString(der)
+                + "\n-----END " + type + "-----\n";
+    }
+
+    /**
+     * Builds properties with a signing key and a verification-only key.
+     *
+     * @param activeKeyId identifier of the active key
+     * @return the JWT properties
+     */
+    private static JwtProperties properties(String activeKeyId) {
+        JwtProperties.SigningKey current = new JwtProperties.SigningKey();
+        current.setId("2026-10");
+        current.setPrivateKey(pem("PRIVATE KEY", currentKey.getPrivate().getEncoded()));
+        JwtProperties.SigningKey previous = new JwtProperties.SigningKey();
+        previous.setId("2026-07");
+        previous.setPublicKey(pem("PUBLIC KEY", previousKey.getPublic().getEncoded()));
+
+        JwtProperties properties = new JwtProperties();
+        properties.setKeys(List.of(current, previous));
+        properties.setActiveKeyId(activeKeyId);
+        return properties;
+    }
+
+    /**
+     * Verifies that configured keys are loaded and the public key is derived from the private key.
+     */
+    @Test
+    @Order(1)
+    @DisplayName("Should load signing and verification keys from PEM")
+    void testLoadKeys() {
+        JwtKeyRing keyRing = new JwtKeyRing(properties(null));
+
+        assertEquals("2026-10", keyRing.activeKeyId(), "First signing key should be active");
+        assertEquals(currentKey.getPublic(), keyRing.publicKey("2026-10").orElseThrow(),
+                "Public key should be derived from private key");
+        assertEquals(previousKey.getPublic(), keyRing.publicKey("2026-07").orElseThrow(),
+                "Verification-only key should be loaded");
+        assertTrue(keyRing.publicKey("unknown").isEmpty(), "Unknown kid should not resolve");
+    }
+
+    /**
+     * Verifies that a key without private key cannot be made active.
+     */
+    @Test
+    @Order(2)
+    @DisplayName("Should refuse active key without private key")
+    void testActiveKeyWithoutPrivateKey() {
+        JwtProperties properties = properties("2026-07");
+
+        assertThrows(IllegalStateException.class, () -> new JwtKeyRing(properties));
+    }
+
+    /**
+     * Verifies that every public key is published in the JWKS document.
+     */
+    @Test
+    @Order(3)
+    @DisplayName("Should publish every public key as JWK")
+    @SuppressWarnings("unchecked")
+    void testToJwks() {
+        JwtKeyRing keyRing = new JwtKeyRing(properties(null));
+
+        List<Map<String, Object>> keys = (List<Map<String, Object>>) keyRing.toJwks().get("keys");
+
+        assertEquals(2, keys.size());
+        Map<String, Object> jwk = keys.get(0);
+        assertEquals("RSA", jwk.get("kty"));
+        assertEquals("RS256", jwk.get("alg"));
+        assertEquals("2026-10", jwk.get("kid"));
+        RSAPublicKey publicKey = (RSAPublicKey) currentKey.getPublic();
+        byte[] modulus = Base64.getUrlDecoder().decode((String) jwk.get("n"));
+        assertEquals(publicKey.getModulus(), new BigInteger(1, modulus), "Modulus should round-trip");
+    }
+
+    /**
+     * Verifies that an ephemeral key is generated when nothing is configured and it is allowed.
+     */
+    @Test
+    @Order(4)
+    @DisplayName("Should generate ephemeral key when none is configured and it is allowed")
+    void testEphemeralKey() {
+        JwtProperties properties = new JwtProperties();
+        properties.setAllowEphemeralKey(true);
+        JwtKeyRing keyRing = new JwtKeyRing(properties);
+
+        assertTrue(keyRing.activeKeyId().startsWith("ephemeral-"));
+        assertEquals(1, keyRing.publicKeys().size());
+    }
+
+    /**
+     * Verifies that startup fails without key unless the ephemeral key is allowed.
+     */
+    @Test
+    @Order(5)
+    @DisplayName("Should refuse to start without key by default")
+    void testNoKeyRefused() {
+        JwtProperties properties = new JwtProperties();
+
+        assertThrows(IllegalStateException.class, () -> new JwtKeyRing(properties));
+    }
+}
@@ -0,0 +1,181 @@
+package api.carpooling.utils;
+
+import api.carpooling.application.exception.PasswordHashingOverloadedException;
+import api.carpooling.configuration.PasswordHashingProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.MethodOrderer;
+import org.junit.jupiter.api.Order;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestMethodOrder;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Unit tests for {@link PasswordHasher}.
+ * <p>
+ * These tests verify hashing on the dedicated executor, the fail-fast behaviour
+ * when the executor is saturated, and the published metrics.
+ */
+@TestMethodOrder(MethodOrderer.OrderAnnotation.class)
+@DisplayName("PasswordHasher Test")
+@Slf4j
+public class PasswordHasherTest {
+
+    /**
+     * Number of concurrent callers used to saturate the executor.
+     */
+    private static final int CONCURRENT_CALLERS = 6;
+
+    /**
+     * Timeout long enough for any hash to complete, in milliseconds.
+     */
+    private static final long HASH_TIMEOUT_MS = 10_000L;
+
+    /**
+     * Timeout of the saturation test, long enough to keep every worker busy, in milliseconds.
+     */
+    private static final long SATURATION_TIMEOUT_MS = 30_000L;
+
+    /**
+     * Instance of {@link PasswordHasher} under test.
+     */
+    private PasswordHasher passwordHasher;
+
+    /**
+     * Registry collecting the hashing metrics.
+     */
+    private SimpleMeterRegistry meterRegistry;
+
+    /**
+     * Displays start message before all tests.
+     */
+    @BeforeAll
+    static void setUpAll() {
+        log.info("Starting PasswordHasher tests");
+    }
+
+    /**
+     * Displays message after all tests.
+     */
+    @AfterAll
+    static void tearDownAll() {
+        log.info("Finished PasswordHasher tests");
+    }
+
+    /**
+     * Stops the executor created by the test.
+     */
+    @AfterEach
+    void tearDown() {
+        if (passwordHasher != null) {
+            passwordHasher.destroy();
+        }
+    }
+
+    /**
+     * Creates a hasher with the given limits.
+     *
+     * @param threads number of workers
+     * @param queueCapacity queue capacity
+     * @param timeoutMs maximum wait for a result
+     */
+    private void createHasher(int threads, int queueCapacity, long timeoutMs) {
+        PasswordHashingProperties properties = new PasswordHashingProperties();
+        properties.setThreads(threads);
+        properties.setQueueCapacity(queueCapacity);
+        properties.setTimeoutMs(timeoutMs);
+        properties.setRetryAfterSeconds(2);
+        meterRegistry = new SimpleMeterRegistry();
+        passwordHasher = new PasswordHasher(properties, meterRegistry);
+    }
+
+    /**
+     * Verifies that passwords are encoded and matched on the executor.
+     */
+    @Test
+    @Order(1)
+    @DisplayName("Should encode and match password")
+    void testEncodeAndMatch() {
+        createHasher(1, 4, HASH_TIMEOUT_MS);
+
+        String hash = passwordHasher.encode("Password@123");
+
+        assertNotNull(hash, "Hash should not be null");
+        assertTrue(passwordHasher.matches("Password@123", hash), "Password should match its hash");
+        assertFalse(passwordHasher.matches("Wrong@123", hash), "Wrong password should not match");
+        assertEquals(1L, meterRegistry.get("auth.password.hashing.latency")
+                .tag("operation", "encode").timer().count(), "Encode latency should be recorded");
+        assertEquals(2L, meterRegistry.get("auth.password.hashing.latency")
+                .tag("operation", "match").timer().count(), "Match latency should be recorded");
+    }
+
+    /**
+     * Verifies that a hash exceeding the timeout fails with a retryable error.
+     */
+    @Test
+    @Order(2)
+    @DisplayName("Should fail fast when hashing exceeds timeout")
+    void testTimeout() {
+        createHasher(1, 4, 1);
+
+        PasswordHashingOverloadedException ex = assertThrows(PasswordHashingOverloadedException.class,
+                () -> passwordHasher.encode("Password@123"));
+        assertEquals(2L, ex.getRetryAfterSeconds(), "Retry-After should come from configuration");
+    }
+
+    /**
+     * Verifies that callers are rejected once the worker and the queue are full.
+     *
+     * @throws Exception if a caller thread fails unexpectedly
+     */
+    @Test
+    @Order(3)
+    @DisplayName("Should reject requests when executor is saturated")
+    void testSaturation() throws Exception {
+        createHasher(1, 1, SATURATION_TIMEOUT_MS);
+        CountDownLatch start = new CountDownLatch(1);
+        AtomicInteger rejected = new AtomicInteger();
+        ExecutorService callers = Executors.newFixedThreadPool(CONCURRENT_CALLERS);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int i = 0; i < CONCURRENT_CALLERS; i++) {
+                futures.add(callers.submit(() -> {
+                    start.await();
+                    try {
+                        passwordHasher.encode("Password@123");
+                    } catch (PasswordHashingOverloadedException e) {
+                        rejected.incrementAndGet();
+                    }
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            callers.shutdownNow();
+        }
+
+        assertTrue(rejected.get() > 0, "At least one caller should be rejected");
+        assertEquals(rejected.get(), meterRegistry.get("auth.password.hashing.rejected").counter().count(),
+                "Rejections should be counted");
+    }
+}
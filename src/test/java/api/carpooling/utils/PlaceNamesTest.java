@@ -0,0 +1,68 @@
+package api.carpooling.utils;
+
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.MethodOrderer;
+import org.junit.jupiter.api.Order;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestMethodOrder;
+
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Unit tests for {@link PlaceNames}.
+ * <p>
+ * These tests verify that spelling variants of a place share one normalized spelling,
+ * as computed by the {@code normalize_place} SQL function.
+ */
+@TestMethodOrder(MethodOrderer.OrderAnnotation.class)
+@DisplayName("PlaceNames Test")
+@Slf4j
+public class PlaceNamesTest {
+
+    /**
+     * Displays start message before all tests.
+     */
+    @BeforeAll
+    static void setUpAll() {
+        log.info("Starting PlaceNames tests");
+    }
+
+    /**
+     * Displays message after all tests.
+     */
+    @AfterAll
+    static void tearDownAll() {
+        log.info("Finished PlaceNames tests");
+    }
+
+    /**
+     * Verifies that case, accents, punctuation and spacing are ignored.
+     */
+    @Test
+    @Order(1)
+    @DisplayName("Should fold spelling variants together")
+    void testVariants() {
+        assertAll("Spelling variants",
+                () -> assertEquals("saint etienne", PlaceNames.normalize("  Saint-Étienne ")),
+                () -> assertEquals("saint etienne", PlaceNames.normalize("SAINT   ETIENNE")),
+                () -> assertEquals("l hay les roses", PlaceNames.normalize("L'Haÿ-les-Roses")),
+                () -> assertEquals("coeur", PlaceNames.normalize("Cœur")),
+                () -> assertEquals("city 12", PlaceNames.normalize("City_12")));
+    }
+
+    /**
+     * Verifies that a missing or blank place has an empty spelling.
+     */
+    @Test
+    @Order(2)
+    @DisplayName("Should return an empty spelling for a blank place")
+    void testBlank() {
+        assertAll("Blank places",
+                () -> assertEquals("", PlaceNames.normalize(null)),
+                () -> assertEquals("", PlaceNames.normalize(" - ")));
+    }
+}
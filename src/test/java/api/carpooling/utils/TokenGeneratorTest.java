@@ -2,6 +2,11 @@ package api.carpooling.utils;
 
 import api.carpooling.configuration.JwtProperties;
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwsHeader;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.SignatureAlgorithm;
+import io.jsonwebtoken.security.Keys;
+import io.jsonwebtoken.security.SignatureException;
 import lombok.extern.slf4j.Slf4j;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -12,13 +17,18 @@ import org.junit.jupiter.api.Order;
 import org.junit.jupiter.api.AfterAll;
 import org.mockito.Mockito;
 
+import java.nio.charset.StandardCharsets;
+import java.security.KeyPair;
+import java.time.Instant;
 import java.util.Date;
 import java.util.UUID;
 
+import static org.junit.jupiter.api.Assertions.assertAll;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.Mockito.when;
 
 /**
@@ -52,17 +62,36 @@ public class TokenGeneratorTest {
      */
     private static final long REFRESH_TOKEN_EXPIRATION_MS = 86400000L;
 
+    /**
+     * Former HS256 secret, still accepted for tokens without key id.
+     */
+    private static final String LEGACY_SECRET = "MySuperSecretKeyForJWTsMySuperSecretKey";
+
+    /**
+     * Rollout of RS256: legacy tokens must have been issued before this instant.
+     */
+    private static final Instant LEGACY_CUTOFF = Instant.now();
+
+    /**
+     * Keys used by the generator under test.
+     */
+    private static JwtKeyRing keyRing;
+
     /**
      * Initializes all mocks before each test.
      */
     @BeforeAll
     static void setUpAll() {
         JwtProperties jwtProperties = Mockito.mock(JwtProperties.class);
-        when(jwtProperties.getSecret()).thenReturn("MySuperSecretKeyForJWTsMySuperSecretKey");
+        when(jwtProperties.getSecret()).thenReturn(LEGACY_SECRET);
+        when(jwtProperties.isAcceptLegacyHmac()).thenReturn(true);
+        when(jwtProperties.getLegacyHmacIssuedBefore()).thenReturn(LEGACY_CUTOFF);
         when(jwtProperties.getExpirationMs()).thenReturn(ACCESS_TOKEN_EXPIRATION_MS);
         when(jwtProperties.getRefreshExpirationMs()).thenReturn(REFRESH_TOKEN_EXPIRATION_MS);
+        when(jwtProperties.isAllowEphemeralKey()).thenReturn(true);
 
-        tokenGenerator = new TokenGenerator(jwtProperties);
+        keyRing = new JwtKeyRing(jwtProperties);
+        tokenGenerator = new TokenGenerator(jwtProperties, keyRing);
         log.info("Starting TokenGenerator tests");
     }
 
@@ -116,4 +145,119 @@ public class TokenGeneratorTest {
         assertNotNull(expiry, "Expiry date should not be null");
         assertTrue(expiry.after(new Date()), "Expiry date should be in the future");
     }
+
+    /**
+     * Verifies that tokens are signed with RS256 and carry the active key id.
+     */
+    @Test
+    @Order(4)
+    @DisplayName("Should sign JWT with RS256 and kid header")
+    void testJwtHeader() {
+        String jwt = tokenGenerator.generateJwtToken(UUID.randomUUID(), "ROLE_DRIVER");
+
+        JwsHeader<?> header = Jwts.parserBuilder()
+                .setSigningKey(keyRing.publicKey(keyRing.activeKeyId()).orElseThrow())
+                .build()
+                .parseClaimsJws(jwt)
+                .getHeader();
+
+        assertEquals("RS256", header.getAlgorithm(), "Algorithm should be RS256");
+        assertEquals(keyRing.activeKeyId(), header.getKeyId(), "kid should match active key");
+    }
+
+    /**
+     * Verifies that a former HS256 token without key id is still accepted.
+     */
+    @Test
+    @Order(5)
+    @DisplayName("Should accept legacy HS256 token during migration")
+    void testLegacyHmacToken() {
+        UUID userId = UUID.randomUUID();
+        String legacy = legacyToken(userId, Date.from(LEGACY_CUTOFF.minusSeconds(60)));
+
+        assertEquals(userId.toString(), tokenGenerator.parseJwt(legacy).getSubject());
+    }
+
+    /**
+     * Verifies that HS256 tokens issued after the rollout, or without issue date, are rejected.
+     */
+    @Test
+    @Order(7)
+    @DisplayName("Should reject legacy HS256 token issued after the cutoff")
+    void testLegacyHmacTokenAfterCutoff() {
+        String forged = legacyToken(UUID.randomUUID(), Date.from(LEGACY_CUTOFF.plusSeconds(1)));
+        String undated = legacyToken(UUID.randomUUID(), null);
+
+        assertAll("Legacy tokens after the cutoff",
+                () -> assertThrows(SignatureException.class, () -> tokenGenerator.parseJwt(forged),
+                        "Token issued after the cutoff should be rejected"),
+                () -> assertThrows(SignatureException.class, () -> tokenGenerator.parseJwt(undated),
+                        "Token without issue date should be rejected"));
+    }
+
+    /**
+     * Verifies that legacy tokens are rejected by default and cannot be enabled without secret.
+     */
+    @Test
+    @Order(8)
+    @DisplayName("Should reject legacy HS256 tokens unless explicitly configured")
+    void testLegacyHmacDisabledByDefault() {
+        JwtProperties defaults = new JwtProperties();
+        defaults.setSecret(LEGACY_SECRET);
+        defaults.setExpirationMs(ACCESS_TOKEN_EXPIRATION_MS);
+        defaults.setAllowEphemeralKey(true);
+        TokenGenerator strict = new TokenGenerator(defaults, new JwtKeyRing(defaults));
+        String legacy = legacyToken(UUID.randomUUID(), Date.from(LEGACY_CUTOFF.minusSeconds(60)));
+
+        JwtProperties withoutSecret = new JwtProperties();
+        withoutSecret.setAcceptLegacyHmac(true);
+        withoutSecret.setLegacyHmacIssuedBefore(LEGACY_CUTOFF);
+        withoutSecret.setAllowEphemeralKey(true);
+
+        assertAll("Legacy tokens not configured",
+                () -> assertThrows(SignatureException.class, () -> strict.parseJwt(legacy),
+                        "Legacy token should be rejected by default"),
+                () -> assertThrows(IllegalStateException.class,
+                        () -> new TokenGenerator(withoutSecret, new JwtKeyRing(withoutSecret)),
+                        "Legacy tokens should not be accepted without secret"));
+    }
+
+    /**
+     * Builds a former HS256 token without key id.
+     *
+     * @param userId subject of the token
+     * @param issuedAt issue date of the token, or null
+     * @return the token
+     */
+    private static String legacyToken(UUID userId, Date issuedAt) {
+        return Jwts.builder()
+                .setSubject(userId.toString())
+                .setIssuedAt(issuedAt)
+                .setExpiration(new Date(System.currentTimeMillis() + ACCESS_TOKEN_EXPIRATION_MS))
+                .signWith(Keys.hmacShaKeyFor(LEGACY_SECRET.getBytes(StandardCharsets.UTF_8)))
+                .compact();
+    }
+
+    /**
+     * Verifies that a token signed by an unknown key is rejected.
+     */
+    @Test
+    @Order(6)
+    @DisplayName("Should reject token signed with unknown key")
+    void testUnknownKey() {
+        KeyPair foreign = Keys.keyPairFor(SignatureAlgorithm.RS256);
+        String forged = Jwts.builder()
+                .setHeaderParam(JwsHeader.KEY_ID, keyRing.activeKeyId())
+                .setSubject(UUID.randomUUID().toString())
+                .signWith(foreign.getPrivate(), SignatureAlgorithm.RS256)
+                .compact();
+        String unknownKid = Jwts.builder()
+                .setHeaderParam(JwsHeader.KEY_ID, "unknown")
+                .setSubject(UUID.randomUUID().toString())
+                .signWith(foreign.getPrivate(), SignatureAlgorithm.RS256)
+                .compact();
+
+        assertThrows(RuntimeException.class, () -> tokenGenerator.parseJwt(forged));
+        assertThrows(RuntimeException.class, () -> tokenGenerator.parseJwt(unknownKid));
+    }
 }
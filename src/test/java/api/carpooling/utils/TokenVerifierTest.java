@@ -0,0 +1,140 @@
+package api.carpooling.utils;
+
+import api.carpooling.configuration.JwtProperties;
+import io.jsonwebtoken.Claims;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.MethodOrderer;
+import org.junit.jupiter.api.Order;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestMethodOrder;
+import org.mockito.Mockito;
+
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Unit tests for {@link TokenVerifier}.
+ * <p>
+ * These tests verify that claims are cached after the first verification,
+ * that invalid tokens are never cached, and that cache metrics are published.
+ */
+@TestMethodOrder(MethodOrderer.OrderAnnotation.class)
+@DisplayName("TokenVerifier Test")
+@Slf4j
+public class TokenVerifierTest {
+
+    /**
+     * Access token expiration time in milliseconds (1 hour).
+     */
+    private static final long ACCESS_TOKEN_EXPIRATION_MS = 3600000L;
+
+    /**
+     * Spied token generator used to count signature verifications.
+     */
+    private TokenGenerator tokenGenerator;
+
+    /**
+     * Registry collecting the cache metrics.
+     */
+    private SimpleMeterRegistry meterRegistry;
+
+    /**
+     * Instance of {@link TokenVerifier} under test.
+     */
+    private TokenVerifier tokenVerifier;
+
+    /**
+     * Displays start message before all tests.
+     */
+    @BeforeAll
+    static void setUpAll() {
+        log.info("Starting TokenVerifier tests");
+    }
+
+    /**
+     * Displays message after all tests.
+     */
+    @AfterAll
+    static void tearDownAll() {
+        log.info("Finished TokenVerifier tests");
+    }
+
+    /**
+     * Builds a fresh verifier and registry before each test.
+     */
+    @BeforeEach
+    void setUp() {
+        JwtProperties jwtProperties = Mockito.mock(JwtProperties.class);
+        when(jwtProperties.getExpirationMs()).thenReturn(ACCESS_TOKEN_EXPIRATION_MS);
+        when(jwtProperties.getClaimsCacheMaxSize()).thenReturn(100L);
+        when(jwtProperties.isAllowEphemeralKey()).thenReturn(true);
+
+        tokenGenerator = spy(new TokenGenerator(jwtProperties, new JwtKeyRing(jwtProperties)));
+        meterRegistry = new SimpleMeterRegistry();
+        tokenVerifier = new TokenVerifier(tokenGenerator, jwtProperties, meterRegistry);
+    }
+
+    /**
+     * Verifies that the signature is only checked once for a repeated token.
+     */
+    @Test
+    @Order(1)
+    @DisplayName("Should serve repeated token from cache")
+    void testVerifyUsesCache() {
+        UUID userId = UUID.randomUUID();
+        String jwt = tokenGenerator.generateJwtToken(userId, "ROLE_DRIVER");
+
+        Claims first = tokenVerifier.verify(jwt);
+        Claims second = tokenVerifier.verify(jwt);
+
+        assertEquals(userId.toString(), first.getSubject(), "Subject should match userId");
+        assertSame(first, second, "Second call should return cached claims");
+        verify(tokenGenerator, times(1)).parseJwt(jwt);
+    }
+
+    /**
+     * Verifies that an invalid token is rejected on every call.
+     */
+    @Test
+    @Order(2)
+    @DisplayName("Should reject invalid token without caching it")
+    void testVerifyInvalidToken() {
+        assertThrows(RuntimeException.class, () -> tokenVerifier.verify("invalid.jwt.token"));
+        assertThrows(RuntimeException.class, () -> tokenVerifier.verify("invalid.jwt.token"));
+        verify(tokenGenerator, times(2)).parseJwt("invalid.jwt.token");
+    }
+
+    /**
+     * Verifies that hit and miss counters are exposed through Micrometer.
+     */
+    @Test
+    @Order(3)
+    @DisplayName("Should publish hit and miss metrics")
+    void testMetrics() {
+        String jwt = tokenGenerator.generateJwtToken(UUID.randomUUID(), "ROLE_PASSENGER");
+        tokenVerifier.verify(jwt);
+        tokenVerifier.verify(jwt);
+        tokenVerifier.verify(jwt);
+
+        FunctionCounter hits = meterRegistry.get("cache.gets")
+                .tag("cache", "jwt.claims").tag("result", "hit").functionCounter();
+        FunctionCounter misses = meterRegistry.get("cache.gets")
+                .tag("cache", "jwt.claims").tag("result", "miss").functionCounter();
+
+        assertEquals(2.0, hits.count(), "Two calls should hit the cache");
+        assertEquals(1.0, misses.count(), "First call should miss the cache");
+    }
+}
@@ -0,0 +1,81 @@
+package api.carpooling.utils;
+
+import api.carpooling.application.exception.InvalidCursorException;
+import api.carpooling.repository.TripKeyset;
+
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.MethodOrderer;
+import org.junit.jupiter.api.Order;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestMethodOrder;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Base64;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Unit tests for {@link TripCursorCodec}.
+ * <p>
+ * These tests verify that positions survive a round trip through their token
+ * and that malformed tokens are rejected.
+ */
+@TestMethodOrder(MethodOrderer.OrderAnnotation.class)
+@DisplayName("TripCursorCodec Test")
+@Slf4j
+public class TripCursorCodecTest {
+
+    /**
+     * Departure time of the encoded position.
+     */
+    private static final LocalDateTime DEPARTURE = LocalDateTime.of(2026, 7, 1, 8, 30);
+
+    /**
+     * Displays start message before all tests.
+     */
+    @BeforeAll
+    static void setUpAll() {
+        log.info("Starting TripCursorCodec tests");
+    }
+
+    /**
+     * Displays message after all tests.
+     */
+    @AfterAll
+    static void tearDownAll() {
+        log.info("Finished TripCursorCodec tests");
+    }
+
+    /**
+     * Verifies that a position is decoded back from its token.
+     */
+    @Test
+    @Order(1)
+    @DisplayName("Should decode the position it encoded")
+    void testRoundTrip() {
+        TripKeyset keyset = new TripKeyset(DEPARTURE, UUID.randomUUID());
+
+        assertEquals(keyset, TripCursorCodec.decode(TripCursorCodec.encode(keyset)),
+                "Decoded position should match");
+    }
+
+    /**
+     * Verifies that malformed tokens are rejected.
+     */
+    @Test
+    @Order(2)
+    @DisplayName("Should reject malformed tokens")
+    void testDecodeInvalid() {
+        String badId = Base64.getUrlEncoder()
+                .encodeToString("2026-07-01T08:30|not-a-uuid".getBytes(StandardCharsets.UTF_8));
+
+        assertThrows(InvalidCursorException.class, () -> TripCursorCodec.decode("not base64!"));
+        assertThrows(InvalidCursorException.class, () -> TripCursorCodec.decode(badId));
+    }
+}
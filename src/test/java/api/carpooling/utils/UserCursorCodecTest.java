@@ -0,0 +1,88 @@
+package api.carpooling.utils;
+
+import api.carpooling.application.exception.InvalidCursorException;
+import api.carpooling.repository.UserKeyset;
+
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.MethodOrderer;
+import org.junit.jupiter.api.Order;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestMethodOrder;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Base64;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Unit tests for {@link UserCursorCodec}.
+ * <p>
+ * These tests verify that positions survive a round trip through their token
+ * and that malformed tokens are rejected.
+ */
+@TestMethodOrder(MethodOrderer.OrderAnnotation.class)
+@DisplayName("UserCursorCodec Test")
+@Slf4j
+public class UserCursorCodecTest {
+
+    /**
+     * Creation time of the encoded position, with nanoseconds to check they are kept.
+     */
+    private static final LocalDateTime CREATED_AT = LocalDateTime.of(2025, 3, 14, 15, 9, 26, 535_897_000);
+
+    /**
+     * Displays start message before all tests.
+     */
+    @BeforeAll
+    static void setUpAll() {
+        log.info("Starting UserCursorCodec tests");
+    }
+
+    /**
+     * Displays message after all tests.
+     */
+    @AfterAll
+    static void tearDownAll() {
+        log.info("Finished UserCursorCodec tests");
+    }
+
+    /**
+     * Verifies that a position is decoded back from its token.
+     */
+    @Test
+    @Order(1)
+    @DisplayName("Should decode the position it encoded")
+    void testRoundTrip() {
+        UserKeyset keyset = new UserKeyset(CREATED_AT,
+                UUID.randomUUID());
+
+        String cursor = UserCursorCodec.encode(keyset);
+
+        assertFalse(cursor.contains("/") || cursor.contains("+") || cursor.contains("="),
+                "Token should be URL safe");
+        assertEquals(keyset, UserCursorCodec.decode(cursor), "Decoded position should match");
+    }
+
+    /**
+     * Verifies that malformed tokens are rejected.
+     */
+    @Test
+    @Order(2)
+    @DisplayName("Should reject malformed tokens")
+    void testDecodeInvalid() {
+        String noSeparator = Base64.getUrlEncoder().encodeToString("garbage".getBytes(StandardCharsets.UTF_8));
+        String badDate = Base64.getUrlEncoder()
+                .encodeToString(("yesterday|" + UUID.randomUUID()).getBytes(StandardCharsets.UTF_8));
+
+        assertThrows(InvalidCursorException.class, () -> UserCursorCodec.decode("not base64!"));
+        assertThrows(InvalidCursorException.class, () -> UserCursorCodec.decode(noSeparator));
+        assertThrows(InvalidCursorException.class, () -> UserCursorCodec.decode(badDate));
+    }
+}
@@ -1,8 +1,10 @@
 package api.carpooling.utils;
 
+import api.carpooling.application.dto.auth.AuthTokens;
+import api.carpooling.application.dto.auth.IssuedRefreshToken;
+import api.carpooling.application.service.RefreshTokenService;
 import api.carpooling.domain.User;
 import api.carpooling.domain.enumeration.RoleUser;
-import api.carpooling.repository.UserRepository;
 
 import lombok.extern.slf4j.Slf4j;
 import org.junit.jupiter.api.AfterAll;
@@ -15,8 +17,6 @@ import org.junit.jupiter.api.TestMethodOrder;
 import org.mockito.Mockito;
 
 import java.time.LocalDateTime;
-import java.time.ZoneId;
-import java.util.Date;
 import java.util.UUID;
 
 import static org.junit.jupiter.api.Assertions.assertAll;
@@ -29,8 +29,8 @@ import static org.mockito.Mockito.times;
 /**
  * Unit tests for {@link UserTokenService}.
  * <p>
- * These tests verify that the service correctly generates JWT and refresh tokens,
- * sets the token expiration, handles refresh token collisions, and saves the user entity.
+ * These tests verify that the service correctly generates the JWT, opens the refresh
+ * token session of the requested device, and never writes the user entity.
  */
 @TestMethodOrder(MethodOrderer.OrderAnnotation.class)
 @DisplayName("UserTokenService Test")
@@ -38,14 +38,14 @@ import static org.mockito.Mockito.times;
 public class UserTokenServiceTest {
 
     /**
-     * Mocked {@link UserRepository} for user persistence operations.
+     * Mocked {@link TokenGenerator} for generating JWT and refresh tokens.
      */
-    private static UserRepository userRepository;
+    private static TokenGenerator tokenGenerator;
 
     /**
-     * Mocked {@link TokenGenerator} for generating JWT and refresh tokens.
+     * Mocked {@link RefreshTokenService} storing the refresh token sessions.
      */
-    private static TokenGenerator tokenGenerator;
+    private static RefreshTokenService refreshTokenService;
 
     /**
      * Instance of {@link UserTokenService} under test.
@@ -58,9 +58,9 @@ public class UserTokenServiceTest {
     @BeforeAll
     static void setUpAll() {
         log.info("Starting UserTokenService tests");
-        userRepository = Mockito.mock(UserRepository.class);
         tokenGenerator = Mockito.mock(TokenGenerator.class);
-        userTokenService = new UserTokenService(userRepository, tokenGenerator);
+        refreshTokenService = Mockito.mock(RefreshTokenService.class);
+        userTokenService = new UserTokenService(tokenGenerator, refreshTokenService);
     }
 
     /**
@@ -72,11 +72,11 @@ public class UserTokenServiceTest {
     }
 
     /**
-     * Verifies that generateTokens sets JWT, refresh token, expiry date and calls repository save.
+     * Verifies that generateTokens returns the JWT and opens a refresh token session.
      */
     @Test
     @Order(1)
-    @DisplayName("Should generate JWT and refresh token and save user")
+    @DisplayName("Should generate JWT and refresh token")
     void testGenerateTokens() {
         UUID userId = UUID.randomUUID();
         User user = new User();
@@ -88,58 +88,43 @@ public class UserTokenServiceTest {
         LocalDateTime expiry = LocalDateTime.now().plusDays(7);
 
         when(tokenGenerator.generateJwtToken(userId, RoleUser.ROLE_DRIVER.name())).thenReturn(jwtToken);
-        when(tokenGenerator.generateRefreshToken()).thenReturn(refreshToken);
-        when(tokenGenerator.getRefreshTokenExpiry()).thenReturn(Date.from(expiry
-                .atZone(ZoneId.systemDefault()).toInstant()));
-        when(userRepository.existsByRefreshToken(refreshToken)).thenReturn(false);
-        when(userRepository.save(any(User.class)))
-                .thenAnswer(invocation -> invocation.getArgument(0));
-
-        User updatedUser = userTokenService.generateTokens(user);
+        when(refreshTokenService.issue(user, null)).thenReturn(new IssuedRefreshToken(refreshToken, expiry));
+
+        AuthTokens tokens = userTokenService.generateTokens(user);
         assertAll("User tokens",
-                () -> assertEquals(jwtToken, updatedUser.getToken(),
-                        "JWT token should be set"),
-                () -> assertEquals(refreshToken, updatedUser.getRefreshToken(),
-                        "Refresh token should be set"),
-                () -> assertEquals(expiry.withNano(0),
-                        updatedUser.getTokenExpired().withNano(0),
+                () -> assertEquals(jwtToken, tokens.accessToken(),
+                        "JWT token should be returned"),
+                () -> assertEquals(refreshToken, tokens.refreshToken(),
+                        "Refresh token should be returned"),
+                () -> assertEquals(expiry, tokens.refreshTokenExpiresAt(),
                         "Token expiry should match")
         );
 
-        verify(userRepository, times(1)).save(user);
         verify(tokenGenerator, times(1)).generateJwtToken(userId,
                 RoleUser.ROLE_DRIVER.name());
-        verify(tokenGenerator, times(1)).generateRefreshToken();
+        verify(refreshTokenService, times(1)).issue(user, null);
     }
 
     /**
-     * Verifies that generateTokens regenerates refresh token if already exists.
+     * Verifies that generateTokens opens the session on the requested device.
      */
     @Test
     @Order(2)
-    @DisplayName("Should regenerate refresh token if already exists")
-    void testGenerateTokensRefreshTokenCollision() {
+    @DisplayName("Should open the refresh token session on the requested device")
+    void testGenerateTokensForDevice() {
         User user = new User();
         user.setId(UUID.randomUUID());
         user.setRoleUser(RoleUser.ROLE_PASSENGER);
 
-        String jwtToken = "jwt-token";
-        String firstToken = "token-1";
-        String secondToken = "token-2";
         LocalDateTime expiry = LocalDateTime.now().plusDays(7);
 
-        when(tokenGenerator.generateJwtToken(any(), any())).thenReturn(jwtToken);
-        when(tokenGenerator.generateRefreshToken()).thenReturn(firstToken, secondToken);
-        when(tokenGenerator.getRefreshTokenExpiry()).thenReturn(Date.from(expiry
-                .atZone(ZoneId.systemDefault()).toInstant()));
-        when(userRepository.existsByRefreshToken(firstToken)).thenReturn(true);
-        when(userRepository.existsByRefreshToken(secondToken)).thenReturn(false);
-        when(userRepository.save(any(User.class)))
-                .thenAnswer(invocation -> invocation.getArgument(0));
-
-        User updatedUser = userTokenService.generateTokens(user);
-        assertEquals(secondToken, updatedUser.getRefreshToken(),
-                "Refresh token should be regenerated if collision occurs");
-        verify(userRepository, times(1)).save(user);
+        when(tokenGenerator.generateJwtToken(any(), any())).thenReturn("jwt-token");
+        when(refreshTokenService.issue(user, "phone"))
+                .thenReturn(new IssuedRefreshToken("token-phone", expiry));
+
+        AuthTokens tokens = userTokenService.generateTokens(user, "phone");
+        assertEquals("token-phone", tokens.refreshToken(),
+                "Refresh token of the device session should be returned");
+        verify(refreshTokenService, times(1)).issue(user, "phone");
     }
 }